@@ -0,0 +1,138 @@
+package ec.com.sofka.account_service.controller;
+
+import com.sun.net.httpserver.HttpServer;
+import ec.com.sofka.account_service.AccountServiceApplication;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Prueba de carga del estado de cuenta por HTTP con el servicio de clientes lento: cada invocación lanza
+ * {@code concurrentRequests} peticiones simultáneas a {@code /api/reportes} y espera todas las respuestas. El
+ * servicio de clientes es un stub que responde tras {@code clientLatencyMs}, y la caché de clientes está
+ * desactivada para que cada petición bloquee en la llamada Feign. {@code threadMode} compara el pool de hilos de
+ * plataforma de Tomcat (200 hilos) con hilos virtuales.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class RequestThreadingBenchmark {
+
+    private static final String CLIENT_JSON = "{\"id\":1,\"name\":\"Jose Lema\",\"active\":true}";
+
+    @Param({"platform", "virtual"})
+    String threadMode;
+
+    @Param({"100"})
+    int clientLatencyMs;
+
+    @Param({"400"})
+    int concurrentRequests;
+
+    private HttpServer clientService;
+    private ExecutorService stubExecutor;
+    private ConfigurableApplicationContext context;
+    private HttpClient httpClient;
+    private URI statementUri;
+
+    @Setup
+    public void setUp() throws IOException {
+        stubExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        clientService = HttpServer.create(new InetSocketAddress("localhost", 0), 1000);
+        clientService.setExecutor(stubExecutor);
+        clientService.createContext("/api/clients/", exchange -> {
+            try {
+                Thread.sleep(clientLatencyMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] body = CLIENT_JSON.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        clientService.start();
+
+        context = new SpringApplicationBuilder(AccountServiceApplication.class)
+                .web(WebApplicationType.SERVLET)
+                .properties(
+                        "server.port=0",
+                        "server.tomcat.threads.max=200",
+                        "spring.threads.virtual.enabled=" + "virtual".equals(threadMode),
+                        "app.ms.client-service.url=http://localhost:" + clientService.getAddress().getPort(),
+                        "spring.datasource.url=jdbc:h2:mem:threading;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                        "spring.h2.console.enabled=false",
+                        "spring.jpa.show-sql=false",
+                        "app.clients.cache.enabled=false",
+                        "app.clients.coalescing.window=0ms",
+                        "app.jobs.balance-consistency.enabled=false",
+                        "app.jobs.daily-balance-rebuild.enabled=false",
+                        "app.outbox.enabled=false",
+                        "app.diagnostics.pinning.enabled=false",
+                        "logging.level.root=WARN")
+                .run();
+        String port = context.getEnvironment().getProperty("local.server.port");
+        statementUri = URI.create("http://localhost:" + port
+                + "/api/reportes?cliente=1&desde=2025-08-01&hasta=2025-08-31");
+        httpClient = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .version(HttpClient.Version.HTTP_1_1)
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        httpClient.close();
+        context.close();
+        clientService.stop(0);
+        stubExecutor.close();
+    }
+
+    @Benchmark
+    public long concurrentStatements() {
+        HttpRequest request = HttpRequest.newBuilder(statementUri).GET().build();
+        List<CompletableFuture<HttpResponse<Void>>> responses = new ArrayList<>(concurrentRequests);
+        for (int i = 0; i < concurrentRequests; i++) {
+            responses.add(httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding()));
+        }
+        long ok = 0;
+        for (CompletableFuture<HttpResponse<Void>> response : responses) {
+            if (response.join().statusCode() == 200) {
+                ok++;
+            }
+        }
+        if (ok != concurrentRequests) {
+            throw new IllegalStateException("Only " + ok + " of " + concurrentRequests + " requests succeeded");
+        }
+        return ok;
+    }
+}
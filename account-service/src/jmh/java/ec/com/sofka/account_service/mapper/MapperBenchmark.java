@@ -0,0 +1,77 @@
+package ec.com.sofka.account_service.mapper;
+
+import ec.com.sofka.account_service.dto.account.response.AccountResponse;
+import ec.com.sofka.account_service.dto.movement.request.MovementRequest;
+import ec.com.sofka.account_service.dto.movement.response.MovementResponse;
+import ec.com.sofka.account_service.model.Account;
+import ec.com.sofka.account_service.model.Movement;
+import ec.com.sofka.account_service.model.enums.AccountTypeEnum;
+import ec.com.sofka.account_service.model.enums.MovementTypeEnum;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Conversiones de MapStruct usadas en cada respuesta de cuentas y movimientos.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MapperBenchmark {
+
+    private MovementMapper movementMapper;
+    private AccountMapper accountMapper;
+    private Account account;
+    private Movement movement;
+    private MovementRequest request;
+
+    @Setup
+    public void setUp() {
+        movementMapper = Mappers.getMapper(MovementMapper.class);
+        accountMapper = Mappers.getMapper(AccountMapper.class);
+        account = new Account();
+        account.setId(1L);
+        account.setClientId(1L);
+        account.setAccountNumber("478758");
+        account.setAccountType(AccountTypeEnum.SAVINGS);
+        account.setInitialBalance(new BigDecimal("2000.00"));
+        account.setCurrentBalance(new BigDecimal("1425.00"));
+        account.setActive(true);
+        movement = new Movement();
+        movement.setId(10L);
+        movement.setAccount(account);
+        movement.setDate(LocalDateTime.of(2025, 8, 3, 10, 0));
+        movement.setMovementType(MovementTypeEnum.WITHDRAWAL);
+        movement.setAmount(new BigDecimal("575.00"));
+        movement.setBalance(new BigDecimal("1425.00"));
+        request = MovementRequest.builder()
+                .accountId(1L)
+                .date(LocalDateTime.of(2025, 8, 3, 10, 0))
+                .movementType(MovementTypeEnum.DEPOSIT)
+                .amount(new BigDecimal("100.00"))
+                .build();
+    }
+
+    @Benchmark
+    public MovementResponse movementToResponse() {
+        return movementMapper.toResponse(movement);
+    }
+
+    @Benchmark
+    public Movement movementRequestToModel() {
+        return movementMapper.toModel(request);
+    }
+
+    @Benchmark
+    public AccountResponse accountToResponse() {
+        return accountMapper.toResponse(account);
+    }
+}
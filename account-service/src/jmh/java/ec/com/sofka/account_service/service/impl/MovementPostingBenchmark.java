@@ -0,0 +1,131 @@
+package ec.com.sofka.account_service.service.impl;
+
+import ec.com.sofka.account_service.AccountServiceApplication;
+import ec.com.sofka.account_service.dto.movement.request.MovementRequest;
+import ec.com.sofka.account_service.model.Account;
+import ec.com.sofka.account_service.model.Movement;
+import ec.com.sofka.account_service.model.enums.MovementTypeEnum;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Camino de validación y cálculo de saldo de un movimiento, sin tocar la base de datos. {@code
+ * postWithMaterializedBalance} es el camino actual (saldo materializado en la cuenta, independiente del historial);
+ * {@code replayHistoryBalance} reproduce el cálculo anterior, que sumaba todo el historial, como referencia para
+ * distintos tamaños de historial. El servicio es el bean del contexto de la aplicación, con sus colaboradores reales.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MovementPostingBenchmark {
+
+    private static final BigDecimal OPENING_BALANCE = new BigDecimal("1000.00");
+
+    private ConfigurableApplicationContext context;
+    private MovementServiceImpl service;
+    private Account account;
+    private MovementRequest withdrawal;
+
+    @Setup
+    public void setUpTrial() {
+        context = new SpringApplicationBuilder(AccountServiceApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:posting-benchmark;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                        "spring.h2.console.enabled=false",
+                        "spring.jpa.show-sql=false",
+                        "app.clients.cache.enabled=false",
+                        "app.jobs.balance-consistency.enabled=false",
+                        "app.jobs.daily-balance-rebuild.enabled=false",
+                        "app.outbox.enabled=false",
+                        "logging.level.root=WARN")
+                .run();
+        // solo se usan métodos que no tocan repositorios ni el motor de registro
+        service = context.getBean(MovementServiceImpl.class);
+        account = new Account();
+        account.setId(1L);
+        account.setActive(true);
+        account.setCurrentBalance(OPENING_BALANCE);
+        withdrawal = MovementRequest.builder()
+                .accountId(1L)
+                .date(LocalDateTime.now())
+                .movementType(MovementTypeEnum.WITHDRAWAL)
+                .amount(new BigDecimal("-1.00"))
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Movement postWithMaterializedBalance() {
+        Movement entity = new Movement();
+        entity.setAccount(account);
+        service.validateTransactionType(withdrawal);
+        BigDecimal balanceBefore = account.getCurrentBalance();
+        service.validateInsufficientFounds(balanceBefore, withdrawal);
+        service.buildTransactionType(withdrawal, entity, balanceBefore);
+        service.applyBalanceDelta(account, entity.getAmount().negate());
+        // se revierte para que el saldo no derive entre invocaciones
+        account.setCurrentBalance(balanceBefore);
+        return entity;
+    }
+
+    @Benchmark
+    public Movement replayHistoryBalance(History history) {
+        Movement entity = new Movement();
+        entity.setAccount(account);
+        service.validateTransactionType(withdrawal);
+        BigDecimal balanceBefore = BigDecimal.ZERO;
+        for (Movement movement : history.movements) {
+            balanceBefore = movement.getMovementType() == MovementTypeEnum.WITHDRAWAL
+                    ? balanceBefore.subtract(movement.getAmount())
+                    : balanceBefore.add(movement.getAmount());
+        }
+        service.validateInsufficientFounds(balanceBefore, withdrawal);
+        service.buildTransactionType(withdrawal, entity, balanceBefore);
+        return entity;
+    }
+
+    /**
+     * Historial que recorre {@code replayHistoryBalance}; el camino actual no depende de su tamaño.
+     */
+    @State(Scope.Thread)
+    public static class History {
+
+        @Param({"10", "1000", "100000"})
+        int historySize;
+
+        private List<Movement> movements;
+
+        @Setup
+        public void setUp() {
+            movements = new ArrayList<>(historySize);
+            LocalDateTime date = LocalDateTime.of(2020, 1, 1, 0, 0);
+            for (int i = 0; i < historySize; i++) {
+                Movement movement = new Movement();
+                movement.setDate(date.plusMinutes(i));
+                movement.setMovementType(i % 3 == 2 ? MovementTypeEnum.WITHDRAWAL : MovementTypeEnum.DEPOSIT);
+                movement.setAmount(new BigDecimal("10.00"));
+                movements.add(movement);
+            }
+        }
+    }
+}
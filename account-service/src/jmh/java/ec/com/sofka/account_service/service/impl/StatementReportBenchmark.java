@@ -0,0 +1,151 @@
+package ec.com.sofka.account_service.service.impl;
+
+import ec.com.sofka.account_service.AccountServiceApplication;
+import ec.com.sofka.account_service.client.ClientHttp;
+import ec.com.sofka.account_service.client.dto.ClientDto;
+import ec.com.sofka.account_service.dto.report.StatementReportRow;
+import ec.com.sofka.account_service.service.ReportService;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Estado de cuenta contra H2 en memoria con el contexto completo de la aplicación. El volumen se controla con
+ * {@code accounts} y {@code movementsPerAccount}; los movimientos se reparten en tres años y el reporte cubre
+ * el último.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class StatementReportBenchmark {
+
+    private static final long CLIENT_ID = 1000L;
+    private static final long FIRST_ACCOUNT_ID = 10_000L;
+    private static final long FIRST_MOVEMENT_ID = 1_000_000L;
+    private static final LocalDateTime HISTORY_START = LocalDateTime.of(2022, 1, 1, 0, 0);
+    private static final LocalDate FROM = LocalDate.of(2024, 1, 1);
+    private static final LocalDate TO = LocalDate.of(2024, 12, 31);
+    private static final int INSERT_CHUNK = 5_000;
+
+    @Param({"5"})
+    int accounts;
+
+    @Param({"100", "10000"})
+    int movementsPerAccount;
+
+    private ConfigurableApplicationContext context;
+    private ReportService reportService;
+
+    @Setup
+    public void setUp() {
+        ApplicationContextInitializer<GenericApplicationContext> clientStub = ctx ->
+                ctx.registerBean("benchmarkClientHttp", ClientHttp.class, BenchmarkClientHttp::new,
+                        definition -> definition.setPrimary(true));
+        context = new SpringApplicationBuilder(AccountServiceApplication.class)
+                .web(WebApplicationType.NONE)
+                .initializers(clientStub)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                        "spring.h2.console.enabled=false",
+                        "spring.jpa.show-sql=false",
+                        "app.clients.cache.enabled=false",
+                        "app.clients.coalescing.window=0ms",
+                        "app.jobs.balance-consistency.enabled=false",
+                        "logging.level.root=WARN")
+                .run();
+        seed(context.getBean(JdbcTemplate.class));
+        reportService = context.getBean(ReportService.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<StatementReportRow> generateStatement() {
+        return reportService.generateStatement(CLIENT_ID, FROM, TO);
+    }
+
+    @Benchmark
+    public long exportStatement() {
+        LongAdder lines = new LongAdder();
+        reportService.exportStatement(CLIENT_ID, FROM, TO, line -> lines.increment());
+        return lines.sum();
+    }
+
+    private void seed(JdbcTemplate jdbc) {
+        long movementId = FIRST_MOVEMENT_ID;
+        // tres años de historial repartidos de forma uniforme
+        long minutesBetween = Math.max(1, (3L * 365 * 24 * 60) / movementsPerAccount);
+        for (int a = 0; a < accounts; a++) {
+            long accountId = FIRST_ACCOUNT_ID + a;
+            jdbc.update("INSERT INTO \"accounts\" (\"id\",\"client_id\",\"account_number\",\"account_type\","
+                            + "\"initial_balance\",\"is_active\",\"current_balance\",\"movement_sequence\") "
+                            + "VALUES (?,?,?,?,?,?,?,?)",
+                    accountId, CLIENT_ID, "BENCH-" + accountId, a % 2 == 0 ? "SAVINGS" : "CURRENT",
+                    BigDecimal.ZERO, true, BigDecimal.ZERO, movementsPerAccount);
+            List<Object[]> rows = new ArrayList<>(INSERT_CHUNK);
+            BigDecimal balance = BigDecimal.ZERO;
+            for (int m = 0; m < movementsPerAccount; m++) {
+                boolean withdrawal = m % 3 == 2;
+                BigDecimal amount = new BigDecimal("10.00");
+                balance = withdrawal ? balance.subtract(amount) : balance.add(amount);
+                Timestamp date = Timestamp.valueOf(HISTORY_START.plusMinutes(m * minutesBetween));
+                rows.add(new Object[]{movementId++, amount, balance, date,
+                        withdrawal ? "WITHDRAWAL" : "DEPOSIT", accountId});
+                if (rows.size() == INSERT_CHUNK) {
+                    insertMovements(jdbc, rows);
+                    rows.clear();
+                }
+            }
+            insertMovements(jdbc, rows);
+            jdbc.update("UPDATE \"accounts\" SET \"current_balance\" = ? WHERE \"id\" = ?", balance, accountId);
+        }
+    }
+
+    private void insertMovements(JdbcTemplate jdbc, List<Object[]> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        jdbc.batchUpdate("INSERT INTO \"movements\" (\"id\",\"amount\",\"balance\",\"date\",\"movement_type\","
+                + "\"account_id\") VALUES (?,?,?,?,?,?)", rows);
+    }
+
+    private static final class BenchmarkClientHttp implements ClientHttp {
+        @Override
+        public ClientDto show(Long id) {
+            return new ClientDto(id, "Cliente " + id, true);
+        }
+
+        @Override
+        public List<ClientDto> showAll(Collection<Long> ids) {
+            return ids.stream().map(this::show).toList();
+        }
+    }
+}
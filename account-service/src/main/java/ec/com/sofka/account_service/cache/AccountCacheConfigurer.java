@@ -0,0 +1,77 @@
+package ec.com.sofka.account_service.cache;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import ec.com.sofka.account_service.model.Account;
+import java.time.Duration;
+import java.util.Map;
+import java.util.OptionalLong;
+import javax.cache.CacheManager;
+import javax.cache.spi.CachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.stereotype.Component;
+
+/**
+ * Activa la caché de segundo nivel de Hibernate para {@link Account} y la caché de consultas
+ * ({@code findByClientId}) sobre Caffeine vía JCache. Las regiones de cuentas y de resultados de consultas se
+ * limitan a {@code maximum-size} entradas durante {@code ttl}; la región de marcas de actualización no se limita
+ * ni vence, porque es la que invalida las consultas cacheadas cuando cambia la tabla.
+ * <p>
+ * Con la estrategia READ_WRITE las escrituras por Hibernate ({@code save}, {@code delete} y el borrado lógico de
+ * {@code @SQLDelete}) bloquean la entrada hasta confirmar la transacción, y las consultas nativas de modificación
+ * vacían las regiones. La caché es local a cada instancia: una copia desactualizada la rechaza {@code @Version} al
+ * escribir y el reintento la relee de la base.
+ */
+@Component
+@ConditionalOnProperty(name = "app.accounts.cache.enabled", havingValue = "true")
+public class AccountCacheConfigurer implements HibernatePropertiesCustomizer, DisposableBean {
+
+    static final String QUERY_RESULTS_REGION = RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME;
+    static final String UPDATE_TIMESTAMPS_REGION = RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME;
+
+    private final CachingProvider cachingProvider;
+    private final CacheManager cacheManager;
+
+    public AccountCacheConfigurer(@Value("${app.accounts.cache.maximum-size:10000}") long maximumSize,
+                                  @Value("${app.accounts.cache.ttl:5m}") Duration ttl) {
+        // un proveedor propio por contexto: el CacheManager por defecto de JCache es global a la JVM
+        this.cachingProvider = new CaffeineCachingProvider();
+        this.cacheManager = cachingProvider.getCacheManager();
+        cacheManager.createCache(Account.CACHE_REGION, configuration(OptionalLong.of(maximumSize), ttl));
+        cacheManager.createCache(QUERY_RESULTS_REGION, configuration(OptionalLong.of(maximumSize), ttl));
+        cacheManager.createCache(UPDATE_TIMESTAMPS_REGION, configuration(OptionalLong.empty(), Duration.ZERO));
+    }
+
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        hibernateProperties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+        hibernateProperties.put(AvailableSettings.USE_QUERY_CACHE, true);
+        hibernateProperties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+        hibernateProperties.put(ConfigSettings.CACHE_MANAGER, cacheManager);
+        hibernateProperties.put(AvailableSettings.GENERATE_STATISTICS, true);
+    }
+
+    CacheManager cacheManager() {
+        return cacheManager;
+    }
+
+    @Override
+    public void destroy() {
+        cacheManager.close();
+        cachingProvider.close();
+    }
+
+    private static CaffeineConfiguration<Object, Object> configuration(OptionalLong maximumSize, Duration ttl) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setStoreByValue(false);
+        configuration.setMaximumSize(maximumSize);
+        configuration.setExpireAfterWrite(ttl.isZero() ? OptionalLong.empty() : OptionalLong.of(ttl.toNanos()));
+        return configuration;
+    }
+}
@@ -0,0 +1,72 @@
+package ec.com.sofka.account_service.cache;
+
+import ec.com.sofka.account_service.dto.cache.AccountCacheStats;
+import ec.com.sofka.account_service.model.Account;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.function.ToLongFunction;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Expone las estadísticas de Hibernate de la región de cuentas y de la caché de consultas, y permite vaciarlas.
+ * Con un {@link MeterRegistry} disponible se publican como {@code hibernate.second.level.cache.requests}
+ * (etiqueta {@code result} hit/miss), {@code hibernate.second.level.cache.puts} y
+ * {@code hibernate.second.level.cache.size} por región.
+ */
+@Component
+@ConditionalOnProperty(name = "app.accounts.cache.enabled", havingValue = "true")
+public class AccountCacheStatistics {
+
+    private final SessionFactory sessionFactory;
+
+    public AccountCacheStatistics(EntityManagerFactory entityManagerFactory,
+                                  ObjectProvider<MeterRegistry> meterRegistry) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        meterRegistry.ifAvailable(this::bindTo);
+    }
+
+    public AccountCacheStats snapshot() {
+        CacheRegionStatistics region = this.region();
+        Statistics statistics = sessionFactory.getStatistics();
+        return new AccountCacheStats(region.getHitCount(), region.getMissCount(), region.getPutCount(),
+                Math.max(region.getElementCountInMemory(), 0), statistics.getQueryCacheHitCount(),
+                statistics.getQueryCacheMissCount(), statistics.getQueryCachePutCount());
+    }
+
+    /**
+     * Vacía la región de cuentas y las consultas cacheadas; útil tras modificar cuentas directamente en la base.
+     */
+    public void evictAll() {
+        sessionFactory.getCache().evictEntityData(Account.class);
+        sessionFactory.getCache().evictQueryRegions();
+    }
+
+    private CacheRegionStatistics region() {
+        return sessionFactory.getStatistics().getDomainDataRegionStatistics(Account.CACHE_REGION);
+    }
+
+    private void bindTo(MeterRegistry registry) {
+        this.requests(registry, "hit", CacheRegionStatistics::getHitCount);
+        this.requests(registry, "miss", CacheRegionStatistics::getMissCount);
+        FunctionCounter.builder("hibernate.second.level.cache.puts", this, s -> s.region().getPutCount())
+                .tag("region", Account.CACHE_REGION)
+                .register(registry);
+        Gauge.builder("hibernate.second.level.cache.size", this, s -> s.region().getElementCountInMemory())
+                .tag("region", Account.CACHE_REGION)
+                .register(registry);
+    }
+
+    private void requests(MeterRegistry registry, String result, ToLongFunction<CacheRegionStatistics> count) {
+        FunctionCounter.builder("hibernate.second.level.cache.requests", this, s -> count.applyAsLong(s.region()))
+                .tag("region", Account.CACHE_REGION)
+                .tag("result", result)
+                .register(registry);
+    }
+}
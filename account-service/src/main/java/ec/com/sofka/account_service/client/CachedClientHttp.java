@@ -0,0 +1,40 @@
+package ec.com.sofka.account_service.client;
+
+import ec.com.sofka.account_service.client.dto.ClientDto;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@link ClientHttp} primario: resuelve los clientes desde {@link ClientLookupCache} y solo llama al cliente Feign
+ * remoto en un fallo de caché; los fallos individuales concurrentes se agrupan con {@link ClientLookupCoalescer}.
+ */
+@Primary
+@Component
+@ConditionalOnProperty(name = "app.clients.cache.enabled", havingValue = "true", matchIfMissing = true)
+public class CachedClientHttp implements ClientHttp {
+
+    private final ClientHttp remote;
+    private final ClientLookupCache cache;
+    private final ClientLookupCoalescer coalescer;
+
+    public CachedClientHttp(@Qualifier(ClientHttp.REMOTE) ClientHttp remote, ClientLookupCache cache,
+                            ClientLookupCoalescer coalescer) {
+        this.remote = remote;
+        this.cache = cache;
+        this.coalescer = coalescer;
+    }
+
+    @Override
+    public ClientDto show(Long id) {
+        return cache.get(id, coalescer::find);
+    }
+
+    @Override
+    public List<ClientDto> showAll(Collection<Long> ids) {
+        return cache.getAll(ids, remote::showAll);
+    }
+}
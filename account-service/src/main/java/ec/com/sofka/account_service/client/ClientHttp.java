@@ -2,22 +2,49 @@ package ec.com.sofka.account_service.client;
 
 import ec.com.sofka.account_service.client.dto.ClientDto;
 import ec.com.sofka.account_service.exception.ClientNotFoundException;
+import ec.com.sofka.account_service.exception.ClientServiceUnavailableException;
+import feign.FeignException;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 import io.github.resilience4j.retry.annotation.Retry;
+import java.util.Collection;
+import java.util.List;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
 
-@FeignClient(name = "client-http", url = "${app.ms.client-service.url}")
+@FeignClient(name = "client-http", url = "${app.ms.client-service.url}", qualifiers = ClientHttp.REMOTE,
+        primary = false)
 public interface ClientHttp {
 
+    /**
+     * Calificador del cliente Feign remoto; el bean primario es {@link CachedClientHttp}.
+     */
+    String REMOTE = "remoteClientHttp";
+
     @GetMapping("/api/clients/{id}")
     @CircuitBreaker(name = "clientClientCircuit", fallbackMethod = "fallbackDataById")
     @Retry(name = "clientClientRetry")
     ClientDto show(@PathVariable("id") Long id);
 
+    /**
+     * Consulta en lote; los IDs inexistentes no vienen en la respuesta.
+     */
+    @GetMapping("/api/clients")
+    @CircuitBreaker(name = "clientClientCircuit")
+    @Retry(name = "clientClientRetry")
+    List<ClientDto> showAll(@RequestParam("ids") Collection<Long> ids);
+
+    /**
+     * Un 404 se traduce a {@link ClientNotFoundException}; cualquier otro error a
+     * {@link ClientServiceUnavailableException}, que la caché de clientes no guarda.
+     */
     default ClientDto fallbackDataById(Throwable throwable) {
-        throw new ClientNotFoundException("Client service is unavailable. Error: " + throwable.getMessage());
+        if (throwable instanceof FeignException.NotFound) {
+            throw new ClientNotFoundException("Client does not exist. Error: " + throwable.getMessage());
+        }
+        throw new ClientServiceUnavailableException(
+                "Client service is unavailable. Error: " + throwable.getMessage());
     }
 
 }
@@ -0,0 +1,197 @@
+package ec.com.sofka.account_service.client;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import ec.com.sofka.account_service.client.dto.ClientDto;
+import ec.com.sofka.account_service.exception.ClientNotFoundException;
+import ec.com.sofka.account_service.exception.ClientServiceUnavailableException;
+import feign.FeignException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Caché local (W-TinyLFU de Caffeine) de clientes consultados al servicio de clientes. Los clientes encontrados
+ * se guardan por {@code ttl}; los 404 (también traducidos por el fallback a {@link ClientNotFoundException}) se
+ * guardan por {@code negative-ttl} para no repetir la llamada remota. Los errores de disponibilidad del servicio de
+ * clientes no se cachean. La consulta remota corre en el hilo del llamador fuera del cómputo atómico del mapa: los
+ * demás llamadores de la misma ID esperan el mismo futuro sin bloquear el resto de la tabla.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.clients.cache.enabled", havingValue = "true", matchIfMissing = true)
+public class ClientLookupCache {
+
+    static final String CACHE_NAME = "clients";
+    private static final String CLIENT_NOT_FOUND_MESSAGE = "Client with ID %d does not exist";
+
+    private final AsyncCache<Long, CachedClient> cache;
+
+    @Autowired
+    public ClientLookupCache(@Value("${app.clients.cache.maximum-size:10000}") long maximumSize,
+                             @Value("${app.clients.cache.ttl:10m}") Duration ttl,
+                             @Value("${app.clients.cache.negative-ttl:30s}") Duration negativeTtl,
+                             ObjectProvider<MeterRegistry> meterRegistry) {
+        this(maximumSize, ttl, negativeTtl, Ticker.systemTicker());
+        meterRegistry.ifAvailable(registry ->
+                CaffeineCacheMetrics.monitor(registry, cache.synchronous(), CACHE_NAME));
+    }
+
+    ClientLookupCache(long maximumSize, Duration ttl, Duration negativeTtl, Ticker ticker) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new ClientExpiry(ttl, negativeTtl))
+                .ticker(ticker)
+                .recordStats()
+                .buildAsync();
+    }
+
+    /**
+     * Devuelve el cliente cacheado o lo consulta con {@code remote}. Un 404 remoto (o un {@code null}) se cachea y
+     * se traduce a {@link ClientNotFoundException}.
+     */
+    public ClientDto get(Long id, Function<Long, ClientDto> remote) {
+        CompletableFuture<CachedClient> loading = new CompletableFuture<>();
+        CompletableFuture<CachedClient> future = cache.get(id, (key, executor) -> loading);
+        if (future == loading) {
+            try {
+                loading.complete(load(id, remote));
+            } catch (RuntimeException e) {
+                // Caffeine descarta la entrada al fallar el futuro
+                loading.completeExceptionally(e);
+            }
+        }
+        CachedClient cached = join(future);
+        if (cached.client() == null) {
+            throw new ClientNotFoundException(String.format(CLIENT_NOT_FOUND_MESSAGE, id));
+        }
+        return cached.client();
+    }
+
+    /**
+     * Devuelve los clientes existentes en el orden pedido; consulta con {@code remote} en una sola llamada solo
+     * los que no están en caché. Los IDs que el servicio no devuelve se cachean como inexistentes.
+     */
+    public List<ClientDto> getAll(Collection<Long> ids, Function<Collection<Long>, List<ClientDto>> remote) {
+        Map<Long, CachedClient> entries = join(cache.getAll(ids, (missing, executor) -> {
+            try {
+                return CompletableFuture.completedFuture(loadAll(missing, remote));
+            } catch (RuntimeException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }));
+        return ids.stream()
+                .distinct()
+                .map(entries::get)
+                .filter(Objects::nonNull)
+                .map(CachedClient::client)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    /**
+     * Descarta la entrada del cliente; usar cuando el cliente cambia en el servicio de clientes.
+     */
+    public void invalidate(Long id) {
+        log.info("Invalidating cached client {}", id);
+        cache.synchronous().invalidate(id);
+    }
+
+    public void invalidateAll() {
+        log.info("Invalidating all cached clients");
+        cache.synchronous().invalidateAll();
+    }
+
+    public CacheStats stats() {
+        return cache.synchronous().stats();
+    }
+
+    public long size() {
+        cache.synchronous().cleanUp();
+        return cache.synchronous().estimatedSize();
+    }
+
+    /**
+     * Indica si el error es un 404 del servicio de clientes, ya sea el de Feign o el que traduce el fallback del
+     * circuito; los errores de disponibilidad quedan fuera.
+     */
+    public static boolean isNotFound(RuntimeException e) {
+        return e instanceof FeignException.NotFound
+                || e instanceof ClientNotFoundException && !(e instanceof ClientServiceUnavailableException);
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw e;
+        }
+    }
+
+    private CachedClient load(Long id, Function<Long, ClientDto> remote) {
+        try {
+            return new CachedClient(remote.apply(id));
+        } catch (RuntimeException e) {
+            if (!isNotFound(e)) {
+                throw e;
+            }
+            log.debug("Client {} not found, caching negative result", id);
+            return new CachedClient(null);
+        }
+    }
+
+    private Map<Long, CachedClient> loadAll(Set<? extends Long> missing,
+                                            Function<Collection<Long>, List<ClientDto>> remote) {
+        List<Long> ids = new ArrayList<>(missing);
+        Collections.sort(ids);
+        Map<Long, ClientDto> found = remote.apply(ids).stream()
+                .collect(Collectors.toMap(ClientDto::getId, Function.identity(), (first, second) -> first));
+        Map<Long, CachedClient> loaded = new HashMap<>();
+        missing.forEach(id -> loaded.put(id, new CachedClient(found.get(id))));
+        return loaded;
+    }
+
+    private record CachedClient(ClientDto client) {
+    }
+
+    private record ClientExpiry(Duration ttl, Duration negativeTtl) implements Expiry<Long, CachedClient> {
+        @Override
+        public long expireAfterCreate(Long key, CachedClient value, long currentTime) {
+            return (value.client() != null ? ttl : negativeTtl).toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(Long key, CachedClient value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(Long key, CachedClient value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package ec.com.sofka.account_service.client;
+
+import ec.com.sofka.account_service.client.dto.ClientDto;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Agrupa las consultas concurrentes de clientes individuales que llegan dentro de una ventana corta en una sola
+ * llamada a {@link ClientHttp#showAll}. Cada llamador espera únicamente su propio resultado; una misma ID pedida
+ * varias veces en la ventana se consulta una sola vez. Con una ventana de cero se consulta directamente.
+ */
+@Slf4j
+@Component
+public class ClientLookupCoalescer {
+
+    private final ClientHttp remote;
+    private final long windowNanos;
+    private final int maxBatchSize;
+    private final ScheduledExecutorService scheduler;
+    private final Object lock = new Object();
+    private Map<Long, CompletableFuture<ClientDto>> pending = new HashMap<>();
+
+    public ClientLookupCoalescer(@Qualifier(ClientHttp.REMOTE) ClientHttp remote,
+                                 @Value("${app.clients.coalescing.window:5ms}") Duration window,
+                                 @Value("${app.clients.coalescing.max-batch-size:100}") int maxBatchSize) {
+        if (window.isNegative() || maxBatchSize < 1) {
+            throw new IllegalArgumentException("coalescing window must not be negative and batch size must be > 0");
+        }
+        this.remote = remote;
+        this.windowNanos = window.toNanos();
+        this.maxBatchSize = maxBatchSize;
+        this.scheduler = windowNanos == 0 ? null : Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().daemon().name("client-lookup-coalescer").factory());
+    }
+
+    /**
+     * Devuelve el cliente o {@code null} si no existe en el servicio de clientes.
+     */
+    public ClientDto find(Long id) {
+        if (scheduler == null) {
+            try {
+                return remote.show(id);
+            } catch (RuntimeException e) {
+                if (ClientLookupCache.isNotFound(e)) {
+                    return null;
+                }
+                throw e;
+            }
+        }
+        CompletableFuture<ClientDto> future;
+        Map<Long, CompletableFuture<ClientDto>> full = null;
+        synchronized (lock) {
+            future = pending.get(id);
+            if (future == null) {
+                future = new CompletableFuture<>();
+                pending.put(id, future);
+                if (pending.size() == 1) {
+                    scheduler.schedule(this::flush, windowNanos, TimeUnit.NANOSECONDS);
+                }
+                if (pending.size() >= maxBatchSize) {
+                    full = pending;
+                    pending = new HashMap<>();
+                }
+            }
+        }
+        if (full != null) {
+            dispatch(full);
+        }
+        return await(future);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            flush();
+        }
+    }
+
+    void flush() {
+        Map<Long, CompletableFuture<ClientDto>> batch;
+        synchronized (lock) {
+            if (pending.isEmpty()) {
+                return;
+            }
+            batch = pending;
+            pending = new HashMap<>();
+        }
+        dispatch(batch);
+    }
+
+    private void dispatch(Map<Long, CompletableFuture<ClientDto>> batch) {
+        Thread.ofVirtual().name("client-lookup-batch").start(() -> load(batch));
+    }
+
+    private void load(Map<Long, CompletableFuture<ClientDto>> batch) {
+        log.debug("Looking up {} coalesced clients", batch.size());
+        try {
+            Map<Long, ClientDto> found = remote.showAll(batch.keySet()).stream()
+                    .collect(Collectors.toMap(ClientDto::getId, Function.identity(), (first, second) -> first));
+            batch.forEach((id, future) -> future.complete(found.get(id)));
+        } catch (RuntimeException e) {
+            batch.values().forEach(future -> future.completeExceptionally(e));
+        }
+    }
+
+    private ClientDto await(CompletableFuture<ClientDto> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for client lookup", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Client lookup failed", e.getCause());
+        }
+    }
+}
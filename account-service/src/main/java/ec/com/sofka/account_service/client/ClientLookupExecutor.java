@@ -0,0 +1,83 @@
+package ec.com.sofka.account_service.client;
+
+import jakarta.annotation.PreDestroy;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Ejecuta consultas de clientes en hilos virtuales mientras el llamador sigue con su propio trabajo (p. ej. los
+ * reportes, que calculan las cuentas en paralelo). Las consultas en curso se limitan con
+ * {@code app.clients.lookup.max-concurrency}: con el límite alcanzado el llamador espera un permiso antes de lanzar
+ * la suya. El MDC de la petición se copia al hilo de la consulta para que sus logs conserven la traza.
+ */
+@Component
+public class ClientLookupExecutor {
+
+    private final ExecutorService executor;
+    private final Semaphore permits;
+
+    public ClientLookupExecutor(@Value("${app.clients.lookup.max-concurrency:64}") int maxConcurrency) {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("client lookup max concurrency must be greater than 0");
+        }
+        this.executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("client-lookup-", 0).factory());
+        this.permits = new Semaphore(maxConcurrency);
+    }
+
+    public <T> CompletableFuture<T> supplyAsync(Supplier<T> lookup) {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a client lookup permit", e);
+        }
+        Map<String, String> context = MDC.getCopyOfContextMap();
+        try {
+            return CompletableFuture.supplyAsync(() -> withContext(context, lookup), executor);
+        } catch (RejectedExecutionException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Consultas que pueden lanzarse ahora sin esperar un permiso.
+     */
+    int availablePermits() {
+        return permits.availablePermits();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            executor.shutdownNow();
+        }
+    }
+
+    private <T> T withContext(Map<String, String> context, Supplier<T> lookup) {
+        if (context != null) {
+            MDC.setContextMap(context);
+        }
+        try {
+            return lookup.get();
+        } finally {
+            MDC.clear();
+            permits.release();
+        }
+    }
+}
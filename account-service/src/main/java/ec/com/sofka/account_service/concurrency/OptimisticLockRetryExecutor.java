@@ -0,0 +1,102 @@
+package ec.com.sofka.account_service.concurrency;
+
+import ec.com.sofka.account_service.exception.ConcurrentUpdateException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.OptimisticLockException;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Ejecuta una modificación de cuentas o movimientos en su propia transacción y la repite si falla por
+ * bloqueo optimista ({@code @Version}). Las repeticiones esperan {@code backoff} por intento más un componente
+ * aleatorio, y al agotar {@code max-attempts} se lanza {@link ConcurrentUpdateException}. Si el llamador ya
+ * participa de una transacción el trabajo se une a ella sin reintentos: el conflicto solo se detecta al confirmar
+ * la transacción externa.
+ * <p>
+ * Por operación se publican los contadores {@code optimistic.lock.executions}, {@code optimistic.lock.conflicts}
+ * y {@code optimistic.lock.exhausted}; su cociente es la tasa de conflictos.
+ */
+@Slf4j
+@Component
+public class OptimisticLockRetryExecutor {
+
+    static final String EXECUTIONS_METRIC = "optimistic.lock.executions";
+    static final String CONFLICTS_METRIC = "optimistic.lock.conflicts";
+    static final String EXHAUSTED_METRIC = "optimistic.lock.exhausted";
+
+    private final TransactionTemplate transactionTemplate;
+    private final int maxAttempts;
+    private final Duration backoff;
+    private final MeterRegistry meterRegistry;
+
+    @Autowired
+    public OptimisticLockRetryExecutor(PlatformTransactionManager transactionManager,
+                                       @Value("${app.optimistic-lock.max-attempts:5}") int maxAttempts,
+                                       @Value("${app.optimistic-lock.backoff:5ms}") Duration backoff,
+                                       ObjectProvider<MeterRegistry> meterRegistry) {
+        this(transactionManager, maxAttempts, backoff, meterRegistry.getIfAvailable(SimpleMeterRegistry::new));
+    }
+
+    public OptimisticLockRetryExecutor(PlatformTransactionManager transactionManager, int maxAttempts,
+                                       Duration backoff, MeterRegistry meterRegistry) {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("optimistic lock max attempts must be greater than 0");
+        }
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxAttempts = maxAttempts;
+        this.backoff = backoff;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public <T> T execute(String operation, Supplier<T> work) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return transactionTemplate.execute(status -> work.get());
+        }
+        this.counter(EXECUTIONS_METRIC, operation).increment();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> work.get());
+            } catch (OptimisticLockingFailureException | OptimisticLockException e) {
+                this.counter(CONFLICTS_METRIC, operation).increment();
+                if (attempt >= maxAttempts) {
+                    this.counter(EXHAUSTED_METRIC, operation).increment();
+                    log.warn("Optimistic lock conflict on {} after {} attempts: {}", operation, attempt,
+                            e.getMessage());
+                    throw new ConcurrentUpdateException(
+                            "The resource was modified concurrently, please retry", e);
+                }
+                log.debug("Optimistic lock conflict on {} (attempt {}), retrying", operation, attempt);
+                this.pause(attempt);
+            }
+        }
+    }
+
+    private void pause(int attempt) {
+        long base = backoff.toMillis() * attempt;
+        if (base <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(base + ThreadLocalRandom.current().nextLong(backoff.toMillis() + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConcurrentUpdateException("Interrupted while retrying a concurrent update", e);
+        }
+    }
+
+    private Counter counter(String name, String operation) {
+        return Counter.builder(name).tag("operation", operation).register(meterRegistry);
+    }
+}
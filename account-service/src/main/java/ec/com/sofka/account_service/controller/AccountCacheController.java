@@ -0,0 +1,40 @@
+package ec.com.sofka.account_service.controller;
+
+import ec.com.sofka.account_service.cache.AccountCacheStatistics;
+import ec.com.sofka.account_service.dto.cache.AccountCacheStats;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@Tag(name = "Account cache", description = "Caché de segundo nivel de cuentas")
+@RestController
+@RequestMapping("/api/cache/accounts")
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.accounts.cache.enabled", havingValue = "true")
+public class AccountCacheController {
+
+    private final AccountCacheStatistics accountCacheStatistics;
+
+    @Operation(summary = "Estadísticas de la caché de cuentas",
+            responses = @ApiResponse(responseCode = "200", description = "Ok"))
+    @GetMapping
+    public ResponseEntity<AccountCacheStats> stats() {
+        return ResponseEntity.ok(accountCacheStatistics.snapshot());
+    }
+
+    @Operation(summary = "Vaciar la caché de cuentas",
+            description = "Se invoca tras modificar cuentas directamente en la base de datos",
+            responses = @ApiResponse(responseCode = "204", description = "Invalidada"))
+    @DeleteMapping
+    public ResponseEntity<Void> invalidateAll() {
+        accountCacheStatistics.evictAll();
+        return ResponseEntity.noContent().build();
+    }
+}
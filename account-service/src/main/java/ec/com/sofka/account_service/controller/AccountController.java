@@ -3,6 +3,7 @@ package ec.com.sofka.account_service.controller;
 import ec.com.sofka.account_service.dto.account.request.AccountPartialUpdateRequest;
 import ec.com.sofka.account_service.dto.account.request.AccountRequest;
 import ec.com.sofka.account_service.dto.account.response.AccountResponse;
+import ec.com.sofka.account_service.dto.page.CursorPage;
 import ec.com.sofka.account_service.dto.retentions.OnCreate;
 import ec.com.sofka.account_service.dto.retentions.OnUpdate;
 import ec.com.sofka.account_service.service.AccountService;
@@ -28,7 +29,9 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 @Tag(name = "Accounts", description = "Operaciones CRUD para cuentas bancarias")
 @RestController
@@ -52,18 +55,35 @@ public class AccountController {
         return ResponseEntity.ok(accountService.index(pageable));
     }
 
+    @Operation(
+            summary = "Listar cuentas por cursor",
+            description = "Paginación keyset por id ascendente, sin conteo total. Enviar next_cursor de la " +
+                    "respuesta anterior para obtener la página siguiente."
+    )
+    @GetMapping("/cursor")
+    public ResponseEntity<CursorPage<AccountResponse>> scroll(
+            @Parameter(description = "Cursor opaco de la página anterior") @RequestParam(required = false)
+            String cursor,
+            @Parameter(description = "Tamaño de página (máximo 100)", example = "20")
+            @RequestParam(defaultValue = CursorPage.DEFAULT_SIZE) int size) {
+        return ResponseEntity.ok(accountService.scroll(cursor, size));
+    }
+
     @Operation(
             summary = "Obtener cuenta por ID",
             responses = {
                     @ApiResponse(responseCode = "200", description = "Cuenta encontrada",
                             content = @Content(schema = @Schema(implementation = AccountResponse.class))),
+                    @ApiResponse(responseCode = "304", description = "Sin cambios respecto al ETag enviado",
+                            content = @Content),
                     @ApiResponse(responseCode = "404", description = "No encontrada", content = @Content)
             }
     )
     @GetMapping("/{id}")
     public ResponseEntity<AccountResponse> show(
-            @Parameter(description = "ID de la cuenta", example = "1") @PathVariable Long id) {
-        return ResponseEntity.ok(accountService.show(id));
+            @Parameter(description = "ID de la cuenta", example = "1") @PathVariable Long id,
+            WebRequest request) {
+        return accountService.showVersioned(id).toResponseEntity(request);
     }
 
     @Operation(
@@ -0,0 +1,42 @@
+package ec.com.sofka.account_service.controller;
+
+import ec.com.sofka.account_service.client.ClientLookupCache;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@Tag(name = "Client cache", description = "Invalidación de la caché local de clientes")
+@RestController
+@RequestMapping("/api/cache/clients")
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.clients.cache.enabled", havingValue = "true", matchIfMissing = true)
+public class ClientCacheController {
+
+    private final ClientLookupCache clientLookupCache;
+
+    @Operation(summary = "Invalidar un cliente en caché",
+            description = "Se invoca cuando el cliente cambia en el servicio de clientes",
+            responses = @ApiResponse(responseCode = "204", description = "Invalidado"))
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> invalidate(
+            @Parameter(description = "ID del cliente", example = "1") @PathVariable Long id) {
+        clientLookupCache.invalidate(id);
+        return ResponseEntity.noContent().build();
+    }
+
+    @Operation(summary = "Vaciar la caché de clientes",
+            responses = @ApiResponse(responseCode = "204", description = "Invalidada"))
+    @DeleteMapping
+    public ResponseEntity<Void> invalidateAll() {
+        clientLookupCache.invalidateAll();
+        return ResponseEntity.noContent().build();
+    }
+}
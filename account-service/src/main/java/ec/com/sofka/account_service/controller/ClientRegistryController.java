@@ -0,0 +1,36 @@
+package ec.com.sofka.account_service.controller;
+
+import ec.com.sofka.account_service.dto.client.ClientChangeEvent;
+import ec.com.sofka.account_service.service.ClientRegistryService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@Tag(name = "Client registry", description = "Réplica local de clientes alimentada por el servicio de clientes")
+@RestController
+@RequestMapping("/api/client-registry")
+@RequiredArgsConstructor
+public class ClientRegistryController {
+
+    private final ClientRegistryService clientRegistryService;
+
+    @Operation(summary = "Recibir un cambio de cliente",
+            description = "Lo publica el servicio de clientes tras crear, actualizar o eliminar un cliente; los " +
+                    "eventos atrasados se ignoran",
+            responses = {
+                    @ApiResponse(responseCode = "204", description = "Evento aceptado"),
+                    @ApiResponse(responseCode = "400", description = "Evento inválido")
+            })
+    @PostMapping("/events")
+    public ResponseEntity<Void> receive(@Valid @RequestBody ClientChangeEvent event) {
+        clientRegistryService.apply(event);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -1,11 +1,18 @@
 package ec.com.sofka.account_service.controller;
 
 
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.RuntimeJsonMappingException;
 import ec.com.sofka.account_service.dto.movement.request.MovementPartialUpdateRequest;
 import ec.com.sofka.account_service.dto.movement.request.MovementRequest;
+import ec.com.sofka.account_service.dto.movement.response.MovementBatchResponse;
 import ec.com.sofka.account_service.dto.movement.response.MovementResponse;
+import ec.com.sofka.account_service.dto.page.CursorPage;
 import ec.com.sofka.account_service.dto.retentions.OnCreate;
 import ec.com.sofka.account_service.dto.retentions.OnUpdate;
+import ec.com.sofka.account_service.idempotency.IdempotencyStore;
+import ec.com.sofka.account_service.idempotency.IdempotentResult;
 import ec.com.sofka.account_service.model.enums.MovementTypeEnum;
 import ec.com.sofka.account_service.service.MovementService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -16,11 +23,15 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.parameters.RequestBody;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import java.io.IOException;
+import java.io.InputStream;
 import java.math.BigDecimal;
 import java.net.URI;
+import java.util.Iterator;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -29,9 +40,11 @@ import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 @Tag(name = "Movements", description = "Operaciones CRUD para movimientos de cuenta")
 @RestController
@@ -39,7 +52,13 @@ import org.springframework.web.bind.annotation.RestController;
 @RequiredArgsConstructor
 public class MovementController {
 
+    static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    static final String IDEMPOTENT_REPLAYED_HEADER = "Idempotent-Replayed";
+    private static final String IDEMPOTENCY_SCOPE = "movements";
+
     private final MovementService movementService;
+    private final ObjectMapper objectMapper;
+    private final IdempotencyStore idempotencyStore;
 
 
     @Operation(summary = "Listar movimientos", description = "Retorna todos los movimientos paginados",
@@ -63,17 +82,44 @@ public class MovementController {
         return ResponseEntity.ok(movementService.byAccount(accountId, pageable));
     }
 
+    @Operation(summary = "Listar movimientos por cursor",
+            description = "Paginación keyset por (fecha, id) descendente, sin conteo total. Enviar next_cursor " +
+                    "de la respuesta anterior para obtener la página siguiente.")
+    @GetMapping("/cursor")
+    public ResponseEntity<CursorPage<MovementResponse>> scroll(
+            @Parameter(description = "Cursor opaco de la página anterior") @RequestParam(required = false)
+            String cursor,
+            @Parameter(description = "Tamaño de página (máximo 100)", example = "20")
+            @RequestParam(defaultValue = CursorPage.DEFAULT_SIZE) int size) {
+        return ResponseEntity.ok(movementService.scroll(cursor, size));
+    }
+
+    @Operation(summary = "Listar movimientos por cuenta y cursor",
+            description = "Paginación keyset por (fecha, id) descendente de los movimientos de una cuenta.")
+    @GetMapping("/account/{accountId}/cursor")
+    public ResponseEntity<CursorPage<MovementResponse>> scrollByAccount(
+            @Parameter(description = "ID de la cuenta", example = "1") @PathVariable Long accountId,
+            @Parameter(description = "Cursor opaco de la página anterior") @RequestParam(required = false)
+            String cursor,
+            @Parameter(description = "Tamaño de página (máximo 100)", example = "20")
+            @RequestParam(defaultValue = CursorPage.DEFAULT_SIZE) int size) {
+        return ResponseEntity.ok(movementService.scrollByAccount(accountId, cursor, size));
+    }
+
     @Operation(summary = "Obtener movimiento por ID",
             responses = {
                     @ApiResponse(responseCode = "200", content = @Content(schema = @Schema(implementation =
                             MovementResponse.class))),
+                    @ApiResponse(responseCode = "304", description = "Sin cambios respecto al ETag enviado",
+                            content = @Content),
                     @ApiResponse(responseCode = "404", description = "No encontrado", content = @Content)
             })
     @GetMapping("/{id}")
     public ResponseEntity<MovementResponse> show(
-            @Parameter(description = "ID del movimiento", example = "10") @PathVariable Long id
+            @Parameter(description = "ID del movimiento", example = "10") @PathVariable Long id,
+            WebRequest request
     ) {
-        return ResponseEntity.ok(movementService.show(id));
+        return movementService.showVersioned(id).toResponseEntity(request);
     }
 
     @Operation(summary = "Crear movimiento",
@@ -86,11 +132,46 @@ public class MovementController {
             })
     @PostMapping
     public ResponseEntity<MovementResponse> create(
-            @Validated(OnCreate.class) @org.springframework.web.bind.annotation.RequestBody MovementRequest request) {
+            @Validated(OnCreate.class) @org.springframework.web.bind.annotation.RequestBody MovementRequest request,
+            @Parameter(description = "Clave para reintentar sin duplicar el movimiento")
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
 
-        MovementResponse created = movementService.create(request);
-        URI location = URI.create("/api/movements/" + created.getId());
-        return ResponseEntity.created(location).body(created);
+        return this.createIdempotent(idempotencyKey, request);
+    }
+
+    @Operation(summary = "Carga masiva de movimientos",
+            description = "Acepta un arreglo JSON o NDJSON (un movimiento por línea); los movimientos se validan " +
+                    "en orden por cuenta y se persisten por lotes. Devuelve el resultado de cada elemento.",
+            responses = @ApiResponse(responseCode = "200", description = "Procesado",
+                    content = @Content(schema = @Schema(implementation = MovementBatchResponse.class))))
+    @PostMapping(value = "/batch", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<MovementBatchResponse> batch(InputStream body) throws IOException {
+        try (MappingIterator<MovementRequest> requests = objectMapper.readerFor(MovementRequest.class)
+                .readValues(body)) {
+            return ResponseEntity.ok(movementService.createBatch(batchItems(requests)));
+        }
+    }
+
+    private static Iterator<MovementRequest> batchItems(MappingIterator<MovementRequest> requests) {
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                try {
+                    return requests.hasNextValue();
+                } catch (IOException e) {
+                    throw new RuntimeJsonMappingException(e.getMessage());
+                }
+            }
+
+            @Override
+            public MovementRequest next() {
+                try {
+                    return requests.nextValue();
+                } catch (IOException e) {
+                    throw new RuntimeJsonMappingException(e.getMessage());
+                }
+            }
+        };
     }
 
     @Operation(summary = "Depósito en cuenta",
@@ -99,15 +180,15 @@ public class MovementController {
     @PostMapping("/account/{accountId}/deposit")
     public ResponseEntity<MovementResponse> deposit(
             @PathVariable Long accountId,
-            @RequestParam BigDecimal amount) {
+            @RequestParam BigDecimal amount,
+            @Parameter(description = "Clave para reintentar sin duplicar el movimiento")
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
 
         MovementRequest req = new MovementRequest();
         req.setAccountId(accountId);
         req.setAmount(amount);
         req.setMovementType(MovementTypeEnum.DEPOSIT);
-        MovementResponse created = movementService.create(req);
-        URI location = URI.create("/api/movements/" + created.getId());
-        return ResponseEntity.created(location).body(created);
+        return this.createIdempotent(idempotencyKey, req);
     }
 
     @Operation(summary = "Retiro en cuenta",
@@ -116,15 +197,31 @@ public class MovementController {
     @PostMapping("/account/{accountId}/withdraw")
     public ResponseEntity<MovementResponse> withdraw(
             @PathVariable Long accountId,
-            @RequestParam BigDecimal amount) {
+            @RequestParam BigDecimal amount,
+            @Parameter(description = "Clave para reintentar sin duplicar el movimiento")
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
 
         MovementRequest req = new MovementRequest();
         req.setAccountId(accountId);
         req.setAmount(amount);
         req.setMovementType(MovementTypeEnum.WITHDRAWAL);
-        MovementResponse created = movementService.create(req);
+        return this.createIdempotent(idempotencyKey, req);
+    }
+
+    /**
+     * Crea el movimiento una sola vez por {@code Idempotency-Key}; una repetición devuelve la respuesta original
+     * con la cabecera {@code Idempotent-Replayed: true}.
+     */
+    private ResponseEntity<MovementResponse> createIdempotent(String idempotencyKey, MovementRequest request) {
+        IdempotentResult<MovementResponse> result = idempotencyStore.execute(idempotencyKey, IDEMPOTENCY_SCOPE,
+                request, MovementResponse.class, recorder -> movementService.create(request, recorder));
+        MovementResponse created = result.value();
         URI location = URI.create("/api/movements/" + created.getId());
-        return ResponseEntity.created(location).body(created);
+        ResponseEntity.BodyBuilder response = ResponseEntity.created(location);
+        if (result.replayed()) {
+            response.header(IDEMPOTENT_REPLAYED_HEADER, "true");
+        }
+        return response.body(created);
     }
 
     @Operation(summary = "Actualizar movimiento (reemplazo total)",
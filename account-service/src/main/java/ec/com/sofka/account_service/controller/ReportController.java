@@ -1,6 +1,8 @@
 package ec.com.sofka.account_service.controller;
 
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import ec.com.sofka.account_service.dto.report.StatementDetailLine;
 import ec.com.sofka.account_service.dto.report.StatementReportRow;
 import ec.com.sofka.account_service.service.ReportService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -9,22 +11,41 @@ import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import jakarta.validation.constraints.NotNull;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/api/reportes")
 @RequiredArgsConstructor
 public class ReportController {
 
+    static final String TEXT_CSV_VALUE = "text/csv";
+    private static final String CSV_HEADER =
+            "Fecha,Cliente,Numero Cuenta,Tipo,Id Movimiento,Tipo Movimiento,Movimiento,Saldo Disponible\n";
+    private static final DateTimeFormatter CSV_DATE = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss");
+
     private final ReportService reportService;
+    private final ObjectMapper objectMapper;
 
     @Operation(
             summary = "Reporte de Estado de Cuenta por rango de fechas y cliente",
@@ -45,4 +66,93 @@ public class ReportController {
     ) {
         return ResponseEntity.ok(reportService.generateStatement(clientId, from, to));
     }
-}
\ No newline at end of file
+
+    @Operation(
+            summary = "Detalle de movimientos del estado de cuenta (NDJSON)",
+            description = "Emite un movimiento por línea a medida que se lee de la base; apto para rangos de varios años"
+    )
+    @GetMapping(value = "/movimientos", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> statementDetailNdjson(
+            @Parameter(description = "ID del cliente", example = "1")
+            @RequestParam("cliente") @NotNull Long clientId,
+            @Parameter(description = "Fecha inicio (yyyy-MM-dd)", example = "2024-08-01")
+            @RequestParam("desde") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Fecha fin (yyyy-MM-dd)", example = "2024-08-31")
+            @RequestParam("hasta") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        StreamingResponseBody body = out -> reportService.exportStatement(clientId, from, to,
+                line -> write(out, this.toJson(line) + "\n"));
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    @Operation(
+            summary = "Detalle de movimientos del estado de cuenta (CSV)",
+            description = "Emite un movimiento por fila a medida que se lee de la base; apto para rangos de varios años"
+    )
+    @GetMapping(value = "/movimientos", produces = TEXT_CSV_VALUE)
+    public ResponseEntity<StreamingResponseBody> statementDetailCsv(
+            @Parameter(description = "ID del cliente", example = "1")
+            @RequestParam("cliente") @NotNull Long clientId,
+            @Parameter(description = "Fecha inicio (yyyy-MM-dd)", example = "2024-08-01")
+            @RequestParam("desde") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Fecha fin (yyyy-MM-dd)", example = "2024-08-31")
+            @RequestParam("hasta") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        StreamingResponseBody body = out -> {
+            write(out, CSV_HEADER);
+            reportService.exportStatement(clientId, from, to, line -> write(out, toCsv(line)));
+        };
+        String filename = "estado-cuenta-" + clientId + "-" + from + "-" + to + ".csv";
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(TEXT_CSV_VALUE + ";charset=UTF-8"))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(filename).build().toString())
+                .body(body);
+    }
+
+    private String toJson(StatementDetailLine line) {
+        try {
+            return objectMapper.writeValueAsString(line);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String toCsv(StatementDetailLine line) {
+        return Stream.of(
+                        Objects.nonNull(line.getDate()) ? CSV_DATE.format(line.getDate()) : "",
+                        line.getClientName(),
+                        line.getAccountNumber(),
+                        line.getAccountType(),
+                        Objects.toString(line.getMovementId(), ""),
+                        line.getMovementType(),
+                        plain(line.getMovement()),
+                        plain(line.getAvailableBalance()))
+                .map(ReportController::csvCell)
+                .collect(Collectors.joining(",", "", "\n"));
+    }
+
+    private static String plain(BigDecimal value) {
+        return Objects.nonNull(value) ? value.toPlainString() : "";
+    }
+
+    private static String csvCell(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.contains(",") || value.contains("\"") || value.contains("\n") || value.contains("\r")) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
+    }
+
+    private static void write(OutputStream out, String text) {
+        try {
+            out.write(text.getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package ec.com.sofka.account_service.diagnostics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Con hilos virtuales activos, escucha el evento JFR {@code jdk.VirtualThreadPinned}: un hilo virtual que se
+ * bloquea dentro de un {@code synchronized} (p. ej. en el driver JDBC) retiene su hilo portador y reduce el
+ * paralelismo de todo el servicio. Cada bloqueo que supera el umbral se registra con el primer marco de la
+ * aplicación (o el primero de la pila) y se cuenta en {@code jvm.threads.virtual.pinned}.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = {"spring.threads.virtual.enabled", "app.diagnostics.pinning.enabled"},
+        havingValue = "true")
+public class VirtualThreadPinningMonitor {
+
+    static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    static final String METRIC_NAME = "jvm.threads.virtual.pinned";
+    private static final String APPLICATION_PACKAGE = "ec.com.sofka.";
+
+    private final RecordingStream stream;
+    private final LongAdder pinned = new LongAdder();
+    private Counter counter;
+
+    @Autowired
+    public VirtualThreadPinningMonitor(@Value("${app.diagnostics.pinning.threshold:20ms}") Duration threshold,
+                                       ObjectProvider<MeterRegistry> meterRegistry) {
+        this(threshold);
+        meterRegistry.ifAvailable(registry -> counter = Counter.builder(METRIC_NAME)
+                .description("Virtual threads blocked while pinned to their carrier")
+                .register(registry));
+    }
+
+    VirtualThreadPinningMonitor(Duration threshold) {
+        this.stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::onEvent);
+        stream.startAsync();
+        log.info("Virtual thread pinning monitor started (threshold {})", threshold);
+    }
+
+    public long pinnedCount() {
+        return pinned.sum();
+    }
+
+    void onEvent(RecordedEvent event) {
+        this.record(event.getDuration(), site(event.getStackTrace()));
+    }
+
+    void record(Duration duration, String site) {
+        pinned.increment();
+        if (counter != null) {
+            counter.increment();
+        }
+        log.warn("Virtual thread pinned for {} ms at {}", duration.toMillis(), site);
+    }
+
+    static String site(RecordedStackTrace stackTrace) {
+        if (stackTrace == null || stackTrace.getFrames().isEmpty()) {
+            return "unknown";
+        }
+        List<RecordedFrame> frames = stackTrace.getFrames();
+        RecordedFrame frame = frames.stream()
+                .filter(f -> f.getMethod().getType().getName().startsWith(APPLICATION_PACKAGE))
+                .findFirst()
+                .orElse(frames.getFirst());
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":"
+                + frame.getLineNumber();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        stream.close();
+    }
+}
@@ -0,0 +1,21 @@
+package ec.com.sofka.account_service.dto.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Estadísticas acumuladas desde el arranque de la caché de segundo nivel de cuentas y de la caché de consultas.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AccountCacheStats {
+    private long hits;
+    private long misses;
+    private long puts;
+    private long size;
+    private long queryHits;
+    private long queryMisses;
+    private long queryPuts;
+}
@@ -0,0 +1,26 @@
+package ec.com.sofka.account_service.dto.client;
+
+import jakarta.validation.constraints.NotNull;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Cambio de un cliente publicado por el servicio de clientes al crear, actualizar, activar/desactivar o eliminar.
+ */
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ClientChangeEvent {
+    @NotNull(message = "client_id cannot be null")
+    private Long clientId;
+    private boolean active;
+    private boolean deleted;
+    @NotNull(message = "occurred_at cannot be null")
+    private LocalDateTime occurredAt;
+}
@@ -0,0 +1,24 @@
+package ec.com.sofka.account_service.dto.movement.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.math.BigDecimal;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class MovementBatchItemResult {
+    public static final String CREATED = "CREATED";
+    public static final String REJECTED = "REJECTED";
+
+    private int index;
+    private String status;
+    private Long movementId;
+    private BigDecimal balance;
+    private String error;
+}
@@ -0,0 +1,25 @@
+package ec.com.sofka.account_service.dto.movement.response;
+
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+public class MovementBatchResponse {
+    private int received;
+    private int created;
+    private int rejected;
+    private List<MovementBatchItemResult> items = new ArrayList<>();
+
+    public void add(MovementBatchItemResult item) {
+        items.add(item);
+        received++;
+        if (MovementBatchItemResult.CREATED.equals(item.getStatus())) {
+            created++;
+        } else {
+            rejected++;
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package ec.com.sofka.account_service.dto.page;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Página obtenida por cursor (keyset): no calcula el total de elementos; {@code nextCursor} es opaco y se envía
+ * tal cual para pedir la página siguiente, y es {@code null} en la última.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPage<T> {
+    /**
+     * Tamaño de página por omisión de los endpoints por cursor, como texto para {@code @RequestParam}.
+     */
+    public static final String DEFAULT_SIZE = "20";
+
+    private List<T> content;
+    private int size;
+    private boolean hasNext;
+    private String nextCursor;
+}
@@ -0,0 +1,41 @@
+package ec.com.sofka.account_service.dto.report;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StatementDetailLine {
+    @JsonProperty("Fecha")
+    @JsonFormat(pattern = "dd/MM/yyyy HH:mm:ss")
+    private LocalDateTime date;
+
+    @JsonProperty("Cliente")
+    private String clientName;
+
+    @JsonProperty("Numero Cuenta")
+    private String accountNumber;
+
+    @JsonProperty("Tipo")
+    private String accountType;
+
+    @JsonProperty("Id Movimiento")
+    private Long movementId;
+
+    @JsonProperty("Tipo Movimiento")
+    private String movementType;
+
+    @JsonProperty("Movimiento")
+    private BigDecimal movement;
+
+    @JsonProperty("Saldo Disponible")
+    private BigDecimal availableBalance;
+}
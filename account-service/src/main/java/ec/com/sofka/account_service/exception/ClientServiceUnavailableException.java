@@ -0,0 +1,12 @@
+package ec.com.sofka.account_service.exception;
+
+/**
+ * El servicio de clientes no respondió (circuito abierto, timeout, 5xx). Extiende {@link ClientNotFoundException}
+ * para conservar la respuesta HTTP del fallback, pero a diferencia de un 404 no se cachea como cliente inexistente.
+ */
+public class ClientServiceUnavailableException extends ClientNotFoundException {
+
+    public ClientServiceUnavailableException(String message) {
+        super(message);
+    }
+}
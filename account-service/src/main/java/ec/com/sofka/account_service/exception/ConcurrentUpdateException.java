@@ -0,0 +1,12 @@
+package ec.com.sofka.account_service.exception;
+
+/**
+ * La operación siguió encontrando versiones desactualizadas tras agotar sus reintentos.
+ */
+public class ConcurrentUpdateException extends RuntimeException {
+
+    public ConcurrentUpdateException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+}
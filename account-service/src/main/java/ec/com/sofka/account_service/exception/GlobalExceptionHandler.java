@@ -1,7 +1,11 @@
 package ec.com.sofka.account_service.exception;
 
 
+import com.fasterxml.jackson.databind.RuntimeJsonMappingException;
 import ec.com.sofka.account_service.exception.dto.ErrorMessage;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
 import java.time.LocalDateTime;
@@ -10,6 +14,7 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -21,45 +26,81 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 import org.springframework.web.servlet.NoHandlerFoundException;
 
+/**
+ * Traduce las excepciones a {@link ErrorMessage}. Cada respuesta de error incrementa
+ * {@code http.server.requests.rejected}, etiquetado con la clase de la excepción y el estado HTTP devuelto.
+ */
 @Slf4j
 @ControllerAdvice
 public class GlobalExceptionHandler {
 
+    static final String REJECTED_METRIC = "http.server.requests.rejected";
+
+    private final MeterRegistry meterRegistry;
+
+    public GlobalExceptionHandler(ObjectProvider<MeterRegistry> meterRegistry) {
+        this.meterRegistry = meterRegistry.getIfAvailable(SimpleMeterRegistry::new);
+    }
+
     @ExceptionHandler(AccountNotFoundException.class)
     public ResponseEntity<ErrorMessage> handleAccountNotFoundException(AccountNotFoundException ex) {
         log.warn("Account not found: {}", ex.getMessage());
-        return buildErrorResponse(ex.getMessage(), HttpStatus.NOT_FOUND);
+        return buildErrorResponse(ex, ex.getMessage(), HttpStatus.NOT_FOUND);
     }
 
     @ExceptionHandler(MovementNotFoundException.class)
     public ResponseEntity<ErrorMessage> handleMovementNotFoundException(MovementNotFoundException ex) {
         log.warn("Movement not found: {}", ex.getMessage());
-        return buildErrorResponse(ex.getMessage(), HttpStatus.NOT_FOUND);
+        return buildErrorResponse(ex, ex.getMessage(), HttpStatus.NOT_FOUND);
     }
 
     @ExceptionHandler(BalanceTypeSigNumUnavailableException.class)
     public ResponseEntity<ErrorMessage> handleBalanceTypeSigNumUnavailableException(
             BalanceTypeSigNumUnavailableException ex) {
         log.warn("Balance type signature number unavailable: {}", ex.getMessage());
-        return buildErrorResponse(ex.getMessage(), HttpStatus.BAD_REQUEST);
+        return buildErrorResponse(ex, ex.getMessage(), HttpStatus.BAD_REQUEST);
     }
 
     @ExceptionHandler(ClientNotFoundException.class)
     public ResponseEntity<ErrorMessage> handleClientNotFoundException(ClientNotFoundException ex) {
         log.warn("Client not found: {}", ex.getMessage());
-        return buildErrorResponse(ex.getMessage(), HttpStatus.NOT_FOUND);
+        return buildErrorResponse(ex, ex.getMessage(), HttpStatus.NOT_FOUND);
     }
 
     @ExceptionHandler(InsufficientFoundsException.class)
     public ResponseEntity<ErrorMessage> handleInsufficientFoundsException(InsufficientFoundsException ex) {
         log.warn("Insufficient funds: {}", ex.getMessage());
-        return buildErrorResponse(ex.getMessage(), HttpStatus.BAD_REQUEST);
+        return buildErrorResponse(ex, ex.getMessage(), HttpStatus.BAD_REQUEST);
     }
 
     @ExceptionHandler(BalanceUnavailableException.class)
     public ResponseEntity<ErrorMessage> handleBalanceUnavailableException(BalanceUnavailableException ex) {
         log.warn("Balance unavailable: {}", ex.getMessage());
-        return buildErrorResponse(ex.getMessage(), HttpStatus.BAD_REQUEST);
+        return buildErrorResponse(ex, ex.getMessage(), HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(PostingRejectedException.class)
+    public ResponseEntity<ErrorMessage> handlePostingRejectedException(PostingRejectedException ex) {
+        log.warn("Posting rejected: {}", ex.getMessage());
+        return buildErrorResponse(ex, ex.getMessage(), HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    @ExceptionHandler(ConcurrentUpdateException.class)
+    public ResponseEntity<ErrorMessage> handleConcurrentUpdateException(ConcurrentUpdateException ex) {
+        log.warn("Concurrent update: {}", ex.getMessage());
+        return buildErrorResponse(ex, ex.getMessage(), HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(IdempotencyKeyConflictException.class)
+    public ResponseEntity<ErrorMessage> handleIdempotencyKeyConflictException(IdempotencyKeyConflictException ex) {
+        log.warn("Idempotency key conflict: {}", ex.getMessage());
+        return buildErrorResponse(ex, ex.getMessage(), HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(IdempotencyKeyReuseException.class)
+    public ResponseEntity<ErrorMessage> handleIdempotencyKeyReuseException(IdempotencyKeyReuseException ex) {
+        log.warn("Idempotency key reused: {}", ex.getMessage());
+        return buildErrorResponse(ex, ex.getMessage(), HttpStatus.UNPROCESSABLE_ENTITY);
     }
 
     @ExceptionHandler(MethodArgumentNotValidException.class)
@@ -81,6 +122,7 @@ public class GlobalExceptionHandler {
                 .path(getCurrentPath())
                 .build();
 
+        this.countRejection(ex, HttpStatus.BAD_REQUEST);
         return new ResponseEntity<>(errorMessage, HttpStatus.BAD_REQUEST);
     }
 
@@ -105,6 +147,7 @@ public class GlobalExceptionHandler {
                 .path(getCurrentPath())
                 .build();
 
+        this.countRejection(ex, HttpStatus.BAD_REQUEST);
         return new ResponseEntity<>(errorMessage, HttpStatus.BAD_REQUEST);
     }
 
@@ -116,7 +159,7 @@ public class GlobalExceptionHandler {
                 ex.getName(),
                 ex.getRequiredType() != null ? ex.getRequiredType().getSimpleName() : "Unknown");
 
-        return buildErrorResponse(message, HttpStatus.BAD_REQUEST);
+        return buildErrorResponse(ex, message, HttpStatus.BAD_REQUEST);
     }
 
     @ExceptionHandler(MissingServletRequestParameterException.class)
@@ -126,7 +169,7 @@ public class GlobalExceptionHandler {
         String message = String.format("Required parameter '%s' of type '%s' is missing",
                 ex.getParameterName(), ex.getParameterType());
 
-        return buildErrorResponse(message, HttpStatus.BAD_REQUEST);
+        return buildErrorResponse(ex, message, HttpStatus.BAD_REQUEST);
     }
 
     @ExceptionHandler(DateTimeParseException.class)
@@ -136,20 +179,26 @@ public class GlobalExceptionHandler {
         String message = String.format("Invalid date format. Expected format: yyyy-MM-dd. Error: %s",
                 ex.getParsedString());
 
-        return buildErrorResponse(message, HttpStatus.BAD_REQUEST);
+        return buildErrorResponse(ex, message, HttpStatus.BAD_REQUEST);
     }
 
     @ExceptionHandler(HttpMessageNotReadableException.class)
     public ResponseEntity<ErrorMessage> handleHttpMessageNotReadableException(HttpMessageNotReadableException ex) {
         log.warn("Malformed JSON request: {}", ex.getMessage());
-        return buildErrorResponse("Malformed JSON request", HttpStatus.BAD_REQUEST);
+        return buildErrorResponse(ex, "Malformed JSON request", HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(RuntimeJsonMappingException.class)
+    public ResponseEntity<ErrorMessage> handleRuntimeJsonMappingException(RuntimeJsonMappingException ex) {
+        log.warn("Malformed batch item: {}", ex.getMessage());
+        return buildErrorResponse(ex, "Malformed batch item", HttpStatus.BAD_REQUEST);
     }
 
 
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<ErrorMessage> handleIllegalArgumentException(IllegalArgumentException ex) {
         log.warn("Illegal argument: {}", ex.getMessage());
-        return buildErrorResponse(ex.getMessage(), HttpStatus.BAD_REQUEST);
+        return buildErrorResponse(ex, ex.getMessage(), HttpStatus.BAD_REQUEST);
     }
 
     @ExceptionHandler(NoHandlerFoundException.class)
@@ -157,13 +206,13 @@ public class GlobalExceptionHandler {
         log.warn("No handler found for {} {}", ex.getHttpMethod(), ex.getRequestURL());
 
         String message = String.format("No handler found for %s %s", ex.getHttpMethod(), ex.getRequestURL());
-        return buildErrorResponse(message, HttpStatus.NOT_FOUND);
+        return buildErrorResponse(ex, message, HttpStatus.NOT_FOUND);
     }
 
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorMessage> handleGenericException(Exception ex) {
         log.error("Unexpected error occurred", ex);
-        return buildErrorResponse("An unexpected error occurred. Please try again later.",
+        return buildErrorResponse(ex, "An unexpected error occurred. Please try again later.",
                 HttpStatus.INTERNAL_SERVER_ERROR);
     }
 
@@ -171,6 +220,7 @@ public class GlobalExceptionHandler {
     public ResponseEntity<ErrorMessage> handleDuplicateAccountException(DuplicateAccountException ex) {
         ErrorMessage errorMessage = new ErrorMessage();
         errorMessage.setMessage(ex.getMessage());
+        this.countRejection(ex, HttpStatus.FOUND);
         return new ResponseEntity<>(errorMessage, HttpStatus.FOUND);
     }
 
@@ -178,10 +228,12 @@ public class GlobalExceptionHandler {
     public ResponseEntity<ErrorMessage> handleInactiveAccountException(InactiveAccountException ex) {
         ErrorMessage errorMessage = new ErrorMessage();
         errorMessage.setMessage(ex.getMessage());
+        this.countRejection(ex, HttpStatus.BAD_REQUEST);
         return new ResponseEntity<>(errorMessage, HttpStatus.BAD_REQUEST);
     }
 
-    private ResponseEntity<ErrorMessage> buildErrorResponse(String message, HttpStatus status) {
+    private ResponseEntity<ErrorMessage> buildErrorResponse(Exception ex, String message, HttpStatus status) {
+        this.countRejection(ex, status);
         ErrorMessage errorMessage = ErrorMessage.builder()
                 .message(message)
                 .timestamp(LocalDateTime.now())
@@ -192,6 +244,14 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorMessage, status);
     }
 
+    private void countRejection(Exception ex, HttpStatus status) {
+        Counter.builder(REJECTED_METRIC)
+                .tag("exception", ex.getClass().getSimpleName())
+                .tag("status", String.valueOf(status.value()))
+                .register(meterRegistry)
+                .increment();
+    }
+
     private String getCurrentPath() {
         return "";
     }
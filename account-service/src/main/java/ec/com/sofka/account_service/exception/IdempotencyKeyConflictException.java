@@ -0,0 +1,12 @@
+package ec.com.sofka.account_service.exception;
+
+/**
+ * La misma {@code Idempotency-Key} ya se está procesando en otra petición (o en otra instancia).
+ */
+public class IdempotencyKeyConflictException extends RuntimeException {
+
+    public IdempotencyKeyConflictException(String message) {
+        super(message);
+    }
+
+}
@@ -0,0 +1,12 @@
+package ec.com.sofka.account_service.exception;
+
+/**
+ * La {@code Idempotency-Key} ya se usó con una petición distinta.
+ */
+public class IdempotencyKeyReuseException extends RuntimeException {
+
+    public IdempotencyKeyReuseException(String message) {
+        super(message);
+    }
+
+}
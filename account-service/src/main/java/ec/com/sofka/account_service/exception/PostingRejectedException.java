@@ -0,0 +1,9 @@
+package ec.com.sofka.account_service.exception;
+
+public class PostingRejectedException extends RuntimeException {
+
+    public PostingRejectedException(String message) {
+        super(message);
+    }
+
+}
@@ -0,0 +1,171 @@
+package ec.com.sofka.account_service.idempotency;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import ec.com.sofka.account_service.exception.IdempotencyKeyConflictException;
+import ec.com.sofka.account_service.exception.IdempotencyKeyReuseException;
+import ec.com.sofka.account_service.model.IdempotencyRecord;
+import ec.com.sofka.account_service.repository.IdempotencyRecordRepository;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Optional;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Persistencia opcional de las claves de idempotencia en {@code idempotency_keys}. La clave se reserva en su propia
+ * transacción antes de ejecutar la operación y la respuesta serializada se guarda en la misma transacción que
+ * confirma la operación, de modo que una reserva sin respuesta nunca corresponde a una operación confirmada. Por
+ * eso una reserva sin respuesta más antigua que {@code reservation-timeout} (la instancia que la tomó cayó antes de
+ * confirmar) puede tomarse de nuevo; la respuesta se guarda solo si la reserva sigue siendo de quien la tomó, y si
+ * no la operación se revierte. Si la operación falla la reserva se elimina. Las claves vencidas se purgan
+ * periódicamente.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.idempotency.persistence.enabled", havingValue = "true")
+public class IdempotencyPersistence {
+
+    private final IdempotencyRecordRepository repository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration ttl;
+    private final Duration reservationTimeout;
+
+    public IdempotencyPersistence(IdempotencyRecordRepository repository,
+                                  ObjectMapper objectMapper,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${app.idempotency.ttl:24h}") Duration ttl,
+                                  @Value("${app.idempotency.persistence.reservation-timeout:5m}")
+                                  Duration reservationTimeout) {
+        this.repository = repository;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.ttl = ttl;
+        this.reservationTimeout = reservationTimeout;
+    }
+
+    /**
+     * Reserva la clave. La reserva devuelta trae la respuesta guardada si la clave ya se completó con el mismo
+     * contenido.
+     *
+     * @throws IdempotencyKeyConflictException si otra petición con la clave sigue en curso
+     * @throws IdempotencyKeyReuseException    si la clave se usó con otro contenido
+     */
+    public <T> Reservation<T> reserve(String key, String fingerprint, Class<T> type) {
+        try {
+            IdempotencyRecord record = transactionTemplate.execute(status -> this.reserveInTransaction(key,
+                    fingerprint));
+            T stored = record.getResponse() == null ? null : this.read(record.getResponse(), type);
+            return new Reservation<>(stored, record.getCreatedAt());
+        } catch (DataIntegrityViolationException e) {
+            throw this.inProgress(key);
+        }
+    }
+
+    private IdempotencyRecord reserveInTransaction(String key, String fingerprint) {
+        // el instante de la reserva identifica a su dueño; se trunca a la precisión de la columna
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+        Optional<IdempotencyRecord> existing = repository.findById(key);
+        if (existing.isPresent() && existing.get().getExpiresAt().isAfter(now)) {
+            IdempotencyRecord record = existing.get();
+            if (!record.getFingerprint().equals(fingerprint)) {
+                throw new IdempotencyKeyReuseException(
+                        String.format("Idempotency key %s was already used with a different request", key));
+            }
+            if (record.getResponse() != null) {
+                return record;
+            }
+            if (record.getCreatedAt().isAfter(now.minus(reservationTimeout))) {
+                throw this.inProgress(key);
+            }
+            log.warn("Idempotency key {} reserved at {} was abandoned, reserving it again", key,
+                    record.getCreatedAt());
+        }
+        IdempotencyRecord reservation = new IdempotencyRecord(key, fingerprint, null, now, now.plus(ttl));
+        if (existing.isEmpty()) {
+            return repository.saveAndFlush(reservation);
+        }
+        // clave vencida o abandonada: se toma solo si nadie la tomó desde que se leyó
+        if (repository.reserveAgain(key, existing.get().getCreatedAt(), fingerprint, now, now.plus(ttl)) == 0) {
+            throw this.inProgress(key);
+        }
+        return reservation;
+    }
+
+    /**
+     * Guarda la respuesta de la reserva hecha en {@code reservedAt}. Se llama dentro de la transacción que
+     * confirma la operación, para que ambas se confirmen juntas; sin transacción activa usa una propia.
+     *
+     * @throws IdempotencyKeyConflictException si la reserva venció y otra petición la tomó; la transacción de la
+     *                                         operación se revierte
+     */
+    public void complete(String key, LocalDateTime reservedAt, Object response) {
+        String json = this.write(response);
+        int updated = TransactionSynchronizationManager.isActualTransactionActive()
+                ? repository.complete(key, reservedAt, json)
+                : transactionTemplate.execute(status -> repository.complete(key, reservedAt, json));
+        if (updated == 0) {
+            throw new IdempotencyKeyConflictException(
+                    String.format("The reservation of idempotency key %s was taken over by another request", key));
+        }
+    }
+
+    /**
+     * Elimina la reserva hecha en {@code reservedAt}, salvo que otra petición ya la haya tomado.
+     */
+    public void release(String key, LocalDateTime reservedAt) {
+        transactionTemplate.executeWithoutResult(status -> repository.release(key, reservedAt));
+    }
+
+    @Scheduled(fixedDelayString = "${app.idempotency.persistence.purge-interval-ms:600000}")
+    public int purgeExpired() {
+        Integer purged = transactionTemplate.execute(status -> repository.deleteExpired(LocalDateTime.now()));
+        if (purged != null && purged > 0) {
+            log.info("Purged {} expired idempotency keys", purged);
+        }
+        return purged == null ? 0 : purged;
+    }
+
+    private IdempotencyKeyConflictException inProgress(String key) {
+        return new IdempotencyKeyConflictException(
+                String.format("A request with idempotency key %s is still in progress", key));
+    }
+
+    private String write(Object response) {
+        try {
+            return objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unable to store idempotent response", e);
+        }
+    }
+
+    private <T> T read(String json, Class<T> type) {
+        try {
+            return objectMapper.readValue(json, type);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unable to read idempotent response", e);
+        }
+    }
+
+    /**
+     * Reserva de una clave: {@code stored} es la respuesta guardada si la clave ya se había completado, y
+     * {@code reservedAt} identifica la reserva al completarla o liberarla.
+     */
+    public record Reservation<T>(T stored, LocalDateTime reservedAt) {
+
+        public boolean replayed() {
+            return stored != null;
+        }
+    }
+}
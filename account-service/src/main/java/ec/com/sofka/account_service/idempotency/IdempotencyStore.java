@@ -0,0 +1,186 @@
+package ec.com.sofka.account_service.idempotency;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import ec.com.sofka.account_service.exception.IdempotencyKeyConflictException;
+import ec.com.sofka.account_service.exception.IdempotencyKeyReuseException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Almacén acotado (Caffeine) de claves de idempotencia con expiración por {@code ttl}. La primera petición con una
+ * clave ejecuta la operación; las repeticiones con la misma clave y el mismo contenido reciben el resultado
+ * original sin volver a ejecutarla, y las que llegan mientras la original sigue en curso esperan su resultado
+ * hasta {@code wait-timeout}. Reusar la clave con otro contenido se rechaza. Si la operación falla la clave se
+ * libera para que el cliente pueda reintentar.
+ * <p>
+ * Con {@link IdempotencyPersistence} activo las claves se reservan además en base de datos, de modo que las
+ * repeticiones que llegan a otra instancia (o tras un reinicio) también se detectan.
+ */
+@Component
+public class IdempotencyStore {
+
+    static final int MAX_KEY_LENGTH = 255;
+
+    private final Cache<String, Entry> entries;
+    private final ObjectMapper objectMapper;
+    private final IdempotencyPersistence persistence;
+    private final Duration waitTimeout;
+
+    @Autowired
+    public IdempotencyStore(ObjectMapper objectMapper,
+                            ObjectProvider<IdempotencyPersistence> persistence,
+                            @Value("${app.idempotency.maximum-size:100000}") long maximumSize,
+                            @Value("${app.idempotency.ttl:24h}") Duration ttl,
+                            @Value("${app.idempotency.wait-timeout:30s}") Duration waitTimeout) {
+        this(objectMapper, persistence.getIfAvailable(), maximumSize, ttl, waitTimeout, Ticker.systemTicker());
+    }
+
+    IdempotencyStore(ObjectMapper objectMapper, IdempotencyPersistence persistence, long maximumSize,
+                     Duration ttl, Duration waitTimeout, Ticker ticker) {
+        this.objectMapper = objectMapper;
+        this.persistence = persistence;
+        this.waitTimeout = waitTimeout;
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .ticker(ticker)
+                .build();
+    }
+
+    /**
+     * Ejecuta {@code action} una sola vez por clave. Sin clave ({@code null}) la operación se ejecuta siempre.
+     *
+     * @param key     valor de la cabecera {@code Idempotency-Key}
+     * @param scope   operación a la que pertenece la clave (p. ej. {@code "movements"})
+     * @param request contenido de la petición; una repetición con otro contenido lanza
+     *                {@link IdempotencyKeyReuseException}
+     */
+    public <T> IdempotentResult<T> execute(String key, String scope, Object request, Class<T> type,
+                                           Supplier<T> action) {
+        return this.execute(key, scope, request, type, recorder -> action.get());
+    }
+
+    /**
+     * Igual que {@link #execute(String, String, Object, Class, Supplier)}, pero {@code action} recibe el registro
+     * de la respuesta y lo invoca dentro de la transacción que confirma la operación: con
+     * {@link IdempotencyPersistence} activo la respuesta se guarda en esa misma transacción. Si la acción no lo
+     * invoca, la respuesta se guarda al terminar en una transacción aparte.
+     */
+    public <T> IdempotentResult<T> execute(String key, String scope, Object request, Class<T> type,
+                                           Function<Consumer<T>, T> action) {
+        if (key == null) {
+            return new IdempotentResult<>(action.apply(response -> {
+            }), false);
+        }
+        validate(key);
+        String fingerprint = this.fingerprint(scope, request);
+        CompletableFuture<Object> result = new CompletableFuture<>();
+        Entry existing = entries.asMap().putIfAbsent(key, new Entry(fingerprint, result));
+        if (existing != null) {
+            return new IdempotentResult<>(type.cast(this.awaitOriginal(key, fingerprint, existing)), true);
+        }
+        try {
+            IdempotencyPersistence.Reservation<T> reservation = persistence == null ? null
+                    : persistence.reserve(key, fingerprint, type);
+            boolean replayed = reservation != null && reservation.replayed();
+            T value = replayed ? reservation.stored() : this.executeReserved(key, reservation, action);
+            result.complete(value);
+            return new IdempotentResult<>(value, replayed);
+        } catch (RuntimeException e) {
+            entries.asMap().remove(key);
+            result.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private <T> T executeReserved(String key, IdempotencyPersistence.Reservation<T> reservation,
+                                  Function<Consumer<T>, T> action) {
+        if (reservation == null) {
+            return action.apply(response -> {
+            });
+        }
+        AtomicBoolean recorded = new AtomicBoolean();
+        T value;
+        try {
+            value = action.apply(response -> {
+                persistence.complete(key, reservation.reservedAt(), response);
+                recorded.set(true);
+            });
+        } catch (RuntimeException e) {
+            persistence.release(key, reservation.reservedAt());
+            throw e;
+        }
+        if (!recorded.get()) {
+            persistence.complete(key, reservation.reservedAt(), value);
+        }
+        return value;
+    }
+
+    private Object awaitOriginal(String key, String fingerprint, Entry existing) {
+        if (!existing.fingerprint().equals(fingerprint)) {
+            throw new IdempotencyKeyReuseException(
+                    String.format("Idempotency key %s was already used with a different request", key));
+        }
+        try {
+            return existing.result().get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new IdempotencyKeyConflictException(
+                    String.format("A request with idempotency key %s is still in progress", key));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IdempotencyKeyConflictException(
+                    String.format("A request with idempotency key %s is still in progress", key));
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private static void validate(String key) {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException(
+                    "Idempotency-Key must be a non-blank value of at most " + MAX_KEY_LENGTH + " characters");
+        }
+    }
+
+    String fingerprint(String scope, Object request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(scope.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(objectMapper.writeValueAsBytes(request));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException | JsonProcessingException e) {
+            throw new IllegalStateException("Unable to fingerprint request", e);
+        }
+    }
+
+    long size() {
+        entries.cleanUp();
+        return entries.estimatedSize();
+    }
+
+    private record Entry(String fingerprint, CompletableFuture<Object> result) {
+    }
+}
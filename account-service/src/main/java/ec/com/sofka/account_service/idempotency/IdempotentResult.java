@@ -0,0 +1,8 @@
+package ec.com.sofka.account_service.idempotency;
+
+/**
+ * Resultado de una operación idempotente; {@code replayed} indica que se devolvió el resultado original sin
+ * volver a ejecutarla.
+ */
+public record IdempotentResult<T>(T value, boolean replayed) {
+}
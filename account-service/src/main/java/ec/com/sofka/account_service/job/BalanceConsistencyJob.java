@@ -0,0 +1,37 @@
+package ec.com.sofka.account_service.job;
+
+import ec.com.sofka.account_service.repository.AccountRepository;
+import ec.com.sofka.account_service.repository.projection.BalanceDrift;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Recalcula el saldo de cada cuenta a partir de su historial de movimientos y reporta las cuentas cuyo
+ * saldo materializado ({@code current_balance}) no coincide con el resultado.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "app.jobs.balance-consistency", name = "enabled", havingValue = "true",
+        matchIfMissing = true)
+public class BalanceConsistencyJob {
+
+    private final AccountRepository accountRepository;
+
+    @Scheduled(cron = "${app.jobs.balance-consistency.cron:0 0 3 * * *}")
+    @Transactional(readOnly = true)
+    public List<BalanceDrift> run() {
+        log.info("Starting balance consistency check");
+        List<BalanceDrift> drifts = accountRepository.findBalanceDrifts();
+        drifts.forEach(drift -> log.warn("Balance drift on account {} ({}): current={} replayed={}",
+                drift.getAccountId(), drift.getAccountNumber(), drift.getCurrentBalance(),
+                drift.getReplayedBalance()));
+        log.info("End balance consistency check - accounts with drift: {}", drifts.size());
+        return drifts;
+    }
+}
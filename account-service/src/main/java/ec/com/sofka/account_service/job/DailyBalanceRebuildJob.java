@@ -0,0 +1,44 @@
+package ec.com.sofka.account_service.job;
+
+import ec.com.sofka.account_service.posting.AccountPostingEngine;
+import ec.com.sofka.account_service.repository.AccountRepository;
+import ec.com.sofka.account_service.service.DailyBalanceService;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reconstruye desde el historial los cierres diarios de cada cuenta. Cada cuenta se procesa en su carril del
+ * motor de registro, así la reconstrucción no se intercala con movimientos nuevos de la misma cuenta.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "app.jobs.daily-balance-rebuild", name = "enabled", havingValue = "true",
+        matchIfMissing = true)
+public class DailyBalanceRebuildJob {
+
+    private final AccountRepository accountRepository;
+    private final DailyBalanceService dailyBalanceService;
+    private final AccountPostingEngine postingEngine;
+
+    @Scheduled(cron = "${app.jobs.daily-balance-rebuild.cron:0 30 2 * * *}")
+    public int run() {
+        log.info("Starting daily balance rebuild");
+        List<Long> accountIds = accountRepository.findAllIds();
+        int rebuilt = 0;
+        for (Long accountId : accountIds) {
+            try {
+                postingEngine.post(accountId, () -> dailyBalanceService.rebuild(accountId));
+                rebuilt++;
+            } catch (RuntimeException e) {
+                log.warn("Daily balance rebuild failed for account {}: {}", accountId, e.getMessage());
+            }
+        }
+        log.info("End daily balance rebuild - accounts: {}, failed: {}", rebuilt, accountIds.size() - rebuilt);
+        return rebuilt;
+    }
+}
@@ -7,8 +7,12 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import java.math.BigDecimal;
 import java.util.HashSet;
 import java.util.Set;
@@ -16,6 +20,8 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.SQLDelete;
 import org.hibernate.annotations.SQLRestriction;
 
@@ -25,9 +31,20 @@ import org.hibernate.annotations.SQLRestriction;
 @Setter
 @Table(name = "accounts")
 @Entity
-@SQLDelete(sql = "UPDATE \"accounts\" SET \"deleted\" = true, \"deleted_at\" = CURRENT_TIMESTAMP WHERE \"id\" = ?")
+@SQLDelete(sql = "UPDATE \"accounts\" SET \"deleted\" = true, \"deleted_at\" = CURRENT_TIMESTAMP, "
+        + "\"version\" = \"version\" + 1 WHERE \"id\" = ? AND \"version\" = ?")
 @SQLRestriction("\"deleted\" = false")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Account.CACHE_REGION)
 public class Account extends Base {
+    /**
+     * Región de la caché de segundo nivel; solo se usa con {@code app.accounts.cache.enabled=true}.
+     */
+    public static final String CACHE_REGION = "accounts";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
     private String accountNumber;
     @Enumerated(EnumType.STRING)
     @Column(name = "account_type", nullable = false, length = 20)
@@ -38,6 +55,16 @@ public class Account extends Base {
     @Column(name = "client_id")
     private Long clientId;
 
+    @Column(name = "current_balance", nullable = false)
+    private BigDecimal currentBalance = BigDecimal.ZERO;
+
+    @Column(name = "movement_sequence", nullable = false)
+    private long movementSequence = 0L;
+
+    @Version
+    @Column(name = "version", nullable = false)
+    private long version;
+
     @OneToMany(mappedBy = "account", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
     private Set<Movement> movements = new HashSet<>();
 }
@@ -0,0 +1,38 @@
+package ec.com.sofka.account_service.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Saldo de cierre de una cuenta al final de un día con movimientos. Permite obtener el saldo de apertura de un
+ * estado de cuenta con una sola lectura en lugar de sumar todo el historial.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "account_daily_balances")
+@Entity
+@IdClass(AccountDailyBalanceId.class)
+public class AccountDailyBalance {
+
+    @Id
+    @Column(name = "account_id")
+    private Long accountId;
+
+    @Id
+    @Column(name = "balance_date")
+    private LocalDate balanceDate;
+
+    @Column(name = "closing_balance", nullable = false)
+    private BigDecimal closingBalance;
+}
@@ -0,0 +1,19 @@
+package ec.com.sofka.account_service.model;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@EqualsAndHashCode
+@AllArgsConstructor
+@NoArgsConstructor
+public class AccountDailyBalanceId implements Serializable {
+    private Long accountId;
+    private LocalDate balanceDate;
+}
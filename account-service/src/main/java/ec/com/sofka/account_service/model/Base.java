@@ -2,9 +2,6 @@ package ec.com.sofka.account_service.model;
 
 
 import jakarta.persistence.Column;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
-import jakarta.persistence.Id;
 import jakarta.persistence.MappedSuperclass;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
@@ -17,10 +14,6 @@ import lombok.Setter;
 @Setter
 public class Base {
 
-    @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
-    private Long id;
-
     @Column(name = "deleted", nullable = false)
     private boolean deleted = false;
 
@@ -30,6 +23,13 @@ public class Base {
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 
+    /**
+     * Última modificación conocida: {@code updatedAt}, o {@code createdAt} si nunca se modificó.
+     */
+    public LocalDateTime lastModifiedAt() {
+        return updatedAt != null ? updatedAt : createdAt;
+    }
+
     @PrePersist
     void prePersist() {
         createdAt = LocalDateTime.now();
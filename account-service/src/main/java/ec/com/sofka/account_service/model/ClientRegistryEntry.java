@@ -0,0 +1,45 @@
+package ec.com.sofka.account_service.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Copia local de un cliente del servicio de clientes. {@code changedAt} es el instante del último evento aplicado
+ * (nulo si la entrada vino de la semilla o de una consulta remota), y sirve para descartar eventos atrasados.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "client_registry")
+@Entity
+public class ClientRegistryEntry {
+
+    @Id
+    @Column(name = "client_id")
+    private Long clientId;
+
+    @Column(nullable = false)
+    private boolean active;
+
+    @Column(nullable = false)
+    private boolean deleted;
+
+    private LocalDateTime changedAt;
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    void touch() {
+        updatedAt = LocalDateTime.now();
+    }
+}
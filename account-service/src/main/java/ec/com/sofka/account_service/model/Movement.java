@@ -6,9 +6,14 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import lombok.AllArgsConstructor;
@@ -24,10 +29,16 @@ import org.hibernate.annotations.SQLRestriction;
 @NoArgsConstructor
 @Table(name = "movements")
 @Entity
-@SQLDelete(sql = "UPDATE \"movements\" SET \"deleted\" = true, \"deleted_at\" = CURRENT_TIMESTAMP WHERE \"id\" = ?")
+@SQLDelete(sql = "UPDATE \"movements\" SET \"deleted\" = true, \"deleted_at\" = CURRENT_TIMESTAMP, "
+        + "\"version\" = \"version\" + 1 WHERE \"id\" = ? AND \"version\" = ?")
 @SQLRestriction("\"deleted\" = false")
 public class Movement extends Base {
 
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "movements_seq")
+    @SequenceGenerator(name = "movements_seq", sequenceName = "movements_seq", allocationSize = 50)
+    private Long id;
+
     private LocalDateTime date;
     @Column(name = "movement_type")
     @Enumerated(EnumType.STRING)
@@ -39,4 +50,8 @@ public class Movement extends Base {
     @JoinColumn(name = "account_id", nullable = false)
     private Account account;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private long version;
+
 }
@@ -0,0 +1,60 @@
+package ec.com.sofka.account_service.model;
+
+import ec.com.sofka.account_service.model.enums.MovementTypeEnum;
+import ec.com.sofka.account_service.model.enums.OutboxStatusEnum;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Movimiento pendiente de registrar, escrito en la misma transacción que lo origina (p. ej. el depósito inicial
+ * de una cuenta) y entregado después por {@code MovementOutboxDispatcher}.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "movement_outbox")
+@Entity
+public class MovementOutbox {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "account_id", nullable = false)
+    private Long accountId;
+
+    @Column(name = "movement_type", nullable = false, length = 20)
+    @Enumerated(EnumType.STRING)
+    private MovementTypeEnum movementType;
+    private BigDecimal amount;
+    private BigDecimal balance;
+    private LocalDateTime date;
+
+    @Column(name = "status", nullable = false, length = 20)
+    @Enumerated(EnumType.STRING)
+    private OutboxStatusEnum status = OutboxStatusEnum.PENDING;
+    private int attempts;
+    private LocalDateTime nextAttemptAt;
+    private String lastError;
+    private LocalDateTime createdAt;
+    private LocalDateTime processedAt;
+
+    @PrePersist
+    void prePersist() {
+        createdAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,8 @@
+package ec.com.sofka.account_service.model.enums;
+
+public enum OutboxStatusEnum {
+    PENDING,
+    IN_FLIGHT,
+    SENT,
+    FAILED
+}
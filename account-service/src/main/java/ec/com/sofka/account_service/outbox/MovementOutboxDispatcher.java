@@ -0,0 +1,144 @@
+package ec.com.sofka.account_service.outbox;
+
+import ec.com.sofka.account_service.event_handler.dto.MovementDto;
+import ec.com.sofka.account_service.model.MovementOutbox;
+import ec.com.sofka.account_service.model.enums.OutboxStatusEnum;
+import ec.com.sofka.account_service.posting.AccountPostingEngine;
+import ec.com.sofka.account_service.repository.MovementOutboxRepository;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Entrega en segundo plano los movimientos pendientes del outbox. Cada entrada se publica como {@link MovementDto}
+ * dentro del carril de su cuenta y se marca como enviada en la misma transacción que registra el movimiento. Las
+ * entradas de una cuenta se entregan en orden de creación: si una falla o espera su reintento, las siguientes de
+ * esa cuenta quedan para la próxima ronda. Antes de publicarla, cada entrada se reserva con un UPDATE condicional
+ * por {@code claim-timeout}, de modo que dos instancias nunca registran el mismo movimiento.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "app.outbox", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class MovementOutboxDispatcher {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final MovementOutboxRepository outboxRepository;
+    private final AccountPostingEngine postingEngine;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final Duration claimTimeout;
+
+    public MovementOutboxDispatcher(MovementOutboxRepository outboxRepository,
+                                    AccountPostingEngine postingEngine,
+                                    ApplicationEventPublisher eventPublisher,
+                                    @Value("${app.outbox.batch-size:100}") int batchSize,
+                                    @Value("${app.outbox.max-attempts:10}") int maxAttempts,
+                                    @Value("${app.outbox.initial-backoff:1s}") Duration initialBackoff,
+                                    @Value("${app.outbox.max-backoff:5m}") Duration maxBackoff,
+                                    @Value("${app.outbox.claim-timeout:5m}") Duration claimTimeout) {
+        if (batchSize < 1 || maxAttempts < 1) {
+            throw new IllegalArgumentException("outbox batch size and max attempts must be greater than 0");
+        }
+        this.outboxRepository = outboxRepository;
+        this.postingEngine = postingEngine;
+        this.eventPublisher = eventPublisher;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.claimTimeout = claimTimeout;
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.dispatch-interval-ms:500}")
+    public int dispatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<MovementOutbox> batch = outboxRepository.findDeliverable(now, PageRequest.of(0, batchSize));
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        log.info("Starting outbox dispatch - pending: {}", batch.size());
+        Set<Long> blockedAccounts = new HashSet<>();
+        int delivered = 0;
+        for (MovementOutbox entry : batch) {
+            if (blockedAccounts.contains(entry.getAccountId())) {
+                continue;
+            }
+            if (!this.claim(entry)) {
+                log.debug("Outbox entry {} already claimed by another dispatcher", entry.getId());
+                blockedAccounts.add(entry.getAccountId());
+                continue;
+            }
+            if (this.deliver(entry)) {
+                delivered++;
+            } else {
+                blockedAccounts.add(entry.getAccountId());
+            }
+        }
+        log.info("End outbox dispatch - delivered: {}", delivered);
+        return delivered;
+    }
+
+    private boolean claim(MovementOutbox entry) {
+        LocalDateTime now = LocalDateTime.now();
+        return outboxRepository.claim(entry.getId(), now, now.plus(claimTimeout)) == 1;
+    }
+
+    boolean deliver(MovementOutbox entry) {
+        try {
+            postingEngine.post(entry.getAccountId(), () -> {
+                eventPublisher.publishEvent(new MovementDto(this, entry.getDate(), entry.getMovementType(),
+                        entry.getAmount(), entry.getAccountId(), entry.getBalance()));
+                entry.setStatus(OutboxStatusEnum.SENT);
+                entry.setNextAttemptAt(null);
+                entry.setProcessedAt(LocalDateTime.now());
+                entry.setLastError(null);
+                return outboxRepository.save(entry);
+            });
+            log.debug("Outbox entry {} delivered for account {}", entry.getId(), entry.getAccountId());
+            return true;
+        } catch (RuntimeException e) {
+            this.registerFailure(entry, e);
+            return false;
+        }
+    }
+
+    private void registerFailure(MovementOutbox entry, RuntimeException error) {
+        int attempts = entry.getAttempts() + 1;
+        entry.setAttempts(attempts);
+        entry.setProcessedAt(null);
+        entry.setLastError(truncate(String.valueOf(error.getMessage())));
+        if (attempts >= maxAttempts) {
+            entry.setStatus(OutboxStatusEnum.FAILED);
+            log.error("Outbox entry {} for account {} failed after {} attempts: {}", entry.getId(),
+                    entry.getAccountId(), attempts, error.getMessage());
+        } else {
+            entry.setStatus(OutboxStatusEnum.PENDING);
+            entry.setNextAttemptAt(LocalDateTime.now().plus(this.backoff(attempts)));
+            log.warn("Outbox entry {} for account {} failed (attempt {}), retrying at {}: {}", entry.getId(),
+                    entry.getAccountId(), attempts, entry.getNextAttemptAt(), error.getMessage());
+        }
+        outboxRepository.save(entry);
+    }
+
+    Duration backoff(int attempts) {
+        Duration delay = initialBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+    }
+
+    private static String truncate(String message) {
+        return message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message;
+    }
+}
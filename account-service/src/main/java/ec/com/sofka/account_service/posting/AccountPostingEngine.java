@@ -0,0 +1,188 @@
+package ec.com.sofka.account_service.posting;
+
+import ec.com.sofka.account_service.concurrency.OptimisticLockRetryExecutor;
+import ec.com.sofka.account_service.exception.PostingRejectedException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Serializa los registros de movimientos por cuenta: cada cuenta se asigna a un carril (stripe) con un único
+ * hilo escritor, de modo que dos movimientos de la misma cuenta nunca se validan y guardan en paralelo, mientras
+ * que cuentas de carriles distintos avanzan de forma independiente. Cada trabajo se ejecuta en su propia
+ * transacción, confirmada antes de que el carril tome el siguiente, y se repite si otra escritura sobre la cuenta
+ * (p. ej. una actualización de la cuenta) gana el bloqueo optimista.
+ * <p>
+ * Por carril (etiqueta {@code stripe}) se publican {@code posting.lane.submitted}, {@code posting.lane.completed},
+ * {@code posting.lane.failed}, {@code posting.lane.rejected} y el gauge {@code posting.lane.queue} (trabajos en
+ * espera), de modo que la saturación de un carril se vea antes de que empiece a rechazar.
+ */
+@Slf4j
+@Component
+public class AccountPostingEngine {
+
+    static final String OPERATION = "movement.posting";
+    static final String SUBMITTED_METRIC = "posting.lane.submitted";
+    static final String COMPLETED_METRIC = "posting.lane.completed";
+    static final String FAILED_METRIC = "posting.lane.failed";
+    static final String REJECTED_METRIC = "posting.lane.rejected";
+    static final String QUEUE_METRIC = "posting.lane.queue";
+
+    private static final ThreadLocal<Boolean> IN_LANE = ThreadLocal.withInitial(() -> Boolean.FALSE);
+
+    private final Stripe[] stripes;
+    private final OptimisticLockRetryExecutor retryExecutor;
+
+    @Autowired
+    public AccountPostingEngine(OptimisticLockRetryExecutor retryExecutor,
+                                @Value("${app.posting.stripes:16}") int stripeCount,
+                                @Value("${app.posting.queue-capacity:1000}") int queueCapacity,
+                                ObjectProvider<MeterRegistry> meterRegistry) {
+        this(retryExecutor, stripeCount, queueCapacity, meterRegistry.getIfAvailable(SimpleMeterRegistry::new));
+    }
+
+    public AccountPostingEngine(OptimisticLockRetryExecutor retryExecutor, int stripeCount, int queueCapacity,
+                                MeterRegistry meterRegistry) {
+        if (stripeCount < 1 || queueCapacity < 1) {
+            throw new IllegalArgumentException("posting stripes and queue capacity must be greater than 0");
+        }
+        this.retryExecutor = retryExecutor;
+        this.stripes = new Stripe[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new Stripe(i, queueCapacity);
+            stripes[i].register(meterRegistry);
+        }
+        log.info("Account posting engine started with {} stripes (queue capacity {})", stripeCount, queueCapacity);
+    }
+
+    /**
+     * Ejecuta {@code work} en el carril de la cuenta y espera su resultado. Si el llamador ya participa de una
+     * transacción, o ya corre dentro de un carril, el trabajo se ejecuta en línea para no perder la visibilidad
+     * de los datos no confirmados ni bloquear el carril sobre sí mismo.
+     */
+    public <T> T post(Long accountId, Supplier<T> work) {
+        if (IN_LANE.get() || TransactionSynchronizationManager.isActualTransactionActive()) {
+            return retryExecutor.execute(OPERATION, work);
+        }
+        Stripe stripe = stripeOf(accountId);
+        Future<T> future;
+        try {
+            future = stripe.submit(() -> retryExecutor.execute(OPERATION, work));
+        } catch (RejectedExecutionException e) {
+            stripe.rejected.increment();
+            log.warn("Posting lane {} saturated, rejecting movement for account {}", stripe.index, accountId);
+            throw new PostingRejectedException("Posting queue is full, please retry later");
+        }
+        return await(future);
+    }
+
+    int stripeIndexOf(Long accountId) {
+        return stripeOf(accountId).index;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (Stripe stripe : stripes) {
+            stripe.executor.shutdown();
+        }
+        for (Stripe stripe : stripes) {
+            try {
+                if (!stripe.executor.awaitTermination(10, TimeUnit.SECONDS)) {
+                    stripe.executor.shutdownNow();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                stripe.executor.shutdownNow();
+            }
+        }
+    }
+
+    private Stripe stripeOf(Long accountId) {
+        int hash = accountId == null ? 0 : Long.hashCode(accountId);
+        return stripes[Math.floorMod(hash, stripes.length)];
+    }
+
+    private <T> T await(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            throw new IllegalStateException("Interrupted while waiting for posting", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException("Posting failed", cause);
+        }
+    }
+
+    private static final class Stripe {
+        private final int index;
+        private final ThreadPoolExecutor executor;
+        private final LongAdder submitted = new LongAdder();
+        private final LongAdder completed = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+        private final LongAdder rejected = new LongAdder();
+
+        private Stripe(int index, int queueCapacity) {
+            this.index = index;
+            this.executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                    new LinkedBlockingQueue<>(queueCapacity),
+                    Thread.ofVirtual().name("posting-lane-" + index).factory(),
+                    new ThreadPoolExecutor.AbortPolicy());
+        }
+
+        private <T> Future<T> submit(Supplier<T> work) {
+            Future<T> future = executor.submit(() -> {
+                IN_LANE.set(Boolean.TRUE);
+                try {
+                    T result = work.get();
+                    completed.increment();
+                    return result;
+                } catch (RuntimeException | Error e) {
+                    failed.increment();
+                    throw e;
+                } finally {
+                    IN_LANE.remove();
+                }
+            });
+            submitted.increment();
+            return future;
+        }
+
+        private void register(MeterRegistry meterRegistry) {
+            String stripe = Integer.toString(index);
+            FunctionCounter.builder(SUBMITTED_METRIC, submitted, LongAdder::sum).tag("stripe", stripe)
+                    .register(meterRegistry);
+            FunctionCounter.builder(COMPLETED_METRIC, completed, LongAdder::sum).tag("stripe", stripe)
+                    .register(meterRegistry);
+            FunctionCounter.builder(FAILED_METRIC, failed, LongAdder::sum).tag("stripe", stripe)
+                    .register(meterRegistry);
+            FunctionCounter.builder(REJECTED_METRIC, rejected, LongAdder::sum).tag("stripe", stripe)
+                    .register(meterRegistry);
+            Gauge.builder(QUEUE_METRIC, executor, e -> e.getQueue().size()).tag("stripe", stripe)
+                    .register(meterRegistry);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package ec.com.sofka.account_service.repository;
+
+import ec.com.sofka.account_service.model.AccountDailyBalance;
+import ec.com.sofka.account_service.model.AccountDailyBalanceId;
+import ec.com.sofka.account_service.repository.projection.DailyBalanceSnapshot;
+import jakarta.persistence.QueryHint;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Optional;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Los cierres diarios se leen como proyección y se modifican con sentencias directas para que nunca queden
+ * entidades desactualizadas en el contexto de persistencia de la transacción de registro.
+ */
+@Repository
+public interface AccountDailyBalanceRepository extends JpaRepository<AccountDailyBalance, AccountDailyBalanceId> {
+
+    boolean existsByAccountIdAndBalanceDate(Long accountId, LocalDate balanceDate);
+
+    @Query("""
+            SELECT b.balanceDate AS balanceDate, b.closingBalance AS closingBalance
+            FROM AccountDailyBalance b
+            WHERE b.accountId = :accountId
+              AND b.balanceDate = (SELECT MAX(x.balanceDate) FROM AccountDailyBalance x
+                                   WHERE x.accountId = :accountId AND x.balanceDate < :day)
+            """)
+    Optional<DailyBalanceSnapshot> findLatestBefore(@Param("accountId") Long accountId, @Param("day") LocalDate day);
+
+    @Modifying
+    @Query("""
+            UPDATE AccountDailyBalance b SET b.closingBalance = b.closingBalance + :delta
+            WHERE b.accountId = :accountId AND b.balanceDate >= :day
+            """)
+    int shiftFrom(@Param("accountId") Long accountId, @Param("day") LocalDate day, @Param("delta") BigDecimal delta);
+
+    /**
+     * Declara su tabla como query space: sin ella Hibernate invalidaría toda la caché de segundo nivel (incluidas
+     * las cuentas) en cada registro.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "\"account_daily_balances\""))
+    @Query(value = """
+            INSERT INTO "account_daily_balances" ("account_id", "balance_date", "closing_balance")
+            VALUES (:accountId, :day, :closingBalance)
+            """, nativeQuery = true)
+    int insertSnapshot(@Param("accountId") Long accountId, @Param("day") LocalDate day,
+                       @Param("closingBalance") BigDecimal closingBalance);
+
+    @Modifying
+    @Query("DELETE FROM AccountDailyBalance b WHERE b.accountId = :accountId")
+    int deleteByAccountId(@Param("accountId") Long accountId);
+}
@@ -2,13 +2,98 @@ package ec.com.sofka.account_service.repository;
 
 import ec.com.sofka.account_service.model.Account;
 import ec.com.sofka.account_service.model.enums.AccountTypeEnum;
+import ec.com.sofka.account_service.repository.projection.BalanceDrift;
+import ec.com.sofka.account_service.repository.projection.StatementLine;
+import jakarta.persistence.QueryHint;
+import java.time.LocalDateTime;
 import java.util.List;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface AccountRepository extends JpaRepository<Account, Long> {
     List<Account> findByClientIdAndAccountTypeAndAccountNumber(Long clientId, AccountTypeEnum type, String number);
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Account> findByClientId(Long clientId);
+
+    List<Account> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    @Query("SELECT a.id FROM Account a ORDER BY a.id")
+    List<Long> findAllIds();
+
+    /**
+     * Bloquea la fila de la cuenta hasta el fin de la transacción; serializa la escritura de sus cierres diarios
+     * entre carriles e instancias.
+     */
+    @Query(value = "SELECT \"id\" FROM \"accounts\" WHERE \"id\" = :id FOR UPDATE", nativeQuery = true)
+    Long lockById(@Param("id") Long id);
+
+    @Query("""
+            SELECT a.id AS accountId, a.accountNumber AS accountNumber, a.currentBalance AS currentBalance,
+                   COALESCE(SUM(CASE WHEN m.movementType =
+                                     ec.com.sofka.account_service.model.enums.MovementTypeEnum.WITHDRAWAL
+                                     THEN -m.amount ELSE m.amount END), 0) AS replayedBalance
+            FROM Account a LEFT JOIN a.movements m ON m.deleted = false
+            GROUP BY a.id, a.accountNumber, a.currentBalance
+            HAVING a.currentBalance <> COALESCE(SUM(CASE WHEN m.movementType =
+                                     ec.com.sofka.account_service.model.enums.MovementTypeEnum.WITHDRAWAL
+                                     THEN -m.amount ELSE m.amount END), 0)
+            """)
+    List<BalanceDrift> findBalanceDrifts();
+
+    /**
+     * Estado de cuenta de todas las cuentas del cliente en una sola consulta: saldo previo al periodo,
+     * total del periodo y último movimiento (ROW_NUMBER por cuenta). Ordenado por id de cuenta descendente.
+     * El saldo previo parte del último cierre diario anterior al periodo y solo suma los movimientos posteriores
+     * a ese cierre; sin cierres, suma todo el historial.
+     */
+    @Query(value = """
+            WITH "snapshots" AS (
+                SELECT b."account_id", b."balance_date", b."closing_balance"
+                FROM "account_daily_balances" b
+                JOIN "accounts" ba ON ba."id" = b."account_id"
+                WHERE ba."client_id" = :clientId
+                  AND b."balance_date" = (SELECT MAX(x."balance_date") FROM "account_daily_balances" x
+                                          WHERE x."account_id" = b."account_id"
+                                            AND x."balance_date" < CAST(:from AS DATE))
+            )
+            SELECT a."id" AS "accountId", a."account_number" AS "accountNumber", a."account_type" AS "accountType",
+                   a."initial_balance" AS "initialBalance", a."is_active" AS "active",
+                   COALESCE(MAX(sn."closing_balance"), 0)
+                       + COALESCE(SUM(CASE WHEN p."in_period" = 0 THEN p."signed_amount" END), 0) AS "openingBalance",
+                   COALESCE(SUM(CASE WHEN p."in_period" = 1 THEN p."signed_amount" END), 0) AS "periodTotal",
+                   MAX(CASE WHEN p."in_period" = 1 AND p."recency" = 1 THEN p."signed_amount" END) AS "lastMovement",
+                   MAX(CASE WHEN p."in_period" = 1 AND p."recency" = 1 THEN p."date" END) AS "lastMovementDate"
+            FROM "accounts" a
+            LEFT JOIN "snapshots" sn ON sn."account_id" = a."id"
+            LEFT JOIN (
+                SELECT s."account_id", s."date", s."signed_amount", s."in_period",
+                       ROW_NUMBER() OVER (PARTITION BY s."account_id", s."in_period"
+                                          ORDER BY s."date" DESC, s."id" DESC) AS "recency"
+                FROM (
+                    SELECT m."id", m."account_id", m."date",
+                           CASE WHEN m."movement_type" IN ('DEPOSIT', 'INITIAL_DEPOSIT')
+                                THEN ABS(m."amount") ELSE -ABS(m."amount") END AS "signed_amount",
+                           CASE WHEN m."date" < :from THEN 0 ELSE 1 END AS "in_period"
+                    FROM "movements" m
+                    JOIN "accounts" ca ON ca."id" = m."account_id"
+                    LEFT JOIN "snapshots" ms ON ms."account_id" = m."account_id"
+                    WHERE ca."client_id" = :clientId AND ca."deleted" = FALSE
+                      AND m."deleted" = FALSE AND m."date" <= :to
+                      AND (ms."balance_date" IS NULL OR m."date" >= DATEADD(DAY, 1, ms."balance_date"))
+                ) s
+            ) p ON p."account_id" = a."id"
+            WHERE a."client_id" = :clientId AND a."deleted" = FALSE
+            GROUP BY a."id", a."account_number", a."account_type", a."initial_balance", a."is_active"
+            ORDER BY a."id" DESC
+            """, nativeQuery = true)
+    List<StatementLine> findStatementLines(@Param("clientId") Long clientId,
+                                           @Param("from") LocalDateTime from,
+                                           @Param("to") LocalDateTime to);
 }
@@ -0,0 +1,36 @@
+package ec.com.sofka.account_service.repository;
+
+import ec.com.sofka.account_service.model.ClientRegistryEntry;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface ClientRegistryRepository extends JpaRepository<ClientRegistryEntry, Long> {
+
+    /**
+     * Inserta la entrada solo si no existe, para que una consulta remota nunca pise un evento ya aplicado. Corre en
+     * su propia transacción: si otra inserta el mismo cliente a la vez, la clave duplicada llega como
+     * {@code DataIntegrityViolationException} sin marcar para rollback la transacción del llamador. La tabla se
+     * declara como query space para que Hibernate no invalide las demás regiones de la caché de segundo nivel.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "\"client_registry\""))
+    @Query(value = """
+            MERGE INTO "client_registry" r
+            USING (SELECT CAST(:clientId AS BIGINT) AS "client_id", CAST(:active AS BOOLEAN) AS "active") s
+            ON r."client_id" = s."client_id"
+            WHEN NOT MATCHED THEN
+                INSERT ("client_id", "active", "deleted", "changed_at", "updated_at")
+                VALUES (s."client_id", s."active", FALSE, NULL, CURRENT_TIMESTAMP)
+            """, nativeQuery = true)
+    int insertIfAbsent(@Param("clientId") Long clientId, @Param("active") boolean active);
+}
@@ -0,0 +1,50 @@
+package ec.com.sofka.account_service.repository;
+
+import ec.com.sofka.account_service.model.IdempotencyRecord;
+import java.time.LocalDateTime;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+
+    /**
+     * Reemplaza una clave vencida o abandonada por una reserva nueva, solo si sigue siendo la reserva hecha en
+     * {@code previousReservedAt}; devuelve 0 si otra petición la tomó antes.
+     */
+    @Modifying
+    @Query("""
+            UPDATE IdempotencyRecord r
+            SET r.fingerprint = :fingerprint, r.response = NULL, r.createdAt = :reservedAt, r.expiresAt = :expiresAt
+            WHERE r.key = :key AND r.createdAt = :previousReservedAt
+            """)
+    int reserveAgain(@Param("key") String key, @Param("previousReservedAt") LocalDateTime previousReservedAt,
+                     @Param("fingerprint") String fingerprint, @Param("reservedAt") LocalDateTime reservedAt,
+                     @Param("expiresAt") LocalDateTime expiresAt);
+
+    /**
+     * Guarda la respuesta si la reserva sigue siendo la hecha en {@code reservedAt}; corre en la transacción de la
+     * operación.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    @Modifying
+    @Query("""
+            UPDATE IdempotencyRecord r SET r.response = :response
+            WHERE r.key = :key AND r.createdAt = :reservedAt AND r.response IS NULL
+            """)
+    int complete(@Param("key") String key, @Param("reservedAt") LocalDateTime reservedAt,
+                 @Param("response") String response);
+
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.key = :key AND r.createdAt = :reservedAt")
+    int release(@Param("key") String key, @Param("reservedAt") LocalDateTime reservedAt);
+}
@@ -0,0 +1,52 @@
+package ec.com.sofka.account_service.repository;
+
+import ec.com.sofka.account_service.model.MovementOutbox;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface MovementOutboxRepository extends JpaRepository<MovementOutbox, Long> {
+
+    /**
+     * Entradas abiertas (pendientes, o en curso con la reserva vencida) cuyo reintento ya venció, en orden de
+     * creación. Se excluyen las cuentas con una entrada anterior aún en espera o reservada, de modo que las
+     * entradas bloqueadas no ocupan el lote y se conserva el orden por cuenta.
+     */
+    @Query("""
+            SELECT o FROM MovementOutbox o
+            WHERE o.status IN (ec.com.sofka.account_service.model.enums.OutboxStatusEnum.PENDING,
+                               ec.com.sofka.account_service.model.enums.OutboxStatusEnum.IN_FLIGHT)
+              AND (o.nextAttemptAt IS NULL OR o.nextAttemptAt <= :now)
+              AND NOT EXISTS (SELECT 1 FROM MovementOutbox e
+                              WHERE e.accountId = o.accountId AND e.id < o.id
+                                AND e.status IN (ec.com.sofka.account_service.model.enums.OutboxStatusEnum.PENDING,
+                                                 ec.com.sofka.account_service.model.enums.OutboxStatusEnum.IN_FLIGHT)
+                                AND e.nextAttemptAt > :now)
+            ORDER BY o.id ASC
+            """)
+    List<MovementOutbox> findDeliverable(@Param("now") LocalDateTime now, Pageable pageable);
+
+    /**
+     * Reserva la entrada hasta {@code leaseUntil} si sigue disponible; devuelve 0 si otra instancia la tomó antes.
+     * Una reserva vencida (la instancia que la tomó cayó) puede volver a tomarse.
+     */
+    @Transactional
+    @Modifying
+    @Query("""
+            UPDATE MovementOutbox o
+            SET o.status = ec.com.sofka.account_service.model.enums.OutboxStatusEnum.IN_FLIGHT,
+                o.nextAttemptAt = :leaseUntil
+            WHERE o.id = :id
+              AND o.status IN (ec.com.sofka.account_service.model.enums.OutboxStatusEnum.PENDING,
+                               ec.com.sofka.account_service.model.enums.OutboxStatusEnum.IN_FLIGHT)
+              AND (o.nextAttemptAt IS NULL OR o.nextAttemptAt <= :now)
+            """)
+    int claim(@Param("id") Long id, @Param("now") LocalDateTime now, @Param("leaseUntil") LocalDateTime leaseUntil);
+}
@@ -1,22 +1,124 @@
 package ec.com.sofka.account_service.repository;
 
 import ec.com.sofka.account_service.model.Movement;
+import ec.com.sofka.account_service.repository.projection.DailyMovementTotal;
+import jakarta.persistence.QueryHint;
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+/**
+ * Las lecturas que terminan en {@code MovementResponse} cargan la cuenta con {@code @EntityGraph} en la misma
+ * consulta: sin él, el mapeo de cada fila dispara un select por cuenta distinta.
+ */
 @Repository
 public interface MovementRepository extends JpaRepository<Movement, Long> {
 
+    @Override
+    @EntityGraph(attributePaths = "account")
+    Page<Movement> findAll(Pageable pageable);
+
+    @Override
+    @EntityGraph(attributePaths = "account")
+    Optional<Movement> findById(Long id);
+
+    @EntityGraph(attributePaths = "account")
     Page<Movement> findByAccountIdOrderByDateDesc(Long accountId, Pageable pageable);
 
+    @Query("""
+            SELECT COALESCE(SUM(CASE WHEN m.movementType =
+                                     ec.com.sofka.account_service.model.enums.MovementTypeEnum.WITHDRAWAL
+                                     THEN -ABS(m.amount) ELSE ABS(m.amount) END), 0)
+            FROM Movement m
+            WHERE m.account.id = :accountId AND m.date < :to
+            """)
+    BigDecimal sumSignedAmountBefore(@Param("accountId") Long accountId, @Param("to") LocalDateTime to);
+
+    @Query("""
+            SELECT COALESCE(SUM(CASE WHEN m.movementType =
+                                     ec.com.sofka.account_service.model.enums.MovementTypeEnum.WITHDRAWAL
+                                     THEN -ABS(m.amount) ELSE ABS(m.amount) END), 0)
+            FROM Movement m
+            WHERE m.account.id = :accountId AND m.date >= :from AND m.date < :to
+            """)
+    BigDecimal sumSignedAmountBetween(@Param("accountId") Long accountId, @Param("from") LocalDateTime from,
+                                      @Param("to") LocalDateTime to);
+
+    @Query("""
+            SELECT CAST(m.date AS LocalDate) AS day,
+                   SUM(CASE WHEN m.movementType =
+                            ec.com.sofka.account_service.model.enums.MovementTypeEnum.WITHDRAWAL
+                            THEN -ABS(m.amount) ELSE ABS(m.amount) END) AS total
+            FROM Movement m
+            WHERE m.account.id = :accountId
+            GROUP BY CAST(m.date AS LocalDate)
+            ORDER BY CAST(m.date AS LocalDate)
+            """)
+    List<DailyMovementTotal> findDailyTotals(@Param("accountId") Long accountId);
+
+    @EntityGraph(attributePaths = "account")
+    List<Movement> findByOrderByDateDescIdDesc(Pageable pageable);
+
+    /**
+     * Página keyset: movimientos posteriores al cursor {@code (date, id)} en orden descendente, sin consulta
+     * de conteo.
+     */
+    @EntityGraph(attributePaths = "account")
+    @Query("""
+            SELECT m FROM Movement m
+            WHERE m.date < :date OR (m.date = :date AND m.id < :id)
+            ORDER BY m.date DESC, m.id DESC
+            """)
+    List<Movement> findPageAfter(@Param("date") LocalDateTime date, @Param("id") Long id, Pageable pageable);
+
+    @EntityGraph(attributePaths = "account")
+    List<Movement> findByAccountIdOrderByDateDescIdDesc(Long accountId, Pageable pageable);
+
+    @EntityGraph(attributePaths = "account")
+    @Query("""
+            SELECT m FROM Movement m
+            WHERE m.account.id = :accountId
+              AND (m.date < :date OR (m.date = :date AND m.id < :id))
+            ORDER BY m.date DESC, m.id DESC
+            """)
+    List<Movement> findPageByAccountAfter(@Param("accountId") Long accountId,
+                                          @Param("date") LocalDateTime date,
+                                          @Param("id") Long id,
+                                          Pageable pageable);
+
     List<Movement> findByAccountIdAndDateBetween(Long accountId, LocalDateTime from, LocalDateTime to);
 
     List<Movement> findByAccountIdAndDateBefore(Long accountId, LocalDateTime date);
 
     List<Movement> findByAccountIdAndDateBetweenOrderByDateAsc(Long id, LocalDateTime startOfDay,
                                                                LocalDateTime endOfDay);
+
+    /**
+     * Movimientos del cliente en el rango, leídos con cursor para exportaciones grandes.
+     * Debe consumirse dentro de una transacción y cerrarse al terminar.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+            SELECT m FROM Movement m JOIN FETCH m.account a
+            WHERE a.clientId = :clientId AND a.deleted = false
+              AND m.date BETWEEN :from AND :to
+            ORDER BY a.id DESC, m.date ASC, m.id ASC
+            """)
+    Stream<Movement> streamByClientIdAndDateBetween(@Param("clientId") Long clientId,
+                                                    @Param("from") LocalDateTime from,
+                                                    @Param("to") LocalDateTime to);
 }
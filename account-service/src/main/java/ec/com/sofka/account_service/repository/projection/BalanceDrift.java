@@ -0,0 +1,13 @@
+package ec.com.sofka.account_service.repository.projection;
+
+import java.math.BigDecimal;
+
+public interface BalanceDrift {
+    Long getAccountId();
+
+    String getAccountNumber();
+
+    BigDecimal getCurrentBalance();
+
+    BigDecimal getReplayedBalance();
+}
@@ -0,0 +1,10 @@
+package ec.com.sofka.account_service.repository.projection;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public interface DailyBalanceSnapshot {
+    LocalDate getBalanceDate();
+
+    BigDecimal getClosingBalance();
+}
@@ -0,0 +1,13 @@
+package ec.com.sofka.account_service.repository.projection;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Suma con signo de los movimientos de una cuenta en un día.
+ */
+public interface DailyMovementTotal {
+    LocalDate getDay();
+
+    BigDecimal getTotal();
+}
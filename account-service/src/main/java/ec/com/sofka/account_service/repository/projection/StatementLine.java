@@ -0,0 +1,37 @@
+package ec.com.sofka.account_service.repository.projection;
+
+import ec.com.sofka.account_service.model.enums.AccountTypeEnum;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Resumen por cuenta del estado de cuenta de un cliente, calculado en una sola consulta.
+ */
+public interface StatementLine {
+    Long getAccountId();
+
+    String getAccountNumber();
+
+    AccountTypeEnum getAccountType();
+
+    BigDecimal getInitialBalance();
+
+    Boolean getActive();
+
+    /**
+     * Suma con signo de los movimientos anteriores al inicio del periodo.
+     */
+    BigDecimal getOpeningBalance();
+
+    /**
+     * Suma con signo de los movimientos dentro del periodo.
+     */
+    BigDecimal getPeriodTotal();
+
+    /**
+     * Valor con signo del último movimiento del periodo, o {@code null} si no hubo movimientos.
+     */
+    BigDecimal getLastMovement();
+
+    LocalDateTime getLastMovementDate();
+}
@@ -3,6 +3,8 @@ package ec.com.sofka.account_service.service;
 import ec.com.sofka.account_service.dto.account.request.AccountPartialUpdateRequest;
 import ec.com.sofka.account_service.dto.account.request.AccountRequest;
 import ec.com.sofka.account_service.dto.account.response.AccountResponse;
+import ec.com.sofka.account_service.dto.page.CursorPage;
+import ec.com.sofka.account_service.dto.versioned.VersionedResponse;
 import ec.com.sofka.account_service.model.Account;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -10,8 +12,16 @@ import org.springframework.data.domain.Pageable;
 public interface AccountService {
     Page<AccountResponse> index(Pageable pageable);
 
+    CursorPage<AccountResponse> scroll(String cursor, int size);
+
     AccountResponse show(Long id);
 
+    /**
+     * Igual que {@link #show(Long)}, con el {@code ETag} ({@code id-version}) y la fecha de modificación de la
+     * cuenta; el mapeo a {@link AccountResponse} se difiere hasta pedir el cuerpo.
+     */
+    VersionedResponse<AccountResponse> showVersioned(Long id);
+
     AccountResponse create(AccountRequest request);
 
     AccountResponse update(Long id, AccountRequest request);
@@ -0,0 +1,18 @@
+package ec.com.sofka.account_service.service;
+
+import ec.com.sofka.account_service.dto.client.ClientChangeEvent;
+
+public interface ClientRegistryService {
+
+    /**
+     * Aplica un cambio del servicio de clientes; los eventos más antiguos que el último aplicado se descartan.
+     *
+     * @return {@code true} si el registro cambió
+     */
+    boolean apply(ClientChangeEvent event);
+
+    /**
+     * Indica si el cliente existe y no está eliminado según el registro local.
+     */
+    boolean exists(Long clientId);
+}
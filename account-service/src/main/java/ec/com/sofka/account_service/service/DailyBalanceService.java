@@ -0,0 +1,18 @@
+package ec.com.sofka.account_service.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public interface DailyBalanceService {
+
+    /**
+     * Refleja en los cierres diarios de la cuenta un cambio de {@code delta} en el día {@code day}. Debe llamarse
+     * en la misma transacción que persiste el movimiento, una vez guardado.
+     */
+    void record(Long accountId, LocalDate day, BigDecimal delta);
+
+    /**
+     * Recalcula desde el historial todos los cierres diarios de la cuenta y devuelve cuántos días escribió.
+     */
+    int rebuild(Long accountId);
+}
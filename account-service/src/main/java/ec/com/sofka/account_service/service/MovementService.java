@@ -2,7 +2,12 @@ package ec.com.sofka.account_service.service;
 
 import ec.com.sofka.account_service.dto.movement.request.MovementPartialUpdateRequest;
 import ec.com.sofka.account_service.dto.movement.request.MovementRequest;
+import ec.com.sofka.account_service.dto.movement.response.MovementBatchResponse;
 import ec.com.sofka.account_service.dto.movement.response.MovementResponse;
+import ec.com.sofka.account_service.dto.page.CursorPage;
+import ec.com.sofka.account_service.dto.versioned.VersionedResponse;
+import java.util.Iterator;
+import java.util.function.Consumer;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
@@ -13,10 +18,29 @@ public interface MovementService {
 
     Page<MovementResponse> byAccount(Long accountId, Pageable pageable);
 
+    CursorPage<MovementResponse> scroll(String cursor, int size);
+
+    CursorPage<MovementResponse> scrollByAccount(Long accountId, String cursor, int size);
+
     MovementResponse show(Long id);
 
+    /**
+     * Igual que {@link #show(Long)}, con el {@code ETag} ({@code id-version-versionCuenta}, porque la respuesta
+     * incluye la cuenta) y la fecha de modificación; el mapeo se difiere hasta pedir el cuerpo.
+     */
+    VersionedResponse<MovementResponse> showVersioned(Long id);
+
     MovementResponse create(MovementRequest request);
 
+    /**
+     * Igual que {@link #create(MovementRequest)}; {@code onPosted} recibe la respuesta dentro de la transacción que
+     * registra el movimiento (p. ej. para guardar la respuesta de una clave de idempotencia), y si lanza una
+     * excepción el movimiento se revierte.
+     */
+    MovementResponse create(MovementRequest request, Consumer<MovementResponse> onPosted);
+
+    MovementBatchResponse createBatch(Iterator<MovementRequest> requests);
+
     MovementResponse update(Long id, MovementRequest request);
 
     MovementResponse partialUpdate(Long id, MovementPartialUpdateRequest patch);
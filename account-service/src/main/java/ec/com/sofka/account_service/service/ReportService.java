@@ -1,9 +1,16 @@
 package ec.com.sofka.account_service.service;
 
+import ec.com.sofka.account_service.dto.report.StatementDetailLine;
 import ec.com.sofka.account_service.dto.report.StatementReportRow;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface ReportService {
     List<StatementReportRow> generateStatement(Long clientId, LocalDate from, LocalDate to);
+
+    /**
+     * Emite el detalle de movimientos del periodo a medida que se leen de la base, sin acumularlos en memoria.
+     */
+    void exportStatement(Long clientId, LocalDate from, LocalDate to, Consumer<StatementDetailLine> sink);
 }
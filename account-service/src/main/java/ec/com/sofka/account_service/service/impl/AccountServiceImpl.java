@@ -1,18 +1,22 @@
 package ec.com.sofka.account_service.service.impl;
 
-import ec.com.sofka.account_service.client.ClientHttp;
+import ec.com.sofka.account_service.concurrency.OptimisticLockRetryExecutor;
 import ec.com.sofka.account_service.dto.account.request.AccountPartialUpdateRequest;
 import ec.com.sofka.account_service.dto.account.request.AccountRequest;
 import ec.com.sofka.account_service.dto.account.response.AccountResponse;
-import ec.com.sofka.account_service.event_handler.dto.MovementDto;
+import ec.com.sofka.account_service.dto.page.CursorPage;
+import ec.com.sofka.account_service.dto.versioned.VersionedResponse;
 import ec.com.sofka.account_service.exception.AccountNotFoundException;
 import ec.com.sofka.account_service.exception.ClientNotFoundException;
 import ec.com.sofka.account_service.exception.DuplicateAccountException;
 import ec.com.sofka.account_service.mapper.AccountMapper;
 import ec.com.sofka.account_service.model.Account;
+import ec.com.sofka.account_service.model.MovementOutbox;
 import ec.com.sofka.account_service.model.enums.MovementTypeEnum;
 import ec.com.sofka.account_service.repository.AccountRepository;
+import ec.com.sofka.account_service.repository.MovementOutboxRepository;
 import ec.com.sofka.account_service.service.AccountService;
+import ec.com.sofka.account_service.service.ClientRegistryService;
 import feign.FeignException;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -20,7 +24,6 @@ import java.util.List;
 import java.util.Objects;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -32,9 +35,10 @@ import org.springframework.transaction.annotation.Transactional;
 @RequiredArgsConstructor
 public class AccountServiceImpl implements AccountService {
     private final AccountRepository accountRepository;
-    private final ClientHttp clientHttp;
+    private final ClientRegistryService clientRegistryService;
     private final AccountMapper accountMapper;
-    private final ApplicationEventPublisher applicationEventPublisher;
+    private final MovementOutboxRepository movementOutboxRepository;
+    private final OptimisticLockRetryExecutor retryExecutor;
 
     private static final String ACCOUNT_NOT_FOUND_MESSAGE = "Account with ID %d does not exist";
     private static final String CLIENT_NOT_FOUND_MESSAGE = "Client with ID %d does not exist";
@@ -44,16 +48,40 @@ public class AccountServiceImpl implements AccountService {
         return accountRepository.findAll(pageable).map(accountMapper::toResponse);
     }
 
+    @Override
+    public CursorPage<AccountResponse> scroll(String cursor, int size) {
+        Pageable limit = PageCursors.limit(size);
+        Long afterId = PageCursors.isFirstPage(cursor) ? 0L : PageCursors.decodeId(cursor);
+        List<Account> accounts = accountRepository.findByIdGreaterThanOrderByIdAsc(afterId, limit);
+        return PageCursors.slice(accounts, limit, account -> PageCursors.encode(account.getId()),
+                accountMapper::toResponse);
+    }
+
     @Override
     public AccountResponse show(Long id) {
-        Account account = accountRepository.findById(id).orElseThrow(() -> {
+        return accountMapper.toResponse(this.findAccount(id));
+    }
+
+    @Override
+    public VersionedResponse<AccountResponse> showVersioned(Long id) {
+        Account account = this.findAccount(id);
+        return VersionedResponse.of(account.getId() + "-" + account.getVersion(), account.lastModifiedAt(),
+                () -> accountMapper.toResponse(account));
+    }
+
+    private Account findAccount(Long id) {
+        return accountRepository.findById(id).orElseThrow(() -> {
             log.warn("Account not found with ID: {}", id);
             return new AccountNotFoundException(String.format(ACCOUNT_NOT_FOUND_MESSAGE, id));
         });
-        return accountMapper.toResponse(account);
     }
 
+    /**
+     * Crea la cuenta y, si tiene saldo inicial, deja su depósito inicial en el outbox dentro de la misma
+     * transacción; el movimiento se registra después de forma asíncrona.
+     */
     @Override
+    @Transactional
     public AccountResponse create(AccountRequest request) {
         log.info("Creating new account for client ID: {}", request.getClientId());
         validateClientExists(request.getClientId());
@@ -65,16 +93,28 @@ public class AccountServiceImpl implements AccountService {
         Account savedAccount = accountRepository.save(entity);
         log.info("Account created successfully with ID: {}", savedAccount.getId());
         if (request.getInitialBalance().compareTo(BigDecimal.ZERO) > 0) {
-            MovementDto movementDto = new MovementDto(this, LocalDateTime.now(), MovementTypeEnum.INITIAL_DEPOSIT,
-                    request.getInitialBalance(), savedAccount.getId(), request.getInitialBalance());
-            applicationEventPublisher.publishEvent(movementDto);
+            MovementOutbox initialDeposit = new MovementOutbox();
+            initialDeposit.setAccountId(savedAccount.getId());
+            initialDeposit.setMovementType(MovementTypeEnum.INITIAL_DEPOSIT);
+            initialDeposit.setAmount(request.getInitialBalance());
+            initialDeposit.setBalance(request.getInitialBalance());
+            initialDeposit.setDate(LocalDateTime.now());
+            movementOutboxRepository.save(initialDeposit);
         }
 
         return accountMapper.toResponse(savedAccount);
     }
 
+    /**
+     * Las modificaciones de la cuenta se repiten si un registro de movimiento la cambia al mismo tiempo, para no
+     * perder el saldo materializado ni los datos de la cuenta.
+     */
     @Override
     public AccountResponse update(Long id, AccountRequest request) {
+        return retryExecutor.execute("account.update", () -> this.doUpdate(id, request));
+    }
+
+    private AccountResponse doUpdate(Long id, AccountRequest request) {
         log.info("Starting update account");
         Account entity = accountRepository.findById(id)
                 .orElseThrow(() -> new AccountNotFoundException(String.format(ACCOUNT_NOT_FOUND_MESSAGE, id)));
@@ -96,6 +136,10 @@ public class AccountServiceImpl implements AccountService {
 
     @Override
     public AccountResponse partialUpdate(Long id, AccountPartialUpdateRequest patch) {
+        return retryExecutor.execute("account.update", () -> this.doPartialUpdate(id, patch));
+    }
+
+    private AccountResponse doPartialUpdate(Long id, AccountPartialUpdateRequest patch) {
         log.info("Starting partialUpdate account");
         Account entity = accountRepository.findById(id)
                 .orElseThrow(() -> new AccountNotFoundException(String.format(ACCOUNT_NOT_FOUND_MESSAGE, id)));
@@ -118,11 +162,14 @@ public class AccountServiceImpl implements AccountService {
 
     @Override
     public void delete(Long id) {
-        log.info("Starting delete account");
-        Account entity = accountRepository.findById(id)
-                .orElseThrow(() -> new AccountNotFoundException(String.format(ACCOUNT_NOT_FOUND_MESSAGE, id)));
-        accountRepository.delete(entity);
-        log.info("End delete account");
+        retryExecutor.execute("account.delete", () -> {
+            log.info("Starting delete account");
+            Account entity = accountRepository.findById(id)
+                    .orElseThrow(() -> new AccountNotFoundException(String.format(ACCOUNT_NOT_FOUND_MESSAGE, id)));
+            accountRepository.delete(entity);
+            log.info("End delete account");
+            return null;
+        });
     }
 
     @Override
@@ -136,16 +183,18 @@ public class AccountServiceImpl implements AccountService {
 
 
     private void validateClientExists(Long clientId) {
+        boolean exists;
         try {
-            clientHttp.show(clientId);
-            log.debug("Client validation successful for ID: {}", clientId);
-        } catch (ClientNotFoundException | FeignException.NotFound e) {
-            log.error("Client not found with ID: {}", clientId);
-            throw new ClientNotFoundException(String.format(CLIENT_NOT_FOUND_MESSAGE, clientId));
+            exists = clientRegistryService.exists(clientId);
         } catch (FeignException e) {
             log.error("Error occurred while fetching client with ID {}: {}", clientId, e.getMessage());
             throw new RuntimeException("Service unavailable: Unable to validate client", e);
         }
+        if (!exists) {
+            log.error("Client not found with ID: {}", clientId);
+            throw new ClientNotFoundException(String.format(CLIENT_NOT_FOUND_MESSAGE, clientId));
+        }
+        log.debug("Client validation successful for ID: {}", clientId);
     }
 
     private void validateDuplicateOnCreate(List<Account> existingAccounts) {
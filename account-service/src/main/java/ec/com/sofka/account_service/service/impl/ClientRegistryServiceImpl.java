@@ -0,0 +1,108 @@
+package ec.com.sofka.account_service.service.impl;
+
+import ec.com.sofka.account_service.client.ClientHttp;
+import ec.com.sofka.account_service.client.ClientLookupCache;
+import ec.com.sofka.account_service.client.dto.ClientDto;
+import ec.com.sofka.account_service.dto.client.ClientChangeEvent;
+import ec.com.sofka.account_service.model.ClientRegistryEntry;
+import ec.com.sofka.account_service.repository.ClientRegistryRepository;
+import ec.com.sofka.account_service.service.ClientRegistryService;
+import java.util.Optional;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Registro local de clientes replicado desde el servicio de clientes. Las validaciones se responden con la tabla
+ * local; un cliente que aún no llegó por eventos (p. ej. creado antes de activar la replicación) se consulta una
+ * sola vez al servicio remoto y queda registrado, salvo que {@code app.clients.registry.remote-fallback} esté
+ * desactivado.
+ */
+@Slf4j
+@Service
+public class ClientRegistryServiceImpl implements ClientRegistryService {
+
+    private final ClientRegistryRepository repository;
+    private final ClientHttp clientHttp;
+    private final ObjectProvider<ClientLookupCache> clientLookupCache;
+    private final boolean remoteFallback;
+
+    public ClientRegistryServiceImpl(ClientRegistryRepository repository,
+                                     ClientHttp clientHttp,
+                                     ObjectProvider<ClientLookupCache> clientLookupCache,
+                                     @Value("${app.clients.registry.remote-fallback:true}") boolean remoteFallback) {
+        this.repository = repository;
+        this.clientHttp = clientHttp;
+        this.clientLookupCache = clientLookupCache;
+        this.remoteFallback = remoteFallback;
+    }
+
+    @Override
+    @Transactional
+    public boolean apply(ClientChangeEvent event) {
+        Long clientId = event.getClientId();
+        ClientRegistryEntry entry = repository.findById(clientId).orElse(null);
+        if (entry != null && entry.getChangedAt() != null && event.getOccurredAt().isBefore(entry.getChangedAt())) {
+            log.debug("Ignoring stale change for client {} ({} < {})", clientId, event.getOccurredAt(),
+                    entry.getChangedAt());
+            return false;
+        }
+        if (entry == null) {
+            entry = new ClientRegistryEntry();
+            entry.setClientId(clientId);
+        }
+        entry.setActive(event.isActive());
+        entry.setDeleted(event.isDeleted());
+        entry.setChangedAt(event.getOccurredAt());
+        repository.save(entry);
+        // el nombre cacheado para los reportes también pudo cambiar
+        clientLookupCache.ifAvailable(cache -> cache.invalidate(clientId));
+        log.info("Client registry updated for client {}: active={}, deleted={}", clientId, event.isActive(),
+                event.isDeleted());
+        return true;
+    }
+
+    /**
+     * Sin transacción propia: la consulta remota no retiene una conexión, y el registro del cliente encontrado corre
+     * en su propia transacción. Solo un 404 cuenta como cliente inexistente; si el servicio no está disponible el
+     * error se propaga.
+     */
+    @Override
+    public boolean exists(Long clientId) {
+        Optional<ClientRegistryEntry> entry = repository.findById(clientId);
+        if (entry.isPresent()) {
+            return !entry.get().isDeleted();
+        }
+        if (!remoteFallback) {
+            return false;
+        }
+        log.info("Client {} not in local registry, looking it up remotely", clientId);
+        try {
+            ClientDto client = clientHttp.show(clientId);
+            if (client == null) {
+                return false;
+            }
+            this.register(clientId, Boolean.TRUE.equals(client.getActive()));
+            return true;
+        } catch (RuntimeException e) {
+            if (!ClientLookupCache.isNotFound(e)) {
+                throw e;
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Una inserción concurrente del mismo cliente (otra petición o un evento) deja la entrada registrada igual.
+     */
+    private void register(Long clientId, boolean active) {
+        try {
+            repository.insertIfAbsent(clientId, active);
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Client {} registered concurrently: {}", clientId, e.getMostSpecificCause().getMessage());
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package ec.com.sofka.account_service.service.impl;
+
+import ec.com.sofka.account_service.repository.AccountDailyBalanceRepository;
+import ec.com.sofka.account_service.repository.AccountRepository;
+import ec.com.sofka.account_service.repository.MovementRepository;
+import ec.com.sofka.account_service.repository.projection.DailyMovementTotal;
+import ec.com.sofka.account_service.service.DailyBalanceService;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DailyBalanceServiceImpl implements DailyBalanceService {
+
+    private final AccountDailyBalanceRepository dailyBalanceRepository;
+    private final MovementRepository movementRepository;
+    private final AccountRepository accountRepository;
+
+    /**
+     * Si ya existe el cierre del día se desplaza junto con los posteriores; si no, los posteriores se desplazan y
+     * el del día se calcula desde el último cierre anterior más los movimientos hasta el fin del día (que ya
+     * incluyen el que se está registrando). La fila de la cuenta se bloquea antes de consultar el cierre: dos
+     * transacciones que registran el mismo día nuevo (p. ej. una modificación que mueve un movimiento a otra
+     * cuenta, fuera del carril de esa cuenta) no intentan insertarlo las dos.
+     */
+    @Override
+    @Transactional
+    public void record(Long accountId, LocalDate day, BigDecimal delta) {
+        if (accountId == null || day == null || delta == null || delta.signum() == 0) {
+            return;
+        }
+        accountRepository.lockById(accountId);
+        if (dailyBalanceRepository.existsByAccountIdAndBalanceDate(accountId, day)) {
+            dailyBalanceRepository.shiftFrom(accountId, day, delta);
+        } else {
+            dailyBalanceRepository.shiftFrom(accountId, day.plusDays(1), delta);
+            dailyBalanceRepository.insertSnapshot(accountId, day, this.closingBalance(accountId, day));
+        }
+    }
+
+    @Override
+    @Transactional
+    public int rebuild(Long accountId) {
+        log.info("Starting daily balance rebuild for account {}", accountId);
+        accountRepository.lockById(accountId);
+        dailyBalanceRepository.deleteByAccountId(accountId);
+        BigDecimal running = BigDecimal.ZERO;
+        int days = 0;
+        for (DailyMovementTotal total : movementRepository.findDailyTotals(accountId)) {
+            running = running.add(total.getTotal());
+            dailyBalanceRepository.insertSnapshot(accountId, total.getDay(), running);
+            days++;
+        }
+        log.info("End daily balance rebuild for account {} - days: {}", accountId, days);
+        return days;
+    }
+
+    private BigDecimal closingBalance(Long accountId, LocalDate day) {
+        LocalDateTime endOfDay = day.plusDays(1).atStartOfDay();
+        return dailyBalanceRepository.findLatestBefore(accountId, day)
+                .map(snapshot -> snapshot.getClosingBalance().add(movementRepository.sumSignedAmountBetween(
+                        accountId, snapshot.getBalanceDate().plusDays(1).atStartOfDay(), endOfDay)))
+                .orElseGet(() -> movementRepository.sumSignedAmountBefore(accountId, endOfDay));
+    }
+}
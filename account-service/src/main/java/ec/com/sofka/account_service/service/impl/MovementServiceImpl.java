@@ -2,7 +2,12 @@ package ec.com.sofka.account_service.service.impl;
 
 import ec.com.sofka.account_service.dto.movement.request.MovementPartialUpdateRequest;
 import ec.com.sofka.account_service.dto.movement.request.MovementRequest;
+import ec.com.sofka.account_service.dto.movement.response.MovementBatchItemResult;
+import ec.com.sofka.account_service.dto.movement.response.MovementBatchResponse;
 import ec.com.sofka.account_service.dto.movement.response.MovementResponse;
+import ec.com.sofka.account_service.dto.page.CursorPage;
+import ec.com.sofka.account_service.dto.retentions.OnCreate;
+import ec.com.sofka.account_service.dto.versioned.VersionedResponse;
 import ec.com.sofka.account_service.exception.BalanceTypeSigNumUnavailableException;
 import ec.com.sofka.account_service.exception.InactiveAccountException;
 import ec.com.sofka.account_service.exception.InsufficientFoundsException;
@@ -11,16 +16,39 @@ import ec.com.sofka.account_service.mapper.MovementMapper;
 import ec.com.sofka.account_service.model.Account;
 import ec.com.sofka.account_service.model.Movement;
 import ec.com.sofka.account_service.model.enums.MovementTypeEnum;
+import ec.com.sofka.account_service.posting.AccountPostingEngine;
 import ec.com.sofka.account_service.repository.MovementRepository;
 import ec.com.sofka.account_service.service.AccountService;
+import ec.com.sofka.account_service.service.DailyBalanceService;
 import ec.com.sofka.account_service.service.MovementService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 @Slf4j
 @Service
@@ -29,7 +57,16 @@ public class MovementServiceImpl implements MovementService {
     private final AccountService accountService;
     private final MovementRepository movementRepository;
     private final MovementMapper mapper;
+    private final AccountPostingEngine postingEngine;
+    private final DailyBalanceService dailyBalanceService;
+    private final MeterRegistry meterRegistry;
+    private final Validator validator;
     private static final String MOVEMENT_NOT_FOUND = "Movimiento no encontrado: ";
+    static final String CREATE_METRIC = "movements.create";
+    static final String POSTED_METRIC = "movements.posted";
+
+    @Value("${app.movements.batch.chunk-size:1000}")
+    private int batchChunkSize = 1000;
 
     @Override
     public Page<MovementResponse> index(Pageable pageable) {
@@ -42,71 +79,346 @@ public class MovementServiceImpl implements MovementService {
                 .map(mapper::toResponse);
     }
 
+    @Override
+    public CursorPage<MovementResponse> scroll(String cursor, int size) {
+        Pageable limit = PageCursors.limit(size);
+        List<Movement> movements;
+        if (PageCursors.isFirstPage(cursor)) {
+            movements = movementRepository.findByOrderByDateDescIdDesc(limit);
+        } else {
+            PageCursors.DateIdCursor after = PageCursors.decodeDateId(cursor);
+            movements = movementRepository.findPageAfter(after.date(), after.id(), limit);
+        }
+        return PageCursors.slice(movements, limit, this::cursorOf, mapper::toResponse);
+    }
+
+    @Override
+    public CursorPage<MovementResponse> scrollByAccount(Long accountId, String cursor, int size) {
+        Pageable limit = PageCursors.limit(size);
+        List<Movement> movements;
+        if (PageCursors.isFirstPage(cursor)) {
+            movements = movementRepository.findByAccountIdOrderByDateDescIdDesc(accountId, limit);
+        } else {
+            PageCursors.DateIdCursor after = PageCursors.decodeDateId(cursor);
+            movements = movementRepository.findPageByAccountAfter(accountId, after.date(), after.id(), limit);
+        }
+        return PageCursors.slice(movements, limit, this::cursorOf, mapper::toResponse);
+    }
+
+    private String cursorOf(Movement movement) {
+        return PageCursors.encode(movement.getDate(), movement.getId());
+    }
+
     @Override
     public MovementResponse show(Long id) {
-        Movement movement = movementRepository.findById(id)
+        return mapper.toResponse(this.findMovement(id));
+    }
+
+    @Override
+    public VersionedResponse<MovementResponse> showVersioned(Long id) {
+        Movement movement = this.findMovement(id);
+        Account account = movement.getAccount();
+        String etag = movement.getId() + "-" + movement.getVersion() + "-" + account.getVersion();
+        LocalDateTime lastModified = Stream.of(movement.lastModifiedAt(), account.lastModifiedAt())
+                .filter(Objects::nonNull)
+                .max(Comparator.naturalOrder())
+                .orElse(null);
+        return VersionedResponse.of(etag, lastModified, () -> mapper.toResponse(movement));
+    }
+
+    private Movement findMovement(Long id) {
+        return movementRepository.findById(id)
                 .orElseThrow(() -> new MovementNotFoundException(MOVEMENT_NOT_FOUND + id));
-        return mapper.toResponse(movement);
     }
 
     @Override
-    @Transactional
     public MovementResponse create(MovementRequest request) {
+        return this.create(request, response -> {
+        });
+    }
+
+    @Override
+    public MovementResponse create(MovementRequest request, Consumer<MovementResponse> onPosted) {
         log.info("Starting create movement");
-        this.validateTransactionType(request);
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "success";
+        try {
+            this.validateTransactionType(request);
+            MovementResponse response = postingEngine.post(request.getAccountId(), () -> {
+                MovementResponse posted = this.post(request);
+                onPosted.accept(posted);
+                return posted;
+            });
+            this.countPosted(request.getMovementType(), 1);
+            return response;
+        } catch (RuntimeException e) {
+            outcome = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            // incluye la espera en el carril de la cuenta y los reintentos por bloqueo optimista
+            sample.stop(Timer.builder(CREATE_METRIC)
+                    .tag("movement_type", String.valueOf(request.getMovementType()))
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * Cuenta los movimientos confirmados por tipo; se llama después del registro para no contar los intentos
+     * revertidos por bloqueo optimista.
+     */
+    private void countPosted(MovementTypeEnum movementType, long count) {
+        Counter.builder(POSTED_METRIC)
+                .tag("movement_type", String.valueOf(movementType))
+                .register(meterRegistry)
+                .increment(count);
+    }
+
+    MovementResponse post(MovementRequest request) {
         Movement entity = mapper.toModel(request);
         this.buildAccount(entity, request.getAccountId());
         this.validateAccountStatus(entity.getAccount());
-        this.validateInsufficientFounds(entity.getAccount(), request);
-        this.buildTransactionType(request, entity);
+        BigDecimal balanceBefore = this.currentBalance(entity.getAccount());
+        this.validateInsufficientFounds(balanceBefore, request);
+        this.buildTransactionType(request, entity, balanceBefore);
+        this.applyBalanceDelta(entity.getAccount(), this.signed(entity));
         movementRepository.save(entity);
+        Map<Long, TreeMap<LocalDate, BigDecimal>> dailyDeltas = new LinkedHashMap<>();
+        this.addDailyDelta(dailyDeltas, entity.getAccount().getId(), entity.getDate(), this.signed(entity));
+        this.recordDailyBalances(dailyDeltas);
         log.info("Movement created successfully - id: {}", entity.getId());
         return mapper.toResponse(entity);
     }
 
     @Override
-    @Transactional
+    public MovementBatchResponse createBatch(Iterator<MovementRequest> requests) {
+        log.info("Starting batch create movements");
+        MovementBatchResponse response = new MovementBatchResponse();
+        List<MovementRequest> chunk = new ArrayList<>(batchChunkSize);
+        int offset = 0;
+        while (requests.hasNext()) {
+            chunk.add(requests.next());
+            if (chunk.size() == batchChunkSize) {
+                this.postChunk(chunk, offset, response);
+                offset += chunk.size();
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            this.postChunk(chunk, offset, response);
+        }
+        log.info("End batch create movements - received: {}, created: {}, rejected: {}",
+                response.getReceived(), response.getCreated(), response.getRejected());
+        return response;
+    }
+
+    void postChunk(List<MovementRequest> chunk, int offset, MovementBatchResponse response) {
+        MovementBatchItemResult[] results = new MovementBatchItemResult[chunk.size()];
+        Map<Long, List<Integer>> positionsByAccount = new LinkedHashMap<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            String error = this.validateBatchItem(chunk.get(i));
+            if (error != null) {
+                results[i] = this.rejected(offset + i, error);
+            } else {
+                positionsByAccount.computeIfAbsent(chunk.get(i).getAccountId(), k -> new ArrayList<>()).add(i);
+            }
+        }
+        positionsByAccount.forEach((accountId, positions) -> {
+            List<MovementRequest> group = positions.stream().map(chunk::get).toList();
+            List<MovementBatchItemResult> groupResults;
+            try {
+                groupResults = postingEngine.post(accountId, () -> this.postGroup(accountId, group));
+            } catch (RuntimeException e) {
+                log.warn("Batch group rejected for account {}: {}", accountId, e.getMessage());
+                groupResults = group.stream().map(r -> this.rejected(0, e.getMessage())).toList();
+            }
+            Map<MovementTypeEnum, Long> posted = new EnumMap<>(MovementTypeEnum.class);
+            for (int i = 0; i < positions.size(); i++) {
+                MovementBatchItemResult result = groupResults.get(i);
+                result.setIndex(offset + positions.get(i));
+                results[positions.get(i)] = result;
+                if (MovementBatchItemResult.CREATED.equals(result.getStatus())) {
+                    posted.merge(group.get(i).getMovementType(), 1L, Long::sum);
+                }
+            }
+            posted.forEach(this::countPosted);
+        });
+        for (MovementBatchItemResult result : results) {
+            response.add(result);
+        }
+    }
+
+    /**
+     * Valida y registra en orden los movimientos de una misma cuenta usando su saldo materializado, y los
+     * persiste juntos para que Hibernate los agrupe en inserts por lotes.
+     */
+    List<MovementBatchItemResult> postGroup(Long accountId, List<MovementRequest> group) {
+        Account account = accountService.showById(accountId);
+        Movement[] movements = new Movement[group.size()];
+        String[] errors = new String[group.size()];
+        for (int i = 0; i < group.size(); i++) {
+            MovementRequest request = group.get(i);
+            try {
+                this.validateTransactionType(request);
+                this.validateAccountStatus(account);
+                BigDecimal balanceBefore = this.currentBalance(account);
+                this.validateInsufficientFounds(balanceBefore, request);
+                request.setId(null);
+                Movement entity = mapper.toModel(request);
+                entity.setAccount(account);
+                this.buildTransactionType(request, entity, balanceBefore);
+                this.applyBalanceDelta(account, this.signed(entity));
+                movements[i] = entity;
+            } catch (BalanceTypeSigNumUnavailableException | InactiveAccountException
+                     | InsufficientFoundsException e) {
+                errors[i] = e.getMessage();
+            }
+        }
+        List<Movement> created = Arrays.stream(movements).filter(Objects::nonNull).toList();
+        movementRepository.saveAll(created);
+        Map<Long, TreeMap<LocalDate, BigDecimal>> dailyDeltas = new LinkedHashMap<>();
+        created.forEach(movement -> this.addDailyDelta(dailyDeltas, accountId, movement.getDate(),
+                this.signed(movement)));
+        this.recordDailyBalances(dailyDeltas);
+        List<MovementBatchItemResult> results = new ArrayList<>(group.size());
+        for (int i = 0; i < group.size(); i++) {
+            results.add(movements[i] != null
+                    ? MovementBatchItemResult.builder()
+                    .status(MovementBatchItemResult.CREATED)
+                    .movementId(movements[i].getId())
+                    .balance(movements[i].getBalance())
+                    .build()
+                    : this.rejected(0, errors[i]));
+        }
+        return results;
+    }
+
+    /**
+     * Aplica a cada elemento del lote las mismas restricciones del grupo {@link OnCreate} que valida
+     * {@code POST /api/movements}; devuelve los mensajes ordenados y separados por {@code ; }, o {@code null}.
+     */
+    String validateBatchItem(MovementRequest request) {
+        if (request == null) {
+            return "movement cannot be null";
+        }
+        Set<ConstraintViolation<MovementRequest>> violations = validator.validate(request, OnCreate.class);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private MovementBatchItemResult rejected(int index, String error) {
+        return MovementBatchItemResult.builder()
+                .index(index)
+                .status(MovementBatchItemResult.REJECTED)
+                .error(error)
+                .build();
+    }
+
+    /**
+     * Las modificaciones de movimientos corren en el carril de la cuenta del movimiento, igual que los registros,
+     * de modo que sus cierres diarios no compiten con los de un registro concurrente; se repiten si otra escritura
+     * gana el bloqueo optimista de la cuenta.
+     */
+    @Override
     public MovementResponse update(Long id, MovementRequest request) {
+        return postingEngine.post(this.accountIdOf(id), () -> this.doUpdate(id, request));
+    }
+
+    private MovementResponse doUpdate(Long id, MovementRequest request) {
         log.info("Starting update movement");
         Movement entity = movementRepository.findById(id)
                 .orElseThrow(() -> new MovementNotFoundException(MOVEMENT_NOT_FOUND + id));
+        Account previousAccount = entity.getAccount();
+        BigDecimal previousAmount = this.signed(entity);
+        LocalDateTime previousDate = entity.getDate();
         if (request.getAccountId() != null &&
                 (entity.getAccount() == null || !request.getAccountId().equals(entity.getAccount().getId()))) {
             this.buildAccount(entity, request.getAccountId());
         }
         this.validateAccountStatus(entity.getAccount());
         request.setId(id);
-        this.validateInsufficientFounds(entity.getAccount(), request);
+        boolean sameAccount = previousAccount != null
+                && Objects.equals(previousAccount.getId(), entity.getAccount().getId());
+        BigDecimal balanceBefore = sameAccount
+                ? this.currentBalance(entity.getAccount()).subtract(previousAmount)
+                : this.currentBalance(entity.getAccount());
+        this.validateInsufficientFounds(balanceBefore, request);
         mapper.updateModel(request, entity);
-        this.buildTransactionType(request, entity);
+        this.buildTransactionType(request, entity, balanceBefore);
+        if (sameAccount) {
+            this.applyBalanceDelta(entity.getAccount(), this.signed(entity).subtract(previousAmount));
+        } else {
+            if (previousAccount != null) {
+                this.applyBalanceDelta(previousAccount, previousAmount.negate());
+            }
+            this.applyBalanceDelta(entity.getAccount(), this.signed(entity));
+        }
         movementRepository.save(entity);
+        Map<Long, TreeMap<LocalDate, BigDecimal>> dailyDeltas = new LinkedHashMap<>();
+        if (previousAccount != null) {
+            this.addDailyDelta(dailyDeltas, previousAccount.getId(), previousDate, previousAmount.negate());
+        }
+        this.addDailyDelta(dailyDeltas, entity.getAccount().getId(), entity.getDate(), this.signed(entity));
+        this.recordDailyBalances(dailyDeltas);
         log.info("End update movement");
         return mapper.toResponse(entity);
     }
 
 
     @Override
-    @Transactional
     public MovementResponse partialUpdate(Long id, MovementPartialUpdateRequest patch) {
+        return postingEngine.post(this.accountIdOf(id), () -> this.doPartialUpdate(id, patch));
+    }
+
+    private MovementResponse doPartialUpdate(Long id, MovementPartialUpdateRequest patch) {
         log.info("Starting partialUpdate movement");
         Movement entity = movementRepository.findById(id)
                 .orElseThrow(() -> new MovementNotFoundException(MOVEMENT_NOT_FOUND + id));
         this.validateAccountStatus(entity.getAccount());
+        LocalDateTime previousDate = entity.getDate();
         entity.setDate(patch.getDate());
         movementRepository.save(entity);
+        Map<Long, TreeMap<LocalDate, BigDecimal>> dailyDeltas = new LinkedHashMap<>();
+        this.addDailyDelta(dailyDeltas, entity.getAccount().getId(), previousDate, this.signed(entity).negate());
+        this.addDailyDelta(dailyDeltas, entity.getAccount().getId(), entity.getDate(), this.signed(entity));
+        this.recordDailyBalances(dailyDeltas);
         log.info("End partialUpdate movement");
         return mapper.toResponse(entity);
     }
 
     @Override
     public void delete(Long id) {
+        postingEngine.post(this.accountIdOf(id), () -> {
+            this.doDelete(id);
+            return null;
+        });
+    }
+
+    private void doDelete(Long id) {
         log.info("Starting delete movement");
         Movement entity = movementRepository.findById(id)
                 .orElseThrow(() -> new MovementNotFoundException(MOVEMENT_NOT_FOUND + id));
+        this.applyBalanceDelta(entity.getAccount(), this.signed(entity).negate());
         movementRepository.delete(entity);
+        Map<Long, TreeMap<LocalDate, BigDecimal>> dailyDeltas = new LinkedHashMap<>();
+        this.addDailyDelta(dailyDeltas, entity.getAccount().getId(), entity.getDate(), this.signed(entity).negate());
+        this.recordDailyBalances(dailyDeltas);
         log.info("End delete movement");
     }
 
+    /**
+     * Cuenta actual del movimiento, para elegir el carril; el trabajo vuelve a leer el movimiento dentro de él.
+     */
+    private Long accountIdOf(Long id) {
+        Account account = this.findMovement(id).getAccount();
+        return account != null ? account.getId() : null;
+    }
+
     void buildAccount(Movement movement, Long accountId) {
         Account account = accountService.showById(accountId);
         movement.setAccount(account);
@@ -135,15 +447,9 @@ public class MovementServiceImpl implements MovementService {
     }
 
 
-    void buildTransactionType(MovementRequest request, Movement entity) {
+    void buildTransactionType(MovementRequest request, Movement entity, BigDecimal balanceBefore) {
         MovementTypeEnum type = request.getMovementType();
         BigDecimal amount = request.getAmount().abs();
-        BigDecimal balanceBefore;
-        if (entity.getId() == null) {
-            balanceBefore = currentBalance(entity.getAccount());
-        } else {
-            balanceBefore = currentBalance(entity.getAccount(), entity.getId());
-        }
         BigDecimal balanceAfter = (type == MovementTypeEnum.DEPOSIT || type == MovementTypeEnum.INITIAL_DEPOSIT)
                 ? balanceBefore.add(amount)
                 : balanceBefore.subtract(amount);
@@ -153,40 +459,58 @@ public class MovementServiceImpl implements MovementService {
     }
 
 
-    void validateInsufficientFounds(Account account, MovementRequest request) {
+    void validateInsufficientFounds(BigDecimal balanceBefore, MovementRequest request) {
         if (request.getMovementType() == MovementTypeEnum.WITHDRAWAL) {
-            BigDecimal balanceExcludingUpdated;
-            if (request.getId() == null) {
-                balanceExcludingUpdated = currentBalance(account);
-            } else {
-                balanceExcludingUpdated = currentBalance(account, request.getId());
-            }
             BigDecimal toWithdrawal = request.getAmount().abs();
-            if (balanceExcludingUpdated.subtract(toWithdrawal).signum() == -1) {
+            if (balanceBefore.subtract(toWithdrawal).signum() == -1) {
                 String message = "Saldo no disponible";
                 throw new InsufficientFoundsException(message);
             }
         }
     }
 
+    /**
+     * Aplica de forma incremental el efecto de un movimiento sobre el saldo materializado de la cuenta,
+     * evitando recorrer todo el historial de movimientos en cada registro.
+     */
+    void applyBalanceDelta(Account account, BigDecimal delta) {
+        account.setCurrentBalance(this.currentBalance(account).add(delta));
+        account.setMovementSequence(account.getMovementSequence() + 1);
+    }
 
-    private BigDecimal currentBalance(Account account, Long excludedMovementId) {
-        return account.getInitialBalance().add(account.getMovements().stream()
-                .filter(m -> !m.getId().equals(excludedMovementId))
-                .map(m -> (m.getMovementType() == MovementTypeEnum.DEPOSIT ||
-                        m.getMovementType() == MovementTypeEnum.INITIAL_DEPOSIT)
-                        ? m.getAmount()
-                        : m.getAmount().negate())
-                .reduce(BigDecimal.ZERO, BigDecimal::add));
+    /**
+     * Acumula el cambio por cuenta y día: varios cambios del mismo día deben registrarse juntos porque el cierre
+     * de un día nuevo se calcula desde el historial ya persistido.
+     */
+    void addDailyDelta(Map<Long, TreeMap<LocalDate, BigDecimal>> deltas, Long accountId, LocalDateTime date,
+                       BigDecimal delta) {
+        if (accountId == null || date == null) {
+            return;
+        }
+        deltas.computeIfAbsent(accountId, k -> new TreeMap<>()).merge(date.toLocalDate(), delta, BigDecimal::add);
     }
 
+    /**
+     * Registra los cierres diarios en orden ascendente de fecha, para que el desplazamiento de un día anterior no
+     * se aplique otra vez sobre un cierre posterior ya calculado desde el historial.
+     */
+    void recordDailyBalances(Map<Long, TreeMap<LocalDate, BigDecimal>> deltas) {
+        deltas.forEach((accountId, byDay) ->
+                byDay.forEach((day, delta) -> dailyBalanceService.record(accountId, day, delta)));
+    }
 
     private BigDecimal currentBalance(Account account) {
-        return account.getMovements().stream()
-                .map(m -> (m.getMovementType() == MovementTypeEnum.DEPOSIT ||
-                        m.getMovementType() == MovementTypeEnum.INITIAL_DEPOSIT)
-                        ? m.getAmount()
-                        : m.getAmount().negate())
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-    }
-}
\ No newline at end of file
+        return account.getCurrentBalance() != null ? account.getCurrentBalance() : BigDecimal.ZERO;
+    }
+
+    private BigDecimal signed(Movement movement) {
+        if (movement.getAmount() == null || movement.getMovementType() == null) {
+            return BigDecimal.ZERO;
+        }
+        BigDecimal amount = movement.getAmount().abs();
+        return (movement.getMovementType() == MovementTypeEnum.DEPOSIT
+                || movement.getMovementType() == MovementTypeEnum.INITIAL_DEPOSIT)
+                ? amount
+                : amount.negate();
+    }
+}
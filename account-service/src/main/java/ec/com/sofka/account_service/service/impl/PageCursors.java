@@ -0,0 +1,88 @@
+package ec.com.sofka.account_service.service.impl;
+
+import ec.com.sofka.account_service.dto.page.CursorPage;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * Codifica y decodifica los cursores opacos de la paginación keyset ({@code (date, id)} para movimientos e
+ * {@code id} para cuentas) y arma la página pidiendo un elemento extra para saber si hay siguiente.
+ */
+final class PageCursors {
+
+    static final int MAX_SIZE = 100;
+    private static final String SEPARATOR = "~";
+    private static final String INVALID_CURSOR = "Invalid cursor";
+
+    private PageCursors() {
+    }
+
+    record DateIdCursor(LocalDateTime date, Long id) {
+    }
+
+    static Pageable limit(int size) {
+        return PageRequest.of(0, Math.max(1, Math.min(size, MAX_SIZE)) + 1);
+    }
+
+    static String encode(LocalDateTime date, Long id) {
+        return encode(date + SEPARATOR + id);
+    }
+
+    static String encode(Long id) {
+        return encode(String.valueOf(id));
+    }
+
+    static DateIdCursor decodeDateId(String cursor) {
+        String[] parts = decode(cursor).split(SEPARATOR, -1);
+        if (parts.length != 2) {
+            throw new IllegalArgumentException(INVALID_CURSOR);
+        }
+        try {
+            return new DateIdCursor(LocalDateTime.parse(parts[0]), Long.valueOf(parts[1]));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException(INVALID_CURSOR);
+        }
+    }
+
+    static Long decodeId(String cursor) {
+        try {
+            return Long.valueOf(decode(cursor));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(INVALID_CURSOR);
+        }
+    }
+
+    static boolean isFirstPage(String cursor) {
+        return cursor == null || cursor.isBlank();
+    }
+
+    /**
+     * Recorta la consulta (pedida con {@link #limit(int)}) al tamaño solicitado y calcula el cursor siguiente a
+     * partir del último elemento devuelto.
+     */
+    static <E, R> CursorPage<R> slice(List<E> rows, Pageable limit, Function<E, String> cursorOf,
+                                      Function<E, R> mapper) {
+        int size = limit.getPageSize() - 1;
+        boolean hasNext = rows.size() > size;
+        List<E> page = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = hasNext ? cursorOf.apply(page.get(page.size() - 1)) : null;
+        return new CursorPage<>(page.stream().map(mapper).toList(), size, hasNext, nextCursor);
+    }
+
+    private static String encode(String value) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decode(String cursor) {
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(INVALID_CURSOR);
+        }
+    }
+}
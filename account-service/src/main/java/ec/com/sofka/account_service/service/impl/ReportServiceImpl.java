@@ -1,20 +1,31 @@
 package ec.com.sofka.account_service.service.impl;
 
 import ec.com.sofka.account_service.client.ClientHttp;
+import ec.com.sofka.account_service.client.ClientLookupExecutor;
 import ec.com.sofka.account_service.client.dto.ClientDto;
+import ec.com.sofka.account_service.dto.report.StatementDetailLine;
 import ec.com.sofka.account_service.dto.report.StatementReportRow;
 import ec.com.sofka.account_service.model.Account;
 import ec.com.sofka.account_service.model.Movement;
 import ec.com.sofka.account_service.model.enums.MovementTypeEnum;
 import ec.com.sofka.account_service.repository.AccountRepository;
 import ec.com.sofka.account_service.repository.MovementRepository;
+import ec.com.sofka.account_service.repository.projection.StatementLine;
 import ec.com.sofka.account_service.service.ReportService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManager;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -25,58 +36,118 @@ import org.springframework.transaction.annotation.Transactional;
 @RequiredArgsConstructor
 public class ReportServiceImpl implements ReportService {
 
+    static final String GENERATE_METRIC = "statements.generate";
+
     private final AccountRepository accountRepository;
     private final MovementRepository movementRepository;
     private final ClientHttp clientHttp;
+    private final ClientLookupExecutor clientLookupExecutor;
+    private final EntityManager entityManager;
+    private final MeterRegistry meterRegistry;
 
     @Override
     @Transactional(readOnly = true)
     public List<StatementReportRow> generateStatement(Long clientId, LocalDate from, LocalDate to) {
-        List<StatementReportRow> statementRows = new ArrayList<>();
-        List<Account> accounts = accountRepository.findByClientId(clientId);
-        ClientDto clientDto = clientHttp.show(clientId);
-        String clientName = clientDto != null ? clientDto.getName() : "";
-        for (Account account : accounts) {
-            BigDecimal initialBalanceAccount = account.getInitialBalance();
-            LocalDateTime startOfDay = from.atStartOfDay();
-            LocalDateTime endOfDay = to.atStartOfDay().plusDays(1).minusNanos(1);
+        return Timer.builder(GENERATE_METRIC).register(meterRegistry)
+                .record(() -> this.buildStatement(clientId, from, to));
+    }
 
-            List<Movement> movementsInPeriod =
-                    movementRepository.findByAccountIdAndDateBetweenOrderByDateAsc(account.getId(), startOfDay,
-                            endOfDay);
-            LocalDateTime reportDate = movementsInPeriod.isEmpty()
-                    ? endOfDay              // o puedes usar null si tu DTO lo permite
-                    : movementsInPeriod.getLast().getDate();
-            BigDecimal initialBalance = BigDecimal.ZERO;
-            List<Movement> lastMovements =
-                    movementRepository.findByAccountIdAndDateBefore(account.getId(), startOfDay);
-            for (Movement priorMovement : lastMovements) {
-                initialBalance = initialBalance.add(signed(priorMovement));
-            }
+    private List<StatementReportRow> buildStatement(Long clientId, LocalDate from, LocalDate to) {
+        LocalDateTime startOfDay = from.atStartOfDay();
+        LocalDateTime endOfDay = to.atStartOfDay().plusDays(1).minusNanos(1);
+        CompletableFuture<ClientDto> client = this.lookupClient(clientId);
+        // una sola consulta por cliente; ya viene ordenada con la última cuenta primero
+        List<StatementLine> lines = accountRepository.findStatementLines(clientId, startOfDay, endOfDay);
+        String clientName = this.clientName(client);
+        return lines.stream()
+                .map(line -> this.toRow(line, clientName, endOfDay))
+                .toList();
+    }
 
-            Movement lastMovement = movementsInPeriod.stream()
-                    .reduce((first, second) -> second) // se queda con el último
-                    .orElse(new Movement());
-            BigDecimal lastMovementValue = this.signed(lastMovement);
+    @Override
+    @Transactional(readOnly = true)
+    public void exportStatement(Long clientId, LocalDate from, LocalDate to, Consumer<StatementDetailLine> sink) {
+        log.info("Starting statement export for client {} from {} to {}", clientId, from, to);
+        LocalDateTime startOfDay = from.atStartOfDay();
+        LocalDateTime endOfDay = to.atStartOfDay().plusDays(1).minusNanos(1);
+        // saldo de apertura por cuenta; el saldo corrido se acumula a medida que llegan los movimientos
+        CompletableFuture<ClientDto> client = this.lookupClient(clientId);
+        Map<Long, BigDecimal> balances = new HashMap<>();
+        accountRepository.findStatementLines(clientId, startOfDay, endOfDay)
+                .forEach(line -> balances.put(line.getAccountId(), zeroIfNull(line.getOpeningBalance())));
+        String clientName = this.clientName(client);
+        long lines = 0;
+        try (Stream<Movement> movements =
+                     movementRepository.streamByClientIdAndDateBetween(clientId, startOfDay, endOfDay)) {
+            for (Movement movement : (Iterable<Movement>) movements::iterator) {
+                Account account = movement.getAccount();
+                BigDecimal amount = this.signed(movement);
+                BigDecimal balance = balances.merge(account.getId(), amount, BigDecimal::add);
+                sink.accept(StatementDetailLine.builder()
+                        .date(movement.getDate())
+                        .clientName(clientName)
+                        .accountNumber(account.getAccountNumber())
+                        .accountType(account.getAccountType().getDisplayName())
+                        .movementId(movement.getId())
+                        .movementType(movement.getMovementType().getDisplayName())
+                        .movement(amount)
+                        .availableBalance(balance)
+                        .build());
+                // evita que el contexto de persistencia crezca con el rango
+                entityManager.detach(movement);
+                lines++;
+            }
+        }
+        log.info("End statement export for client {}: {} lines", clientId, lines);
+    }
 
-            BigDecimal totalMovementInPeriod = movementsInPeriod.stream()
-                    .map(this::signed)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
+    /**
+     * Consulta el cliente en un hilo virtual mientras la transacción de lectura calcula las cuentas: el tiempo del
+     * reporte pasa a ser el mayor de ambos y no su suma.
+     */
+    private CompletableFuture<ClientDto> lookupClient(Long clientId) {
+        return clientLookupExecutor.supplyAsync(() -> clientHttp.show(clientId));
+    }
 
-            BigDecimal availableBalance = initialBalance.add(totalMovementInPeriod);
-            StatementReportRow statementRow = StatementReportRow.builder()
-                    .date(reportDate)
-                    .clientName(clientName)
-                    .accountNumber(account.getAccountNumber())
-                    .accountType(account.getAccountType().getDisplayName())
-                    .initialBalance(initialBalanceAccount)
-                    .active(account.isActive())
-                    .movement(lastMovementValue)
-                    .availableBalance(availableBalance)
-                    .build();
-            statementRows.add(statementRow);
+    private String clientName(CompletableFuture<ClientDto> client) {
+        ClientDto clientDto;
+        try {
+            clientDto = client.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            client.cancel(true);
+            throw new IllegalStateException("Interrupted while waiting for client lookup", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Client lookup failed", e.getCause());
         }
-        return statementRows.reversed();
+        return clientDto != null ? clientDto.getName() : "";
+    }
+
+    private StatementReportRow toRow(StatementLine line, String clientName, LocalDateTime endOfDay) {
+        LocalDateTime reportDate = Objects.nonNull(line.getLastMovementDate())
+                ? line.getLastMovementDate()
+                : endOfDay;
+        BigDecimal lastMovementValue = Objects.nonNull(line.getLastMovement())
+                ? line.getLastMovement()
+                : BigDecimal.ZERO;
+        BigDecimal availableBalance = zeroIfNull(line.getOpeningBalance()).add(zeroIfNull(line.getPeriodTotal()));
+        return StatementReportRow.builder()
+                .date(reportDate)
+                .clientName(clientName)
+                .accountNumber(line.getAccountNumber())
+                .accountType(line.getAccountType().getDisplayName())
+                .initialBalance(line.getInitialBalance())
+                .active(Boolean.TRUE.equals(line.getActive()))
+                .movement(lastMovementValue)
+                .availableBalance(availableBalance)
+                .build();
+    }
+
+    private BigDecimal zeroIfNull(BigDecimal value) {
+        return Objects.nonNull(value) ? value : BigDecimal.ZERO;
     }
 
     private BigDecimal signed(Movement mv) {
@@ -86,4 +157,4 @@ public class ReportServiceImpl implements ReportService {
                 ? amount
                 : amount.negate();
     }
-}
\ No newline at end of file
+}
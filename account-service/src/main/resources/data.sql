@@ -1,13 +1,21 @@
 -- ============ ACCOUNTS ============
 INSERT INTO "accounts" (
   "id","client_id","account_number","account_type",
-  "initial_balance","is_active","created_at","updated_at","deleted","deleted_at"
+  "initial_balance","is_active","current_balance","movement_sequence",
+  "created_at","updated_at","deleted","deleted_at"
 ) VALUES
-(1,1,'478758','SAVINGS',2000.00,TRUE,CURRENT_TIMESTAMP,NULL,FALSE,NULL),
-(2,2,'225487','CURRENT', 100.00,TRUE,CURRENT_TIMESTAMP,NULL,FALSE,NULL),
-(3,3,'495878','SAVINGS',   0.00,TRUE,CURRENT_TIMESTAMP,NULL,FALSE,NULL),
-(4,2,'496825','SAVINGS', 540.00,TRUE,CURRENT_TIMESTAMP,NULL,FALSE,NULL),
-(5,1,'585545','CURRENT',1000.00,TRUE,CURRENT_TIMESTAMP,NULL,FALSE,NULL);
+(1,1,'478758','SAVINGS',2000.00,TRUE,1425.00,2,CURRENT_TIMESTAMP,NULL,FALSE,NULL),
+(2,2,'225487','CURRENT', 100.00,TRUE, 700.00,2,CURRENT_TIMESTAMP,NULL,FALSE,NULL),
+(3,3,'495878','SAVINGS',   0.00,TRUE, 150.00,2,CURRENT_TIMESTAMP,NULL,FALSE,NULL),
+(4,2,'496825','SAVINGS', 540.00,TRUE,   0.00,2,CURRENT_TIMESTAMP,NULL,FALSE,NULL),
+(5,1,'585545','CURRENT',1000.00,TRUE,1000.00,1,CURRENT_TIMESTAMP,NULL,FALSE,NULL);
+
+-- ============ CLIENT REGISTRY ============
+-- Clientes semilla del servicio de clientes; los cambios posteriores llegan como eventos
+INSERT INTO "client_registry" ("client_id","active","deleted","changed_at") VALUES
+(1,TRUE,FALSE,NULL),
+(2,TRUE,FALSE,NULL),
+(3,TRUE,FALSE,NULL);
 
 -- ============ MOVEMENTS ============
 -- Movimientos de apertura (INITIAL_DEPOSIT)
@@ -29,4 +37,5 @@ INSERT INTO "movements" (
 
 -- Reset IDs
 ALTER TABLE "accounts"  ALTER COLUMN "id" RESTART WITH 6;
-ALTER TABLE "movements" ALTER COLUMN "id" RESTART WITH 10;
\ No newline at end of file
+-- La secuencia entrega el límite superior de cada bloque de 50: 60 => ids 11..60
+ALTER SEQUENCE "movements_seq" RESTART WITH 60;
\ No newline at end of file
@@ -1,5 +1,10 @@
+DROP TABLE IF EXISTS "idempotency_keys";
+DROP TABLE IF EXISTS "client_registry";
+DROP TABLE IF EXISTS "account_daily_balances";
+DROP TABLE IF EXISTS "movement_outbox";
 DROP TABLE IF EXISTS "movements";
 DROP TABLE IF EXISTS "accounts";
+DROP SEQUENCE IF EXISTS "movements_seq";
 
 CREATE TABLE "accounts" (
   "id"               BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
@@ -8,6 +13,9 @@ CREATE TABLE "accounts" (
   "account_type"     VARCHAR(20)        NOT NULL,
   "initial_balance"  DECIMAL(19,2)      NOT NULL,
   "is_active"        BOOLEAN            NOT NULL DEFAULT TRUE,
+  "current_balance"  DECIMAL(19,2)      NOT NULL DEFAULT 0,
+  "movement_sequence" BIGINT            NOT NULL DEFAULT 0,
+  "version"          BIGINT             NOT NULL DEFAULT 0,  -- bloqueo optimista (@Version)
   "created_at"       TIMESTAMP          NOT NULL DEFAULT CURRENT_TIMESTAMP,
   "updated_at"       TIMESTAMP NULL,
   "deleted"          BOOLEAN            NOT NULL DEFAULT FALSE,
@@ -15,13 +23,17 @@ CREATE TABLE "accounts" (
   CONSTRAINT "chk_account_type" CHECK ("account_type" IN ('SAVINGS','CURRENT'))
 );
 
+-- Los ids de movimientos se asignan por secuencia (bloques de 50) para permitir inserts JDBC por lotes
+CREATE SEQUENCE "movements_seq" START WITH 1 INCREMENT BY 50;
+
 CREATE TABLE "movements" (
-  "id"             BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+  "id"             BIGINT          PRIMARY KEY,
   "amount"         DECIMAL(19,2)   NOT NULL,
   "balance"        DECIMAL(19,2)   NOT NULL,
   "date"           TIMESTAMP       NOT NULL,
   "movement_type"           VARCHAR(20)     NOT NULL,  -- <— texto, no TINYINT
   "account_id"     BIGINT          NOT NULL,
+  "version"        BIGINT          NOT NULL DEFAULT 0,
   "created_at"     TIMESTAMP       NOT NULL DEFAULT CURRENT_TIMESTAMP,
   "updated_at"     TIMESTAMP NULL,
   "deleted"        BOOLEAN         NOT NULL DEFAULT FALSE,
@@ -29,4 +41,66 @@ CREATE TABLE "movements" (
   CONSTRAINT "chk_movement_type" CHECK ("movement_type" IN ('INITIAL_DEPOSIT','DEPOSIT','WITHDRAWAL')),
   CONSTRAINT "fk_movements_account"
       FOREIGN KEY ("account_id") REFERENCES "accounts"("id") ON DELETE CASCADE
-);
\ No newline at end of file
+);
+
+-- Índices para los accesos por cliente y por cuenta/fecha. H2 no soporta índices parciales, por eso "deleted"
+-- (filtro de @SQLRestriction) forma parte de la clave, antes de la columna de rango "date".
+CREATE INDEX "idx_accounts_client" ON "accounts" ("client_id", "deleted");
+CREATE INDEX "idx_movements_account_date" ON "movements" ("account_id", "deleted", "date");
+-- Listado general por cursor: recorre los movimientos por (date, id) descendente
+CREATE INDEX "idx_movements_date_id" ON "movements" ("date" DESC, "id" DESC);
+
+-- Cierre diario por cuenta: saldo al final de cada día con movimientos. Se actualiza al registrar movimientos y
+-- lo reconstruye DailyBalanceRebuildJob; el estado de cuenta parte del último cierre anterior al periodo
+CREATE TABLE "account_daily_balances" (
+  "account_id"      BIGINT          NOT NULL,
+  "balance_date"    DATE            NOT NULL,
+  "closing_balance" DECIMAL(19,2)   NOT NULL,
+  PRIMARY KEY ("account_id", "balance_date"),
+  CONSTRAINT "fk_daily_balances_account"
+      FOREIGN KEY ("account_id") REFERENCES "accounts"("id") ON DELETE CASCADE
+);
+
+-- Outbox de movimientos: se escribe en la transacción que origina el movimiento y lo entrega
+-- MovementOutboxDispatcher en segundo plano, en orden por cuenta
+CREATE TABLE "movement_outbox" (
+  "id"              BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+  "account_id"      BIGINT          NOT NULL,
+  "movement_type"   VARCHAR(20)     NOT NULL,
+  "amount"          DECIMAL(19,2)   NOT NULL,
+  "balance"         DECIMAL(19,2)   NOT NULL,
+  "date"            TIMESTAMP       NOT NULL,
+  "status"          VARCHAR(20)     NOT NULL DEFAULT 'PENDING',
+  "attempts"        INT             NOT NULL DEFAULT 0,
+  "next_attempt_at" TIMESTAMP NULL,
+  "last_error"      VARCHAR(1000) NULL,
+  "created_at"      TIMESTAMP       NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  "processed_at"    TIMESTAMP NULL,
+  CONSTRAINT "chk_outbox_status" CHECK ("status" IN ('PENDING','IN_FLIGHT','SENT','FAILED'))
+);
+
+CREATE INDEX "idx_movement_outbox_status" ON "movement_outbox" ("status", "id");
+-- entradas anteriores de la misma cuenta que bloquean la entrega
+CREATE INDEX "idx_movement_outbox_account" ON "movement_outbox" ("account_id", "id");
+
+-- Réplica local de los clientes, alimentada por los eventos de cambio del servicio de clientes; valida
+-- localmente que el cliente de una cuenta exista
+CREATE TABLE "client_registry" (
+  "client_id"   BIGINT    PRIMARY KEY,
+  "active"      BOOLEAN   NOT NULL,
+  "deleted"     BOOLEAN   NOT NULL DEFAULT FALSE,
+  "changed_at"  TIMESTAMP NULL,
+  "updated_at"  TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Claves de idempotencia de la creación de movimientos (solo con app.idempotency.persistence.enabled); la
+-- respuesta es nula mientras la petición original sigue en curso
+CREATE TABLE "idempotency_keys" (
+  "idempotency_key" VARCHAR(255)  PRIMARY KEY,
+  "fingerprint"     VARCHAR(64)   NOT NULL,
+  "response"        VARCHAR(4000) NULL,
+  "created_at"      TIMESTAMP     NOT NULL,
+  "expires_at"      TIMESTAMP     NOT NULL
+);
+
+CREATE INDEX "idx_idempotency_keys_expires_at" ON "idempotency_keys" ("expires_at");
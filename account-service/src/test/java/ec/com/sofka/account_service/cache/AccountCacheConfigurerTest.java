@@ -0,0 +1,75 @@
+package ec.com.sofka.account_service.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import ec.com.sofka.account_service.model.Account;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.OptionalLong;
+import javax.cache.Cache;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class AccountCacheConfigurerTest {
+
+    final AccountCacheConfigurer configurer = new AccountCacheConfigurer(500, Duration.ofMinutes(2));
+
+    @AfterEach
+    void tearDown() {
+        configurer.destroy();
+    }
+
+    @SuppressWarnings("unchecked")
+    private CaffeineConfiguration<Object, Object> configuration(String region) {
+        Cache<Object, Object> cache = configurer.cacheManager().getCache(region);
+        assertNotNull(cache, region);
+        return cache.getConfiguration(CaffeineConfiguration.class);
+    }
+
+    @Test
+    @DisplayName("customize: activa la caché de entidades, de consultas y las estadísticas con el CacheManager propio")
+    void customize_enablesSecondLevelCache() {
+        Map<String, Object> properties = new HashMap<>();
+
+        configurer.customize(properties);
+
+        assertEquals(true, properties.get(AvailableSettings.USE_SECOND_LEVEL_CACHE));
+        assertEquals(true, properties.get(AvailableSettings.USE_QUERY_CACHE));
+        assertEquals(true, properties.get(AvailableSettings.GENERATE_STATISTICS));
+        assertEquals("jcache", properties.get(AvailableSettings.CACHE_REGION_FACTORY));
+        assertSame(configurer.cacheManager(), properties.get(ConfigSettings.CACHE_MANAGER));
+    }
+
+    @Test
+    @DisplayName("regiones: cuentas y consultas acotadas por tamaño y ttl; marcas de actualización sin límite")
+    void regions_areBoundedExceptTimestamps() {
+        for (String region : new String[]{Account.CACHE_REGION, AccountCacheConfigurer.QUERY_RESULTS_REGION}) {
+            CaffeineConfiguration<Object, Object> configuration = configuration(region);
+            assertEquals(OptionalLong.of(500), configuration.getMaximumSize());
+            assertEquals(OptionalLong.of(Duration.ofMinutes(2).toNanos()), configuration.getExpireAfterWrite());
+            assertFalse(configuration.isStoreByValue());
+        }
+
+        CaffeineConfiguration<Object, Object> timestamps =
+                configuration(AccountCacheConfigurer.UPDATE_TIMESTAMPS_REGION);
+        assertTrue(timestamps.getMaximumSize().isEmpty());
+        assertTrue(timestamps.getExpireAfterWrite().isEmpty());
+    }
+
+    @Test
+    @DisplayName("destroy: cierra el CacheManager")
+    void destroy_closesCacheManager() {
+        configurer.destroy();
+
+        assertTrue(configurer.cacheManager().isClosed());
+    }
+}
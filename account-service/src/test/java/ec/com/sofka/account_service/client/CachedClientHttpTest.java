@@ -0,0 +1,173 @@
+package ec.com.sofka.account_service.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doCallRealMethod;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import ec.com.sofka.account_service.client.dto.ClientDto;
+import ec.com.sofka.account_service.exception.ClientNotFoundException;
+import ec.com.sofka.account_service.exception.ClientServiceUnavailableException;
+import feign.FeignException;
+import feign.Request;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class CachedClientHttpTest {
+
+    @Mock
+    ClientHttp remote;
+
+    private final AtomicLong nanos = new AtomicLong();
+    private ClientLookupCache cache;
+    private CachedClientHttp cached;
+
+    @BeforeEach
+    void setUp() {
+        cache = new ClientLookupCache(100, Duration.ofMinutes(10), Duration.ofSeconds(30), nanos::get);
+        cached = new CachedClientHttp(remote, cache, new ClientLookupCoalescer(remote, Duration.ZERO, 100));
+    }
+
+    private static ClientDto client(Long id) {
+        return new ClientDto(id, "Cliente " + id, true);
+    }
+
+    private static FeignException.NotFound notFound() {
+        Request request = Request.create(Request.HttpMethod.GET, "/api/clients/9", Map.of(), null,
+                StandardCharsets.UTF_8, null);
+        return new FeignException.NotFound("404", request, null, Map.of());
+    }
+
+    @Test
+    @DisplayName("show: la segunda consulta se sirve desde caché y registra hit/miss")
+    void show_cachesHits() {
+        ClientDto dto = client(1L);
+        when(remote.show(1L)).thenReturn(dto);
+
+        assertSame(dto, cached.show(1L));
+        assertSame(dto, cached.show(1L));
+
+        verify(remote, times(1)).show(1L);
+        assertEquals(1, cache.stats().hitCount());
+        assertEquals(1, cache.stats().missCount());
+    }
+
+    @Test
+    @DisplayName("show: al vencer el TTL se vuelve a consultar el servicio de clientes")
+    void show_expiresAfterTtl() {
+        when(remote.show(1L)).thenReturn(client(1L));
+
+        cached.show(1L);
+        nanos.addAndGet(Duration.ofMinutes(11).toNanos());
+        cached.show(1L);
+
+        verify(remote, times(2)).show(1L);
+    }
+
+    @Test
+    @DisplayName("show: un 404 se cachea con TTL corto y se traduce a ClientNotFoundException")
+    void show_cachesNotFound() {
+        when(remote.show(9L)).thenThrow(notFound());
+
+        assertThrows(ClientNotFoundException.class, () -> cached.show(9L));
+        assertThrows(ClientNotFoundException.class, () -> cached.show(9L));
+        verify(remote, times(1)).show(9L);
+
+        nanos.addAndGet(Duration.ofSeconds(31).toNanos());
+        assertThrows(ClientNotFoundException.class, () -> cached.show(9L));
+        verify(remote, times(2)).show(9L);
+    }
+
+    @Test
+    @DisplayName("show: el 404 traducido por el fallback del circuito también se cachea")
+    void show_cachesNotFoundTranslatedByFallback() {
+        doCallRealMethod().when(remote).fallbackDataById(any());
+        when(remote.show(9L)).thenAnswer(invocation -> remote.fallbackDataById(notFound()));
+
+        assertThrows(ClientNotFoundException.class, () -> cached.show(9L));
+        assertThrows(ClientNotFoundException.class, () -> cached.show(9L));
+
+        verify(remote, times(1)).show(9L);
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    @DisplayName("show: errores de disponibilidad traducidos por el fallback no se cachean")
+    void show_doesNotCacheFailures() {
+        doCallRealMethod().when(remote).fallbackDataById(any());
+        when(remote.show(2L))
+                .thenAnswer(invocation -> remote.fallbackDataById(new IllegalStateException("connection refused")))
+                .thenReturn(client(2L));
+
+        assertThrows(ClientServiceUnavailableException.class, () -> cached.show(2L));
+        assertEquals("Cliente 2", cached.show(2L).getName());
+        verify(remote, times(2)).show(2L);
+    }
+
+    @Test
+    @DisplayName("invalidate / invalidateAll: fuerzan una nueva consulta remota")
+    void invalidate_forcesReload() {
+        when(remote.show(1L)).thenReturn(client(1L));
+        when(remote.show(2L)).thenReturn(client(2L));
+
+        cached.show(1L);
+        cached.show(2L);
+        cache.invalidate(1L);
+        assertEquals(1, cache.size());
+
+        cached.show(1L);
+        cache.invalidateAll();
+        assertEquals(0, cache.size());
+        cached.show(2L);
+
+        verify(remote, times(2)).show(1L);
+        verify(remote, times(2)).show(2L);
+    }
+
+    @Test
+    @DisplayName("maximumSize: las entradas por encima del límite se desalojan y cuentan como evicciones")
+    void maximumSize_evicts() {
+        ClientLookupCache smallCache = new ClientLookupCache(1, Duration.ofMinutes(10), Duration.ofSeconds(30),
+                nanos::get);
+        CachedClientHttp small = new CachedClientHttp(remote, smallCache,
+                new ClientLookupCoalescer(remote, Duration.ZERO, 100));
+        when(remote.show(1L)).thenReturn(client(1L));
+        when(remote.show(2L)).thenReturn(client(2L));
+
+        small.show(1L);
+        small.show(2L);
+
+        assertEquals(1, smallCache.size());
+        assertEquals(1, smallCache.stats().evictionCount());
+    }
+
+    @Test
+    @DisplayName("showAll: consulta en un solo lote solo los IDs que no están en caché y cachea los inexistentes")
+    void showAll_loadsOnlyMisses() {
+        when(remote.show(1L)).thenReturn(client(1L));
+        when(remote.showAll(List.of(2L, 3L))).thenReturn(List.of(client(2L)));
+
+        cached.show(1L);
+        List<ClientDto> first = cached.showAll(List.of(1L, 2L, 3L));
+        List<ClientDto> second = cached.showAll(List.of(3L, 2L, 1L));
+
+        assertEquals(List.of(1L, 2L), first.stream().map(ClientDto::getId).toList());
+        assertEquals(List.of(2L, 1L), second.stream().map(ClientDto::getId).toList());
+        assertThrows(ClientNotFoundException.class, () -> cached.show(3L));
+        verify(remote, times(1)).showAll(List.of(2L, 3L));
+    }
+}
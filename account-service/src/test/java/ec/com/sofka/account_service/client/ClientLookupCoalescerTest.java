@@ -0,0 +1,136 @@
+package ec.com.sofka.account_service.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+import ec.com.sofka.account_service.client.dto.ClientDto;
+import ec.com.sofka.account_service.exception.ClientNotFoundException;
+import ec.com.sofka.account_service.exception.ClientServiceUnavailableException;
+import feign.FeignException;
+import feign.Request;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class ClientLookupCoalescerTest {
+
+    @Mock
+    ClientHttp remote;
+
+    private ClientLookupCoalescer coalescer;
+
+    @AfterEach
+    void tearDown() {
+        if (coalescer != null) {
+            coalescer.shutdown();
+        }
+    }
+
+    private static ClientDto client(Long id) {
+        return new ClientDto(id, "Cliente " + id, true);
+    }
+
+    private static List<ClientDto> existing(Collection<Long> ids) {
+        return ids.stream().filter(id -> id < 100).map(ClientLookupCoalescerTest::client).toList();
+    }
+
+    private List<Future<ClientDto>> lookupConcurrently(List<Long> ids) throws InterruptedException {
+        ExecutorService pool = Executors.newFixedThreadPool(ids.size());
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<ClientDto>> futures = new ArrayList<>();
+        for (Long id : ids) {
+            futures.add(pool.submit(() -> {
+                start.await();
+                return coalescer.find(id);
+            }));
+        }
+        start.countDown();
+        pool.shutdown();
+        return futures;
+    }
+
+    @Test
+    @DisplayName("find: consultas concurrentes dentro de la ventana se resuelven con una sola llamada en lote")
+    void find_coalescesConcurrentLookups() throws Exception {
+        coalescer = new ClientLookupCoalescer(remote, Duration.ofMillis(300), 100);
+        when(remote.showAll(anyCollection())).thenAnswer(inv -> existing(inv.getArgument(0)));
+
+        List<Future<ClientDto>> futures = lookupConcurrently(List.of(1L, 2L, 3L, 2L, 100L));
+
+        assertEquals(1L, futures.get(0).get().getId());
+        assertEquals(2L, futures.get(1).get().getId());
+        assertEquals(3L, futures.get(2).get().getId());
+        assertEquals(2L, futures.get(3).get().getId());
+        assertNull(futures.get(4).get());
+        verify(remote, times(1)).showAll(Set.of(1L, 2L, 3L, 100L));
+        verifyNoMoreInteractions(remote);
+    }
+
+    @Test
+    @DisplayName("find: al alcanzar el tamaño máximo el lote se envía sin esperar la ventana")
+    void find_flushesWhenBatchIsFull() throws Exception {
+        coalescer = new ClientLookupCoalescer(remote, Duration.ofMinutes(5), 2);
+        when(remote.showAll(anyCollection())).thenAnswer(inv -> existing(inv.getArgument(0)));
+
+        List<Future<ClientDto>> futures = lookupConcurrently(List.of(1L, 2L));
+
+        List<Long> ids = new ArrayList<>();
+        for (Future<ClientDto> future : futures) {
+            ids.add(future.get().getId());
+        }
+        assertEquals(List.of(1L, 2L), ids);
+    }
+
+    @Test
+    @DisplayName("find: un error del lote se propaga a todos los llamadores")
+    void find_propagatesBatchFailure() {
+        coalescer = new ClientLookupCoalescer(remote, Duration.ofMillis(10), 100);
+        when(remote.showAll(anyCollection()))
+                .thenThrow(new ClientServiceUnavailableException("Client service is unavailable"));
+
+        assertThrows(ClientNotFoundException.class, () -> coalescer.find(1L));
+    }
+
+    @Test
+    @DisplayName("find: con ventana cero consulta directamente y traduce el 404 a null")
+    void find_withoutWindow_callsDirectly() {
+        coalescer = new ClientLookupCoalescer(remote, Duration.ZERO, 100);
+        Request request = Request.create(Request.HttpMethod.GET, "/api/clients/9", Map.of(), null,
+                StandardCharsets.UTF_8, null);
+        when(remote.show(1L)).thenReturn(client(1L));
+        when(remote.show(9L)).thenThrow(new FeignException.NotFound("404", request, null, Map.of()));
+
+        assertEquals("Cliente 1", coalescer.find(1L).getName());
+        assertNull(coalescer.find(9L));
+    }
+
+    @Test
+    @DisplayName("constructor: rechaza ventana negativa o tamaño de lote inválido")
+    void constructor_rejectsInvalidConfig() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new ClientLookupCoalescer(remote, Duration.ofMillis(-1), 10));
+        assertThrows(IllegalArgumentException.class,
+                () -> new ClientLookupCoalescer(remote, Duration.ofMillis(5), 0));
+    }
+}
@@ -0,0 +1,97 @@
+package ec.com.sofka.account_service.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+
+class ClientLookupExecutorTest {
+
+    ClientLookupExecutor executor;
+
+    @AfterEach
+    void tearDown() {
+        MDC.clear();
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("supplyAsync: la consulta ve el MDC del llamador y no lo deja en el hilo")
+    void supplyAsync_propagatesMdc() throws Exception {
+        executor = new ClientLookupExecutor(2);
+        MDC.put("traceId", "abc123");
+
+        String traceId = executor.supplyAsync(() -> MDC.get("traceId")).get(5, TimeUnit.SECONDS);
+        MDC.clear();
+        String leaked = executor.supplyAsync(() -> MDC.get("traceId")).get(5, TimeUnit.SECONDS);
+
+        assertEquals("abc123", traceId);
+        assertNull(leaked);
+    }
+
+    @Test
+    @DisplayName("supplyAsync: con el límite alcanzado la siguiente consulta espera a que termine una en curso")
+    void supplyAsync_limitsConcurrentLookups() throws Exception {
+        executor = new ClientLookupExecutor(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<String> first = executor.supplyAsync(() -> {
+            await(release);
+            return "first";
+        });
+        AtomicReference<CompletableFuture<String>> second = new AtomicReference<>();
+        Thread caller = Thread.ofVirtual().start(() -> second.set(executor.supplyAsync(() -> "second")));
+
+        assertEquals(0, executor.availablePermits());
+        assertFalse(caller.join(Duration.ofMillis(200)));
+        assertNull(second.get());
+
+        release.countDown();
+        assertEquals("first", first.get(5, TimeUnit.SECONDS));
+        assertTrue(caller.join(Duration.ofSeconds(5)));
+        assertEquals("second", second.get().get(5, TimeUnit.SECONDS));
+        assertEquals(1, executor.availablePermits());
+    }
+
+    @Test
+    @DisplayName("supplyAsync: una consulta fallida devuelve su permiso")
+    void supplyAsync_failureReleasesPermit() {
+        executor = new ClientLookupExecutor(1);
+
+        CompletableFuture<String> failed = executor.supplyAsync(() -> {
+            throw new IllegalStateException("boom");
+        });
+
+        ExecutionException error = assertThrows(ExecutionException.class, () -> failed.get(5, TimeUnit.SECONDS));
+        assertEquals("boom", error.getCause().getMessage());
+        assertEquals(1, executor.availablePermits());
+    }
+
+    @Test
+    @DisplayName("constructor: rechaza un límite menor a 1")
+    void constructor_rejectsInvalidLimit() {
+        assertThrows(IllegalArgumentException.class, () -> new ClientLookupExecutor(0));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package ec.com.sofka.account_service.concurrency;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import ec.com.sofka.account_service.exception.ConcurrentUpdateException;
+import ec.com.sofka.account_service.exception.InsufficientFoundsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.OptimisticLockException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@ExtendWith(MockitoExtension.class)
+class OptimisticLockRetryExecutorTest {
+
+    @Mock
+    PlatformTransactionManager transactionManager;
+
+    SimpleMeterRegistry meterRegistry;
+    OptimisticLockRetryExecutor executor;
+    final AtomicInteger attempts = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        executor = new OptimisticLockRetryExecutor(transactionManager, 3, Duration.ofMillis(1), meterRegistry);
+    }
+
+    private double count(String metric) {
+        return meterRegistry.counter(metric, "operation", "account.update").count();
+    }
+
+    @Test
+    @DisplayName("execute: sin conflicto ejecuta una vez en su propia transacción")
+    void execute_withoutConflict() {
+        assertEquals("ok", executor.execute("account.update", () -> {
+            attempts.incrementAndGet();
+            return "ok";
+        }));
+
+        assertEquals(1, attempts.get());
+        verify(transactionManager).commit(any());
+        assertEquals(1, count(OptimisticLockRetryExecutor.EXECUTIONS_METRIC));
+        assertEquals(0, count(OptimisticLockRetryExecutor.CONFLICTS_METRIC));
+    }
+
+    @Test
+    @DisplayName("execute: repite en una transacción nueva tras un conflicto de versión")
+    void execute_retriesOnConflict() {
+        String result = executor.execute("account.update", () -> {
+            int attempt = attempts.incrementAndGet();
+            if (attempt == 1) {
+                throw new ObjectOptimisticLockingFailureException("Account", 1L);
+            }
+            if (attempt == 2) {
+                throw new OptimisticLockException("stale");
+            }
+            return "saved";
+        });
+
+        assertEquals("saved", result);
+        assertEquals(3, attempts.get());
+        verify(transactionManager, times(2)).rollback(any());
+        verify(transactionManager, times(1)).commit(any());
+        assertEquals(1, count(OptimisticLockRetryExecutor.EXECUTIONS_METRIC));
+        assertEquals(2, count(OptimisticLockRetryExecutor.CONFLICTS_METRIC));
+        assertEquals(0, count(OptimisticLockRetryExecutor.EXHAUSTED_METRIC));
+    }
+
+    @Test
+    @DisplayName("execute: al agotar los intentos lanza ConcurrentUpdateException")
+    void execute_exhaustsAttempts() {
+        ConcurrentUpdateException error = assertThrows(ConcurrentUpdateException.class,
+                () -> executor.execute("account.update", () -> {
+                    attempts.incrementAndGet();
+                    throw new ObjectOptimisticLockingFailureException("Account", 1L);
+                }));
+
+        assertInstanceOf(ObjectOptimisticLockingFailureException.class, error.getCause());
+        assertEquals(3, attempts.get());
+        assertEquals(3, count(OptimisticLockRetryExecutor.CONFLICTS_METRIC));
+        assertEquals(1, count(OptimisticLockRetryExecutor.EXHAUSTED_METRIC));
+    }
+
+    @Test
+    @DisplayName("execute: los errores de negocio no se reintentan")
+    void execute_doesNotRetryOtherErrors() {
+        assertThrows(InsufficientFoundsException.class, () -> executor.execute("account.update", () -> {
+            attempts.incrementAndGet();
+            throw new InsufficientFoundsException("Saldo no disponible");
+        }));
+
+        assertEquals(1, attempts.get());
+        assertEquals(0, count(OptimisticLockRetryExecutor.CONFLICTS_METRIC));
+    }
+
+    @Test
+    @DisplayName("execute: dentro de una transacción activa se une a ella sin reintentar")
+    void execute_joinsActiveTransaction() {
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        try {
+            assertThrows(ObjectOptimisticLockingFailureException.class,
+                    () -> executor.execute("account.update", () -> {
+                        attempts.incrementAndGet();
+                        throw new ObjectOptimisticLockingFailureException("Account", 1L);
+                    }));
+        } finally {
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+        }
+
+        assertEquals(1, attempts.get());
+        verify(transactionManager, never()).commit(any());
+        assertEquals(0, count(OptimisticLockRetryExecutor.EXECUTIONS_METRIC));
+    }
+
+    @Test
+    @DisplayName("constructor: rechaza intentos no positivos")
+    void constructor_rejectsInvalidAttempts() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new OptimisticLockRetryExecutor(transactionManager, 0, Duration.ZERO, meterRegistry));
+    }
+}
@@ -0,0 +1,48 @@
+package ec.com.sofka.account_service.controller;
+
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import ec.com.sofka.account_service.cache.AccountCacheStatistics;
+import ec.com.sofka.account_service.dto.cache.AccountCacheStats;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+@WebMvcTest(controllers = AccountCacheController.class, properties = "app.accounts.cache.enabled=true")
+class AccountCacheControllerTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @MockBean
+    private AccountCacheStatistics accountCacheStatistics;
+
+    @Test
+    @DisplayName("GET /api/cache/accounts - devuelve las estadísticas de la caché")
+    void stats_ok() throws Exception {
+        given(accountCacheStatistics.snapshot()).willReturn(new AccountCacheStats(8, 2, 2, 2, 3, 1, 1));
+
+        mvc.perform(get("/api/cache/accounts"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.hits").value(8))
+                .andExpect(jsonPath("$.misses").value(2))
+                .andExpect(jsonPath("$.query_hits").value(3));
+    }
+
+    @Test
+    @DisplayName("DELETE /api/cache/accounts - vacía la caché y responde 204")
+    void invalidateAll_noContent() throws Exception {
+        mvc.perform(delete("/api/cache/accounts"))
+                .andExpect(status().isNoContent());
+
+        verify(accountCacheStatistics).evictAll();
+    }
+}
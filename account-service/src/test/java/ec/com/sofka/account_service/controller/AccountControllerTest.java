@@ -2,6 +2,7 @@ package ec.com.sofka.account_service.controller;
 
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
@@ -11,6 +12,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
@@ -19,11 +21,14 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import ec.com.sofka.account_service.dto.account.request.AccountPartialUpdateRequest;
 import ec.com.sofka.account_service.dto.account.request.AccountRequest;
 import ec.com.sofka.account_service.dto.account.response.AccountResponse;
+import ec.com.sofka.account_service.dto.page.CursorPage;
+import ec.com.sofka.account_service.dto.versioned.VersionedResponse;
 import ec.com.sofka.account_service.model.enums.AccountTypeEnum;
 import ec.com.sofka.account_service.service.AccountService;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -35,6 +40,7 @@ import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
@@ -100,20 +106,55 @@ class AccountControllerTest {
                 .andExpect(jsonPath("$.content[1].account_type", is("CORRIENTE")));
     }
 
+    @Test
+    @DisplayName("GET /api/accounts/cursor devuelve la página por cursor sin total")
+    void scroll_ok() throws Exception {
+        AccountResponse resp = sampleResponse(1L, 1L, "478758", AccountTypeEnum.SAVINGS, new BigDecimal("2000.00"));
+        given(accountService.scroll("MQ", 20)).willReturn(new CursorPage<>(List.of(resp), 20, false, null));
+
+        mvc.perform(get("/api/accounts/cursor").param("cursor", "MQ"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.content[0].account_number", is("478758")))
+                .andExpect(jsonPath("$.has_next", is(false)))
+                .andExpect(jsonPath("$.total_elements").doesNotExist());
+    }
+
     @Test
     @DisplayName("GET /api/accounts/{id} devuelve la cuenta")
     void show_ok() throws Exception {
         AccountResponse resp = sampleResponse(1L, 1L, "478758", AccountTypeEnum.SAVINGS, new BigDecimal("2000.00"));
-        given(accountService.show(1L)).willReturn(resp);
+        given(accountService.showVersioned(1L))
+                .willReturn(VersionedResponse.of("1-3", LocalDateTime.of(2025, 8, 1, 10, 0), () -> resp));
 
         mvc.perform(get("/api/accounts/{id}", 1L)
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1-3\""))
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
                 .andExpect(jsonPath("$.id", is(1)))
                 .andExpect(jsonPath("$.account_number", is("478758")))
                 .andExpect(jsonPath("$.account_type", is("AHORROS")));
     }
 
+    @Test
+    @DisplayName("GET /api/accounts/{id} con If-None-Match vigente responde 304 sin mapear la cuenta")
+    void show_notModified() throws Exception {
+        AtomicBoolean mapped = new AtomicBoolean();
+        given(accountService.showVersioned(1L)).willReturn(VersionedResponse.of("1-3", null, () -> {
+            mapped.set(true);
+            return new AccountResponse();
+        }));
+
+        mvc.perform(get("/api/accounts/{id}", 1L)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"1-3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1-3\""))
+                .andExpect(content().string(""));
+
+        assertFalse(mapped.get());
+    }
+
     @Test
     @DisplayName("POST /api/accounts crea y devuelve 201 con Location")
     void create_created() throws Exception {
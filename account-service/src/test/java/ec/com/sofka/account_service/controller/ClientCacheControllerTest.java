@@ -0,0 +1,41 @@
+package ec.com.sofka.account_service.controller;
+
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import ec.com.sofka.account_service.client.ClientLookupCache;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+@WebMvcTest(ClientCacheController.class)
+class ClientCacheControllerTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @MockBean
+    private ClientLookupCache clientLookupCache;
+
+    @Test
+    @DisplayName("DELETE /api/cache/clients/{id} - invalida el cliente y responde 204")
+    void invalidate_noContent() throws Exception {
+        mvc.perform(delete("/api/cache/clients/{id}", 7L))
+                .andExpect(status().isNoContent());
+
+        verify(clientLookupCache).invalidate(7L);
+    }
+
+    @Test
+    @DisplayName("DELETE /api/cache/clients - vacía la caché y responde 204")
+    void invalidateAll_noContent() throws Exception {
+        mvc.perform(delete("/api/cache/clients"))
+                .andExpect(status().isNoContent());
+
+        verify(clientLookupCache).invalidateAll();
+    }
+}
@@ -6,6 +6,8 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
@@ -19,11 +21,17 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import ec.com.sofka.account_service.dto.account.response.AccountResponse;
 import ec.com.sofka.account_service.dto.movement.request.MovementPartialUpdateRequest;
 import ec.com.sofka.account_service.dto.movement.request.MovementRequest;
+import ec.com.sofka.account_service.dto.movement.response.MovementBatchItemResult;
+import ec.com.sofka.account_service.dto.movement.response.MovementBatchResponse;
 import ec.com.sofka.account_service.dto.movement.response.MovementResponse;
+import ec.com.sofka.account_service.dto.page.CursorPage;
+import ec.com.sofka.account_service.dto.versioned.VersionedResponse;
+import ec.com.sofka.account_service.idempotency.IdempotencyStore;
 import ec.com.sofka.account_service.model.enums.MovementTypeEnum;
 import ec.com.sofka.account_service.service.MovementService;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Iterator;
 import java.util.List;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -31,16 +39,19 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
 
 @WebMvcTest(MovementController.class)
 @AutoConfigureMockMvc(addFilters = false)
+@Import(IdempotencyStore.class)
 class MovementControllerTest {
 
     @Autowired
@@ -78,6 +89,27 @@ class MovementControllerTest {
     }
 
 
+    @Test
+    @DisplayName("GET /api/movements/cursor y /account/{id}/cursor devuelven la página con next_cursor")
+    void scroll_ok() throws Exception {
+        CursorPage<MovementResponse> page = new CursorPage<>(
+                List.of(movementResponse(9L, 1L, MovementTypeEnum.DEPOSIT, "100.00", "1100.00")), 1, true, "abc");
+        given(movementService.scroll(null, 1)).willReturn(page);
+        given(movementService.scrollByAccount(1L, "abc", 20)).willReturn(
+                new CursorPage<>(List.of(), 20, false, null));
+
+        mvc.perform(get("/api/movements/cursor").param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.has_next", is(true)))
+                .andExpect(jsonPath("$.next_cursor", is("abc")));
+
+        mvc.perform(get("/api/movements/account/{accountId}/cursor", 1L).param("cursor", "abc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(0)))
+                .andExpect(jsonPath("$.has_next", is(false)));
+    }
+
     @Test
     @DisplayName("GET /api/movements devuelve página con contenido")
     void index_ok() throws Exception {
@@ -115,11 +147,13 @@ class MovementControllerTest {
     @DisplayName("GET /api/movements/{id} devuelve movimiento")
     void show_ok() throws Exception {
         MovementResponse movementResponse = movementResponse(10L, 1L, MovementTypeEnum.WITHDRAWAL, "75.00", "1325.00");
-        given(movementService.show(10L)).willReturn(movementResponse);
+        given(movementService.showVersioned(10L))
+                .willReturn(VersionedResponse.of("10-0-2", LocalDateTime.now(), () -> movementResponse));
 
         mvc.perform(get("/api/movements/{id}", 10L)
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"10-0-2\""))
                 .andExpect(jsonPath("$.id", is(10)))
                 .andExpect(jsonPath("$.movement_type", is("RETIRO")));
     }
@@ -130,7 +164,7 @@ class MovementControllerTest {
         MovementRequest movementRequest = movementRequest(1L, MovementTypeEnum.DEPOSIT, "150.00");
         MovementResponse created = movementResponse(20L, 1L, MovementTypeEnum.DEPOSIT, "150.00", "2250.00");
 
-        given(movementService.create(any(MovementRequest.class))).willReturn(created);
+        given(movementService.create(any(MovementRequest.class), any())).willReturn(created);
 
         mvc.perform(post("/api/movements")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -145,7 +179,7 @@ class MovementControllerTest {
     @DisplayName("POST /api/movements/account/{id}/deposit crea atajo y devuelve 201")
     void deposit_created() throws Exception {
         MovementResponse created = movementResponse(30L, 5L, MovementTypeEnum.DEPOSIT, "300.00", "1300.00");
-        given(movementService.create(any(MovementRequest.class))).willReturn(created);
+        given(movementService.create(any(MovementRequest.class), any())).willReturn(created);
 
         mvc.perform(post("/api/movements/account/{accountId}/deposit", 5L)
                         .param("amount", "300.00"))
@@ -154,11 +188,56 @@ class MovementControllerTest {
                 .andExpect(jsonPath("$.movement_type", is("DEPOSITO")));
     }
 
+    @Test
+    @DisplayName("POST deposit con Idempotency-Key repetida devuelve la respuesta original sin volver a crear")
+    void deposit_idempotentReplay() throws Exception {
+        MovementResponse created = movementResponse(32L, 5L, MovementTypeEnum.DEPOSIT, "300.00", "1300.00");
+        given(movementService.create(any(MovementRequest.class), any())).willReturn(created);
+
+        for (int i = 0; i < 2; i++) {
+            mvc.perform(post("/api/movements/account/{accountId}/deposit", 5L)
+                            .header("Idempotency-Key", "deposit-replay")
+                            .param("amount", "300.00"))
+                    .andExpect(status().isCreated())
+                    .andExpect(header().string("Location", "/api/movements/32"))
+                    .andExpect(jsonPath("$.id", is(32)));
+        }
+
+        verify(movementService, times(1)).create(any(MovementRequest.class), any());
+        mvc.perform(post("/api/movements/account/{accountId}/deposit", 5L)
+                        .header("Idempotency-Key", "deposit-replay")
+                        .param("amount", "300.00"))
+                .andExpect(header().string("Idempotent-Replayed", "true"));
+    }
+
+    @Test
+    @DisplayName("POST con Idempotency-Key reutilizada para otra petición devuelve 422; clave vacía devuelve 400")
+    void create_idempotencyKeyRejected() throws Exception {
+        given(movementService.create(any(MovementRequest.class), any()))
+                .willReturn(movementResponse(33L, 5L, MovementTypeEnum.DEPOSIT, "300.00", "1300.00"));
+
+        mvc.perform(post("/api/movements/account/{accountId}/deposit", 5L)
+                        .header("Idempotency-Key", "deposit-reuse")
+                        .param("amount", "300.00"))
+                .andExpect(status().isCreated())
+                .andExpect(header().doesNotExist("Idempotent-Replayed"));
+        mvc.perform(post("/api/movements/account/{accountId}/withdraw", 5L)
+                        .header("Idempotency-Key", "deposit-reuse")
+                        .param("amount", "300.00"))
+                .andExpect(status().isUnprocessableEntity());
+        mvc.perform(post("/api/movements/account/{accountId}/deposit", 5L)
+                        .header("Idempotency-Key", " ")
+                        .param("amount", "300.00"))
+                .andExpect(status().isBadRequest());
+
+        verify(movementService, times(1)).create(any(MovementRequest.class), any());
+    }
+
     @Test
     @DisplayName("POST /api/movements/account/{id}/withdraw crea atajo y devuelve 201")
     void withdraw_created() throws Exception {
         MovementResponse created = movementResponse(31L, 5L, MovementTypeEnum.WITHDRAWAL, "200.00", "1100.00");
-        given(movementService.create(any(MovementRequest.class))).willReturn(created);
+        given(movementService.create(any(MovementRequest.class), any())).willReturn(created);
 
         mvc.perform(post("/api/movements/account/{accountId}/withdraw", 5L)
                         .param("amount", "200.00"))
@@ -210,4 +289,67 @@ class MovementControllerTest {
         mvc.perform(delete("/api/movements/{id}", 60L))
                 .andExpect(status().isNoContent());
     }
-}
\ No newline at end of file
+
+    private MovementBatchResponse drain(Iterator<MovementRequest> requests) {
+        MovementBatchResponse response = new MovementBatchResponse();
+        int index = 0;
+        while (requests.hasNext()) {
+            MovementRequest request = requests.next();
+            response.add(MovementBatchItemResult.builder()
+                    .index(index)
+                    .status(request.getAmount().signum() > 0
+                            ? MovementBatchItemResult.CREATED : MovementBatchItemResult.REJECTED)
+                    .movementId(request.getAmount().signum() > 0 ? 100L + index : null)
+                    .build());
+            index++;
+        }
+        return response;
+    }
+
+    @Test
+    @DisplayName("POST /api/movements/batch acepta un arreglo JSON y devuelve el resultado por elemento")
+    void batch_jsonArray() throws Exception {
+        given(movementService.createBatch(any())).willAnswer(inv -> drain(inv.getArgument(0)));
+        List<MovementRequest> body = List.of(
+                movementRequest(1L, MovementTypeEnum.DEPOSIT, "10.00"),
+                movementRequest(1L, MovementTypeEnum.WITHDRAWAL, "-5.00"));
+
+        mvc.perform(post("/api/movements/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(body)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.received", is(2)))
+                .andExpect(jsonPath("$.created", is(1)))
+                .andExpect(jsonPath("$.rejected", is(1)))
+                .andExpect(jsonPath("$.items[0].movement_id", is(100)))
+                .andExpect(jsonPath("$.items[1].status", is("REJECTED")));
+    }
+
+    @Test
+    @DisplayName("POST /api/movements/batch acepta NDJSON (un movimiento por línea)")
+    void batch_ndjson() throws Exception {
+        given(movementService.createBatch(any())).willAnswer(inv -> drain(inv.getArgument(0)));
+        String body = objectMapper.writeValueAsString(movementRequest(1L, MovementTypeEnum.DEPOSIT, "10.00"))
+                + "\n" + objectMapper.writeValueAsString(movementRequest(2L, MovementTypeEnum.DEPOSIT, "20.00"))
+                + "\n" + objectMapper.writeValueAsString(movementRequest(3L, MovementTypeEnum.DEPOSIT, "30.00"));
+
+        mvc.perform(post("/api/movements/batch")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.received", is(3)))
+                .andExpect(jsonPath("$.created", is(3)))
+                .andExpect(jsonPath("$.items", hasSize(3)));
+    }
+
+    @Test
+    @DisplayName("POST /api/movements/batch con un elemento malformado devuelve 400")
+    void batch_malformed() throws Exception {
+        given(movementService.createBatch(any())).willAnswer(inv -> drain(inv.getArgument(0)));
+
+        mvc.perform(post("/api/movements/batch")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content("{\"account_id\": 1, \"amount\": 10}\n{not-json"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -1,22 +1,37 @@
 package ec.com.sofka.account_service.controller;
 
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import ec.com.sofka.account_service.dto.report.StatementDetailLine;
 import ec.com.sofka.account_service.dto.report.StatementReportRow;
 import ec.com.sofka.account_service.service.ReportService;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Consumer;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 @WebMvcTest(ReportController.class)
 class ReportControllerTest {
@@ -89,4 +104,77 @@ class ReportControllerTest {
                         .param("hasta", "2024-08-01"))
                 .andExpect(status().isBadRequest());
     }
-}
\ No newline at end of file
+
+    private static StatementDetailLine detail(String clientName, Long movementId, String amount, String balance) {
+        return StatementDetailLine.builder()
+                .date(LocalDateTime.of(2024, 8, 10, 12, 0))
+                .clientName(clientName)
+                .accountNumber("478758")
+                .accountType("AHORROS")
+                .movementId(movementId)
+                .movementType("DEPOSITO")
+                .movement(new BigDecimal(amount))
+                .availableBalance(new BigDecimal(balance))
+                .build();
+    }
+
+    private void stubExport(StatementDetailLine... lines) {
+        doAnswer(inv -> {
+            Consumer<StatementDetailLine> sink = inv.getArgument(3);
+            for (StatementDetailLine line : lines) {
+                sink.accept(line);
+            }
+            return null;
+        }).when(reportService).exportStatement(eq(1L), eq(LocalDate.parse("2024-08-01")),
+                eq(LocalDate.parse("2024-08-31")), any());
+    }
+
+    @Test
+    @DisplayName("GET /api/reportes/movimientos (NDJSON) - una línea JSON por movimiento")
+    void statementDetail_ndjson() throws Exception {
+        stubExport(detail("Jose Lema", 1L, "100.00", "1100.00"), detail("Jose Lema", 2L, "50.00", "1150.00"));
+
+        MvcResult started = mvc.perform(get("/api/reportes/movimientos")
+                        .accept(MediaType.APPLICATION_NDJSON)
+                        .param("cliente", "1")
+                        .param("desde", "2024-08-01")
+                        .param("hasta", "2024-08-31"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON));
+
+        List<String> lines = started.getResponse().getContentAsString(StandardCharsets.UTF_8).lines().toList();
+        assertEquals(2, lines.size());
+        assertTrue(lines.get(0).contains("\"Numero Cuenta\":\"478758\""));
+        assertTrue(lines.get(1).contains("\"Saldo Disponible\":1150.00"));
+    }
+
+    @Test
+    @DisplayName("GET /api/reportes/movimientos (CSV) - cabecera, filas y escape de comas")
+    void statementDetail_csv() throws Exception {
+        stubExport(detail("Lema, Jose", 1L, "-20.00", "980.00"));
+
+        MvcResult started = mvc.perform(get("/api/reportes/movimientos")
+                        .accept("text/csv")
+                        .param("cliente", "1")
+                        .param("desde", "2024-08-01")
+                        .param("hasta", "2024-08-31"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("text/csv"))
+                .andExpect(header().string("Content-Disposition",
+                        "attachment; filename=\"estado-cuenta-1-2024-08-01-2024-08-31.csv\""));
+
+        List<String> lines = started.getResponse().getContentAsString(StandardCharsets.UTF_8).lines().toList();
+        assertEquals(2, lines.size());
+        assertEquals("Fecha,Cliente,Numero Cuenta,Tipo,Id Movimiento,Tipo Movimiento,Movimiento,Saldo Disponible",
+                lines.get(0));
+        assertEquals("10/08/2024 12:00:00,\"Lema, Jose\",478758,AHORROS,1,DEPOSITO,-20.00,980.00", lines.get(1));
+    }
+}
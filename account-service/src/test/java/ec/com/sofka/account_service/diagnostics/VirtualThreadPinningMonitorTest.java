@@ -0,0 +1,59 @@
+package ec.com.sofka.account_service.diagnostics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class VirtualThreadPinningMonitorTest {
+
+    private VirtualThreadPinningMonitor monitor;
+
+    @AfterEach
+    void tearDown() {
+        if (monitor != null) {
+            monitor.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("record: cuenta cada bloqueo reportado")
+    void record_countsPinnedEvents() {
+        monitor = new VirtualThreadPinningMonitor(Duration.ofMillis(20));
+
+        monitor.record(Duration.ofMillis(35), "org.h2.jdbc.JdbcConnection.prepareStatement:1");
+        monitor.record(Duration.ofMillis(50), "unknown");
+
+        assertEquals(2, monitor.pinnedCount());
+        assertEquals("unknown", VirtualThreadPinningMonitor.site(null));
+    }
+
+    @Test
+    @DisplayName("monitor: detecta un hilo virtual bloqueado dentro de synchronized")
+    void monitor_detectsPinnedVirtualThread() throws Exception {
+        monitor = new VirtualThreadPinningMonitor(Duration.ofMillis(10));
+        Object lock = new Object();
+
+        Thread thread = Thread.ofVirtual().start(() -> {
+            synchronized (lock) {
+                try {
+                    Thread.sleep(50);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+        thread.join();
+
+        // JFR entrega los eventos al stream en bloques de aproximadamente un segundo
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (monitor.pinnedCount() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(100);
+        }
+        assertTrue(monitor.pinnedCount() > 0);
+    }
+}
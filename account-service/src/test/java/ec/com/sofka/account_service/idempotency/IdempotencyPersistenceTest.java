@@ -0,0 +1,157 @@
+package ec.com.sofka.account_service.idempotency;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import ec.com.sofka.account_service.exception.IdempotencyKeyConflictException;
+import ec.com.sofka.account_service.exception.IdempotencyKeyReuseException;
+import ec.com.sofka.account_service.model.IdempotencyRecord;
+import ec.com.sofka.account_service.repository.IdempotencyRecordRepository;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyPersistenceTest {
+
+    @Mock
+    IdempotencyRecordRepository repository;
+    @Mock
+    PlatformTransactionManager transactionManager;
+
+    @Captor
+    ArgumentCaptor<IdempotencyRecord> recordCaptor;
+
+    IdempotencyPersistence persistence;
+
+    @BeforeEach
+    void setUp() {
+        persistence = new IdempotencyPersistence(repository, new ObjectMapper(), transactionManager,
+                Duration.ofHours(24), Duration.ofMinutes(5));
+    }
+
+    private IdempotencyRecord record(String fingerprint, String response, LocalDateTime createdAt,
+                                     LocalDateTime expiresAt) {
+        return new IdempotencyRecord("key-1", fingerprint, response, createdAt, expiresAt);
+    }
+
+    private IdempotencyRecord record(String fingerprint, String response, LocalDateTime expiresAt) {
+        return record(fingerprint, response, LocalDateTime.now(), expiresAt);
+    }
+
+    @Test
+    @DisplayName("reserve: una clave nueva se inserta como en curso")
+    void reserve_newKey() {
+        when(repository.findById("key-1")).thenReturn(Optional.empty());
+        when(repository.saveAndFlush(any())).thenAnswer(inv -> inv.getArgument(0));
+
+        IdempotencyPersistence.Reservation<String> reservation = persistence.reserve("key-1", "fp", String.class);
+
+        assertFalse(reservation.replayed());
+        verify(repository).saveAndFlush(recordCaptor.capture());
+        IdempotencyRecord saved = recordCaptor.getValue();
+        assertEquals("fp", saved.getFingerprint());
+        assertNull(saved.getResponse());
+        assertEquals(saved.getCreatedAt(), reservation.reservedAt());
+        assertTrue(saved.getExpiresAt().isAfter(LocalDateTime.now().plusHours(23)));
+    }
+
+    @Test
+    @DisplayName("reserve: una clave completada devuelve la respuesta guardada")
+    void reserve_completedKey() {
+        when(repository.findById("key-1"))
+                .thenReturn(Optional.of(record("fp", "\"movement-1\"", LocalDateTime.now().plusHours(1))));
+
+        IdempotencyPersistence.Reservation<String> reservation = persistence.reserve("key-1", "fp", String.class);
+
+        assertTrue(reservation.replayed());
+        assertEquals("movement-1", reservation.stored());
+        verify(repository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    @DisplayName("reserve: una clave en curso o usada con otro contenido se rechaza")
+    void reserve_rejectsInProgressAndReuse() {
+        when(repository.findById("key-1"))
+                .thenReturn(Optional.of(record("fp", null, LocalDateTime.now().plusHours(1))));
+
+        assertThrows(IdempotencyKeyConflictException.class, () -> persistence.reserve("key-1", "fp", String.class));
+        assertThrows(IdempotencyKeyReuseException.class,
+                () -> persistence.reserve("key-1", "other", String.class));
+        verify(repository, never()).reserveAgain(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("reserve: una reserva sin respuesta más antigua que reservation-timeout se toma de nuevo")
+    void reserve_takesOverAbandonedReservation() {
+        LocalDateTime abandonedAt = LocalDateTime.now().minusMinutes(10);
+        when(repository.findById("key-1"))
+                .thenReturn(Optional.of(record("fp", null, abandonedAt, LocalDateTime.now().plusHours(1))));
+        when(repository.reserveAgain(eq("key-1"), eq(abandonedAt), eq("fp"), any(), any())).thenReturn(1);
+
+        IdempotencyPersistence.Reservation<String> reservation = persistence.reserve("key-1", "fp", String.class);
+
+        assertFalse(reservation.replayed());
+        assertTrue(reservation.reservedAt().isAfter(abandonedAt));
+        verify(repository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    @DisplayName("reserve: una clave vencida se reemplaza y una toma o inserción concurrente es conflicto")
+    void reserve_expiredKeyAndRace() {
+        IdempotencyRecord expired = record("old", "\"movement-1\"", LocalDateTime.now().minusMinutes(1));
+        when(repository.findById("key-1")).thenReturn(Optional.of(expired));
+        when(repository.reserveAgain(eq("key-1"), eq(expired.getCreatedAt()), eq("fp"), any(), any()))
+                .thenReturn(1, 0);
+
+        assertFalse(persistence.reserve("key-1", "fp", String.class).replayed());
+        assertThrows(IdempotencyKeyConflictException.class, () -> persistence.reserve("key-1", "fp", String.class));
+
+        when(repository.findById("key-2")).thenReturn(Optional.empty());
+        when(repository.saveAndFlush(any())).thenThrow(new DataIntegrityViolationException("duplicate"));
+        assertThrows(IdempotencyKeyConflictException.class, () -> persistence.reserve("key-2", "fp", String.class));
+    }
+
+    @Test
+    @DisplayName("complete/release/purge: guarda la respuesta de la reserva propia, la libera y purga las vencidas")
+    void completeReleaseAndPurge() {
+        LocalDateTime reservedAt = LocalDateTime.of(2025, 8, 3, 10, 0);
+        when(repository.complete("key-1", reservedAt, "\"movement-1\"")).thenReturn(1);
+        when(repository.deleteExpired(any(LocalDateTime.class))).thenReturn(3);
+
+        persistence.complete("key-1", reservedAt, "movement-1");
+        persistence.release("key-2", reservedAt);
+
+        verify(repository).release("key-2", reservedAt);
+        assertEquals(3, persistence.purgeExpired());
+    }
+
+    @Test
+    @DisplayName("complete: si otra petición tomó la reserva, falla para revertir la operación")
+    void complete_reservationTakenOver() {
+        LocalDateTime reservedAt = LocalDateTime.of(2025, 8, 3, 10, 0);
+        when(repository.complete(eq("key-1"), eq(reservedAt), any())).thenReturn(0);
+
+        assertThrows(IdempotencyKeyConflictException.class,
+                () -> persistence.complete("key-1", reservedAt, "movement-1"));
+    }
+}
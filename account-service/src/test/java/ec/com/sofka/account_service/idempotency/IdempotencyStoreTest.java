@@ -0,0 +1,263 @@
+package ec.com.sofka.account_service.idempotency;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import ec.com.sofka.account_service.exception.IdempotencyKeyConflictException;
+import ec.com.sofka.account_service.exception.IdempotencyKeyReuseException;
+import ec.com.sofka.account_service.exception.InsufficientFoundsException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyStoreTest {
+
+    private static final Map<String, String> REQUEST = Map.of("account_id", "5", "amount", "300.00");
+    private static final LocalDateTime RESERVED_AT = LocalDateTime.of(2025, 8, 3, 10, 0);
+
+    @Mock
+    IdempotencyPersistence persistence;
+
+    final ObjectMapper objectMapper = new ObjectMapper();
+    final AtomicLong nanos = new AtomicLong();
+    final AtomicInteger executions = new AtomicInteger();
+
+    IdempotencyStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = store(null, Duration.ofSeconds(5));
+    }
+
+    private IdempotencyStore store(IdempotencyPersistence persistence, Duration waitTimeout) {
+        return new IdempotencyStore(objectMapper, persistence, 100, Duration.ofMinutes(10), waitTimeout,
+                nanos::get);
+    }
+
+    private IdempotentResult<String> execute(IdempotencyStore store, String key, Object request) {
+        return store.execute(key, "movements", request, String.class,
+                () -> "movement-" + executions.incrementAndGet());
+    }
+
+    @Test
+    @DisplayName("execute: sin clave ejecuta la operación en cada llamada")
+    void execute_withoutKey() {
+        assertEquals("movement-1", execute(store, null, REQUEST).value());
+        assertEquals("movement-2", execute(store, null, REQUEST).value());
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    @DisplayName("execute: la misma clave y contenido devuelve el resultado original sin reejecutar")
+    void execute_replaysSameKey() {
+        IdempotentResult<String> first = execute(store, "key-1", REQUEST);
+        IdempotentResult<String> replay = execute(store, "key-1", Map.of("account_id", "5", "amount", "300.00"));
+
+        assertEquals("movement-1", first.value());
+        assertFalse(first.replayed());
+        assertEquals("movement-1", replay.value());
+        assertTrue(replay.replayed());
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    @DisplayName("execute: reutilizar la clave con otro contenido u otra operación se rechaza")
+    void execute_rejectsReuseWithDifferentRequest() {
+        execute(store, "key-1", REQUEST);
+
+        assertThrows(IdempotencyKeyReuseException.class,
+                () -> execute(store, "key-1", Map.of("account_id", "5", "amount", "301.00")));
+        assertThrows(IdempotencyKeyReuseException.class,
+                () -> store.execute("key-1", "accounts", REQUEST, String.class, () -> "other"));
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    @DisplayName("execute: si la operación falla la clave se libera y el reintento se ejecuta")
+    void execute_releasesKeyOnFailure() {
+        assertThrows(InsufficientFoundsException.class, () -> store.execute("key-1", "movements", REQUEST,
+                String.class, () -> {
+                    throw new InsufficientFoundsException("Saldo no disponible");
+                }));
+
+        assertEquals("movement-1", execute(store, "key-1", REQUEST).value());
+    }
+
+    @Test
+    @DisplayName("execute: una repetición concurrente espera el resultado de la petición original")
+    void execute_concurrentDuplicateWaitsForOriginal() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<IdempotentResult<String>> original = CompletableFuture.supplyAsync(
+                () -> store.execute("key-1", "movements", REQUEST, String.class, () -> {
+                    started.countDown();
+                    awaitQuietly(release);
+                    return "movement-" + executions.incrementAndGet();
+                }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        CompletableFuture<IdempotentResult<String>> duplicate =
+                CompletableFuture.supplyAsync(() -> execute(store, "key-1", REQUEST));
+        release.countDown();
+
+        assertEquals("movement-1", original.get(5, TimeUnit.SECONDS).value());
+        IdempotentResult<String> replay = duplicate.get(5, TimeUnit.SECONDS);
+        assertEquals("movement-1", replay.value());
+        assertTrue(replay.replayed());
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    @DisplayName("execute: si la original no termina dentro de la espera la repetición recibe conflicto")
+    void execute_conflictWhenOriginalStillRunning() throws Exception {
+        IdempotencyStore impatient = store(null, Duration.ofMillis(10));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<IdempotentResult<String>> original = CompletableFuture.supplyAsync(
+                () -> impatient.execute("key-1", "movements", REQUEST, String.class, () -> {
+                    started.countDown();
+                    awaitQuietly(release);
+                    return "movement-1";
+                }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        assertThrows(IdempotencyKeyConflictException.class, () -> execute(impatient, "key-1", REQUEST));
+        release.countDown();
+        assertEquals("movement-1", original.get(5, TimeUnit.SECONDS).value());
+    }
+
+    @Test
+    @DisplayName("execute: las claves vencen tras el ttl")
+    void execute_keysExpire() {
+        execute(store, "key-1", REQUEST);
+        nanos.addAndGet(Duration.ofMinutes(11).toNanos());
+
+        IdempotentResult<String> again = execute(store, "key-1", REQUEST);
+
+        assertEquals("movement-2", again.value());
+        assertFalse(again.replayed());
+    }
+
+    @Test
+    @DisplayName("execute: rechaza claves vacías o demasiado largas")
+    void execute_rejectsInvalidKeys() {
+        assertThrows(IllegalArgumentException.class, () -> execute(store, " ", REQUEST));
+        assertThrows(IllegalArgumentException.class,
+                () -> execute(store, "k".repeat(IdempotencyStore.MAX_KEY_LENGTH + 1), REQUEST));
+        assertEquals(0, executions.get());
+    }
+
+    @Test
+    @DisplayName("execute: con persistencia devuelve la respuesta guardada sin ejecutar")
+    void execute_replaysPersistedResponse() {
+        IdempotencyStore persistent = store(persistence, Duration.ofSeconds(5));
+        when(persistence.reserve(eq("key-1"), anyString(), eq(String.class)))
+                .thenReturn(new IdempotencyPersistence.Reservation<>("movement-9", RESERVED_AT));
+
+        IdempotentResult<String> result = execute(persistent, "key-1", REQUEST);
+
+        assertEquals("movement-9", result.value());
+        assertTrue(result.replayed());
+        assertEquals(0, executions.get());
+        verify(persistence, never()).complete(anyString(), any(), any());
+    }
+
+    @Test
+    @DisplayName("execute: con persistencia completa la reserva al terminar y la libera si falla")
+    void execute_completesOrReleasesPersistedKey() {
+        IdempotencyStore persistent = store(persistence, Duration.ofSeconds(5));
+        when(persistence.reserve(anyString(), anyString(), eq(String.class)))
+                .thenReturn(new IdempotencyPersistence.Reservation<>(null, RESERVED_AT));
+
+        assertEquals("movement-1", execute(persistent, "key-1", REQUEST).value());
+        verify(persistence).complete("key-1", RESERVED_AT, "movement-1");
+
+        InsufficientFoundsException error = new InsufficientFoundsException("Saldo no disponible");
+        assertSame(error, assertThrows(InsufficientFoundsException.class,
+                () -> persistent.execute("key-2", "movements", REQUEST, String.class, () -> {
+                    throw error;
+                })));
+        verify(persistence).release("key-2", RESERVED_AT);
+    }
+
+    @Test
+    @DisplayName("execute: la acción guarda la respuesta dentro de su transacción y no se vuelve a guardar")
+    void execute_recordsResponseInsideAction() {
+        IdempotencyStore persistent = store(persistence, Duration.ofSeconds(5));
+        when(persistence.reserve(anyString(), anyString(), eq(String.class)))
+                .thenReturn(new IdempotencyPersistence.Reservation<>(null, RESERVED_AT));
+
+        IdempotentResult<String> result = persistent.execute("key-1", "movements", REQUEST, String.class,
+                recorder -> {
+                    recorder.accept("movement-1");
+                    // guardada antes de que la operación termine, es decir, en su misma transacción
+                    verify(persistence).complete("key-1", RESERVED_AT, "movement-1");
+                    return "movement-1";
+                });
+
+        assertEquals("movement-1", result.value());
+        verify(persistence, times(1)).complete(anyString(), any(), any());
+    }
+
+    @Test
+    @DisplayName("execute: si la reserva fue tomada por otra petición, la operación falla y no queda en caché")
+    void execute_recordFailsWhenReservationTakenOver() {
+        IdempotencyStore persistent = store(persistence, Duration.ofSeconds(5));
+        when(persistence.reserve(anyString(), anyString(), eq(String.class)))
+                .thenReturn(new IdempotencyPersistence.Reservation<>(null, RESERVED_AT));
+        IdempotencyKeyConflictException takenOver = new IdempotencyKeyConflictException("taken over");
+        doThrow(takenOver).when(persistence).complete("key-1", RESERVED_AT, "movement-1");
+
+        assertSame(takenOver, assertThrows(IdempotencyKeyConflictException.class,
+                () -> persistent.execute("key-1", "movements", REQUEST, String.class, recorder -> {
+                    recorder.accept("movement-1");
+                    return "movement-1";
+                })));
+        verify(persistence).release("key-1", RESERVED_AT);
+        assertEquals(0, persistent.size());
+    }
+
+    @Test
+    @DisplayName("execute: una clave en curso en otra instancia se rechaza sin liberarla")
+    void execute_persistedKeyInProgress() {
+        IdempotencyStore persistent = store(persistence, Duration.ofSeconds(5));
+        when(persistence.reserve(anyString(), anyString(), eq(String.class)))
+                .thenThrow(new IdempotencyKeyConflictException("in progress"));
+
+        assertThrows(IdempotencyKeyConflictException.class, () -> execute(persistent, "key-1", REQUEST));
+        verify(persistence, never()).release(anyString(), any());
+        assertEquals(0, persistent.size());
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
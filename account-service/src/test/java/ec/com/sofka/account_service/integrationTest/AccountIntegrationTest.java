@@ -1,19 +1,39 @@
 package ec.com.sofka.account_service.integrationTest;
 
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import ec.com.sofka.account_service.client.ClientHttp;
 import ec.com.sofka.account_service.model.Account;
+import ec.com.sofka.account_service.model.Movement;
+import ec.com.sofka.account_service.model.MovementOutbox;
 import ec.com.sofka.account_service.model.enums.AccountTypeEnum;
+import ec.com.sofka.account_service.model.enums.MovementTypeEnum;
+import ec.com.sofka.account_service.model.enums.OutboxStatusEnum;
+import ec.com.sofka.account_service.outbox.MovementOutboxDispatcher;
 import ec.com.sofka.account_service.repository.AccountRepository;
+import ec.com.sofka.account_service.repository.MovementOutboxRepository;
+import ec.com.sofka.account_service.repository.MovementRepository;
+import jakarta.persistence.EntityManager;
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
@@ -30,6 +50,16 @@ class AccountIntegrationTest {
 
     @Autowired
     private AccountRepository accountRepository;
+    @Autowired
+    private MovementRepository movementRepository;
+    @Autowired
+    private MovementOutboxRepository movementOutboxRepository;
+    @Autowired
+    private MovementOutboxDispatcher movementOutboxDispatcher;
+    @Autowired
+    private EntityManager entityManager;
+    @MockBean
+    private ClientHttp clientHttp;
 
     private Long testAccountId;
 
@@ -62,6 +92,29 @@ class AccountIntegrationTest {
                 .andExpect(jsonPath("$.active").value(true));
     }
 
+    @Test
+    void getAccountById_ShouldHonorETagUntilAccountChanges() throws Exception {
+        String etag = mockMvc.perform(get("/api/accounts/{id}", testAccountId))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/accounts/{id}", testAccountId).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        mockMvc.perform(patch("/api/accounts/{id}", testAccountId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"account_number\":\"ACC-10003\"}"))
+                .andExpect(status().isOk());
+        entityManager.flush();
+
+        mockMvc.perform(get("/api/accounts/{id}", testAccountId).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, not(etag)))
+                .andExpect(jsonPath("$.account_number").value("ACC-10003"));
+    }
+
     @Test
     void getAccountById_ShouldReturnNotFound_WhenAccountDoesNotExist() throws Exception {
         // Act & Assert
@@ -76,4 +129,103 @@ class AccountIntegrationTest {
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isBadRequest());
     }
-}
\ No newline at end of file
+
+    @Test
+    void outboxDispatch_ShouldPostInitialDepositAndMarkEntrySent() {
+        MovementOutbox entry = new MovementOutbox();
+        entry.setAccountId(testAccountId);
+        entry.setMovementType(MovementTypeEnum.INITIAL_DEPOSIT);
+        entry.setAmount(BigDecimal.valueOf(100.0));
+        entry.setBalance(BigDecimal.valueOf(100.0));
+        entry.setDate(LocalDateTime.now());
+        movementOutboxRepository.save(entry);
+
+        movementOutboxDispatcher.dispatch();
+
+        List<Movement> movements = movementRepository.findByAccountIdAndDateBefore(testAccountId,
+                LocalDateTime.now().plusMinutes(1));
+        assertEquals(1, movements.size());
+        assertEquals(MovementTypeEnum.INITIAL_DEPOSIT, movements.get(0).getMovementType());
+        assertEquals(0, BigDecimal.valueOf(100.0).compareTo(
+                accountRepository.findById(testAccountId).orElseThrow().getCurrentBalance()));
+        assertEquals(OutboxStatusEnum.SENT, movementOutboxRepository.findById(entry.getId()).orElseThrow().getStatus());
+    }
+
+    @Test
+    void outboxFindDeliverable_ShouldSkipEntriesWaitingForRetryAndTheirAccounts() {
+        LocalDateTime now = LocalDateTime.now();
+        MovementOutbox waiting = outboxEntry(900L, now.plusMinutes(1));
+        outboxEntry(900L, null);
+        MovementOutbox otherAccount = outboxEntry(901L, null);
+        MovementOutbox dueRetry = outboxEntry(902L, now.minusSeconds(1));
+
+        assertEquals(List.of(otherAccount.getId(), dueRetry.getId()), deliverableIds(now));
+        assertEquals(0, movementOutboxRepository.claim(waiting.getId(), now, now.plusMinutes(5)));
+        assertEquals(1, movementOutboxRepository.claim(otherAccount.getId(), now, now.plusMinutes(5)));
+        assertEquals(0, movementOutboxRepository.claim(otherAccount.getId(), now, now.plusMinutes(5)));
+        assertEquals(List.of(dueRetry.getId()), deliverableIds(now));
+    }
+
+    private List<Long> deliverableIds(LocalDateTime now) {
+        return movementOutboxRepository.findDeliverable(now, PageRequest.of(0, 100)).stream()
+                .filter(entry -> entry.getAccountId() >= 900L)
+                .map(MovementOutbox::getId)
+                .toList();
+    }
+
+    private MovementOutbox outboxEntry(Long accountId, LocalDateTime nextAttemptAt) {
+        MovementOutbox entry = new MovementOutbox();
+        entry.setAccountId(accountId);
+        entry.setMovementType(MovementTypeEnum.DEPOSIT);
+        entry.setAmount(BigDecimal.TEN);
+        entry.setBalance(BigDecimal.TEN);
+        entry.setDate(LocalDateTime.now());
+        entry.setNextAttemptAt(nextAttemptAt);
+        return movementOutboxRepository.save(entry);
+    }
+
+    @Test
+    void clientRegistry_ShouldValidateAccountClientLocally() throws Exception {
+        String account = """
+                {"account_number":"ACC-REG-50","account_type":"AHORROS","initial_balance":100,
+                 "active":true,"client_id":50}
+                """;
+        mockMvc.perform(post("/api/client-registry/events")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"client_id":50,"active":true,"deleted":false,"occurred_at":"2025-08-03T10:00:00"}
+                                """))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(post("/api/accounts").contentType(MediaType.APPLICATION_JSON).content(account))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.client_id").value(50));
+
+        // eliminación seguida de un evento atrasado: el cliente sigue eliminado
+        mockMvc.perform(post("/api/client-registry/events")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"client_id":50,"active":false,"deleted":true,"occurred_at":"2025-08-03T11:00:00"}
+                                """))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(post("/api/client-registry/events")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"client_id":50,"active":true,"deleted":false,"occurred_at":"2025-08-03T10:30:00"}
+                                """))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(post("/api/accounts").contentType(MediaType.APPLICATION_JSON)
+                        .content(account.replace("ACC-REG-50", "ACC-REG-51")))
+                .andExpect(status().isNotFound());
+        verifyNoInteractions(clientHttp);
+    }
+
+    @Test
+    void clientRegistry_ShouldRejectEventWithoutClientId() throws Exception {
+        mockMvc.perform(post("/api/client-registry/events")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"active\":true,\"occurred_at\":\"2025-08-03T10:00:00\"}"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,118 @@
+package ec.com.sofka.account_service.integrationTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import ec.com.sofka.account_service.cache.AccountCacheStatistics;
+import ec.com.sofka.account_service.client.ClientHttp;
+import ec.com.sofka.account_service.dto.cache.AccountCacheStats;
+import ec.com.sofka.account_service.repository.AccountRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.transaction.annotation.Transactional;
+
+@SpringBootTest(properties = "app.accounts.cache.enabled=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+class AccountSecondLevelCacheIntegrationTest {
+
+    @Autowired
+    MockMvc mockMvc;
+    @Autowired
+    EntityManager entityManager;
+    @Autowired
+    AccountRepository accountRepository;
+    @Autowired
+    AccountCacheStatistics accountCacheStatistics;
+    @MockBean
+    ClientHttp clientHttp;
+
+    @Test
+    @DisplayName("GET /api/accounts/{id}: las lecturas repetidas se sirven desde la caché de segundo nivel")
+    void show_repeatedReadsHitCache() throws Exception {
+        this.showAccount(2L);
+        AccountCacheStats before = accountCacheStatistics.snapshot();
+
+        this.showAccount(2L).andExpect(jsonPath("$.id").value(2));
+
+        AccountCacheStats after = accountCacheStatistics.snapshot();
+        assertThat(after.getHits()).isGreaterThan(before.getHits());
+        assertThat(after.getMisses()).isEqualTo(before.getMisses());
+    }
+
+    @Test
+    @DisplayName("PATCH /api/accounts/{id}: la modificación invalida la cuenta cacheada")
+    void update_invalidatesCachedAccount() throws Exception {
+        this.showAccount(1L).andExpect(jsonPath("$.account_number").value("478758"));
+
+        mockMvc.perform(patch("/api/accounts/{id}", 1L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"account_number\":\"478799\"}"))
+                .andExpect(status().isOk());
+
+        this.showAccount(1L).andExpect(jsonPath("$.account_number").value("478799"));
+    }
+
+    @Test
+    @DisplayName("DELETE /api/accounts/{id}: el borrado lógico saca la cuenta de la caché")
+    void softDelete_evictsCachedAccount() throws Exception {
+        this.showAccount(3L);
+
+        mockMvc.perform(delete("/api/accounts/{id}", 3L)).andExpect(status().isNoContent());
+        entityManager.flush();
+        entityManager.clear();
+
+        mockMvc.perform(get("/api/accounts/{id}", 3L)).andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("findByClientId: la consulta se resuelve desde la caché de consultas")
+    void findByClientId_usesQueryCache() {
+        accountRepository.findByClientId(2L);
+        AccountCacheStats before = accountCacheStatistics.snapshot();
+
+        assertThat(accountRepository.findByClientId(2L)).hasSize(2);
+
+        assertThat(accountCacheStatistics.snapshot().getQueryHits()).isGreaterThan(before.getQueryHits());
+    }
+
+    @Test
+    @DisplayName("GET/DELETE /api/cache/accounts: expone las estadísticas y vacía la caché")
+    void cacheEndpoints() throws Exception {
+        this.showAccount(4L);
+
+        mockMvc.perform(get("/api/cache/accounts"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.puts").isNumber())
+                .andExpect(jsonPath("$.query_hits").isNumber());
+        mockMvc.perform(delete("/api/cache/accounts")).andExpect(status().isNoContent());
+
+        AccountCacheStats before = accountCacheStatistics.snapshot();
+        this.showAccount(4L);
+        assertThat(accountCacheStatistics.snapshot().getMisses()).isGreaterThan(before.getMisses());
+    }
+
+    /**
+     * Consulta la cuenta con el contexto de persistencia vacío, de modo que la lectura pase por la caché de
+     * segundo nivel y no por la sesión compartida de la transacción de la prueba.
+     */
+    private ResultActions showAccount(Long id) throws Exception {
+        entityManager.flush();
+        entityManager.clear();
+        return mockMvc.perform(get("/api/accounts/{id}", id)).andExpect(status().isOk());
+    }
+}
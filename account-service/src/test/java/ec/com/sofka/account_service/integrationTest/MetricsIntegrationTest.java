@@ -0,0 +1,62 @@
+package ec.com.sofka.account_service.integrationTest;
+
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import ec.com.sofka.account_service.client.ClientHttp;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@ActiveProfiles("test")
+@Transactional
+class MetricsIntegrationTest {
+
+    @Autowired
+    MockMvc mockMvc;
+    @MockBean
+    ClientHttp clientHttp;
+
+    @Test
+    @DisplayName("GET /actuator/prometheus: publica latencia y conteo de movimientos por tipo")
+    void prometheus_exposesMovementMetrics() throws Exception {
+        mockMvc.perform(post("/api/movements/account/{accountId}/deposit", 1L).param("amount", "10"))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(allOf(
+                        containsString("movements_create_seconds_bucket{"),
+                        containsString("movements_posted_total{"),
+                        containsString("movement_type=\"DEPOSIT\""),
+                        containsString("application=\"accounts-service\""),
+                        containsString("hikaricp_connections"))));
+    }
+
+    @Test
+    @DisplayName("GET /actuator/prometheus: cuenta los rechazos por tipo de excepción y estado")
+    void prometheus_exposesRejections() throws Exception {
+        mockMvc.perform(get("/api/accounts/{id}", 999_999L)).andExpect(status().isNotFound());
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(allOf(
+                        containsString("http_server_requests_rejected_total{"),
+                        containsString("exception=\"AccountNotFoundException\""),
+                        containsString("status=\"404\""))));
+    }
+}
@@ -3,9 +3,12 @@ package ec.com.sofka.account_service.integrationTest;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import com.jayway.jsonpath.JsonPath;
 import ec.com.sofka.account_service.model.Account;
 import ec.com.sofka.account_service.model.Movement;
 import ec.com.sofka.account_service.model.enums.AccountTypeEnum;
@@ -18,6 +21,7 @@ import java.time.LocalDateTime;
 import java.util.Set;
 import java.util.UUID;
 import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -102,6 +106,40 @@ class MovementControllerIntegrationTest {
                 .andExpect(jsonPath("$.content", Matchers.hasSize(Matchers.greaterThanOrEqualTo(2))));
     }
 
+    @Test
+    void scrollByAccount_ShouldWalkPagesWithCursorAcrossEqualDates() throws Exception {
+        LocalDateTime date = LocalDateTime.of(2025, 8, 3, 10, 5);
+        for (int i = 1; i <= 3; i++) {
+            Movement movement = new Movement();
+            movement.setAccount(account);
+            movement.setMovementType(MovementTypeEnum.DEPOSIT);
+            movement.setAmount(new BigDecimal("10.00"));
+            movement.setBalance(new BigDecimal("1000.00").add(BigDecimal.TEN.multiply(BigDecimal.valueOf(i))));
+            movement.setDate(date);
+            movementRepository.save(movement);
+        }
+
+        String first = mockMvc.perform(get("/api/movements/account/{accountId}/cursor", account.getId())
+                        .param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(2))
+                .andExpect(jsonPath("$.has_next").value(true))
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+        String cursor = JsonPath.read(first, "$.next_cursor");
+
+        mockMvc.perform(get("/api/movements/account/{accountId}/cursor", account.getId())
+                        .param("size", "2")
+                        .param("cursor", cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.content[0].balance").value(1010.0))
+                .andExpect(jsonPath("$.has_next").value(false))
+                .andExpect(jsonPath("$.next_cursor").value(Matchers.nullValue()));
+
+        mockMvc.perform(get("/api/movements/cursor").param("cursor", "not a cursor"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void show_ShouldReturnMovementAnd404WhenNotFound() throws Exception {
         Movement movement = new Movement();
@@ -164,4 +202,28 @@ class MovementControllerIntegrationTest {
         mockMvc.perform(get("/api/movements/{id}", movement.getId()))
                 .andExpect(status().isNotFound());
     }
-}
\ No newline at end of file
+
+    @Test
+    void deposit_WithSameIdempotencyKey_ShouldApplyOnce() throws Exception {
+        String key = "retry-" + UUID.randomUUID();
+        String first = mockMvc.perform(post("/api/movements/account/{accountId}/deposit", account.getId())
+                        .header("Idempotency-Key", key)
+                        .param("amount", "100.00"))
+                .andExpect(status().isCreated())
+                .andExpect(header().doesNotExist("Idempotent-Replayed"))
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+        Integer id = JsonPath.read(first, "$.id");
+
+        mockMvc.perform(post("/api/movements/account/{accountId}/deposit", account.getId())
+                        .header("Idempotency-Key", key)
+                        .param("amount", "100.00"))
+                .andExpect(status().isCreated())
+                .andExpect(header().string("Idempotent-Replayed", "true"))
+                .andExpect(jsonPath("$.id").value(id))
+                .andExpect(jsonPath("$.balance").value(JsonPath.<Object>read(first, "$.balance")));
+
+        Assertions.assertEquals(1, movementRepository.findAll().stream()
+                .filter(movement -> movement.getAccount().getId().equals(account.getId()))
+                .count());
+    }
+}
@@ -9,11 +9,13 @@ import ec.com.sofka.account_service.client.ClientHttp;
 import ec.com.sofka.account_service.client.dto.ClientDto;
 import ec.com.sofka.account_service.repository.AccountRepository;
 import ec.com.sofka.account_service.repository.MovementRepository;
+import ec.com.sofka.account_service.service.DailyBalanceService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
@@ -31,6 +33,10 @@ class ReportControllerIntegrationTest {
     AccountRepository accountRepository;
     @Autowired
     MovementRepository movementRepository;
+    @Autowired
+    DailyBalanceService dailyBalanceService;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
     @MockBean
     ClientHttp clientHttp;
 
@@ -47,4 +53,52 @@ class ReportControllerIntegrationTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$").isArray());
     }
-}
\ No newline at end of file
+
+    @Test
+    void statement_computesBalancesInSingleQuery() throws Exception {
+        ClientDto dto = new ClientDto();
+        dto.setName("Jose Lema");
+        given(clientHttp.show(1L)).willReturn(dto);
+        // cliente 1 (data.sql): cuenta 478758 con +2000 (10:05) y -575 (10:00); cuenta 585545 con +1000
+        mockMvc.perform(get("/api/reportes")
+                        .param("cliente", "1")
+                        .param("desde", "2025-08-01")
+                        .param("hasta", "2025-08-31"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0]['Numero Cuenta']").value("585545"))
+                .andExpect(jsonPath("$[0]['Saldo Disponible']").value(1000.0))
+                .andExpect(jsonPath("$[1]['Numero Cuenta']").value("478758"))
+                .andExpect(jsonPath("$[1]['Tipo']").value("AHORROS"))
+                .andExpect(jsonPath("$[1]['Movimiento']").value(2000.0))
+                .andExpect(jsonPath("$[1]['Saldo Disponible']").value(1425.0))
+                .andExpect(jsonPath("$[1]['Cliente']").value("Jose Lema"));
+    }
+
+    @Test
+    void statement_opensFromLatestDailySnapshot() throws Exception {
+        ClientDto dto = new ClientDto();
+        dto.setName("Jose Lema");
+        given(clientHttp.show(1L)).willReturn(dto);
+        // el cierre del 2025-08-03 reemplaza al historial: si se usa, el saldo de septiembre refleja el valor alterado
+        dailyBalanceService.rebuild(1L);
+        jdbcTemplate.update("UPDATE \"account_daily_balances\" SET \"closing_balance\" = 9999.00 "
+                + "WHERE \"account_id\" = 1 AND \"balance_date\" = DATE '2025-08-03'");
+
+        mockMvc.perform(get("/api/reportes")
+                        .param("cliente", "1")
+                        .param("desde", "2025-09-01")
+                        .param("hasta", "2025-09-30"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[1]['Numero Cuenta']").value("478758"))
+                .andExpect(jsonPath("$[1]['Movimiento']").value(0.0))
+                .andExpect(jsonPath("$[1]['Saldo Disponible']").value(9999.0));
+
+        mockMvc.perform(get("/api/reportes")
+                        .param("cliente", "1")
+                        .param("desde", "2025-08-01")
+                        .param("hasta", "2025-08-31"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[1]['Saldo Disponible']").value(1425.0));
+    }
+}
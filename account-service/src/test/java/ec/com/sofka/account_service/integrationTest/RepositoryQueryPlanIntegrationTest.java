@@ -0,0 +1,130 @@
+package ec.com.sofka.account_service.integrationTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import ec.com.sofka.account_service.client.ClientHttp;
+import ec.com.sofka.account_service.model.enums.AccountTypeEnum;
+import ec.com.sofka.account_service.repository.AccountRepository;
+import ec.com.sofka.account_service.repository.MovementRepository;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Ejecuta EXPLAIN sobre el SQL que Hibernate genera para los accesos por cliente y por cuenta/fecha y falla si
+ * alguna tabla se recorre completa o sin condición de índice.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "ec.com.sofka.account_service.integrationTest.RepositoryQueryPlanIntegrationTest$SqlCapture")
+@ActiveProfiles("test")
+@Transactional
+class RepositoryQueryPlanIntegrationTest {
+
+    private static final Pattern TABLE_ACCESS = Pattern.compile("/\\* PUBLIC\\.[^*]*\\*/");
+    private static final LocalDateTime FROM = LocalDateTime.of(2025, 8, 1, 0, 0);
+    private static final LocalDateTime TO = LocalDateTime.of(2025, 8, 31, 23, 59, 59);
+
+    @Autowired
+    AccountRepository accountRepository;
+    @Autowired
+    MovementRepository movementRepository;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+    @MockBean
+    ClientHttp clientHttp;
+
+    @BeforeEach
+    void setUp() {
+        SqlCapture.STATEMENTS.clear();
+    }
+
+    @Test
+    @DisplayName("Las cuentas por cliente usan el índice de client_id")
+    void accountsByClient_useIndex() {
+        accountRepository.findByClientId(1L);
+        accountRepository.findByClientIdAndAccountTypeAndAccountNumber(1L, AccountTypeEnum.SAVINGS, "478758");
+
+        assertIndexedPlans();
+    }
+
+    @Test
+    @DisplayName("Los movimientos por cuenta y fecha usan el índice compuesto")
+    void movementsByAccountAndDate_useIndex() {
+        movementRepository.findByAccountIdOrderByDateDesc(1L, PageRequest.of(0, 10));
+        movementRepository.findByAccountIdAndDateBetween(1L, FROM, TO);
+        movementRepository.findByAccountIdAndDateBefore(1L, FROM);
+        movementRepository.findByAccountIdAndDateBetweenOrderByDateAsc(1L, FROM, TO);
+
+        assertIndexedPlans();
+    }
+
+    @Test
+    @DisplayName("El detalle del estado de cuenta recorre cuentas y movimientos por índice")
+    void statementStream_usesIndexes() {
+        try (Stream<?> movements = movementRepository.streamByClientIdAndDateBetween(1L, FROM, TO)) {
+            assertThat(movements.count()).isPositive();
+        }
+
+        assertIndexedPlans();
+    }
+
+    private void assertIndexedPlans() {
+        List<String> statements = new ArrayList<>(SqlCapture.STATEMENTS);
+        assertThat(statements).isNotEmpty();
+        for (String sql : statements) {
+            String plan = explain(sql);
+            Matcher matcher = TABLE_ACCESS.matcher(plan);
+            assertThat(matcher.find()).as("plan without table access: %s", plan).isTrue();
+            do {
+                assertThat(matcher.group())
+                        .as("full scan in plan:%n%s", plan)
+                        .doesNotContain("tableScan")
+                        .contains(":");
+            } while (matcher.find());
+        }
+    }
+
+    private String explain(String sql) {
+        return jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+            try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql);
+                 ResultSet resultSet = statement.executeQuery()) {
+                StringBuilder plan = new StringBuilder();
+                while (resultSet.next()) {
+                    plan.append(resultSet.getString(1)).append('\n');
+                }
+                return plan.toString();
+            }
+        });
+    }
+
+    public static class SqlCapture implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            if (sql.stripLeading().regionMatches(true, 0, "select", 0, 6)) {
+                STATEMENTS.add(sql);
+            }
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package ec.com.sofka.account_service.integrationTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.jayway.jsonpath.JsonPath;
+import ec.com.sofka.account_service.client.ClientHttp;
+import ec.com.sofka.account_service.client.dto.ClientDto;
+import jakarta.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultMatcher;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Cuenta los SELECT que emite Hibernate por endpoint para detectar cargas N+1: las lecturas de movimientos
+ * deben traer la cuenta en la misma consulta, y el registro de un movimiento no debe depender del historial de
+ * la cuenta.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "ec.com.sofka.account_service.integrationTest.SqlStatementCountIntegrationTest$SqlCounter",
+        // sin tareas en segundo plano que sumen selects al conteo
+        "app.outbox.enabled=false",
+        "app.jobs.balance-consistency.enabled=false",
+        "app.jobs.daily-balance-rebuild.enabled=false"})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+class SqlStatementCountIntegrationTest {
+
+    @Autowired
+    MockMvc mockMvc;
+    @Autowired
+    EntityManager entityManager;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+    @MockBean
+    ClientHttp clientHttp;
+
+    @Test
+    @DisplayName("GET /api/movements: una consulta de página y una de conteo, sin select por cuenta")
+    void movementPage_loadsAccountsInPageQuery() throws Exception {
+        // los movimientos 1..5 de data.sql pertenecen a cinco cuentas distintas
+        assertSelects(2, get("/api/movements").param("size", "5").param("sort", "id"),
+                jsonPath("$.content.length()").value(5), jsonPath("$.content[4].account.id").value(5));
+    }
+
+    @Test
+    @DisplayName("GET /api/movements/{id}: el movimiento y su cuenta en una consulta")
+    void movementShow_singleSelect() throws Exception {
+        assertSelects(1, get("/api/movements/{id}", 6L), jsonPath("$.account.account_number").value("478758"));
+    }
+
+    @Test
+    @DisplayName("GET /api/movements/account/{id} y cursores: sin selects adicionales por fila")
+    void movementsByAccountAndCursor_noExtraSelects() throws Exception {
+        assertSelects(2, get("/api/movements/account/{accountId}", 1L).param("size", "1"),
+                jsonPath("$.content[0].account.id").value(1));
+        assertSelects(1, get("/api/movements/cursor").param("size", "5"),
+                jsonPath("$.content.length()").value(5));
+        assertSelects(1, get("/api/movements/account/{accountId}/cursor", 1L).param("size", "5"),
+                jsonPath("$.content.length()").value(2));
+    }
+
+    @Test
+    @DisplayName("GET /api/accounts: la página de cuentas no carga sus movimientos")
+    void accountReads_doNotLoadMovements() throws Exception {
+        assertSelects(2, get("/api/accounts").param("size", "2"), jsonPath("$.content.length()").value(2));
+        assertSelects(1, get("/api/accounts/{id}", 1L), jsonPath("$.id").value(1));
+    }
+
+    @Test
+    @DisplayName("GET /api/reportes: el estado de cuenta del cliente en una sola consulta")
+    void statement_singleSelect() throws Exception {
+        ClientDto client = new ClientDto();
+        client.setName("Jose Lema");
+        given(clientHttp.show(1L)).willReturn(client);
+
+        assertSelects(1, get("/api/reportes").param("cliente", "1")
+                .param("desde", "2025-08-01").param("hasta", "2025-08-31"), jsonPath("$.length()").value(2));
+    }
+
+    /**
+     * Sin la transacción de la prueba, para que el registro pase como en producción por el carril de la cuenta y
+     * la transacción del reintento optimista; los cambios se revierten al final a mano.
+     */
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @DisplayName("POST deposit: los selects del registro en el carril no dependen del historial de la cuenta")
+    void posting_selectsIndependentOfHistory() throws Exception {
+        List<Map<String, Object>> accounts = jdbcTemplate.queryForList(
+                "SELECT \"id\", \"current_balance\", \"movement_sequence\", \"version\", \"updated_at\" "
+                        + "FROM \"accounts\" WHERE \"id\" IN (1, 5)");
+        List<Map<String, Object>> dailyBalances = jdbcTemplate.queryForList(
+                "SELECT \"account_id\", \"balance_date\", \"closing_balance\" FROM \"account_daily_balances\" "
+                        + "WHERE \"account_id\" IN (1, 5)");
+        List<Long> created = new ArrayList<>();
+        try {
+            // la cuenta 1 tiene dos movimientos y la 5 uno; se repite el depósito para crecer el historial
+            int first = countPostingSelects(created, 1L);
+            int second = countPostingSelects(created, 1L);
+            int otherAccount = countPostingSelects(created, 5L);
+
+            assertThat(second).isEqualTo(first);
+            assertThat(otherAccount).isEqualTo(first);
+        } finally {
+            this.restore(created, accounts, dailyBalances);
+        }
+    }
+
+    private int countPostingSelects(List<Long> created, Long accountId) throws Exception {
+        SqlCounter.SELECTS.clear();
+        MvcResult result = mockMvc.perform(post("/api/movements/account/{accountId}/deposit", accountId)
+                        .param("amount", "10"))
+                .andExpect(status().isCreated())
+                .andReturn();
+        int selects = SqlCounter.SELECTS.size();
+        Number id = JsonPath.read(result.getResponse().getContentAsString(), "$.id");
+        created.add(id.longValue());
+        return selects;
+    }
+
+    private void restore(List<Long> created, List<Map<String, Object>> accounts,
+                         List<Map<String, Object>> dailyBalances) {
+        created.forEach(id -> jdbcTemplate.update("DELETE FROM \"movements\" WHERE \"id\" = ?", id));
+        for (Map<String, Object> account : accounts) {
+            jdbcTemplate.update("UPDATE \"accounts\" SET \"current_balance\" = ?, \"movement_sequence\" = ?, "
+                            + "\"version\" = ?, \"updated_at\" = ? WHERE \"id\" = ?",
+                    account.get("current_balance"), account.get("movement_sequence"), account.get("version"),
+                    account.get("updated_at"), account.get("id"));
+        }
+        jdbcTemplate.update("DELETE FROM \"account_daily_balances\" WHERE \"account_id\" IN (1, 5)");
+        for (Map<String, Object> balance : dailyBalances) {
+            jdbcTemplate.update("INSERT INTO \"account_daily_balances\" (\"account_id\", \"balance_date\", "
+                            + "\"closing_balance\") VALUES (?, ?, ?)",
+                    balance.get("account_id"), balance.get("balance_date"), balance.get("closing_balance"));
+        }
+    }
+
+    private void assertSelects(int expected, RequestBuilder request, ResultMatcher... matchers) throws Exception {
+        this.prepare();
+        mockMvc.perform(request).andExpect(status().is2xxSuccessful()).andExpectAll(matchers);
+        assertThat(SqlCounter.SELECTS).as("selects for %s", request).hasSize(expected);
+    }
+
+    /**
+     * Vacía el contexto de persistencia compartido por la transacción de la prueba para que cada petición
+     * lea desde la base de datos, como lo haría en producción.
+     */
+    private void prepare() {
+        entityManager.flush();
+        entityManager.clear();
+        SqlCounter.SELECTS.clear();
+    }
+
+    public static class SqlCounter implements StatementInspector {
+
+        static final List<String> SELECTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            if (sql.stripLeading().regionMatches(true, 0, "select", 0, 6)) {
+                SELECTS.add(sql);
+            }
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package ec.com.sofka.account_service.job;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import ec.com.sofka.account_service.repository.AccountRepository;
+import ec.com.sofka.account_service.repository.projection.BalanceDrift;
+import java.math.BigDecimal;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class BalanceConsistencyJobTest {
+
+    @Mock
+    AccountRepository accountRepository;
+
+    @InjectMocks
+    BalanceConsistencyJob job;
+
+    @Test
+    @DisplayName("run: sin diferencias devuelve lista vacía")
+    void run_noDrift() {
+        when(accountRepository.findBalanceDrifts()).thenReturn(List.of());
+
+        assertTrue(job.run().isEmpty());
+        verify(accountRepository).findBalanceDrifts();
+    }
+
+    @Test
+    @DisplayName("run: reporta las cuentas cuyo saldo materializado difiere del historial")
+    void run_reportsDrift() {
+        BalanceDrift drift = mock(BalanceDrift.class);
+        when(drift.getAccountId()).thenReturn(1L);
+        when(drift.getAccountNumber()).thenReturn("478758");
+        when(drift.getCurrentBalance()).thenReturn(new BigDecimal("1500.00"));
+        when(drift.getReplayedBalance()).thenReturn(new BigDecimal("1425.00"));
+        when(accountRepository.findBalanceDrifts()).thenReturn(List.of(drift));
+
+        List<BalanceDrift> out = job.run();
+
+        assertEquals(1, out.size());
+        assertEquals(1L, out.getFirst().getAccountId());
+    }
+}
@@ -0,0 +1,56 @@
+package ec.com.sofka.account_service.job;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import ec.com.sofka.account_service.posting.AccountPostingEngine;
+import ec.com.sofka.account_service.repository.AccountRepository;
+import ec.com.sofka.account_service.service.DailyBalanceService;
+import java.util.List;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class DailyBalanceRebuildJobTest {
+
+    @Mock
+    AccountRepository accountRepository;
+    @Mock
+    DailyBalanceService dailyBalanceService;
+    @Mock
+    AccountPostingEngine postingEngine;
+
+    @InjectMocks
+    DailyBalanceRebuildJob job;
+
+    @Test
+    @DisplayName("run: reconstruye cada cuenta en su carril y continúa si una falla")
+    void run_rebuildsEachAccount() {
+        when(accountRepository.findAllIds()).thenReturn(List.of(1L, 2L, 3L));
+        when(postingEngine.post(anyLong(), any())).thenAnswer(inv -> {
+            if (inv.getArgument(0, Long.class) == 2L) {
+                throw new IllegalStateException("boom");
+            }
+            return inv.getArgument(1, Supplier.class).get();
+        });
+
+        assertEquals(2, job.run());
+
+        verify(postingEngine).post(eq(1L), any());
+        verify(postingEngine).post(eq(2L), any());
+        verify(postingEngine).post(eq(3L), any());
+        verify(dailyBalanceService).rebuild(1L);
+        verify(dailyBalanceService, never()).rebuild(2L);
+        verify(dailyBalanceService).rebuild(3L);
+    }
+}
@@ -0,0 +1,229 @@
+package ec.com.sofka.account_service.outbox;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import ec.com.sofka.account_service.event_handler.dto.MovementDto;
+import ec.com.sofka.account_service.exception.AccountNotFoundException;
+import ec.com.sofka.account_service.model.MovementOutbox;
+import ec.com.sofka.account_service.model.enums.MovementTypeEnum;
+import ec.com.sofka.account_service.model.enums.OutboxStatusEnum;
+import ec.com.sofka.account_service.posting.AccountPostingEngine;
+import ec.com.sofka.account_service.repository.MovementOutboxRepository;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
+
+@ExtendWith(MockitoExtension.class)
+class MovementOutboxDispatcherTest {
+
+    @Mock
+    MovementOutboxRepository outboxRepository;
+    @Mock
+    AccountPostingEngine postingEngine;
+    @Mock
+    ApplicationEventPublisher eventPublisher;
+
+    @Captor
+    ArgumentCaptor<ApplicationEvent> eventCaptor;
+
+    MovementOutboxDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        dispatcher = new MovementOutboxDispatcher(outboxRepository, postingEngine, eventPublisher, 100, 3,
+                Duration.ofSeconds(1), Duration.ofSeconds(5), Duration.ofMinutes(5));
+    }
+
+    private MovementOutbox entry(Long id, Long accountId, String amount) {
+        MovementOutbox entry = new MovementOutbox();
+        entry.setId(id);
+        entry.setAccountId(accountId);
+        entry.setMovementType(MovementTypeEnum.INITIAL_DEPOSIT);
+        entry.setAmount(new BigDecimal(amount));
+        entry.setBalance(new BigDecimal(amount));
+        entry.setDate(LocalDateTime.of(2025, 8, 3, 10, 5));
+        return entry;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void postInline() {
+        when(postingEngine.post(anyLong(), any())).thenAnswer(inv -> inv.getArgument(1, Supplier.class).get());
+    }
+
+    private void pending(MovementOutbox... entries) {
+        when(outboxRepository.findDeliverable(any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of(entries));
+    }
+
+    private void claimable() {
+        when(outboxRepository.claim(anyLong(), any(LocalDateTime.class), any(LocalDateTime.class))).thenReturn(1);
+    }
+
+    @Test
+    @DisplayName("dispatch: sin pendientes no publica nada")
+    void dispatch_empty() {
+        pending();
+
+        assertEquals(0, dispatcher.dispatch());
+        verify(postingEngine, never()).post(anyLong(), any());
+    }
+
+    @Test
+    @DisplayName("dispatch: publica cada entrada en el carril de su cuenta y la marca como enviada")
+    void dispatch_deliversInOrder() {
+        MovementOutbox first = entry(1L, 5L, "1000.00");
+        MovementOutbox second = entry(2L, 6L, "250.00");
+        pending(first, second);
+        claimable();
+        postInline();
+
+        assertEquals(2, dispatcher.dispatch());
+
+        verify(postingEngine).post(eq(5L), any());
+        verify(postingEngine).post(eq(6L), any());
+        verify(eventPublisher, times(2)).publishEvent(eventCaptor.capture());
+        MovementDto event = (MovementDto) eventCaptor.getAllValues().get(0);
+        assertEquals(5L, event.getAccountId());
+        assertEquals(MovementTypeEnum.INITIAL_DEPOSIT, event.getMovementType());
+        assertEquals(new BigDecimal("1000.00"), event.getAmount());
+        assertEquals(6L, ((MovementDto) eventCaptor.getAllValues().get(1)).getAccountId());
+        assertEquals(OutboxStatusEnum.SENT, first.getStatus());
+        assertNotNull(first.getProcessedAt());
+        assertEquals(OutboxStatusEnum.SENT, second.getStatus());
+        verify(outboxRepository).save(first);
+        verify(outboxRepository).save(second);
+    }
+
+    @Test
+    @DisplayName("dispatch: si una entrada falla se reprograma y las siguientes de esa cuenta esperan")
+    void dispatch_failureBlocksAccount() {
+        MovementOutbox failing = entry(1L, 5L, "1000.00");
+        MovementOutbox sameAccount = entry(2L, 5L, "10.00");
+        MovementOutbox otherAccount = entry(3L, 6L, "20.00");
+        pending(failing, sameAccount, otherAccount);
+        claimable();
+        postInline();
+        doAnswer(inv -> {
+            if (inv.getArgument(0, MovementDto.class).getAccountId() == 5L) {
+                throw new AccountNotFoundException("Account with ID 5 does not exist");
+            }
+            return null;
+        }).when(eventPublisher).publishEvent(any(ApplicationEvent.class));
+
+        assertEquals(1, dispatcher.dispatch());
+
+        assertEquals(OutboxStatusEnum.PENDING, failing.getStatus());
+        assertEquals(1, failing.getAttempts());
+        assertEquals("Account with ID 5 does not exist", failing.getLastError());
+        assertTrue(failing.getNextAttemptAt().isAfter(LocalDateTime.now()));
+        assertNull(failing.getProcessedAt());
+        assertEquals(OutboxStatusEnum.PENDING, sameAccount.getStatus());
+        assertEquals(0, sameAccount.getAttempts());
+        assertEquals(OutboxStatusEnum.SENT, otherAccount.getStatus());
+        verify(postingEngine, times(1)).post(eq(5L), any());
+    }
+
+    @Test
+    @DisplayName("dispatch: una entrada reservada por otra instancia no se publica y bloquea su cuenta")
+    void dispatch_skipsEntriesClaimedElsewhere() {
+        MovementOutbox claimed = entry(1L, 5L, "1000.00");
+        MovementOutbox next = entry(2L, 5L, "10.00");
+        MovementOutbox otherAccount = entry(3L, 6L, "20.00");
+        pending(claimed, next, otherAccount);
+        when(outboxRepository.claim(eq(1L), any(LocalDateTime.class), any(LocalDateTime.class))).thenReturn(0);
+        when(outboxRepository.claim(eq(3L), any(LocalDateTime.class), any(LocalDateTime.class))).thenReturn(1);
+        postInline();
+
+        assertEquals(1, dispatcher.dispatch());
+
+        verify(postingEngine, never()).post(eq(5L), any());
+        verify(outboxRepository, never()).claim(eq(2L), any(), any());
+        verify(outboxRepository, never()).save(claimed);
+        assertEquals(OutboxStatusEnum.SENT, otherAccount.getStatus());
+    }
+
+    @Test
+    @DisplayName("dispatch: reserva la entrada antes de publicarla, con vencimiento en claim-timeout")
+    void dispatch_claimsBeforePublishing() {
+        MovementOutbox entry = entry(1L, 5L, "1000.00");
+        pending(entry);
+        ArgumentCaptor<LocalDateTime> now = ArgumentCaptor.forClass(LocalDateTime.class);
+        ArgumentCaptor<LocalDateTime> leaseUntil = ArgumentCaptor.forClass(LocalDateTime.class);
+        when(outboxRepository.claim(eq(1L), now.capture(), leaseUntil.capture())).thenReturn(1);
+        postInline();
+
+        assertEquals(1, dispatcher.dispatch());
+
+        assertEquals(Duration.ofMinutes(5), Duration.between(now.getValue(), leaseUntil.getValue()));
+        InOrder inOrder = inOrder(outboxRepository, eventPublisher);
+        inOrder.verify(outboxRepository).claim(eq(1L), any(), any());
+        inOrder.verify(eventPublisher).publishEvent(any(ApplicationEvent.class));
+        assertNull(entry.getNextAttemptAt());
+    }
+
+    @Test
+    @DisplayName("dispatch: al agotar los intentos la entrada queda como fallida")
+    void dispatch_marksFailedAfterMaxAttempts() {
+        MovementOutbox entry = entry(1L, 5L, "1000.00");
+        entry.setAttempts(2);
+        entry.setNextAttemptAt(LocalDateTime.now().minusSeconds(1));
+        pending(entry);
+        claimable();
+        when(postingEngine.post(anyLong(), any())).thenThrow(new IllegalStateException("boom"));
+
+        assertEquals(0, dispatcher.dispatch());
+
+        assertEquals(OutboxStatusEnum.FAILED, entry.getStatus());
+        assertEquals(3, entry.getAttempts());
+        assertEquals("boom", entry.getLastError());
+        verify(outboxRepository).save(entry);
+    }
+
+    @Test
+    @DisplayName("backoff: crece exponencialmente hasta el máximo configurado")
+    void backoff_isExponentialAndCapped() {
+        assertEquals(Duration.ofSeconds(1), dispatcher.backoff(1));
+        assertEquals(Duration.ofSeconds(2), dispatcher.backoff(2));
+        assertEquals(Duration.ofSeconds(4), dispatcher.backoff(3));
+        assertEquals(Duration.ofSeconds(5), dispatcher.backoff(4));
+        assertEquals(Duration.ofSeconds(5), dispatcher.backoff(60));
+    }
+
+    @Test
+    @DisplayName("constructor: rechaza tamaño de lote o intentos no positivos")
+    void constructor_rejectsInvalidSettings() {
+        assertThrows(IllegalArgumentException.class, () -> new MovementOutboxDispatcher(outboxRepository,
+                postingEngine, eventPublisher, 0, 3, Duration.ofSeconds(1), Duration.ofSeconds(5),
+                Duration.ofMinutes(5)));
+        assertThrows(IllegalArgumentException.class, () -> new MovementOutboxDispatcher(outboxRepository,
+                postingEngine, eventPublisher, 10, 0, Duration.ofSeconds(1), Duration.ofSeconds(5),
+                Duration.ofMinutes(5)));
+    }
+}
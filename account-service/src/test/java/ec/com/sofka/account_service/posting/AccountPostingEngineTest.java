@@ -0,0 +1,155 @@
+package ec.com.sofka.account_service.posting;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import ec.com.sofka.account_service.concurrency.OptimisticLockRetryExecutor;
+import ec.com.sofka.account_service.exception.InsufficientFoundsException;
+import ec.com.sofka.account_service.exception.PostingRejectedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+class AccountPostingEngineTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private AccountPostingEngine engine;
+
+    private static OptimisticLockRetryExecutor retryExecutor() {
+        return new OptimisticLockRetryExecutor(mock(PlatformTransactionManager.class), 3, Duration.ZERO,
+                new SimpleMeterRegistry());
+    }
+
+    private double laneCount(String metric, Long accountId) {
+        return meterRegistry.get(metric).tag("stripe", Integer.toString(engine.stripeIndexOf(accountId)))
+                .functionCounter().count();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (engine != null) {
+            engine.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("post: los movimientos de una misma cuenta nunca se ejecutan en paralelo")
+    void post_serializesSameAccount() throws Exception {
+        engine = new AccountPostingEngine(retryExecutor(), 4, 1000, meterRegistry);
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        ExecutorService callers = Executors.newFixedThreadPool(8);
+        List<CompletableFuture<Integer>> results = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            results.add(CompletableFuture.supplyAsync(() -> engine.post(7L, () -> {
+                maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                Thread.onSpinWait();
+                return inFlight.decrementAndGet();
+            }), callers));
+        }
+        CompletableFuture.allOf(results.toArray(CompletableFuture[]::new)).get(30, TimeUnit.SECONDS);
+        callers.shutdown();
+
+        assertEquals(1, maxInFlight.get());
+        assertEquals(200, laneCount(AccountPostingEngine.SUBMITTED_METRIC, 7L));
+        assertEquals(200, laneCount(AccountPostingEngine.COMPLETED_METRIC, 7L));
+        assertEquals(0, laneCount(AccountPostingEngine.FAILED_METRIC, 7L));
+    }
+
+    @Test
+    @DisplayName("post: propaga la excepción de negocio original y la cuenta como fallida")
+    void post_propagatesBusinessException() {
+        engine = new AccountPostingEngine(retryExecutor(), 2, 10, meterRegistry);
+
+        assertThrows(InsufficientFoundsException.class, () -> engine.post(1L, () -> {
+            throw new InsufficientFoundsException("Saldo no disponible");
+        }));
+        assertEquals(1, laneCount(AccountPostingEngine.FAILED_METRIC, 1L));
+    }
+
+    @Test
+    @DisplayName("post: repite el trabajo si pierde el bloqueo optimista")
+    void post_retriesOnOptimisticLockConflict() {
+        engine = new AccountPostingEngine(retryExecutor(), 2, 10, meterRegistry);
+        AtomicInteger attempts = new AtomicInteger();
+
+        String result = engine.post(1L, () -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw new ObjectOptimisticLockingFailureException("Account", 1L);
+            }
+            return "posted";
+        });
+
+        assertEquals("posted", result);
+        assertEquals(2, attempts.get());
+        assertEquals(1, laneCount(AccountPostingEngine.COMPLETED_METRIC, 1L));
+    }
+
+    @Test
+    @DisplayName("post: rechaza cuando la cola del carril está llena")
+    void post_rejectsWhenQueueIsFull() throws Exception {
+        engine = new AccountPostingEngine(retryExecutor(), 1, 1, meterRegistry);
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<Object> blocking = CompletableFuture.supplyAsync(() -> engine.post(1L, () -> {
+            running.countDown();
+            awaitQuietly(release);
+            return null;
+        }));
+        assertTrue(running.await(5, TimeUnit.SECONDS));
+        CompletableFuture<Object> queued = CompletableFuture.supplyAsync(() -> engine.post(2L, () -> null));
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.get(AccountPostingEngine.QUEUE_METRIC).gauge().value() < 1 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+
+        assertThrows(PostingRejectedException.class, () -> engine.post(3L, () -> null));
+        assertEquals(1, laneCount(AccountPostingEngine.REJECTED_METRIC, 3L));
+
+        release.countDown();
+        blocking.get(5, TimeUnit.SECONDS);
+        queued.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    @DisplayName("stripeIndexOf: distribuye cuentas distintas entre carriles")
+    void stripeIndexOf_spreadsAccounts() {
+        engine = new AccountPostingEngine(retryExecutor(), 16, 10, meterRegistry);
+
+        assertEquals(engine.stripeIndexOf(5L), engine.stripeIndexOf(5L));
+        assertNotEquals(engine.stripeIndexOf(1L), engine.stripeIndexOf(2L));
+        assertEquals(16, meterRegistry.get(AccountPostingEngine.QUEUE_METRIC).gauges().size());
+    }
+
+    @Test
+    @DisplayName("constructor: rechaza configuraciones inválidas")
+    void constructor_invalidConfiguration() {
+        OptimisticLockRetryExecutor retryExecutor = retryExecutor();
+        assertThrows(IllegalArgumentException.class,
+                () -> new AccountPostingEngine(retryExecutor, 0, 10, meterRegistry));
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
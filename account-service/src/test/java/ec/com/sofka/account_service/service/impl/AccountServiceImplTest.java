@@ -2,31 +2,41 @@ package ec.com.sofka.account_service.service.impl;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.doAnswer;
-import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
-import ec.com.sofka.account_service.client.ClientHttp;
-import ec.com.sofka.account_service.client.dto.ClientDto;
+import ec.com.sofka.account_service.concurrency.OptimisticLockRetryExecutor;
 import ec.com.sofka.account_service.dto.account.request.AccountPartialUpdateRequest;
 import ec.com.sofka.account_service.dto.account.request.AccountRequest;
 import ec.com.sofka.account_service.dto.account.response.AccountResponse;
-import ec.com.sofka.account_service.event_handler.dto.MovementDto;
+import ec.com.sofka.account_service.dto.page.CursorPage;
+import ec.com.sofka.account_service.dto.versioned.VersionedResponse;
 import ec.com.sofka.account_service.exception.AccountNotFoundException;
 import ec.com.sofka.account_service.exception.ClientNotFoundException;
 import ec.com.sofka.account_service.exception.DuplicateAccountException;
 import ec.com.sofka.account_service.mapper.AccountMapper;
 import ec.com.sofka.account_service.model.Account;
+import ec.com.sofka.account_service.model.MovementOutbox;
 import ec.com.sofka.account_service.model.enums.AccountTypeEnum;
 import ec.com.sofka.account_service.model.enums.MovementTypeEnum;
+import ec.com.sofka.account_service.model.enums.OutboxStatusEnum;
 import ec.com.sofka.account_service.repository.AccountRepository;
+import ec.com.sofka.account_service.repository.MovementOutboxRepository;
+import ec.com.sofka.account_service.service.ClientRegistryService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.List;
 import java.util.Optional;
 import org.junit.jupiter.api.DisplayName;
@@ -36,11 +46,13 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
-import org.springframework.context.ApplicationEventPublisher;
+import org.mockito.Spy;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
 
 @ExtendWith(org.mockito.junit.jupiter.MockitoExtension.class)
 class AccountServiceImplTest {
@@ -48,17 +60,20 @@ class AccountServiceImplTest {
     @Mock
     AccountRepository accountRepository;
     @Mock
-    ClientHttp clientHttp;
+    ClientRegistryService clientRegistryService;
     @Mock
     AccountMapper accountMapper;
     @Mock
-    ApplicationEventPublisher publisher;
+    MovementOutboxRepository movementOutboxRepository;
+    @Spy
+    OptimisticLockRetryExecutor retryExecutor = new OptimisticLockRetryExecutor(
+            mock(PlatformTransactionManager.class), 3, Duration.ZERO, new SimpleMeterRegistry());
 
     @InjectMocks
     AccountServiceImpl service;
 
     @Captor
-    ArgumentCaptor<MovementDto> movementCaptor;
+    ArgumentCaptor<MovementOutbox> outboxCaptor;
 
     private Account entity(Long id, Long clientId, String number, AccountTypeEnum type, String initial) {
         Account account = new Account();
@@ -137,15 +152,61 @@ class AccountServiceImplTest {
     }
 
     @Test
-    @DisplayName("create: valida cliente, sin duplicados, guarda y publica evento de depósito inicial")
-    void create_ok_publishesInitialDeposit() {
+    @DisplayName("showVersioned: ETag id-version y Last-Modified; el mapeo se difiere hasta pedir el cuerpo")
+    void showVersioned_defersMapping() {
+        Account account = entity(1L, 1L, "478758", AccountTypeEnum.SAVINGS, "2000.00");
+        account.setVersion(3L);
+        account.setUpdatedAt(LocalDateTime.of(2025, 8, 2, 9, 30));
+        when(accountRepository.findById(1L)).thenReturn(Optional.of(account));
+
+        VersionedResponse<AccountResponse> versioned = service.showVersioned(1L);
+
+        assertEquals("1-3", versioned.etag());
+        assertEquals(LocalDateTime.of(2025, 8, 2, 9, 30).atZone(ZoneId.systemDefault()).toInstant(),
+                versioned.lastModified());
+        verify(accountMapper, never()).toResponse(any());
+
+        when(accountMapper.toResponse(account)).thenReturn(resp(account));
+        assertEquals(1L, versioned.body().get().getId());
+    }
+
+    @Test
+    @DisplayName("scroll: pagina por id ascendente a partir del cursor, sin consulta de conteo")
+    void scroll_seeksById() {
+        Account first = entity(1L, 1L, "478758", AccountTypeEnum.SAVINGS, "2000.00");
+        Account second = entity(2L, 2L, "225487", AccountTypeEnum.CURRENT, "100.00");
+        Account third = entity(3L, 3L, "495878", AccountTypeEnum.SAVINGS, "0.00");
+        when(accountRepository.findByIdGreaterThanOrderByIdAsc(0L, PageRequest.of(0, 3)))
+                .thenReturn(List.of(first, second, third));
+        when(accountMapper.toResponse(any(Account.class))).thenAnswer(inv -> resp(inv.getArgument(0)));
+
+        CursorPage<AccountResponse> page = service.scroll(null, 2);
+
+        assertEquals(2, page.getContent().size());
+        assertTrue(page.isHasNext());
+
+        when(accountRepository.findByIdGreaterThanOrderByIdAsc(2L, PageRequest.of(0, 3)))
+                .thenReturn(List.of(third));
+
+        CursorPage<AccountResponse> next = service.scroll(page.getNextCursor(), 2);
+
+        assertEquals(3L, next.getContent().getFirst().getId());
+        assertFalse(next.isHasNext());
+        assertNull(next.getNextCursor());
+        assertThrows(IllegalArgumentException.class, () -> service.scroll("YWJj", 2));
+        verify(accountRepository, never()).count();
+    }
+
+    @Test
+    @DisplayName("create: valida cliente, sin duplicados, guarda y deja el depósito inicial en el outbox")
+    void create_ok_enqueuesInitialDeposit() {
         AccountRequest in = req(1L, "585545", AccountTypeEnum.CURRENT, "1000.00");
         Account mapped = entity(null, 1L, "585545", AccountTypeEnum.CURRENT, "1000.00");
         Account saved = entity(5L, 1L, "585545", AccountTypeEnum.CURRENT, "1000.00");
         AccountResponse out = resp(saved);
 
 
-        when(clientHttp.show(1L)).thenReturn(new ClientDto());
+        when(clientRegistryService.exists(1L)).thenReturn(true);
         when(accountRepository.findByClientIdAndAccountTypeAndAccountNumber(1L, AccountTypeEnum.CURRENT, "585545"))
                 .thenReturn(List.of());
         when(accountMapper.toModel(in)).thenReturn(mapped);
@@ -155,12 +216,14 @@ class AccountServiceImplTest {
         AccountResponse res = service.create(in);
         assertEquals(5L, res.getId());
 
-        verify(publisher).publishEvent(movementCaptor.capture());
-        MovementDto evt = movementCaptor.getValue();
+        verify(movementOutboxRepository).save(outboxCaptor.capture());
+        MovementOutbox entry = outboxCaptor.getValue();
 
-        assertEquals(MovementTypeEnum.INITIAL_DEPOSIT, evt.getMovementType());
-        assertEquals(new BigDecimal("1000.00"), evt.getAmount());
-        assertEquals(5L, evt.getAccountId());
+        assertEquals(MovementTypeEnum.INITIAL_DEPOSIT, entry.getMovementType());
+        assertEquals(new BigDecimal("1000.00"), entry.getAmount());
+        assertEquals(new BigDecimal("1000.00"), entry.getBalance());
+        assertEquals(5L, entry.getAccountId());
+        assertEquals(OutboxStatusEnum.PENDING, entry.getStatus());
     }
 
     @Test
@@ -168,7 +231,7 @@ class AccountServiceImplTest {
     void create_errors() {
         AccountRequest in = req(1L, "585545", AccountTypeEnum.CURRENT, "1000.00");
 
-        when(clientHttp.show(1L)).thenReturn(new ClientDto());
+        when(clientRegistryService.exists(1L)).thenReturn(true);
         when(accountRepository.findByClientIdAndAccountTypeAndAccountNumber(1L, AccountTypeEnum.CURRENT, "585545"))
                 .thenReturn(List.of(entity(7L, 1L, "585545", AccountTypeEnum.CURRENT, "10.00")));
         assertThrows(DuplicateAccountException.class, () -> service.create(in));
@@ -176,26 +239,26 @@ class AccountServiceImplTest {
 
 
         AccountRequest in2 = req(9L, "X", AccountTypeEnum.SAVINGS, "0.00");
-        doThrow(new ClientNotFoundException("nope")).when(clientHttp).show(9L);
+        when(clientRegistryService.exists(9L)).thenReturn(false);
         assertThrows(ClientNotFoundException.class, () -> service.create(in2));
     }
 
     @Test
-    @DisplayName("create: en error (duplicado/cliente no existe) no publica evento")
-    void create_errors_doNotPublishEvent() {
+    @DisplayName("create: en error (duplicado/cliente no existe) no escribe en el outbox")
+    void create_errors_doNotEnqueueMovement() {
 
         AccountRequest in = req(1L, "585545", AccountTypeEnum.CURRENT, "1000.00");
-        when(clientHttp.show(1L)).thenReturn(new ClientDto());
+        when(clientRegistryService.exists(1L)).thenReturn(true);
         when(accountRepository.findByClientIdAndAccountTypeAndAccountNumber(1L, AccountTypeEnum.CURRENT, "585545"))
                 .thenReturn(List.of(entity(7L, 1L, "585545", AccountTypeEnum.CURRENT, "10.00")));
 
         assertThrows(DuplicateAccountException.class, () -> service.create(in));
-        verify(publisher, never()).publishEvent(any());
+        verify(movementOutboxRepository, never()).save(any());
 
         AccountRequest in2 = req(9L, "X", AccountTypeEnum.SAVINGS, "0.00");
-        doThrow(new ClientNotFoundException("nope")).when(clientHttp).show(9L);
+        when(clientRegistryService.exists(9L)).thenReturn(false);
         assertThrows(ClientNotFoundException.class, () -> service.create(in2));
-        verify(publisher, never()).publishEvent(any());
+        verify(movementOutboxRepository, never()).save(any());
     }
 
     @Test
@@ -222,6 +285,28 @@ class AccountServiceImplTest {
         assertEquals(new BigDecimal("2500.00"), out.getInitialBalance());
     }
 
+    @Test
+    @DisplayName("update: si pierde el bloqueo optimista relee la cuenta y reintenta")
+    void update_retriesOnOptimisticLockConflict() {
+        Account stale = entity(1L, 1L, "478758", AccountTypeEnum.SAVINGS, "2000.00");
+        Account fresh = entity(1L, 1L, "478758", AccountTypeEnum.SAVINGS, "2000.00");
+        AccountRequest in = req(1L, "478758", AccountTypeEnum.SAVINGS, "2500.00");
+
+        when(accountRepository.findById(1L)).thenReturn(Optional.of(stale), Optional.of(fresh));
+        when(accountRepository.findByClientIdAndAccountTypeAndAccountNumber(1L, AccountTypeEnum.SAVINGS, "478758"))
+                .thenReturn(List.of(fresh));
+        when(accountRepository.save(any(Account.class)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Account.class, 1L))
+                .thenAnswer(inv -> inv.getArgument(0));
+        when(accountMapper.toResponse(any(Account.class))).thenAnswer(inv -> resp(inv.getArgument(0)));
+
+        AccountResponse out = service.update(1L, in);
+
+        assertEquals(1L, out.getId());
+        verify(accountRepository, times(2)).findById(1L);
+        verify(accountRepository).save(fresh);
+    }
+
     @Test
     @DisplayName("update: 404 o duplicado con otro registro")
     void update_errors() {
@@ -257,7 +342,7 @@ class AccountServiceImplTest {
         })
                 .when(accountMapper).partialUpdate(any(Account.class), any(AccountPartialUpdateRequest.class));
 
-        when(clientHttp.show(1L)).thenReturn(new ClientDto());
+        when(clientRegistryService.exists(1L)).thenReturn(true);
         when(accountRepository.findByClientIdAndAccountTypeAndAccountNumber(1L, AccountTypeEnum.SAVINGS, "999999"))
                 .thenReturn(List.of(existing));
 
@@ -0,0 +1,167 @@
+package ec.com.sofka.account_service.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import ec.com.sofka.account_service.client.ClientHttp;
+import ec.com.sofka.account_service.client.ClientLookupCache;
+import ec.com.sofka.account_service.client.dto.ClientDto;
+import ec.com.sofka.account_service.dto.client.ClientChangeEvent;
+import ec.com.sofka.account_service.exception.ClientNotFoundException;
+import ec.com.sofka.account_service.exception.ClientServiceUnavailableException;
+import ec.com.sofka.account_service.model.ClientRegistryEntry;
+import ec.com.sofka.account_service.repository.ClientRegistryRepository;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.dao.DataIntegrityViolationException;
+
+@ExtendWith(MockitoExtension.class)
+class ClientRegistryServiceImplTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2025, 8, 3, 10, 0);
+
+    @Mock
+    ClientRegistryRepository repository;
+    @Mock
+    ClientHttp clientHttp;
+    @Mock
+    ObjectProvider<ClientLookupCache> cacheProvider;
+    @Mock
+    ClientLookupCache cache;
+
+    @Captor
+    ArgumentCaptor<ClientRegistryEntry> entryCaptor;
+
+    ClientRegistryServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        service = new ClientRegistryServiceImpl(repository, clientHttp, cacheProvider, true);
+    }
+
+    private ClientRegistryEntry entry(Long clientId, boolean active, boolean deleted, LocalDateTime changedAt) {
+        return new ClientRegistryEntry(clientId, active, deleted, changedAt, null);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void cacheAvailable() {
+        doAnswer(inv -> {
+            inv.getArgument(0, Consumer.class).accept(cache);
+            return null;
+        }).when(cacheProvider).ifAvailable(any());
+    }
+
+    @Test
+    @DisplayName("apply: registra un cliente nuevo e invalida su entrada en caché")
+    void apply_newClient() {
+        cacheAvailable();
+        when(repository.findById(7L)).thenReturn(Optional.empty());
+
+        assertTrue(service.apply(new ClientChangeEvent(7L, true, false, T0)));
+
+        verify(repository).save(entryCaptor.capture());
+        ClientRegistryEntry saved = entryCaptor.getValue();
+        assertTrue(saved.isActive());
+        assertFalse(saved.isDeleted());
+        verify(cache).invalidate(7L);
+    }
+
+    @Test
+    @DisplayName("apply: un evento más nuevo actualiza la entrada existente")
+    void apply_newerEvent() {
+        ClientRegistryEntry existing = entry(1L, true, false, T0);
+        when(repository.findById(1L)).thenReturn(Optional.of(existing));
+
+        assertTrue(service.apply(new ClientChangeEvent(1L, false, true, T0.plusMinutes(1))));
+
+        assertFalse(existing.isActive());
+        assertTrue(existing.isDeleted());
+        verify(repository).save(existing);
+    }
+
+    @Test
+    @DisplayName("apply: ignora eventos anteriores al último aplicado")
+    void apply_staleEvent() {
+        when(repository.findById(1L)).thenReturn(Optional.of(entry(1L, false, true, T0)));
+
+        assertFalse(service.apply(new ClientChangeEvent(1L, true, false, T0.minusSeconds(1))));
+
+        verify(repository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("exists: responde con el registro local sin llamar al servicio de clientes")
+    void exists_local() {
+        when(repository.findById(1L)).thenReturn(Optional.of(entry(1L, true, false, null)));
+        when(repository.findById(2L)).thenReturn(Optional.of(entry(2L, true, true, T0)));
+
+        assertTrue(service.exists(1L));
+        assertFalse(service.exists(2L));
+        verifyNoInteractions(clientHttp);
+    }
+
+    @Test
+    @DisplayName("exists: un cliente desconocido se consulta una vez al servicio remoto y queda registrado")
+    void exists_remoteFallback() {
+        when(repository.findById(9L)).thenReturn(Optional.empty());
+        when(clientHttp.show(9L)).thenReturn(new ClientDto(9L, "Ana", true));
+        when(repository.findById(10L)).thenReturn(Optional.empty());
+        when(clientHttp.show(10L)).thenThrow(new ClientNotFoundException("Client with ID 10 does not exist"));
+
+        assertTrue(service.exists(9L));
+        assertFalse(service.exists(10L));
+        verify(repository).insertIfAbsent(9L, true);
+        verify(repository, never()).insertIfAbsent(10L, false);
+    }
+
+    @Test
+    @DisplayName("exists: si el servicio de clientes no está disponible el error se propaga y no se registra nada")
+    void exists_remoteFallback_unavailable() {
+        when(repository.findById(9L)).thenReturn(Optional.empty());
+        when(clientHttp.show(9L)).thenThrow(new ClientServiceUnavailableException("Client service unavailable"));
+
+        assertThrows(ClientServiceUnavailableException.class, () -> service.exists(9L));
+        verify(repository, never()).insertIfAbsent(anyLong(), anyBoolean());
+    }
+
+    @Test
+    @DisplayName("exists: si otra transacción registra el mismo cliente a la vez, el cliente existe")
+    void exists_remoteFallback_concurrentInsert() {
+        when(repository.findById(9L)).thenReturn(Optional.empty());
+        when(clientHttp.show(9L)).thenReturn(new ClientDto(9L, "Ana", true));
+        when(repository.insertIfAbsent(9L, true))
+                .thenThrow(new DataIntegrityViolationException("Unique index or primary key violation"));
+
+        assertTrue(service.exists(9L));
+    }
+
+    @Test
+    @DisplayName("exists: sin consulta remota, un cliente desconocido no existe")
+    void exists_withoutRemoteFallback() {
+        service = new ClientRegistryServiceImpl(repository, clientHttp, cacheProvider, false);
+        when(repository.findById(9L)).thenReturn(Optional.empty());
+
+        assertFalse(service.exists(9L));
+        verifyNoInteractions(clientHttp);
+        verify(repository, never()).insertIfAbsent(anyLong(), anyBoolean());
+    }
+}
@@ -0,0 +1,131 @@
+package ec.com.sofka.account_service.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import ec.com.sofka.account_service.repository.AccountDailyBalanceRepository;
+import ec.com.sofka.account_service.repository.AccountRepository;
+import ec.com.sofka.account_service.repository.MovementRepository;
+import ec.com.sofka.account_service.repository.projection.DailyBalanceSnapshot;
+import ec.com.sofka.account_service.repository.projection.DailyMovementTotal;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class DailyBalanceServiceImplTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 8, 3);
+
+    @Mock
+    AccountDailyBalanceRepository dailyBalanceRepository;
+    @Mock
+    MovementRepository movementRepository;
+    @Mock
+    AccountRepository accountRepository;
+
+    @InjectMocks
+    DailyBalanceServiceImpl service;
+
+    private DailyBalanceSnapshot snapshot(LocalDate day, String closing) {
+        DailyBalanceSnapshot snapshot = mock(DailyBalanceSnapshot.class);
+        when(snapshot.getBalanceDate()).thenReturn(day);
+        when(snapshot.getClosingBalance()).thenReturn(new BigDecimal(closing));
+        return snapshot;
+    }
+
+    private DailyMovementTotal total(LocalDate day, String amount) {
+        DailyMovementTotal total = mock(DailyMovementTotal.class);
+        when(total.getDay()).thenReturn(day);
+        when(total.getTotal()).thenReturn(new BigDecimal(amount));
+        return total;
+    }
+
+    @Test
+    @DisplayName("record: sin cambio de saldo no toca los cierres")
+    void record_zeroDelta() {
+        service.record(1L, DAY, BigDecimal.ZERO);
+        service.record(1L, DAY, null);
+        service.record(1L, null, BigDecimal.ONE);
+
+        verifyNoInteractions(dailyBalanceRepository, movementRepository, accountRepository);
+    }
+
+    @Test
+    @DisplayName("record: si el cierre del día existe lo desplaza junto con los posteriores")
+    void record_existingDay() {
+        when(dailyBalanceRepository.existsByAccountIdAndBalanceDate(1L, DAY)).thenReturn(true);
+
+        service.record(1L, DAY, new BigDecimal("50.00"));
+
+        verify(dailyBalanceRepository).shiftFrom(1L, DAY, new BigDecimal("50.00"));
+        verify(dailyBalanceRepository, never()).insertSnapshot(anyLong(), any(), any());
+    }
+
+    @Test
+    @DisplayName("record: un día nuevo parte del último cierre anterior más los movimientos hasta el fin del día")
+    void record_newDayFromPreviousSnapshot() {
+        LocalDate previous = LocalDate.of(2025, 8, 1);
+        DailyBalanceSnapshot latest = snapshot(previous, "1000.00");
+        when(dailyBalanceRepository.existsByAccountIdAndBalanceDate(1L, DAY)).thenReturn(false);
+        when(dailyBalanceRepository.findLatestBefore(1L, DAY)).thenReturn(Optional.of(latest));
+        when(movementRepository.sumSignedAmountBetween(1L, LocalDateTime.of(2025, 8, 2, 0, 0),
+                LocalDateTime.of(2025, 8, 4, 0, 0))).thenReturn(new BigDecimal("-575.00"));
+
+        service.record(1L, DAY, new BigDecimal("-575.00"));
+
+        InOrder order = inOrder(accountRepository, dailyBalanceRepository);
+        order.verify(accountRepository).lockById(1L);
+        order.verify(dailyBalanceRepository).existsByAccountIdAndBalanceDate(1L, DAY);
+        order.verify(dailyBalanceRepository).shiftFrom(1L, DAY.plusDays(1), new BigDecimal("-575.00"));
+        order.verify(dailyBalanceRepository).insertSnapshot(1L, DAY, new BigDecimal("425.00"));
+    }
+
+    @Test
+    @DisplayName("record: sin cierres anteriores suma todo el historial hasta el fin del día")
+    void record_newDayWithoutSnapshots() {
+        when(dailyBalanceRepository.existsByAccountIdAndBalanceDate(1L, DAY)).thenReturn(false);
+        when(dailyBalanceRepository.findLatestBefore(1L, DAY)).thenReturn(Optional.empty());
+        when(movementRepository.sumSignedAmountBefore(1L, LocalDateTime.of(2025, 8, 4, 0, 0)))
+                .thenReturn(new BigDecimal("1425.00"));
+
+        service.record(1L, DAY, new BigDecimal("2000.00"));
+
+        verify(dailyBalanceRepository).insertSnapshot(1L, DAY, new BigDecimal("1425.00"));
+    }
+
+    @Test
+    @DisplayName("rebuild: reemplaza los cierres por la suma acumulada de cada día")
+    void rebuild_runningSum() {
+        List<DailyMovementTotal> totals = List.of(
+                total(LocalDate.of(2025, 8, 3), "1425.00"),
+                total(LocalDate.of(2025, 8, 10), "-25.00"),
+                total(LocalDate.of(2025, 9, 1), "100.00"));
+        when(movementRepository.findDailyTotals(1L)).thenReturn(totals);
+
+        assertEquals(3, service.rebuild(1L));
+
+        InOrder order = inOrder(accountRepository, dailyBalanceRepository);
+        order.verify(accountRepository).lockById(1L);
+        order.verify(dailyBalanceRepository).deleteByAccountId(1L);
+        order.verify(dailyBalanceRepository).insertSnapshot(1L, LocalDate.of(2025, 8, 3), new BigDecimal("1425.00"));
+        order.verify(dailyBalanceRepository).insertSnapshot(1L, LocalDate.of(2025, 8, 10), new BigDecimal("1400.00"));
+        order.verify(dailyBalanceRepository).insertSnapshot(1L, LocalDate.of(2025, 9, 1), new BigDecimal("1500.00"));
+    }
+}
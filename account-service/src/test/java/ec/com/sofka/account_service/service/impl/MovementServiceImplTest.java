@@ -2,14 +2,20 @@ package ec.com.sofka.account_service.service.impl;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.anyLong;
 import static org.mockito.Mockito.argThat;
 import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.eq;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -17,7 +23,12 @@ import static org.mockito.Mockito.when;
 import ec.com.sofka.account_service.dto.account.response.AccountResponse;
 import ec.com.sofka.account_service.dto.movement.request.MovementPartialUpdateRequest;
 import ec.com.sofka.account_service.dto.movement.request.MovementRequest;
+import ec.com.sofka.account_service.dto.movement.response.MovementBatchItemResult;
+import ec.com.sofka.account_service.dto.movement.response.MovementBatchResponse;
 import ec.com.sofka.account_service.dto.movement.response.MovementResponse;
+import ec.com.sofka.account_service.dto.page.CursorPage;
+import ec.com.sofka.account_service.dto.versioned.VersionedResponse;
+import ec.com.sofka.account_service.exception.AccountNotFoundException;
 import ec.com.sofka.account_service.exception.BalanceTypeSigNumUnavailableException;
 import ec.com.sofka.account_service.exception.InsufficientFoundsException;
 import ec.com.sofka.account_service.exception.MovementNotFoundException;
@@ -25,19 +36,32 @@ import ec.com.sofka.account_service.mapper.MovementMapper;
 import ec.com.sofka.account_service.model.Account;
 import ec.com.sofka.account_service.model.Movement;
 import ec.com.sofka.account_service.model.enums.MovementTypeEnum;
+import ec.com.sofka.account_service.posting.AccountPostingEngine;
 import ec.com.sofka.account_service.repository.AccountRepository;
 import ec.com.sofka.account_service.repository.MovementRepository;
 import ec.com.sofka.account_service.service.AccountService;
+import ec.com.sofka.account_service.service.DailyBalanceService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Base64;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Supplier;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
@@ -55,6 +79,14 @@ class MovementServiceImplTest {
     MovementMapper mapper;
     @Mock
     AccountService accountService;
+    @Mock
+    AccountPostingEngine postingEngine;
+    @Mock
+    DailyBalanceService dailyBalanceService;
+    @Spy
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    @Spy
+    Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
 
     @InjectMocks
     MovementServiceImpl service;
@@ -83,6 +115,10 @@ class MovementServiceImplTest {
         return movement;
     }
 
+    private void postInline() {
+        when(postingEngine.post(anyLong(), any())).thenAnswer(inv -> inv.getArgument(1, Supplier.class).get());
+    }
+
     private MovementResponse buildMovementResponse(Movement movement) {
         MovementResponse movementResponse = new MovementResponse();
         AccountResponse accountResponse = new AccountResponse();
@@ -126,10 +162,92 @@ class MovementServiceImplTest {
     }
 
 
+    @Test
+    @DisplayName("showVersioned: el ETag incluye la versión de la cuenta y Last-Modified es el cambio más reciente")
+    void showVersioned_includesAccountVersion() {
+        Movement movement = buildMovement(5L, 1L, MovementTypeEnum.DEPOSIT, "100.00", "1100.00");
+        movement.setVersion(1L);
+        movement.setCreatedAt(LocalDateTime.of(2025, 8, 1, 10, 0));
+        movement.getAccount().setVersion(4L);
+        movement.getAccount().setUpdatedAt(LocalDateTime.of(2025, 8, 3, 10, 0));
+        when(movementRepository.findById(5L)).thenReturn(Optional.of(movement));
+
+        VersionedResponse<MovementResponse> versioned = service.showVersioned(5L);
+
+        assertEquals("5-1-4", versioned.etag());
+        assertEquals(LocalDateTime.of(2025, 8, 3, 10, 0).atZone(ZoneId.systemDefault()).toInstant(),
+                versioned.lastModified());
+        verify(mapper, never()).toResponse(any(Movement.class));
+
+        when(mapper.toResponse(movement)).thenReturn(buildMovementResponse(movement));
+        assertEquals(5L, versioned.body().get().getId());
+    }
+
+    @Test
+    @DisplayName("scroll: pide un elemento extra, recorta la página y devuelve el cursor (date, id) del último")
+    void scroll_firstPageAndNextCursor() {
+        Movement newest = buildMovement(9L, 1L, MovementTypeEnum.DEPOSIT, "100.00", "1100.00");
+        Movement middle = buildMovement(8L, 1L, MovementTypeEnum.DEPOSIT, "50.00", "1000.00");
+        Movement oldest = buildMovement(7L, 2L, MovementTypeEnum.DEPOSIT, "10.00", "950.00");
+        middle.setDate(LocalDateTime.of(2025, 8, 3, 10, 5));
+        when(movementRepository.findByOrderByDateDescIdDesc(PageRequest.of(0, 3)))
+                .thenReturn(List.of(newest, middle, oldest));
+        when(mapper.toResponse(any(Movement.class))).thenAnswer(inv -> buildMovementResponse(inv.getArgument(0)));
+
+        CursorPage<MovementResponse> first = service.scroll(null, 2);
+
+        assertEquals(2, first.getContent().size());
+        assertEquals(2, first.getSize());
+        assertTrue(first.isHasNext());
+        assertNotNull(first.getNextCursor());
+
+        when(movementRepository.findPageAfter(LocalDateTime.of(2025, 8, 3, 10, 5), 8L, PageRequest.of(0, 3)))
+                .thenReturn(List.of(oldest));
+
+        CursorPage<MovementResponse> second = service.scroll(first.getNextCursor(), 2);
+
+        assertEquals(1, second.getContent().size());
+        assertEquals(7L, second.getContent().getFirst().getId());
+        assertFalse(second.isHasNext());
+        assertNull(second.getNextCursor());
+    }
+
+    @Test
+    @DisplayName("scrollByAccount: primera página y siguiente por cuenta; el tamaño se limita a 100")
+    void scrollByAccount_usesAccountQueries() {
+        Movement movement = buildMovement(5L, 1L, MovementTypeEnum.DEPOSIT, "100.00", "1100.00");
+        movement.setDate(LocalDateTime.of(2025, 8, 1, 9, 0));
+        when(movementRepository.findByAccountIdOrderByDateDescIdDesc(1L, PageRequest.of(0, 101)))
+                .thenReturn(List.of(movement));
+        when(mapper.toResponse(movement)).thenReturn(buildMovementResponse(movement));
+
+        CursorPage<MovementResponse> first = service.scrollByAccount(1L, "", 500);
+        assertEquals(100, first.getSize());
+        assertFalse(first.isHasNext());
+
+        String cursor = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("2025-08-03T10:05~6".getBytes(StandardCharsets.UTF_8));
+        when(movementRepository.findPageByAccountAfter(1L, LocalDateTime.of(2025, 8, 3, 10, 5), 6L,
+                PageRequest.of(0, 2))).thenReturn(List.of(movement));
+
+        CursorPage<MovementResponse> next = service.scrollByAccount(1L, cursor, 1);
+        assertEquals(1, next.getContent().size());
+    }
+
+    @Test
+    @DisplayName("scroll: un cursor inválido lanza IllegalArgumentException")
+    void scroll_invalidCursor() {
+        assertThrows(IllegalArgumentException.class, () -> service.scroll("%%%", 10));
+        assertThrows(IllegalArgumentException.class, () -> service.scroll("bm90LWEtY3Vyc29y", 10));
+        assertThrows(IllegalArgumentException.class, () -> service.scrollByAccount(1L, "eDo_fjE", 10));
+        verify(movementRepository, never()).findPageAfter(any(), any(), any());
+    }
+
     @Test
     @DisplayName("create: initial_deposit suma al saldo")
     void create_initial_deposit_ok() {
         Account acc = acc(1L, "1000.00", Set.of());
+        postInline();
         when(accountService.showById(1L)).thenReturn(acc);
         when(mapper.toModel(any(MovementRequest.class))).thenAnswer(inv -> new Movement());
         when(movementRepository.save(any(Movement.class))).thenAnswer(inv -> {
@@ -146,6 +264,40 @@ class MovementServiceImplTest {
 
         MovementResponse out = service.create(req);
         assertEquals(new BigDecimal("300.00"), out.getBalance());
+        assertEquals(1.0, meterRegistry.get(MovementServiceImpl.POSTED_METRIC)
+                .tag("movement_type", "INITIAL_DEPOSIT").counter().count());
+        assertEquals(1L, meterRegistry.get(MovementServiceImpl.CREATE_METRIC)
+                .tags("movement_type", "INITIAL_DEPOSIT", "outcome", "success").timer().count());
+    }
+
+    @Test
+    @DisplayName("create: onPosted recibe la respuesta dentro del registro y su error revierte el movimiento")
+    void create_onPostedRunsInsidePosting() {
+        Account acc = acc(1L, "1000.00", Set.of());
+        postInline();
+        when(accountService.showById(1L)).thenReturn(acc);
+        when(mapper.toModel(any(MovementRequest.class))).thenAnswer(inv -> new Movement());
+        when(movementRepository.save(any(Movement.class))).thenAnswer(inv -> {
+            Movement m = inv.getArgument(0);
+            m.setId(78L);
+            return m;
+        });
+        when(mapper.toResponse(any(Movement.class))).thenAnswer(inv -> buildMovementResponse(inv.getArgument(0)));
+        MovementRequest req = new MovementRequest();
+        req.setAccountId(1L);
+        req.setMovementType(MovementTypeEnum.DEPOSIT);
+        req.setAmount(new BigDecimal("50.00"));
+        List<MovementResponse> recorded = new ArrayList<>();
+
+        MovementResponse out = service.create(req, recorded::add);
+
+        assertEquals(List.of(out), recorded);
+        IllegalStateException failure = new IllegalStateException("reservation taken over");
+        assertSame(failure, assertThrows(IllegalStateException.class, () -> service.create(req, response -> {
+            throw failure;
+        })));
+        assertEquals(1.0, meterRegistry.get(MovementServiceImpl.POSTED_METRIC)
+                .tag("movement_type", "DEPOSIT").counter().count());
     }
 
     @Test
@@ -153,6 +305,7 @@ class MovementServiceImplTest {
     void create_cases() {
 
         Account account = acc(1L, "1000.00", Set.of());
+        postInline();
         when(accountService.showById(1L)).thenReturn(account);
 
         MovementRequest movementRequest = new MovementRequest();
@@ -177,6 +330,8 @@ class MovementServiceImplTest {
         MovementResponse r1 = service.create(movementRequest);
         assertEquals(10L, r1.getId());
         assertEquals(new BigDecimal("150.00"), r1.getBalance());
+        assertEquals(new BigDecimal("150.00"), account.getCurrentBalance());
+        assertEquals(1L, account.getMovementSequence());
 
 
         Movement last = buildMovement(10L, 1L, MovementTypeEnum.DEPOSIT, "150.00", "1150.00");
@@ -191,6 +346,7 @@ class MovementServiceImplTest {
         assertThrows(InsufficientFoundsException.class, () -> service.create(request));
         verify(movementRepository, never())
                 .save(argThat(m -> m.getMovementType() == MovementTypeEnum.WITHDRAWAL));
+        assertEquals(new BigDecimal("150.00"), account.getCurrentBalance());
     }
 
 
@@ -203,6 +359,10 @@ class MovementServiceImplTest {
         req.setAmount(new BigDecimal("-1.00"));
 
         assertThrows(BalanceTypeSigNumUnavailableException.class, () -> service.create(req));
+        assertEquals(1L, meterRegistry.get(MovementServiceImpl.CREATE_METRIC)
+                .tags("movement_type", "DEPOSIT", "outcome", "BalanceTypeSigNumUnavailableException")
+                .timer().count());
+        assertNull(meterRegistry.find(MovementServiceImpl.POSTED_METRIC).counter());
     }
 
     @Test
@@ -220,11 +380,13 @@ class MovementServiceImplTest {
     @Test
     @DisplayName("update: recalcula y valida (reemplaza +100 por -200 => 800)")
     void update_recalculate_and_validate() {
+        postInline();
 
         Account account = acc(1L, "1000.00", null);
         Movement existing = buildMovement(40L, 1L, MovementTypeEnum.DEPOSIT, "100.00", "1100.00");
         existing.setAccount(account);
         account.setMovements(Set.of(existing));
+        account.setCurrentBalance(new BigDecimal("1100.00"));
 
         when(movementRepository.findById(40L)).thenReturn(Optional.of(existing));
 
@@ -251,6 +413,8 @@ class MovementServiceImplTest {
         assertEquals(MovementTypeEnum.WITHDRAWAL, out.getMovementType());
         assertEquals(new BigDecimal("200.00"), out.getAmount());
         assertEquals(new BigDecimal("800.00"), out.getBalance());
+        assertEquals(new BigDecimal("800.00"), account.getCurrentBalance());
+        assertEquals(1L, account.getMovementSequence());
 
         verify(movementRepository).findById(40L);
         verify(mapper).updateModel(any(MovementRequest.class), any(Movement.class));
@@ -260,14 +424,17 @@ class MovementServiceImplTest {
     @Test
     @DisplayName("update: cambia de cuenta y recalcula sobre la nueva cuenta")
     void update_switch_account_and_recalc() {
+        postInline();
 
         Account accA = acc(1L, "1000.00", null);
         Movement existing = buildMovement(40L, 1L, MovementTypeEnum.DEPOSIT, "100.00", "1100.00");
         existing.setAccount(accA);
         accA.setMovements(Set.of(existing));
+        accA.setCurrentBalance(new BigDecimal("1100.00"));
 
         Movement prevB = buildMovement(10L, 2L, MovementTypeEnum.DEPOSIT, "200.00", "700.00");
         Account accB = acc(2L, "500.00", Set.of(prevB));
+        accB.setCurrentBalance(new BigDecimal("700.00"));
 
         when(movementRepository.findById(40L)).thenReturn(Optional.of(existing));
         when(accountService.showById(2L)).thenReturn(accB);
@@ -294,15 +461,19 @@ class MovementServiceImplTest {
         assertEquals(2L, out.getAccount().getId());
         assertEquals(new BigDecimal("600.00"), out.getBalance());
         verify(accountService).showById(2L);
+        assertEquals(new BigDecimal("1000.00"), accA.getCurrentBalance());
+        assertEquals(new BigDecimal("600.00"), accB.getCurrentBalance());
     }
 
     @Test
     @DisplayName("update: retiro excede el saldo base excluyendo el propio movimiento => InsufficientFoundsException")
     void update_withdrawal_exceeds_base_throws() {
+        postInline();
         Account acc = acc(1L, "1000.00", null);
         Movement existing = buildMovement(40L, 1L, MovementTypeEnum.DEPOSIT, "100.00", "1100.00");
         existing.setAccount(acc);
         acc.setMovements(Set.of(existing));
+        acc.setCurrentBalance(new BigDecimal("1100.00"));
         when(movementRepository.findById(40L)).thenReturn(Optional.of(existing));
 
         MovementRequest req = new MovementRequest();
@@ -316,10 +487,12 @@ class MovementServiceImplTest {
     @Test
     @DisplayName("update: retiro dentro del saldo base no lanza excepción")
     void update_withdrawal_within_base_ok() {
+        postInline();
         Account acc = acc(1L, "1000.00", null);
         Movement existing = buildMovement(40L, 1L, MovementTypeEnum.DEPOSIT, "100.00", "1100.00");
         existing.setAccount(acc);
         acc.setMovements(Set.of(existing));
+        acc.setCurrentBalance(new BigDecimal("1100.00"));
         when(movementRepository.findById(40L)).thenReturn(Optional.of(existing));
 
         MovementRequest req = new MovementRequest();
@@ -345,6 +518,7 @@ class MovementServiceImplTest {
     @Test
     @DisplayName("update: recalcula excluyendo el propio movimiento entre varios movimientos")
     void update_recalc_excluding_self_among_many() {
+        postInline();
         Account acc = acc(1L, "1000.00", null);
         Movement m1 = buildMovement(10L, 1L, MovementTypeEnum.DEPOSIT, "200.00", "1200.00");
         Movement m2 = buildMovement(20L, 1L, MovementTypeEnum.WITHDRAWAL, "50.00", "1150.00");
@@ -353,6 +527,7 @@ class MovementServiceImplTest {
         m2.setAccount(acc);
         self.setAccount(acc);
         acc.setMovements(Set.of(m1, m2, self));
+        acc.setCurrentBalance(new BigDecimal("1250.00"));
 
         when(movementRepository.findById(30L)).thenReturn(Optional.of(self));
 
@@ -380,6 +555,7 @@ class MovementServiceImplTest {
     @Test
     @DisplayName("partialUpdate: actualiza solo la fecha del movimiento")
     void partialUpdate_ok() {
+        postInline();
 
         Movement existingMovement = buildMovement(50L, 2L, MovementTypeEnum.DEPOSIT, "100.00", "600.00");
         Account account = acc(2L, "500.00", Set.of(existingMovement));
@@ -420,15 +596,140 @@ class MovementServiceImplTest {
     @Test
     @DisplayName("delete: ok y 404 si no existe")
     void delete_cases() {
+        postInline();
         Movement existing = buildMovement(60L, 1L, MovementTypeEnum.DEPOSIT, "10.00", "1010.00");
+        existing.getAccount().setCurrentBalance(new BigDecimal("1010.00"));
 
         when(movementRepository.findById(60L)).thenReturn(Optional.of(existing));
         doNothing().when(movementRepository).delete(existing);
 
         assertDoesNotThrow(() -> service.delete(60L));
         verify(movementRepository, atLeastOnce()).delete(existing);
+        assertEquals(new BigDecimal("1000.00"), existing.getAccount().getCurrentBalance());
 
         when(movementRepository.findById(61L)).thenReturn(Optional.empty());
         assertThrows(MovementNotFoundException.class, () -> service.delete(61L));
     }
-}
\ No newline at end of file
+
+    private MovementRequest batchItem(Long accountId, MovementTypeEnum type, String amount) {
+        return MovementRequest.builder()
+                .accountId(accountId)
+                .movementType(type)
+                .amount(new BigDecimal(amount))
+                .date(LocalDateTime.now())
+                .build();
+    }
+
+    @Test
+    @DisplayName("createBatch: valida en orden por cuenta, persiste por lotes y reporta cada elemento")
+    void createBatch_mixedResults() {
+        postInline();
+        Account account = acc(1L, "100.00", Set.of());
+        account.setCurrentBalance(new BigDecimal("100.00"));
+        when(accountService.showById(1L)).thenReturn(account);
+        when(accountService.showById(2L)).thenThrow(new AccountNotFoundException("Account with ID 2 does not exist"));
+        when(mapper.toModel(any(MovementRequest.class))).thenAnswer(inv -> new Movement());
+        when(movementRepository.saveAll(any())).thenAnswer(inv -> {
+            long id = 500L;
+            for (Movement m : inv.<List<Movement>>getArgument(0)) {
+                m.setId(id++);
+            }
+            return inv.getArgument(0);
+        });
+
+        MovementRequest missingDate = batchItem(1L, MovementTypeEnum.DEPOSIT, "1.00");
+        missingDate.setDate(null);
+        List<MovementRequest> requests = List.of(
+                batchItem(1L, MovementTypeEnum.DEPOSIT, "50.00"),
+                batchItem(2L, MovementTypeEnum.DEPOSIT, "10.00"),
+                batchItem(1L, MovementTypeEnum.WITHDRAWAL, "-500.00"),
+                missingDate,
+                batchItem(1L, MovementTypeEnum.WITHDRAWAL, "-100.00"));
+
+        MovementBatchResponse out = service.createBatch(requests.iterator());
+
+        assertEquals(5, out.getReceived());
+        assertEquals(2, out.getCreated());
+        assertEquals(3, out.getRejected());
+        List<MovementBatchItemResult> items = out.getItems();
+        assertEquals(MovementBatchItemResult.CREATED, items.get(0).getStatus());
+        assertEquals(500L, items.get(0).getMovementId());
+        assertEquals(new BigDecimal("150.00"), items.get(0).getBalance());
+        assertEquals("Account with ID 2 does not exist", items.get(1).getError());
+        assertEquals("Saldo no disponible", items.get(2).getError());
+        assertEquals("date cannot be null", items.get(3).getError());
+        assertEquals(4, items.get(4).getIndex());
+        assertEquals(new BigDecimal("50.00"), items.get(4).getBalance());
+        assertEquals(new BigDecimal("50.00"), account.getCurrentBalance());
+        verify(movementRepository).saveAll(argThat(list -> ((List<?>) list).size() == 2));
+        assertEquals(1.0, meterRegistry.get(MovementServiceImpl.POSTED_METRIC)
+                .tag("movement_type", "DEPOSIT").counter().count());
+        assertEquals(1.0, meterRegistry.get(MovementServiceImpl.POSTED_METRIC)
+                .tag("movement_type", "WITHDRAWAL").counter().count());
+    }
+
+    @Test
+    @DisplayName("validateBatchItem: aplica las restricciones de OnCreate del alta individual")
+    void validateBatchItem_appliesOnCreateConstraints() {
+        MovementRequest incomplete = batchItem(1L, null, "1.00");
+        incomplete.setAmount(null);
+        incomplete.setAccountId(null);
+
+        assertEquals("account id cannot be null; amount cannot be null; movementType cannot be null",
+                service.validateBatchItem(incomplete));
+        assertEquals("movement cannot be null", service.validateBatchItem(null));
+        assertNull(service.validateBatchItem(batchItem(1L, MovementTypeEnum.DEPOSIT, "1.00")));
+    }
+
+    @Test
+    @DisplayName("createBatch: registra los cierres diarios una vez por día y en orden ascendente de fecha")
+    void createBatch_recordsDailyBalancesPerDayAscending() {
+        postInline();
+        Account account = acc(1L, "0.00", Set.of());
+        account.setCurrentBalance(new BigDecimal("100.00"));
+        when(accountService.showById(1L)).thenReturn(account);
+        when(mapper.toModel(any(MovementRequest.class))).thenAnswer(inv -> {
+            Movement movement = new Movement();
+            movement.setDate(inv.getArgument(0, MovementRequest.class).getDate());
+            return movement;
+        });
+        when(movementRepository.saveAll(any())).thenAnswer(inv -> inv.getArgument(0));
+
+        MovementRequest later = batchItem(1L, MovementTypeEnum.DEPOSIT, "50.00");
+        later.setDate(LocalDateTime.of(2025, 8, 5, 9, 0));
+        MovementRequest earlier = batchItem(1L, MovementTypeEnum.WITHDRAWAL, "-30.00");
+        earlier.setDate(LocalDateTime.of(2025, 8, 3, 18, 0));
+        MovementRequest sameDay = batchItem(1L, MovementTypeEnum.DEPOSIT, "20.00");
+        sameDay.setDate(LocalDateTime.of(2025, 8, 5, 17, 0));
+
+        service.createBatch(List.of(later, earlier, sameDay).iterator());
+
+        InOrder order = inOrder(movementRepository, dailyBalanceService);
+        order.verify(movementRepository).saveAll(any());
+        order.verify(dailyBalanceService).record(1L, LocalDate.of(2025, 8, 3), new BigDecimal("-30.00"));
+        order.verify(dailyBalanceService).record(1L, LocalDate.of(2025, 8, 5), new BigDecimal("70.00"));
+    }
+
+    @Test
+    @DisplayName("partialUpdate/delete: mueven o retiran el movimiento de su cierre diario")
+    void partialUpdateAndDelete_recordDailyBalances() {
+        postInline();
+        Movement movement = buildMovement(5L, 1L, MovementTypeEnum.DEPOSIT, "100.00", "1100.00");
+        movement.getAccount().setActive(true);
+        movement.setDate(LocalDateTime.of(2025, 8, 3, 10, 0));
+        when(movementRepository.findById(5L)).thenReturn(Optional.of(movement));
+        when(mapper.toResponse(movement)).thenReturn(buildMovementResponse(movement));
+
+        MovementPartialUpdateRequest patch = new MovementPartialUpdateRequest();
+        patch.setDate(LocalDateTime.of(2025, 8, 1, 10, 0));
+        service.partialUpdate(5L, patch);
+
+        InOrder order = inOrder(dailyBalanceService);
+        order.verify(dailyBalanceService).record(1L, LocalDate.of(2025, 8, 1), new BigDecimal("100.00"));
+        order.verify(dailyBalanceService).record(1L, LocalDate.of(2025, 8, 3), new BigDecimal("-100.00"));
+
+        service.delete(5L);
+
+        verify(dailyBalanceService).record(1L, LocalDate.of(2025, 8, 1), new BigDecimal("-100.00"));
+    }
+}
@@ -2,33 +2,53 @@ package ec.com.sofka.account_service.service.impl;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import ec.com.sofka.account_service.client.ClientHttp;
+import ec.com.sofka.account_service.client.ClientLookupExecutor;
 import ec.com.sofka.account_service.client.dto.ClientDto;
+import ec.com.sofka.account_service.dto.report.StatementDetailLine;
 import ec.com.sofka.account_service.dto.report.StatementReportRow;
+import ec.com.sofka.account_service.exception.ClientNotFoundException;
 import ec.com.sofka.account_service.model.Account;
 import ec.com.sofka.account_service.model.Movement;
 import ec.com.sofka.account_service.model.enums.AccountTypeEnum;
 import ec.com.sofka.account_service.model.enums.MovementTypeEnum;
 import ec.com.sofka.account_service.repository.AccountRepository;
 import ec.com.sofka.account_service.repository.MovementRepository;
+import ec.com.sofka.account_service.repository.projection.StatementLine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
 
 @ExtendWith(MockitoExtension.class)
 class ReportServiceImplTest {
 
+    private static final SpelAwareProxyProjectionFactory PROJECTIONS = new SpelAwareProxyProjectionFactory();
+
     @Mock
     AccountRepository accountRepository;
 
@@ -38,29 +58,32 @@ class ReportServiceImplTest {
     @Mock
     ClientHttp clientHttp;
 
+    @Mock
+    EntityManager entityManager;
+
+    @Spy
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    ClientLookupExecutor clientLookupExecutor = new ClientLookupExecutor(4);
+
     @InjectMocks
     ReportServiceImpl service;
 
 
-    private Account acc(Long id, Long clientId, String number, AccountTypeEnum type, String initial) {
-        Account a = new Account();
-        a.setId(id);
-        a.setClientId(clientId);
-        a.setAccountNumber(number);
-        a.setAccountType(type);
-        a.setInitialBalance(new BigDecimal(initial));
-        a.setActive(true);
-        return a;
-    }
-
-    private Movement mv(Long id, Account a, MovementTypeEnum type, String amount, LocalDateTime date) {
-        Movement movement = new Movement();
-        movement.setId(id);
-        movement.setAccount(a);
-        movement.setMovementType(type);
-        movement.setAmount(new BigDecimal(amount));
-        movement.setDate(date);
-        return movement;
+    private StatementLine line(Long id, String number, AccountTypeEnum type, String initial, String opening,
+                               String periodTotal, String lastMovement, LocalDateTime lastMovementDate) {
+        Map<String, Object> values = new HashMap<>();
+        values.put("accountId", id);
+        values.put("accountNumber", number);
+        values.put("accountType", type);
+        values.put("initialBalance", new BigDecimal(initial));
+        values.put("active", Boolean.TRUE);
+        values.put("openingBalance", new BigDecimal(opening));
+        values.put("periodTotal", new BigDecimal(periodTotal));
+        values.put("lastMovement", lastMovement != null ? new BigDecimal(lastMovement) : null);
+        values.put("lastMovementDate", lastMovementDate);
+        return PROJECTIONS.createProjection(StatementLine.class, values);
     }
 
     private static LocalDateTime at(int y, int M, int d, int h, int m) {
@@ -77,16 +100,8 @@ class ReportServiceImplTest {
         LocalDate to = LocalDate.of(2024, 8, 31);
         LocalDateTime endOfDay = to.atStartOfDay().plusDays(1).minusNanos(1);
 
-        Account a1 = acc(10L, clientId, "ACC-001", AccountTypeEnum.SAVINGS, "1000.00");
-
-        when(accountRepository.findByClientId(clientId)).thenReturn(List.of(a1));
-
-
-        when(movementRepository.findByAccountIdAndDateBefore(eq(10L), any(LocalDateTime.class)))
-                .thenReturn(List.of());
-        when(movementRepository.findByAccountIdAndDateBetweenOrderByDateAsc(eq(10L), any(LocalDateTime.class),
-                any(LocalDateTime.class)))
-                .thenReturn(List.of());
+        when(accountRepository.findStatementLines(clientId, from.atStartOfDay(), endOfDay))
+                .thenReturn(List.of(line(10L, "ACC-001", AccountTypeEnum.SAVINGS, "1000.00", "0", "0", null, null)));
 
         ClientDto dto = new ClientDto();
         dto.setName("Cliente Demo");
@@ -114,25 +129,12 @@ class ReportServiceImplTest {
         Long clientId = 2L;
         LocalDate from = LocalDate.of(2024, 8, 1);
         LocalDate to = LocalDate.of(2024, 8, 31);
+        LocalDateTime lastDate = at(2024, 8, 25, 18, 30);
 
-        Account a1 = acc(11L, clientId, "ACC-XYZ", AccountTypeEnum.CURRENT, "1000.00");
-
-        when(accountRepository.findByClientId(clientId)).thenReturn(List.of(a1));
-
-
-        List<Movement> prior = List.of(
-                mv(1L, a1, MovementTypeEnum.DEPOSIT, "200.00", at(2024, 7, 15, 9, 0)),
-                mv(2L, a1, MovementTypeEnum.WITHDRAWAL, "50.00", at(2024, 7, 20, 10, 0))
-        );
-        when(movementRepository.findByAccountIdAndDateBefore(eq(11L), any(LocalDateTime.class)))
-                .thenReturn(prior);
-
-
-        Movement in1 = mv(3L, a1, MovementTypeEnum.DEPOSIT, "100.00", at(2024, 8, 10, 12, 0));
-        Movement in2 = mv(4L, a1, MovementTypeEnum.WITHDRAWAL, "20.00", at(2024, 8, 25, 18, 30));
-        when(movementRepository.findByAccountIdAndDateBetweenOrderByDateAsc(eq(11L), any(LocalDateTime.class),
-                any(LocalDateTime.class)))
-                .thenReturn(List.of(in1, in2));
+        when(accountRepository.findStatementLines(eq(clientId), eq(from.atStartOfDay()), eq(
+                to.atStartOfDay().plusDays(1).minusNanos(1))))
+                .thenReturn(List.of(line(11L, "ACC-XYZ", AccountTypeEnum.CURRENT, "1000.00",
+                        "150.00", "80.00", "-20.00", lastDate)));
 
         ClientDto dto = new ClientDto();
         dto.setName("Marianela Montalvo");
@@ -146,34 +148,24 @@ class ReportServiceImplTest {
         assertEquals(new BigDecimal("1000.00"), row.getInitialBalance());
         assertEquals(new BigDecimal("-20.00"), row.getMovement());
         assertEquals(new BigDecimal("230.00"), row.getAvailableBalance());
-        assertEquals(in2.getDate(), row.getDate());
+        assertEquals(lastDate, row.getDate());
         assertEquals("Marianela Montalvo", row.getClientName());
-        assertEquals(a1.getAccountType().getDisplayName(), row.getAccountType());
+        assertEquals(AccountTypeEnum.CURRENT.getDisplayName(), row.getAccountType());
+        assertTrue(row.isActive());
     }
 
     @Test
-    @DisplayName("generateStatement: múltiples cuentas → lista final se revierte (última cuenta primero)")
-    void statement_multipleAccounts_reversedOrder() {
+    @DisplayName("generateStatement: múltiples cuentas → conserva el orden de la consulta (última cuenta primero)")
+    void statement_multipleAccounts_keepsQueryOrder() {
         Long clientId = 3L;
         LocalDate from = LocalDate.of(2024, 8, 1);
         LocalDate to = LocalDate.of(2024, 8, 31);
 
-        Account a1 = acc(21L, clientId, "ACC-A", AccountTypeEnum.SAVINGS, "500.00");
-        Account a2 = acc(22L, clientId, "ACC-B", AccountTypeEnum.CURRENT, "800.00");
-
-        when(accountRepository.findByClientId(clientId)).thenReturn(List.of(a1, a2));
-
-
-        when(movementRepository.findByAccountIdAndDateBefore(eq(21L), any(LocalDateTime.class)))
-                .thenReturn(List.of());
-        when(movementRepository.findByAccountIdAndDateBefore(eq(22L), any(LocalDateTime.class)))
-                .thenReturn(List.of());
-        when(movementRepository.findByAccountIdAndDateBetweenOrderByDateAsc(eq(21L), any(LocalDateTime.class),
-                any(LocalDateTime.class)))
-                .thenReturn(List.of());
-        when(movementRepository.findByAccountIdAndDateBetweenOrderByDateAsc(eq(22L), any(LocalDateTime.class),
-                any(LocalDateTime.class)))
-                .thenReturn(List.of());
+        when(accountRepository.findStatementLines(eq(clientId), eq(from.atStartOfDay()), eq(
+                to.atStartOfDay().plusDays(1).minusNanos(1))))
+                .thenReturn(List.of(
+                        line(22L, "ACC-B", AccountTypeEnum.CURRENT, "800.00", "0", "0", null, null),
+                        line(21L, "ACC-A", AccountTypeEnum.SAVINGS, "500.00", "0", "0", null, null)));
 
         ClientDto dto = new ClientDto();
         dto.setName("Cliente X");
@@ -184,6 +176,8 @@ class ReportServiceImplTest {
 
         assertEquals("ACC-B", out.get(0).getAccountNumber());
         assertEquals("ACC-A", out.get(1).getAccountNumber());
+        verify(accountRepository).findStatementLines(eq(clientId), eq(from.atStartOfDay()), eq(
+                to.atStartOfDay().plusDays(1).minusNanos(1)));
     }
 
     @Test
@@ -193,19 +187,101 @@ class ReportServiceImplTest {
         LocalDate from = LocalDate.of(2024, 8, 1);
         LocalDate to = LocalDate.of(2024, 8, 31);
 
-        Account a1 = acc(31L, clientId, "ACC-NULL", AccountTypeEnum.SAVINGS, "100.00");
-        when(accountRepository.findByClientId(clientId)).thenReturn(List.of(a1));
+        when(accountRepository.findStatementLines(eq(clientId), eq(from.atStartOfDay()), eq(
+                to.atStartOfDay().plusDays(1).minusNanos(1))))
+                .thenReturn(List.of(line(31L, "ACC-NULL", AccountTypeEnum.SAVINGS, "100.00", "0", "0", null, null)));
 
         when(clientHttp.show(clientId)).thenReturn(null);
 
-        when(movementRepository.findByAccountIdAndDateBefore(eq(31L), any(LocalDateTime.class)))
-                .thenReturn(List.of());
-        when(movementRepository.findByAccountIdAndDateBetweenOrderByDateAsc(eq(31L), any(LocalDateTime.class),
-                any(LocalDateTime.class)))
-                .thenReturn(List.of());
-
         List<StatementReportRow> out = service.generateStatement(clientId, from, to);
         assertEquals(1, out.size());
         assertEquals("", out.get(0).getClientName());
     }
-}
\ No newline at end of file
+
+    private Movement mv(Long id, Account a, MovementTypeEnum type, String amount, LocalDateTime date) {
+        Movement movement = new Movement();
+        movement.setId(id);
+        movement.setAccount(a);
+        movement.setMovementType(type);
+        movement.setAmount(new BigDecimal(amount));
+        movement.setDate(date);
+        return movement;
+    }
+
+    @Test
+    @DisplayName("exportStatement: emite cada movimiento con saldo corrido desde el saldo de apertura y lo desasocia")
+    void exportStatement_streamsRunningBalance() {
+        Long clientId = 5L;
+        LocalDate from = LocalDate.of(2024, 8, 1);
+        LocalDate to = LocalDate.of(2024, 8, 31);
+        LocalDateTime startOfDay = from.atStartOfDay();
+        LocalDateTime endOfDay = to.atStartOfDay().plusDays(1).minusNanos(1);
+
+        Account a1 = new Account();
+        a1.setId(41L);
+        a1.setAccountNumber("ACC-STREAM");
+        a1.setAccountType(AccountTypeEnum.SAVINGS);
+
+        when(accountRepository.findStatementLines(clientId, startOfDay, endOfDay))
+                .thenReturn(List.of(line(41L, "ACC-STREAM", AccountTypeEnum.SAVINGS, "1000.00",
+                        "150.00", "80.00", "-20.00", at(2024, 8, 25, 18, 30))));
+        Movement in1 = mv(3L, a1, MovementTypeEnum.DEPOSIT, "100.00", at(2024, 8, 10, 12, 0));
+        Movement in2 = mv(4L, a1, MovementTypeEnum.WITHDRAWAL, "20.00", at(2024, 8, 25, 18, 30));
+        when(movementRepository.streamByClientIdAndDateBetween(clientId, startOfDay, endOfDay))
+                .thenReturn(Stream.of(in1, in2));
+        ClientDto dto = new ClientDto();
+        dto.setName("Cliente Stream");
+        when(clientHttp.show(clientId)).thenReturn(dto);
+
+        List<StatementDetailLine> out = new ArrayList<>();
+        service.exportStatement(clientId, from, to, out::add);
+
+        assertEquals(2, out.size());
+        assertEquals(new BigDecimal("100.00"), out.get(0).getMovement());
+        assertEquals(new BigDecimal("250.00"), out.get(0).getAvailableBalance());
+        assertEquals(new BigDecimal("-20.00"), out.get(1).getMovement());
+        assertEquals(new BigDecimal("230.00"), out.get(1).getAvailableBalance());
+        assertEquals("RETIRO", out.get(1).getMovementType());
+        assertEquals("AHORROS", out.get(1).getAccountType());
+        assertEquals("Cliente Stream", out.get(1).getClientName());
+        assertEquals(4L, out.get(1).getMovementId());
+        verify(entityManager, times(2)).detach(any(Movement.class));
+    }
+
+    @Test
+    @DisplayName("generateStatement: la consulta del cliente corre en paralelo con la de las cuentas")
+    void statement_overlapsClientLookupWithQuery() {
+        Long clientId = 1L;
+        LocalDate day = LocalDate.of(2025, 8, 1);
+        CountDownLatch lookupStarted = new CountDownLatch(1);
+        ClientDto dto = new ClientDto();
+        dto.setName("Jose Lema");
+        when(clientHttp.show(clientId)).thenAnswer(inv -> {
+            lookupStarted.countDown();
+            return dto;
+        });
+        when(accountRepository.findStatementLines(eq(clientId), any(), any())).thenAnswer(inv -> {
+            // si la consulta del cliente esperara a la de cuentas, este latch nunca se liberaría
+            assertTrue(lookupStarted.await(5, TimeUnit.SECONDS));
+            return List.of(line(10L, "ACC-001", AccountTypeEnum.SAVINGS, "0.00", "100", "0", null, null));
+        });
+
+        List<StatementReportRow> out = service.generateStatement(clientId, day, day);
+
+        assertEquals("Jose Lema", out.getFirst().getClientName());
+        assertEquals(1L, meterRegistry.get(ReportServiceImpl.GENERATE_METRIC).timer().count());
+    }
+
+    @Test
+    @DisplayName("generateStatement: el error del servicio de clientes se propaga sin envolver")
+    void statement_clientLookupFailure_propagates() {
+        Long clientId = 1L;
+        LocalDate day = LocalDate.of(2025, 8, 1);
+        when(clientHttp.show(clientId)).thenThrow(new ClientNotFoundException("Client with ID 1 does not exist"));
+        when(accountRepository.findStatementLines(eq(clientId), any(), any())).thenReturn(List.of());
+
+        ClientNotFoundException error = assertThrows(ClientNotFoundException.class,
+                () -> service.generateStatement(clientId, day, day));
+        assertEquals("Client with ID 1 does not exist", error.getMessage());
+    }
+}
@@ -0,0 +1,54 @@
+package ec.com.softka.client_service.validation;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Validación de un DNI por fila de importación: el recorrido actual contra la versión anterior con regex,
+ * {@code substring} y {@code parseInt}. Con el perfilador gc, {@code gc.alloc.rate.norm} muestra los bytes por DNI.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class DniValidatorBenchmark {
+
+    /**
+     * Válido, dígito verificador incorrecto, provincia fuera de rango y con letras.
+     */
+    @Param({"1710034065", "0102030405", "2510034065", "17100340A5"})
+    public String dni;
+
+    @Benchmark
+    public boolean singlePass() {
+        return DniValidator.isValidDni(dni);
+    }
+
+    @Benchmark
+    public boolean regexBaseline() {
+        if (!dni.matches("\\d{10}")) {
+            return false;
+        }
+        int provinceCode = Integer.parseInt(dni.substring(0, 2));
+        if (provinceCode < 1 || provinceCode > 24) {
+            return false;
+        }
+        int suma = 0;
+        for (int i = 0; i < 9; i++) {
+            int num = dni.charAt(i) - '0';
+            if (i % 2 == 0) {
+                num *= 2;
+                if (num > 9) {
+                    num -= 9;
+                }
+            }
+            suma += num;
+        }
+        return (10 - (suma % 10)) % 10 == dni.charAt(9) - '0';
+    }
+}
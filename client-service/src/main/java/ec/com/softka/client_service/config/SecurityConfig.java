@@ -1,5 +1,7 @@
 package ec.com.softka.client_service.config;
 
+import java.util.Map;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
@@ -7,7 +9,9 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.annotation.web.configurers.HeadersConfigurer;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 
@@ -16,9 +20,24 @@ import org.springframework.security.web.SecurityFilterChain;
 @Profile("!test")
 public class SecurityConfig {
 
+    /**
+     * Codifica con {@code app.passwords.algorithm} (bcrypt | argon2) y antepone el identificador ({@code {bcrypt}},
+     * {@code {argon2}}), de modo que los hashes guardados con otro algoritmo o sin prefijo se siguen reconociendo
+     * después de cambiar la configuración.
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${app.passwords.algorithm:bcrypt}") String algorithm,
+                                           @Value("${app.passwords.bcrypt.strength:10}") int bcryptStrength) {
+        Map<String, PasswordEncoder> encoders = Map.of(
+                "bcrypt", new BCryptPasswordEncoder(bcryptStrength),
+                "argon2", Argon2PasswordEncoder.defaultsForSpringSecurity_v5_8());
+        if (!encoders.containsKey(algorithm)) {
+            throw new IllegalArgumentException("Unsupported password algorithm: " + algorithm);
+        }
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder(algorithm, encoders);
+        // hashes guardados antes de usar prefijos
+        encoder.setDefaultPasswordEncoderForMatches(new BCryptPasswordEncoder());
+        return encoder;
     }
 
     @Bean
@@ -1,7 +1,16 @@
 package ec.com.softka.client_service.controller;
 
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.RuntimeJsonMappingException;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
 import ec.com.softka.client_service.dto.request.ClientPartialUpdate;
 import ec.com.softka.client_service.dto.request.ClientRequest;
+import ec.com.softka.client_service.dto.response.ClientImportResponse;
 import ec.com.softka.client_service.dto.response.ClientResponse;
 import ec.com.softka.client_service.dto.retention.OnCreate;
 import ec.com.softka.client_service.dto.retention.OnUpdate;
@@ -15,10 +24,16 @@ import io.swagger.v3.oas.annotations.parameters.RequestBody;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Size;
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
+import java.util.Iterator;
+import java.util.List;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -28,7 +43,9 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/api/clients")
@@ -37,7 +54,17 @@ import org.springframework.web.bind.annotation.RestController;
 @Tag(name = "Clients", description = "Operaciones CRUD para clientes")
 public class ClientController {
 
+    static final int MAX_BATCH_IDS = 500;
+    static final String TEXT_CSV_VALUE = "text/csv";
+    private static final ObjectReader CSV_READER = CsvMapper.builder()
+            .enable(CsvParser.Feature.EMPTY_STRING_AS_NULL)
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .build()
+            .readerFor(ClientRequest.class)
+            .with(CsvSchema.emptySchema().withHeader());
+
     private final ClientService clientService;
+    private final ObjectMapper objectMapper;
 
     @Operation(
             summary = "Listar clientes",
@@ -53,19 +80,38 @@ public class ClientController {
         return ResponseEntity.ok(clientService.index(pageable));
     }
 
+    @Operation(
+            summary = "Obtener clientes por lista de IDs",
+            description = "Consulta en lote (máximo 500 IDs); los IDs inexistentes se omiten de la respuesta",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Clientes encontrados",
+                            content = @Content(array = @ArraySchema(schema = @Schema(implementation =
+                                    ClientResponse.class)))),
+                    @ApiResponse(responseCode = "400", description = "Lista de IDs inválida", content = @Content)
+            }
+    )
+    @GetMapping(params = "ids")
+    public ResponseEntity<List<ClientResponse>> showAll(
+            @Parameter(description = "IDs de clientes separados por coma", example = "1,2,3")
+            @RequestParam("ids") @Size(min = 1, max = MAX_BATCH_IDS) List<Long> ids) {
+        return ResponseEntity.ok(clientService.showAll(ids));
+    }
+
     @Operation(
             summary = "Obtener cliente por ID",
             responses = {
                     @ApiResponse(responseCode = "200", description = "Cliente encontrado",
                             content = @Content(schema = @Schema(implementation = ClientResponse.class))),
+                    @ApiResponse(responseCode = "304", description = "Sin cambios respecto al ETag enviado",
+                            content = @Content),
                     @ApiResponse(responseCode = "404", description = "No encontrado", content = @Content)
             }
     )
     @GetMapping("/{id}")
     public ResponseEntity<ClientResponse> show(
-            @Parameter(description = "ID del cliente", example = "1") @PathVariable Integer id) {
-        ClientResponse res = clientService.show(id);
-        return ResponseEntity.ok(res);
+            @Parameter(description = "ID del cliente", example = "1") @PathVariable Integer id,
+            WebRequest request) {
+        return clientService.showVersioned(id).toResponseEntity(request);
     }
 
     @Operation(
@@ -87,6 +133,58 @@ public class ClientController {
         return ResponseEntity.created(location).body(created);
     }
 
+    @Operation(
+            summary = "Importación masiva de clientes",
+            description = "Acepta CSV con cabecera (name,dni,gender,age,address,phone,password,active), un arreglo " +
+                    "JSON o NDJSON (un cliente por línea). Se procesa por bloques: DNI validados y verificados " +
+                    "contra la base con una consulta por bloque, hashes en paralelo e inserts por lotes. Devuelve " +
+                    "el resultado de cada fila.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Procesado",
+                            content = @Content(schema = @Schema(implementation = ClientImportResponse.class))),
+                    @ApiResponse(responseCode = "400", description = "Fila malformada", content = @Content)
+            }
+    )
+    @PostMapping(value = "/import", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<ClientImportResponse> importClients(InputStream body) throws IOException {
+        return this.importFrom(objectMapper.readerFor(ClientRequest.class), body);
+    }
+
+    @Operation(hidden = true)
+    @PostMapping(value = "/import", consumes = TEXT_CSV_VALUE)
+    public ResponseEntity<ClientImportResponse> importClientsCsv(InputStream body) throws IOException {
+        return this.importFrom(CSV_READER, body);
+    }
+
+    private ResponseEntity<ClientImportResponse> importFrom(ObjectReader reader, InputStream body)
+            throws IOException {
+        try (MappingIterator<ClientRequest> requests = reader.readValues(body)) {
+            return ResponseEntity.ok(clientService.importClients(importItems(requests)));
+        }
+    }
+
+    private static Iterator<ClientRequest> importItems(MappingIterator<ClientRequest> requests) {
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                try {
+                    return requests.hasNextValue();
+                } catch (IOException e) {
+                    throw new RuntimeJsonMappingException(e.getMessage());
+                }
+            }
+
+            @Override
+            public ClientRequest next() {
+                try {
+                    return requests.nextValue();
+                } catch (IOException e) {
+                    throw new RuntimeJsonMappingException(e.getMessage());
+                }
+            }
+        };
+    }
+
     @Operation(
             summary = "Actualizar cliente (reemplazo total)",
             requestBody = @RequestBody(required = true, description = "Datos para actualizar",
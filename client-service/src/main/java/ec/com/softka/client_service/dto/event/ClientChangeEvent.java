@@ -0,0 +1,35 @@
+package ec.com.softka.client_service.dto.event;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import ec.com.softka.client_service.model.Client;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Cambio de un cliente que se replica a los servicios que mantienen un registro local de clientes. Es el contrato
+ * de {@code POST /api/client-registry/events} de account-service, por eso fija el formato snake_case.
+ */
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ClientChangeEvent {
+    private Long clientId;
+    private boolean active;
+    private boolean deleted;
+    private LocalDateTime occurredAt;
+
+    public static ClientChangeEvent of(Client client, boolean deleted) {
+        return ClientChangeEvent.builder()
+                .clientId(client.getId())
+                .active(!deleted && client.isActive())
+                .deleted(deleted)
+                .occurredAt(LocalDateTime.now())
+                .build();
+    }
+}
@@ -0,0 +1,25 @@
+package ec.com.softka.client_service.dto.response;
+
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+public class ClientImportResponse {
+    private int received;
+    private int created;
+    private int rejected;
+    private List<ClientImportItemResult> items = new ArrayList<>();
+
+    public void add(ClientImportItemResult item) {
+        items.add(item);
+        received++;
+        if (ClientImportItemResult.CREATED.equals(item.getStatus())) {
+            created++;
+        } else {
+            rejected++;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package ec.com.softka.client_service.dto.response;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.function.Supplier;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+/**
+ * Recurso consultado por ID junto con sus validadores HTTP: un {@code ETag} fuerte derivado de la fecha de
+ * última modificación. El cuerpo se mapea solo si hace falta, de modo que un {@code If-None-Match} (o
+ * {@code If-Modified-Since}) vigente responde 304 sin mapear ni serializar la entidad.
+ */
+public record VersionedResponse<T>(String etag, Instant lastModified, Supplier<T> body) {
+
+    public static <T> VersionedResponse<T> of(String etag, LocalDateTime lastModified, Supplier<T> body) {
+        Instant instant = lastModified == null ? null : lastModified.atZone(ZoneId.systemDefault()).toInstant();
+        return new VersionedResponse<>(etag, instant, body);
+    }
+
+    public ResponseEntity<T> toResponseEntity(WebRequest request) {
+        long lastModifiedMillis = lastModified == null ? -1 : lastModified.toEpochMilli();
+        if (request.checkNotModified(etag, lastModifiedMillis)) {
+            return this.withValidators(ResponseEntity.status(HttpStatus.NOT_MODIFIED)).build();
+        }
+        return this.withValidators(ResponseEntity.ok()).body(body.get());
+    }
+
+    private ResponseEntity.BodyBuilder withValidators(ResponseEntity.BodyBuilder builder) {
+        builder.eTag(etag);
+        if (lastModified != null) {
+            builder.lastModified(lastModified);
+        }
+        return builder;
+    }
+}
@@ -0,0 +1,99 @@
+package ec.com.softka.client_service.event;
+
+import ec.com.softka.client_service.model.ClientChangeOutbox;
+import ec.com.softka.client_service.repository.ClientChangeOutboxRepository;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Entrega en segundo plano los cambios del outbox al transporte configurado y elimina cada entrada entregada. Una
+ * entrada que falla se reintenta con espera exponencial acotada por {@code max-backoff}, sin límite de intentos: el
+ * registro de account-service es una réplica y tiene que alcanzar el estado vigente cuando el servicio vuelva. Como
+ * el registro descarta los eventos atrasados, una entrada que espera su reintento no bloquea las siguientes del
+ * mismo cliente, y una entrega repetida (p. ej. desde dos instancias) no tiene efecto.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "app.client-changes.outbox", name = "enabled", havingValue = "true",
+        matchIfMissing = true)
+public class ClientChangeOutboxDispatcher {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final ClientChangeOutboxRepository outboxRepository;
+    private final ClientChangePublisher publisher;
+    private final int batchSize;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+
+    public ClientChangeOutboxDispatcher(ClientChangeOutboxRepository outboxRepository,
+                                        ClientChangePublisher publisher,
+                                        @Value("${app.client-changes.outbox.batch-size:100}") int batchSize,
+                                        @Value("${app.client-changes.outbox.initial-backoff:1s}")
+                                        Duration initialBackoff,
+                                        @Value("${app.client-changes.outbox.max-backoff:5m}") Duration maxBackoff) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("client change outbox batch size must be greater than 0");
+        }
+        this.outboxRepository = outboxRepository;
+        this.publisher = publisher;
+        this.batchSize = batchSize;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+    }
+
+    @Scheduled(fixedDelayString = "${app.client-changes.outbox.dispatch-interval-ms:500}")
+    public int dispatch() {
+        List<ClientChangeOutbox> batch =
+                outboxRepository.findDeliverable(LocalDateTime.now(), PageRequest.of(0, batchSize));
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        log.debug("Starting client change dispatch - pending: {}", batch.size());
+        int delivered = 0;
+        for (ClientChangeOutbox entry : batch) {
+            if (this.deliver(entry)) {
+                delivered++;
+            }
+        }
+        log.debug("End client change dispatch - delivered: {}", delivered);
+        return delivered;
+    }
+
+    boolean deliver(ClientChangeOutbox entry) {
+        try {
+            publisher.publish(entry.toEvent());
+        } catch (RuntimeException e) {
+            this.registerFailure(entry, e);
+            return false;
+        }
+        outboxRepository.delete(entry);
+        return true;
+    }
+
+    private void registerFailure(ClientChangeOutbox entry, RuntimeException error) {
+        int attempts = entry.getAttempts() + 1;
+        entry.setAttempts(attempts);
+        entry.setLastError(truncate(String.valueOf(error.getMessage())));
+        entry.setNextAttemptAt(LocalDateTime.now().plus(this.backoff(attempts)));
+        log.warn("Client change {} for client {} failed (attempt {}), retrying at {}: {}", entry.getId(),
+                entry.getClientId(), attempts, entry.getNextAttemptAt(), error.getMessage());
+        outboxRepository.save(entry);
+    }
+
+    Duration backoff(int attempts) {
+        Duration delay = initialBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+    }
+
+    private static String truncate(String message) {
+        return message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message;
+    }
+}
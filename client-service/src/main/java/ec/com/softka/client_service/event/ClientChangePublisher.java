@@ -0,0 +1,13 @@
+package ec.com.softka.client_service.event;
+
+import ec.com.softka.client_service.dto.event.ClientChangeEvent;
+
+/**
+ * Transporte de los cambios de clientes hacia los registros replicados; se elige con
+ * {@code app.client-changes.transport}. {@link #publish} entrega el cambio de forma síncrona y lanza una excepción
+ * si no pudo entregarlo, para que {@link ClientChangeOutboxDispatcher} lo reintente.
+ */
+public interface ClientChangePublisher {
+
+    void publish(ClientChangeEvent event);
+}
@@ -0,0 +1,26 @@
+package ec.com.softka.client_service.event;
+
+import ec.com.softka.client_service.dto.event.ClientChangeEvent;
+import ec.com.softka.client_service.model.ClientChangeOutbox;
+import ec.com.softka.client_service.repository.ClientChangeOutboxRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Guarda cada cambio en el outbox dentro de la transacción que lo origina: se replica solo si el cambio se
+ * confirma, y un cambio confirmado no se pierde aunque el transporte falle o la instancia se detenga antes de
+ * entregarlo.
+ */
+@Component
+@RequiredArgsConstructor
+public class ClientChangeRelay {
+
+    private final ClientChangeOutboxRepository outboxRepository;
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onClientChange(ClientChangeEvent event) {
+        outboxRepository.save(ClientChangeOutbox.of(event));
+    }
+}
@@ -0,0 +1,40 @@
+package ec.com.softka.client_service.event;
+
+import ec.com.softka.client_service.dto.event.ClientChangeEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+/**
+ * Envía cada cambio a {@code POST /api/client-registry/events} de account-service. Los reintentos los hace
+ * {@link ClientChangeOutboxDispatcher}; el registro remoto descarta los eventos atrasados, así que un reintento
+ * fuera de orden no pisa un cambio más nuevo.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.client-changes.transport", havingValue = "http")
+public class HttpClientChangePublisher implements ClientChangePublisher {
+
+    static final String EVENTS_PATH = "/api/client-registry/events";
+
+    private final RestClient restClient;
+
+    public HttpClientChangePublisher(RestClient.Builder builder,
+                                     @Value("${app.client-changes.http.url}") String url) {
+        this.restClient = builder.baseUrl(url).build();
+    }
+
+    @Override
+    public void publish(ClientChangeEvent event) {
+        restClient.post()
+                .uri(EVENTS_PATH)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(event)
+                .retrieve()
+                .toBodilessEntity();
+        log.debug("Client change for client {} delivered", event.getClientId());
+    }
+}
@@ -0,0 +1,30 @@
+package ec.com.softka.client_service.event;
+
+import ec.com.softka.client_service.dto.event.ClientChangeEvent;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Transporte embebido: conserva los eventos en memoria. Se usa en pruebas y cuando no hay registros remotos.
+ */
+@Component
+@ConditionalOnProperty(name = "app.client-changes.transport", havingValue = "memory", matchIfMissing = true)
+public class InMemoryClientChangePublisher implements ClientChangePublisher {
+
+    private final List<ClientChangeEvent> events = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(ClientChangeEvent event) {
+        events.add(event);
+    }
+
+    public List<ClientChangeEvent> events() {
+        return List.copyOf(events);
+    }
+
+    public void clear() {
+        events.clear();
+    }
+}
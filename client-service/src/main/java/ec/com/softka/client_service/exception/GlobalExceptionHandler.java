@@ -1,7 +1,11 @@
 package ec.com.softka.client_service.exception;
 
 
+import com.fasterxml.jackson.databind.RuntimeJsonMappingException;
 import ec.com.softka.client_service.exception.dto.ErrorMessage;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
@@ -10,6 +14,7 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.core.convert.ConversionFailedException;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
@@ -31,14 +36,31 @@ import org.springframework.web.method.annotation.MethodArgumentTypeMismatchExcep
 import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.servlet.NoHandlerFoundException;
 
+/**
+ * Traduce las excepciones a {@link ErrorMessage}. Cada respuesta de error incrementa
+ * {@code http.server.requests.rejected}, etiquetado con la clase de la excepción y el estado HTTP devuelto.
+ */
 @Slf4j
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
+    static final String REJECTED_METRIC = "http.server.requests.rejected";
+
+    private final MeterRegistry meterRegistry;
+
+    public GlobalExceptionHandler(ObjectProvider<MeterRegistry> meterRegistry) {
+        this.meterRegistry = meterRegistry.getIfAvailable(SimpleMeterRegistry::new);
+    }
+
     /* ========= Helpers ========= */
 
-    private ResponseEntity<ErrorMessage> build(HttpStatus status, String msg, String path,
+    private ResponseEntity<ErrorMessage> build(Exception ex, HttpStatus status, String msg, String path,
                                                Map<String, String> details) {
+        Counter.builder(REJECTED_METRIC)
+                .tag("exception", ex.getClass().getSimpleName())
+                .tag("status", String.valueOf(status.value()))
+                .register(meterRegistry)
+                .increment();
         ErrorMessage body = ErrorMessage.builder()
                 .message(msg)
                 .timestamp(LocalDateTime.now())
@@ -62,12 +84,13 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ErrorMessage> handleMethodArgumentNotValid(MethodArgumentNotValidException ex,
                                                                      HttpServletRequest req) {
-        return build(HttpStatus.BAD_REQUEST, "Datos inválidos", req.getRequestURI(), fieldErrorsOf(ex));
+        return build(ex, HttpStatus.BAD_REQUEST, "Datos inválidos", req.getRequestURI(), fieldErrorsOf(ex));
     }
 
     @ExceptionHandler(BindException.class)
     public ResponseEntity<ErrorMessage> handleBind(BindException ex, HttpServletRequest req) {
-        return build(HttpStatus.BAD_REQUEST, "Error de enlace de parámetros", req.getRequestURI(), fieldErrorsOf(ex));
+        return build(ex, HttpStatus.BAD_REQUEST, "Error de enlace de parámetros", req.getRequestURI(),
+                fieldErrorsOf(ex));
     }
 
     @ExceptionHandler(ConstraintViolationException.class)
@@ -79,7 +102,7 @@ public class GlobalExceptionHandler {
             String field = c.getPropertyPath() != null ? c.getPropertyPath().toString() : "value";
             details.put(field, c.getMessage());
         }
-        return build(HttpStatus.BAD_REQUEST, "Datos inválidos", req.getRequestURI(), details);
+        return build(ex, HttpStatus.BAD_REQUEST, "Datos inválidos", req.getRequestURI(), details);
     }
 
     /* ========= JSON / Conversión / Tipos ========= */
@@ -87,13 +110,21 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(HttpMessageNotReadableException.class)
     public ResponseEntity<ErrorMessage> handleNotReadable(HttpMessageNotReadableException ex, HttpServletRequest req) {
         log.debug("JSON parse error", ex);
-        return build(HttpStatus.BAD_REQUEST, "Cuerpo de la petición inválido o malformado", req.getRequestURI(), null);
+        return build(ex, HttpStatus.BAD_REQUEST, "Cuerpo de la petición inválido o malformado", req.getRequestURI(),
+                null);
+    }
+
+    @ExceptionHandler(RuntimeJsonMappingException.class)
+    public ResponseEntity<ErrorMessage> handleMalformedImportRow(RuntimeJsonMappingException ex,
+                                                                 HttpServletRequest req) {
+        log.warn("Malformed import row: {}", ex.getMessage());
+        return build(ex, HttpStatus.BAD_REQUEST, "Fila de importación malformada", req.getRequestURI(), null);
     }
 
     @ExceptionHandler({MethodArgumentTypeMismatchException.class, ConversionFailedException.class,
             HttpMessageConversionException.class})
     public ResponseEntity<ErrorMessage> handleTypeMismatch(Exception ex, HttpServletRequest req) {
-        return build(HttpStatus.BAD_REQUEST, "Tipo de dato inválido en parámetros", req.getRequestURI(), null);
+        return build(ex, HttpStatus.BAD_REQUEST, "Tipo de dato inválido en parámetros", req.getRequestURI(), null);
     }
 
     /* ========= Parámetros / Rutas / Métodos ========= */
@@ -102,37 +133,37 @@ public class GlobalExceptionHandler {
     public ResponseEntity<ErrorMessage> handleMissingParam(MissingServletRequestParameterException ex,
                                                            HttpServletRequest req) {
         Map<String, String> d = Map.of(ex.getParameterName(), "Parámetro requerido");
-        return build(HttpStatus.BAD_REQUEST, "Faltan parámetros requeridos", req.getRequestURI(), d);
+        return build(ex, HttpStatus.BAD_REQUEST, "Faltan parámetros requeridos", req.getRequestURI(), d);
     }
 
     @ExceptionHandler(MissingPathVariableException.class)
     public ResponseEntity<ErrorMessage> handleMissingPath(MissingPathVariableException ex, HttpServletRequest req) {
         Map<String, String> d = Map.of(ex.getVariableName(), "Path variable requerida");
-        return build(HttpStatus.BAD_REQUEST, "Variable de ruta faltante", req.getRequestURI(), d);
+        return build(ex, HttpStatus.BAD_REQUEST, "Variable de ruta faltante", req.getRequestURI(), d);
     }
 
     @ExceptionHandler(HttpRequestMethodNotSupportedException.class)
     public ResponseEntity<ErrorMessage> handleMethodNotSupported(HttpRequestMethodNotSupportedException ex,
                                                                  HttpServletRequest req) {
         String method = ex.getMethod();
-        return build(HttpStatus.METHOD_NOT_ALLOWED, "Método no soportado: " + method, req.getRequestURI(), null);
+        return build(ex, HttpStatus.METHOD_NOT_ALLOWED, "Método no soportado: " + method, req.getRequestURI(), null);
     }
 
     @ExceptionHandler(HttpMediaTypeNotSupportedException.class)
     public ResponseEntity<ErrorMessage> handleMediaTypeNotSupported(HttpMediaTypeNotSupportedException ex,
                                                                     HttpServletRequest req) {
-        return build(HttpStatus.UNSUPPORTED_MEDIA_TYPE, "Content-Type no soportado", req.getRequestURI(), null);
+        return build(ex, HttpStatus.UNSUPPORTED_MEDIA_TYPE, "Content-Type no soportado", req.getRequestURI(), null);
     }
 
     @ExceptionHandler(HttpMediaTypeNotAcceptableException.class)
     public ResponseEntity<ErrorMessage> handleNotAcceptable(HttpMediaTypeNotAcceptableException ex,
                                                             HttpServletRequest req) {
-        return build(HttpStatus.NOT_ACCEPTABLE, "Formato de respuesta no aceptable", req.getRequestURI(), null);
+        return build(ex, HttpStatus.NOT_ACCEPTABLE, "Formato de respuesta no aceptable", req.getRequestURI(), null);
     }
 
     @ExceptionHandler(NoHandlerFoundException.class)
     public ResponseEntity<ErrorMessage> handleNoHandler(NoHandlerFoundException ex, HttpServletRequest req) {
-        return build(HttpStatus.NOT_FOUND, "Ruta no encontrada", req.getRequestURI(), null);
+        return build(ex, HttpStatus.NOT_FOUND, "Ruta no encontrada", req.getRequestURI(), null);
     }
 
     /* ========= Dominio / Persistencia ========= */
@@ -140,27 +171,34 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(ClientNotFoundException.class)
     public ResponseEntity<ErrorMessage> handleClientNotFoundException(ClientNotFoundException ex,
                                                                       HttpServletRequest req) {
-        return build(HttpStatus.NOT_FOUND, ex.getMessage(), req.getRequestURI(), null);
+        return build(ex, HttpStatus.NOT_FOUND, ex.getMessage(), req.getRequestURI(), null);
     }
 
     @ExceptionHandler(DataIntegrityViolationException.class)
     public ResponseEntity<ErrorMessage> handleDataIntegrity(DataIntegrityViolationException ex,
                                                             HttpServletRequest req) {
         log.warn("Data integrity violation", ex);
-        return build(HttpStatus.CONFLICT, "Violación de integridad de datos (unicidad, FK, etc.)", req.getRequestURI(),
-                null);
+        return build(ex, HttpStatus.CONFLICT, "Violación de integridad de datos (unicidad, FK, etc.)",
+                req.getRequestURI(), null);
+    }
+
+    @ExceptionHandler(PasswordHashingRejectedException.class)
+    public ResponseEntity<ErrorMessage> handlePasswordHashingRejected(PasswordHashingRejectedException ex,
+                                                                      HttpServletRequest req) {
+        log.warn("Password hashing rejected: {}", ex.getMessage());
+        return build(ex, HttpStatus.TOO_MANY_REQUESTS, ex.getMessage(), req.getRequestURI(), null);
     }
 
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<ErrorMessage> handleIllegalArgument(IllegalArgumentException ex, HttpServletRequest req) {
-        return build(HttpStatus.BAD_REQUEST, ex.getMessage(), req.getRequestURI(), null);
+        return build(ex, HttpStatus.BAD_REQUEST, ex.getMessage(), req.getRequestURI(), null);
     }
 
     /* ========= Seguridad ========= */
 
     @ExceptionHandler(AccessDeniedException.class)
     public ResponseEntity<ErrorMessage> handleAccessDenied(AccessDeniedException ex, HttpServletRequest req) {
-        return build(HttpStatus.FORBIDDEN, "No tienes permisos para esta operación", req.getRequestURI(), null);
+        return build(ex, HttpStatus.FORBIDDEN, "No tienes permisos para esta operación", req.getRequestURI(), null);
     }
 
     /* ========= ResponseStatusException (útil si la lanzas en servicios/controladores) ========= */
@@ -168,7 +206,7 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(ResponseStatusException.class)
     public ResponseEntity<ErrorMessage> handleResponseStatus(ResponseStatusException ex, HttpServletRequest req) {
         HttpStatus status = ex.getStatusCode() instanceof HttpStatus http ? http : HttpStatus.BAD_REQUEST;
-        return build(status, ex.getReason() != null ? ex.getReason() : "Error", req.getRequestURI(), null);
+        return build(ex, status, ex.getReason() != null ? ex.getReason() : "Error", req.getRequestURI(), null);
     }
 
     /* ========= Fallback general ========= */
@@ -176,6 +214,7 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorMessage> handleGeneric(Exception ex, HttpServletRequest req) {
         log.error("Unexpected error", ex);
-        return build(HttpStatus.INTERNAL_SERVER_ERROR, "Ha ocurrido un error inesperado", req.getRequestURI(), null);
+        return build(ex, HttpStatus.INTERNAL_SERVER_ERROR, "Ha ocurrido un error inesperado", req.getRequestURI(),
+                null);
     }
 }
\ No newline at end of file
@@ -0,0 +1,9 @@
+package ec.com.softka.client_service.exception;
+
+public class PasswordHashingRejectedException extends RuntimeException {
+
+    public PasswordHashingRejectedException(String message) {
+        super(message);
+    }
+
+}
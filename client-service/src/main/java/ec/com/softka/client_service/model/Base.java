@@ -30,6 +30,13 @@ public class Base {
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 
+    /**
+     * Última modificación conocida: {@code updatedAt}, o {@code createdAt} si nunca se modificó.
+     */
+    public LocalDateTime lastModifiedAt() {
+        return updatedAt != null ? updatedAt : createdAt;
+    }
+
     @PrePersist
     void prePersist() {
         createdAt = LocalDateTime.now();
@@ -2,7 +2,9 @@ package ec.com.softka.client_service.model;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -11,7 +13,8 @@ import org.hibernate.annotations.SQLDelete;
 import org.hibernate.annotations.SQLRestriction;
 
 @Entity
-@Table(name = "clients")
+@Table(name = "clients",
+        indexes = @Index(name = Client.ACTIVE_DNI_INDEX, columnList = "active_dni", unique = true))
 @Getter
 @Setter
 @AllArgsConstructor
@@ -19,7 +22,18 @@ import org.hibernate.annotations.SQLRestriction;
 @SQLDelete(sql = "UPDATE \"clients\" SET \"deleted\" = true, \"deleted_at\" = CURRENT_TIMESTAMP WHERE \"id\" = ?")
 @SQLRestriction("\"deleted\" = false")
 public class Client extends Person {
+    public static final String ACTIVE_DNI_INDEX = "uk_clients_active_dni";
+
     @Column(nullable = false)
     private String password;
     private boolean isActive;
+
+    /**
+     * DNI mientras el cliente no esté eliminado; la calcula la base de datos y sostiene el índice único
+     * {@value #ACTIVE_DNI_INDEX} (H2 no soporta índices parciales).
+     */
+    @Setter(AccessLevel.NONE)
+    @Column(name = "active_dni", insertable = false, updatable = false,
+            columnDefinition = "VARCHAR(255) GENERATED ALWAYS AS (CASE WHEN \"deleted\" THEN NULL ELSE \"dni\" END)")
+    private String activeDni;
 }
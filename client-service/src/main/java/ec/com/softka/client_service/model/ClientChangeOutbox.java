@@ -0,0 +1,64 @@
+package ec.com.softka.client_service.model;
+
+import ec.com.softka.client_service.dto.event.ClientChangeEvent;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Cambio de cliente pendiente de replicar, escrito en la misma transacción que lo origina y entregado después por
+ * {@code ClientChangeOutboxDispatcher}. La fila se elimina al entregarse.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "client_change_outbox")
+@Entity
+public class ClientChangeOutbox {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "client_id", nullable = false)
+    private Long clientId;
+    private boolean active;
+    private boolean deleted;
+
+    @Column(name = "occurred_at", nullable = false)
+    private LocalDateTime occurredAt;
+    private int attempts;
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+    private LocalDateTime createdAt;
+
+    public static ClientChangeOutbox of(ClientChangeEvent event) {
+        ClientChangeOutbox entry = new ClientChangeOutbox();
+        entry.setClientId(event.getClientId());
+        entry.setActive(event.isActive());
+        entry.setDeleted(event.isDeleted());
+        entry.setOccurredAt(event.getOccurredAt());
+        return entry;
+    }
+
+    public ClientChangeEvent toEvent() {
+        return new ClientChangeEvent(clientId, active, deleted, occurredAt);
+    }
+
+    @PrePersist
+    void prePersist() {
+        createdAt = LocalDateTime.now();
+    }
+}
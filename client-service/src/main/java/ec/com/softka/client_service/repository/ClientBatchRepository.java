@@ -0,0 +1,13 @@
+package ec.com.softka.client_service.repository;
+
+import ec.com.softka.client_service.model.Client;
+import java.util.List;
+
+public interface ClientBatchRepository {
+
+    /**
+     * Inserta los clientes con sentencias JDBC por lotes, sin pasar por el contexto de persistencia, y asigna a
+     * cada uno su ID y fecha de creación.
+     */
+    void insertAll(List<Client> clients);
+}
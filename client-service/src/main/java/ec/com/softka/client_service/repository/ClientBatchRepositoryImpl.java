@@ -0,0 +1,56 @@
+package ec.com.softka.client_service.repository;
+
+import ec.com.softka.client_service.model.Client;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Con IDs {@code IDENTITY} Hibernate no agrupa los inserts, así que la carga masiva usa JDBC directamente. Los IDs
+ * generados se leen después con una sola consulta sobre {@code active_dni}, que usa el índice único de los DNI
+ * vigentes: los DNI del lote ya se verificaron como nuevos.
+ */
+@RequiredArgsConstructor
+public class ClientBatchRepositoryImpl implements ClientBatchRepository {
+
+    private static final String INSERT_SQL = "INSERT INTO \"clients\" (\"name\", \"gender\", \"age\", \"dni\", "
+            + "\"address\", \"phone\", \"password\", \"is_active\", \"created_at\", \"deleted\") "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, false)";
+    private static final String IDS_BY_DNI_SQL =
+            "SELECT \"id\", \"active_dni\" FROM \"clients\" WHERE \"active_dni\" IN (:dnis)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Override
+    @Transactional
+    public void insertAll(List<Client> clients) {
+        if (clients.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        jdbcTemplate.getJdbcTemplate().batchUpdate(INSERT_SQL, clients, clients.size(), (ps, client) -> {
+            ps.setString(1, client.getName());
+            ps.setString(2, client.getGender());
+            ps.setInt(3, client.getAge());
+            ps.setString(4, client.getDni());
+            ps.setString(5, client.getAddress());
+            ps.setString(6, client.getPhone());
+            ps.setString(7, client.getPassword());
+            ps.setBoolean(8, client.isActive());
+            ps.setTimestamp(9, Timestamp.valueOf(now));
+        });
+        Map<String, Long> ids = new HashMap<>();
+        RowCallbackHandler collectIds = rs -> ids.put(rs.getString("active_dni"), rs.getLong("id"));
+        jdbcTemplate.query(IDS_BY_DNI_SQL, Map.of("dnis", clients.stream().map(Client::getDni).toList()), collectIds);
+        clients.forEach(client -> {
+            client.setId(ids.get(client.getDni()));
+            client.setCreatedAt(now);
+        });
+    }
+}
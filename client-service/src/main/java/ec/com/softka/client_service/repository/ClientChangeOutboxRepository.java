@@ -0,0 +1,24 @@
+package ec.com.softka.client_service.repository;
+
+import ec.com.softka.client_service.model.ClientChangeOutbox;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ClientChangeOutboxRepository extends JpaRepository<ClientChangeOutbox, Long> {
+
+    /**
+     * Cambios pendientes cuyo reintento ya venció, en orden de creación.
+     */
+    @Query("""
+            SELECT o FROM ClientChangeOutbox o
+            WHERE o.nextAttemptAt IS NULL OR o.nextAttemptAt <= :now
+            ORDER BY o.id ASC
+            """)
+    List<ClientChangeOutbox> findDeliverable(@Param("now") LocalDateTime now, Pageable pageable);
+}
@@ -1,10 +1,21 @@
 package ec.com.softka.client_service.repository;
 
 import ec.com.softka.client_service.model.Client;
+import java.util.Collection;
+import java.util.List;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface ClientRepository extends JpaRepository<Client, Integer> {
-    boolean existsByDni(String dni);
+public interface ClientRepository extends JpaRepository<Client, Integer>, ClientBatchRepository {
+    /**
+     * DNI de {@code dnis} que ya pertenecen a un cliente no eliminado; una sola consulta por lote de importación,
+     * resuelta con el índice único {@value Client#ACTIVE_DNI_INDEX}.
+     */
+    @Query("select c.activeDni from Client c where c.activeDni in :dnis")
+    List<String> findExistingDnis(@Param("dnis") Collection<String> dnis);
+
+    List<Client> findByIdIn(Collection<Long> ids);
 }
@@ -0,0 +1,166 @@
+package ec.com.softka.client_service.security;
+
+import ec.com.softka.client_service.exception.PasswordHashingRejectedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Calcula los hashes de contraseñas en un pool propio de {@code threads} hilos con una cola de
+ * {@code queue-capacity} trabajos, de modo que una carga masiva de clientes no ocupe todos los núcleos ni los hilos
+ * de Tomcat. Con la cola llena un hash individual se rechaza con {@link PasswordHashingRejectedException} (429)
+ * en lugar de encolar sin límite, y una carga masiva espera a que se libere capacidad.
+ * <p>
+ * Se publican {@code passwords.hash} (tiempo de cálculo), {@code passwords.hash.rejected} y
+ * {@code passwords.hash.queue} (trabajos en espera).
+ */
+@Slf4j
+@Component
+public class PasswordHasher {
+
+    static final String HASH_METRIC = "passwords.hash";
+    static final String REJECTED_METRIC = "passwords.hash.rejected";
+    static final String QUEUE_METRIC = "passwords.hash.queue";
+    static final Duration BACKPRESSURE_PAUSE = Duration.ofMillis(20);
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final int poolSize;
+    private final Timer hashTimer;
+    private final Counter rejected;
+
+    @Autowired
+    public PasswordHasher(PasswordEncoder passwordEncoder,
+                          @Value("${app.passwords.hashing.threads:0}") int threads,
+                          @Value("${app.passwords.hashing.queue-capacity:100}") int queueCapacity,
+                          ObjectProvider<MeterRegistry> meterRegistry) {
+        this(passwordEncoder, threads, queueCapacity, meterRegistry.getIfAvailable(SimpleMeterRegistry::new));
+    }
+
+    /**
+     * @param threads hilos de cálculo; con {@code 0} se usa la mitad de los procesadores disponibles
+     */
+    public PasswordHasher(PasswordEncoder passwordEncoder, int threads, int queueCapacity,
+                          MeterRegistry meterRegistry) {
+        if (threads < 0 || queueCapacity < 1) {
+            throw new IllegalArgumentException("hashing threads must not be negative and queue capacity must be > 0");
+        }
+        this.poolSize = threads == 0 ? Math.max(1, Runtime.getRuntime().availableProcessors() / 2) : threads;
+        this.passwordEncoder = passwordEncoder;
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), Thread.ofPlatform().name("password-hasher-", 0).factory(),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.hashTimer = Timer.builder(HASH_METRIC).register(meterRegistry);
+        this.rejected = Counter.builder(REJECTED_METRIC).register(meterRegistry);
+        Gauge.builder(QUEUE_METRIC, executor, e -> e.getQueue().size()).register(meterRegistry);
+        log.info("Password hasher started with {} threads (queue capacity {})", poolSize, queueCapacity);
+    }
+
+    /**
+     * Devuelve el hash de {@code rawPassword} con el algoritmo configurado, esperando a que lo calcule el pool.
+     */
+    public String encode(CharSequence rawPassword) {
+        return this.await(this.submit(() -> this.hash(rawPassword)));
+    }
+
+    /**
+     * Calcula los hashes de una carga masiva en paralelo: reparte la lista en a lo sumo un trabajo por hilo del
+     * pool, de modo que un lote grande no ocupe la cola que comparten las altas individuales. Con la cola llena
+     * espera a que se libere capacidad en lugar de rechazar el lote. Conserva el orden.
+     */
+    public List<String> encodeAll(List<? extends CharSequence> rawPasswords) {
+        if (rawPasswords.isEmpty()) {
+            return List.of();
+        }
+        int sliceSize = Math.ceilDiv(rawPasswords.size(), Math.min(poolSize, rawPasswords.size()));
+        List<Future<List<String>>> futures = new ArrayList<>();
+        try {
+            for (int from = 0; from < rawPasswords.size(); from += sliceSize) {
+                List<? extends CharSequence> slice =
+                        rawPasswords.subList(from, Math.min(rawPasswords.size(), from + sliceSize));
+                futures.add(this.submitWhenAvailable(() -> slice.stream().map(this::hash).toList()));
+            }
+        } catch (RuntimeException e) {
+            futures.forEach(future -> future.cancel(true));
+            throw e;
+        }
+        List<String> hashes = new ArrayList<>(rawPasswords.size());
+        futures.forEach(future -> hashes.addAll(this.await(future)));
+        return hashes;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private String hash(CharSequence rawPassword) {
+        return hashTimer.record(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    private <T> Future<T> submit(Callable<T> work) {
+        try {
+            return executor.submit(work);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            log.warn("Password hashing queue is full, rejecting request");
+            throw new PasswordHashingRejectedException("Too many concurrent password operations, please retry later");
+        }
+    }
+
+    /**
+     * Encola el trabajo y, mientras la cola esté llena, reintenta tras {@link #BACKPRESSURE_PAUSE}.
+     */
+    private <T> Future<T> submitWhenAvailable(Callable<T> work) {
+        while (true) {
+            try {
+                return executor.submit(work);
+            } catch (RejectedExecutionException e) {
+                if (executor.isShutdown()) {
+                    throw new PasswordHashingRejectedException("Password hasher is shutting down");
+                }
+            }
+            try {
+                Thread.sleep(BACKPRESSURE_PAUSE);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for password hashing capacity", e);
+            }
+        }
+    }
+
+    private <T> T await(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            throw new IllegalStateException("Interrupted while hashing password", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+}
@@ -2,7 +2,12 @@ package ec.com.softka.client_service.service;
 
 import ec.com.softka.client_service.dto.request.ClientPartialUpdate;
 import ec.com.softka.client_service.dto.request.ClientRequest;
+import ec.com.softka.client_service.dto.response.ClientImportResponse;
 import ec.com.softka.client_service.dto.response.ClientResponse;
+import ec.com.softka.client_service.dto.response.VersionedResponse;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
@@ -11,8 +16,22 @@ public interface ClientService {
 
     ClientResponse show(Integer id);
 
+    /**
+     * Igual que {@link #show(Integer)}, con el {@code ETag} ({@code id-microsegundos de la última modificación}) y
+     * la fecha de modificación del cliente; el mapeo a {@link ClientResponse} se difiere hasta pedir el cuerpo.
+     */
+    VersionedResponse<ClientResponse> showVersioned(Integer id);
+
+    List<ClientResponse> showAll(Collection<Long> ids);
+
     ClientResponse create(ClientRequest request);
 
+    /**
+     * Alta masiva: procesa los clientes por bloques, cada uno con una sola consulta de DNI existentes, hashes en
+     * paralelo e inserts por lotes. Un cliente inválido o repetido se reporta sin afectar al resto.
+     */
+    ClientImportResponse importClients(Iterator<ClientRequest> requests);
+
     ClientResponse update(Integer id, ClientRequest request);
 
     ClientResponse partialUpdate(Integer id, ClientPartialUpdate request);
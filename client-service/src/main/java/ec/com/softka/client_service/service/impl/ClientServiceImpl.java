@@ -1,21 +1,44 @@
 package ec.com.softka.client_service.service.impl;
 
+import ec.com.softka.client_service.dto.event.ClientChangeEvent;
 import ec.com.softka.client_service.dto.request.ClientPartialUpdate;
 import ec.com.softka.client_service.dto.request.ClientRequest;
+import ec.com.softka.client_service.dto.response.ClientImportItemResult;
+import ec.com.softka.client_service.dto.response.ClientImportResponse;
 import ec.com.softka.client_service.dto.response.ClientResponse;
+import ec.com.softka.client_service.dto.response.VersionedResponse;
+import ec.com.softka.client_service.dto.retention.OnCreate;
 import ec.com.softka.client_service.exception.ClientNotFoundException;
 import ec.com.softka.client_service.mapper.ClientMapper;
 import ec.com.softka.client_service.model.Client;
 import ec.com.softka.client_service.repository.ClientRepository;
+import ec.com.softka.client_service.security.PasswordHasher;
 import ec.com.softka.client_service.service.ClientService;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionOperations;
 
 @Slf4j
 @Service
@@ -24,9 +47,16 @@ public class ClientServiceImpl implements ClientService {
 
     private final ClientRepository repository;
     private final ClientMapper mapper;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHasher passwordHasher;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Validator validator;
+    private final TransactionOperations transactionOperations;
     private static final String CLIENT_NOT_FOUND_MESSAGE = "Client with ID %d does not exist";
     private static final String DNI_ALREADY_EXISTS_MESSAGE = "Client with DNI %s already exists";
+    private static final LocalDateTime EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    @Value("${app.clients.import.chunk-size:500}")
+    private int importChunkSize = 500;
 
     @Override
     @Transactional(readOnly = true)
@@ -39,26 +69,201 @@ public class ClientServiceImpl implements ClientService {
     @Transactional(readOnly = true)
     public ClientResponse show(Integer id) {
         log.info("Starting show client by id, {}", id);
-        String message = String.format(CLIENT_NOT_FOUND_MESSAGE, id);
-        Client entity = repository.findById(id)
-                .orElseThrow(() -> new ClientNotFoundException(message));
+        Client entity = this.findClient(id);
         log.info("End show client by id");
         return mapper.toResponse(entity);
     }
 
     @Override
-    @Transactional
+    @Transactional(readOnly = true)
+    public VersionedResponse<ClientResponse> showVersioned(Integer id) {
+        Client entity = this.findClient(id);
+        LocalDateTime lastModified = entity.lastModifiedAt();
+        long version = lastModified == null ? 0 : ChronoUnit.MICROS.between(EPOCH, lastModified);
+        return VersionedResponse.of(entity.getId() + "-" + version, lastModified, () -> mapper.toResponse(entity));
+    }
+
+    private Client findClient(Integer id) {
+        String message = String.format(CLIENT_NOT_FOUND_MESSAGE, id);
+        return repository.findById(id).orElseThrow(() -> new ClientNotFoundException(message));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ClientResponse> showAll(Collection<Long> ids) {
+        log.info("Starting show clients by ids, {} requested", ids.size());
+        List<Long> distinctIds = ids.stream().filter(Objects::nonNull).distinct().toList();
+        Map<Long, Client> found = repository.findByIdIn(distinctIds).stream()
+                .collect(Collectors.toMap(Client::getId, Function.identity()));
+        // conserva el orden solicitado; los ids inexistentes se omiten
+        List<ClientResponse> responses = distinctIds.stream()
+                .map(found::get)
+                .filter(Objects::nonNull)
+                .map(mapper::toResponse)
+                .toList();
+        log.info("End show clients by ids, {} found", responses.size());
+        return responses;
+    }
+
+    /**
+     * El hash se calcula antes de abrir la transacción para no retener una conexión mientras espera en el pool de
+     * {@link PasswordHasher}; el cliente y su evento de cambio (el outbox) se guardan juntos en la transacción.
+     */
+    @Override
     public ClientResponse create(ClientRequest request) {
         log.info("Starting create client");
-        this.validate(request);
+        String encryptedPassword = passwordHasher.encode(request.getPassword());
         Client entity = mapper.toModel(request);
-        String encryptedPassword = passwordEncoder.encode(request.getPassword());
         entity.setPassword(encryptedPassword);
-        repository.save(entity);
+        try {
+            transactionOperations.executeWithoutResult(status -> {
+                repository.save(entity);
+                eventPublisher.publishEvent(ClientChangeEvent.of(entity, false));
+            });
+        } catch (DataIntegrityViolationException e) {
+            throw this.translateDuplicateDni(e, request.getDni());
+        }
         log.info("End create client");
         return mapper.toResponse(entity);
     }
 
+    @Override
+    public ClientImportResponse importClients(Iterator<ClientRequest> requests) {
+        log.info("Starting client import");
+        ClientImportResponse response = new ClientImportResponse();
+        List<ClientRequest> chunk = new ArrayList<>(importChunkSize);
+        int offset = 0;
+        while (requests.hasNext()) {
+            chunk.add(requests.next());
+            if (chunk.size() == importChunkSize) {
+                this.importChunk(chunk, offset, response);
+                offset += chunk.size();
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            this.importChunk(chunk, offset, response);
+        }
+        log.info("End client import - received: {}, created: {}, rejected: {}",
+                response.getReceived(), response.getCreated(), response.getRejected());
+        return response;
+    }
+
+    void importChunk(List<ClientRequest> chunk, int offset, ClientImportResponse response) {
+        ClientImportItemResult[] results = new ClientImportItemResult[chunk.size()];
+        Map<String, Integer> positionsByDni = new LinkedHashMap<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            ClientRequest request = chunk.get(i);
+            String error = this.validateImportItem(request);
+            if (error == null && positionsByDni.putIfAbsent(request.getDni(), i) != null) {
+                error = "dni is repeated in the import";
+            }
+            if (error != null) {
+                results[i] = this.rejected(offset + i, request, error);
+            }
+        }
+        if (!positionsByDni.isEmpty()) {
+            for (String dni : repository.findExistingDnis(positionsByDni.keySet())) {
+                Integer i = positionsByDni.remove(dni);
+                if (i != null) {
+                    results[i] = this.rejected(offset + i, chunk.get(i),
+                            String.format(DNI_ALREADY_EXISTS_MESSAGE, dni));
+                }
+            }
+        }
+        List<Integer> positions = List.copyOf(positionsByDni.values());
+        try {
+            // los hashes se calculan fuera de la transacción del insert; con el pool lleno se espera capacidad
+            List<String> passwords = passwordHasher.encodeAll(
+                    positions.stream().map(i -> chunk.get(i).getPassword()).toList());
+            List<Client> clients = new ArrayList<>(positions.size());
+            for (int i = 0; i < positions.size(); i++) {
+                Client entity = mapper.toModel(chunk.get(positions.get(i)));
+                entity.setPassword(passwords.get(i));
+                clients.add(entity);
+            }
+            String[] errors = this.insertImported(clients);
+            for (int i = 0; i < positions.size(); i++) {
+                int position = positions.get(i);
+                Client client = clients.get(i);
+                if (errors[i] != null) {
+                    results[position] = this.rejected(offset + position, chunk.get(position), errors[i]);
+                    continue;
+                }
+                results[position] = ClientImportItemResult.builder()
+                        .index(offset + position)
+                        .status(ClientImportItemResult.CREATED)
+                        .dni(client.getDni())
+                        .clientId(client.getId())
+                        .build();
+            }
+        } catch (RuntimeException e) {
+            log.warn("Client import chunk at {} rejected: {}", offset, e.getMessage());
+            positions.forEach(i -> results[i] = this.rejected(offset + i, chunk.get(i), e.getMessage()));
+        }
+        for (ClientImportItemResult result : results) {
+            response.add(result);
+        }
+    }
+
+    /**
+     * Inserta el bloque con un solo batch. Si una fila viola una restricción (p. ej. un DNI que otra petición
+     * registró después de la verificación del bloque) el batch se revierte completo y las filas se insertan una por
+     * una, de modo que solo se rechazan las que fallan. Devuelve el error de cada fila rechazada, o {@code null}.
+     */
+    private String[] insertImported(List<Client> clients) {
+        String[] errors = new String[clients.size()];
+        try {
+            this.insertAndPublish(clients);
+            return errors;
+        } catch (DataIntegrityViolationException e) {
+            log.warn("Client import batch rejected by a constraint, inserting its rows one by one: {}",
+                    e.getMostSpecificCause().getMessage());
+        }
+        for (int i = 0; i < clients.size(); i++) {
+            Client client = clients.get(i);
+            try {
+                this.insertAndPublish(List.of(client));
+            } catch (DataIntegrityViolationException e) {
+                errors[i] = this.translateDuplicateDni(e, client.getDni()).getMessage();
+            }
+        }
+        return errors;
+    }
+
+    /**
+     * Inserta los clientes y sus eventos de cambio en el outbox en una misma transacción.
+     */
+    private void insertAndPublish(List<Client> clients) {
+        transactionOperations.executeWithoutResult(status -> {
+            repository.insertAll(clients);
+            clients.forEach(client -> eventPublisher.publishEvent(ClientChangeEvent.of(client, false)));
+        });
+    }
+
+    String validateImportItem(ClientRequest request) {
+        if (request == null) {
+            return "client cannot be null";
+        }
+        Set<ConstraintViolation<ClientRequest>> violations = validator.validate(request, OnCreate.class);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private ClientImportItemResult rejected(int index, ClientRequest request, String error) {
+        return ClientImportItemResult.builder()
+                .index(index)
+                .status(ClientImportItemResult.REJECTED)
+                .dni(request != null ? request.getDni() : null)
+                .error(error)
+                .build();
+    }
+
     @Override
     @Transactional
     public ClientResponse update(Integer id, ClientRequest request) {
@@ -66,8 +271,12 @@ public class ClientServiceImpl implements ClientService {
         String message = String.format(CLIENT_NOT_FOUND_MESSAGE, id);
         Client entity = repository.findById(id).orElseThrow(() -> new ClientNotFoundException(message));
         mapper.updateModel(request, entity);
+        if (request.getPassword() != null) {
+            entity.setPassword(passwordHasher.encode(request.getPassword()));
+        }
         entity.setUpdatedAt(LocalDateTime.now());
         repository.save(entity);
+        eventPublisher.publishEvent(ClientChangeEvent.of(entity, false));
         log.info("End update client");
         return mapper.toResponse(entity);
     }
@@ -80,6 +289,7 @@ public class ClientServiceImpl implements ClientService {
         Client entity = repository.findById(id).orElseThrow(() -> new ClientNotFoundException(message));
         entity.setActive(request.isActive());
         entity.setUpdatedAt(LocalDateTime.now());
+        eventPublisher.publishEvent(ClientChangeEvent.of(entity, false));
         log.info("End partialUpdate client");
         return mapper.toResponse(entity);
     }
@@ -92,18 +302,19 @@ public class ClientServiceImpl implements ClientService {
         Client entity = repository.findById(id).orElseThrow(() -> new ClientNotFoundException(message));
         log.info("End delete client");
         repository.delete(entity);
+        eventPublisher.publishEvent(ClientChangeEvent.of(entity, true));
     }
 
 
-    void validateIdentificationExists(ClientRequest request) {
-        boolean exists = repository.existsByDni(request.getDni());
-        if (exists) {
-            String message = String.format(DNI_ALREADY_EXISTS_MESSAGE, request.getDni());
-            throw new ClientNotFoundException(message);
+    /**
+     * La unicidad del DNI la garantiza el índice {@value Client#ACTIVE_DNI_INDEX}: su violación se informa con el
+     * mismo error que la verificación previa que reemplaza; cualquier otra violación se propaga sin cambios.
+     */
+    RuntimeException translateDuplicateDni(DataIntegrityViolationException e, String dni) {
+        String cause = e.getMostSpecificCause().getMessage();
+        if (cause != null && cause.toLowerCase(Locale.ROOT).contains(Client.ACTIVE_DNI_INDEX)) {
+            return new ClientNotFoundException(String.format(DNI_ALREADY_EXISTS_MESSAGE, dni));
         }
+        return e;
     }
-
-    void validate(ClientRequest request) {
-        this.validateIdentificationExists(request);
-    }
-}
\ No newline at end of file
+}
@@ -3,49 +3,64 @@ package ec.com.softka.client_service.validation;
 
 import jakarta.validation.ConstraintValidator;
 import jakarta.validation.ConstraintValidatorContext;
+import org.hibernate.validator.constraintvalidation.HibernateConstraintValidatorContext;
 
+/**
+ * Cédula ecuatoriana: 10 dígitos ASCII, código de provincia entre 01 y 24 y dígito verificador módulo 10. La
+ * validación recorre la cadena una sola vez sin regex, {@code substring} ni {@code parseInt}, de modo que no reserva
+ * memoria por DNI (la importación masiva valida cada fila).
+ */
 public class DniValidator implements ConstraintValidator<ValidDni, String> {
 
+    private static final int LENGTH = 10;
+    private static final int MAX_PROVINCE = 24;
+    private static final String MESSAGE_TEMPLATE = "client with dni {dni} is invalid";
+    /**
+     * Valor de cada dígito en posición par: el doble, restando 9 si pasa de 9.
+     */
+    private static final int[] DOUBLED = {0, 2, 4, 6, 8, 1, 3, 5, 7, 9};
+
     @Override
     public boolean isValid(String dni, ConstraintValidatorContext context) {
-
-        if (dni == null || !dni.matches("\\d{10}")) {
+        boolean ok = isValidDni(dni);
+        if (!ok) {
             setCustomMessage(context, dni);
-            return false;
         }
+        return ok;
+    }
 
-
-        int provinceCode = Integer.parseInt(dni.substring(0, 2));
-        if (provinceCode < 1 || provinceCode > 24) {
-            setCustomMessage(context, dni);
+    public static boolean isValidDni(String dni) {
+        if (dni == null || dni.length() != LENGTH) {
             return false;
         }
-
-
+        int provinceCode = 0;
         int suma = 0;
-        for (int i = 0; i < 9; i++) {
+        for (int i = 0; i < LENGTH - 1; i++) {
             int num = dni.charAt(i) - '0';
-            if (i % 2 == 0) {
-                num *= 2;
-                if (num > 9) {
-                    num -= 9;
-                }
+            if (num < 0 || num > 9) {
+                return false;
             }
-            suma += num;
+            if (i < 2) {
+                provinceCode = provinceCode * 10 + num;
+            }
+            suma += (i & 1) == 0 ? DOUBLED[num] : num;
         }
-        int verificador = (10 - (suma % 10)) % 10;
-        boolean ok = verificador == (dni.charAt(9) - '0');
-
-        if (!ok) {
-            setCustomMessage(context, dni);
+        int verificador = dni.charAt(LENGTH - 1) - '0';
+        if (verificador < 0 || verificador > 9 || provinceCode < 1 || provinceCode > MAX_PROVINCE) {
+            return false;
         }
-        return ok;
+        return verificador == (10 - (suma % 10)) % 10;
     }
 
+    /**
+     * La plantilla es constante y el DNI va como parámetro: el mensaje se arma solo al interpolar la violación y el
+     * valor recibido no se interpreta como parte de la plantilla.
+     */
     private void setCustomMessage(ConstraintValidatorContext context, String dni) {
         context.disableDefaultConstraintViolation();
-        context.buildConstraintViolationWithTemplate(
-                String.format("client with dni %s is invalid", dni)
-        ).addConstraintViolation();
+        context.unwrap(HibernateConstraintValidatorContext.class)
+                .addMessageParameter("dni", String.valueOf(dni))
+                .buildConstraintViolationWithTemplate(MESSAGE_TEMPLATE)
+                .addConstraintViolation();
     }
-}
\ No newline at end of file
+}
@@ -13,5 +13,25 @@ CREATE TABLE "clients" (
     "created_at" TIMESTAMP NULL,
     "updated_at" TIMESTAMP NULL,
     "deleted" BOOLEAN NOT NULL DEFAULT FALSE,
-    "deleted_at" TIMESTAMP NULL
+    "deleted_at" TIMESTAMP NULL,
+    -- DNI de los clientes no eliminados (NULL al eliminar). H2 no soporta índices parciales, así que la unicidad
+    -- de los DNI vigentes se declara sobre esta columna calculada: un DNI eliminado puede volver a registrarse.
+    "active_dni" VARCHAR(255) GENERATED ALWAYS AS (CASE WHEN "deleted" THEN NULL ELSE "dni" END)
+);
+
+CREATE UNIQUE INDEX "uk_clients_active_dni" ON "clients" ("active_dni");
+
+DROP TABLE IF EXISTS "client_change_outbox";
+
+-- cambios de clientes pendientes de replicar en account-service; cada fila se elimina al entregarse
+CREATE TABLE "client_change_outbox" (
+    "id" BIGINT PRIMARY KEY AUTO_INCREMENT,
+    "client_id" BIGINT NOT NULL,
+    "active" BOOLEAN NOT NULL,
+    "deleted" BOOLEAN NOT NULL,
+    "occurred_at" TIMESTAMP NOT NULL,
+    "attempts" INT NOT NULL DEFAULT 0,
+    "next_attempt_at" TIMESTAMP NULL,
+    "last_error" VARCHAR(1000) NULL,
+    "created_at" TIMESTAMP NULL
 );
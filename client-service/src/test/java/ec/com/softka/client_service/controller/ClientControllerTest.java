@@ -5,6 +5,7 @@ import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.notNullValue;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
@@ -12,6 +13,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
@@ -19,11 +21,19 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import com.fasterxml.jackson.databind.ObjectMapper;
 import ec.com.softka.client_service.dto.request.ClientPartialUpdate;
 import ec.com.softka.client_service.dto.request.ClientRequest;
+import ec.com.softka.client_service.dto.response.ClientImportItemResult;
+import ec.com.softka.client_service.dto.response.ClientImportResponse;
 import ec.com.softka.client_service.dto.response.ClientResponse;
+import ec.com.softka.client_service.dto.response.VersionedResponse;
 import ec.com.softka.client_service.exception.ClientNotFoundException;
 import ec.com.softka.client_service.exception.GlobalExceptionHandler;
 import ec.com.softka.client_service.service.ClientService;
+import java.time.LocalDateTime;
+import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -33,6 +43,7 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
@@ -89,18 +100,38 @@ class ClientControllerTest {
     @Test
     @DisplayName("GET /api/clients/{id} -> 200 cuando existe")
     void show_ok() throws Exception {
-        Mockito.when(clientService.show(1)).thenReturn(sampleResponse());
+        Mockito.when(clientService.showVersioned(1))
+                .thenReturn(VersionedResponse.of("1-42", LocalDateTime.of(2025, 8, 1, 10, 0), this::sampleResponse));
 
         mockMvc.perform(get("/api/clients/{id}", 1))
                 .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1-42\""))
+                .andExpect(header().string(HttpHeaders.LAST_MODIFIED, notNullValue()))
                 .andExpect(jsonPath("$.dni", is(this.sampleResponse().getDni())))
                 .andExpect(jsonPath("$.name", is(this.sampleResponse().getName())));
     }
 
+    @Test
+    @DisplayName("GET /api/clients/{id} -> 304 sin mapear el cliente cuando el ETag coincide")
+    void show_notModified() throws Exception {
+        AtomicBoolean mapped = new AtomicBoolean();
+        Mockito.when(clientService.showVersioned(1)).thenReturn(VersionedResponse.of("1-42", null, () -> {
+            mapped.set(true);
+            return sampleResponse();
+        }));
+
+        mockMvc.perform(get("/api/clients/{id}", 1).header(HttpHeaders.IF_NONE_MATCH, "\"1-42\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1-42\""))
+                .andExpect(content().string(""));
+
+        assertFalse(mapped.get());
+    }
+
     @Test
     @DisplayName("GET /api/clients/{id} -> 404 cuando no existe")
     void show_notFound() throws Exception {
-        Mockito.when(clientService.show(99))
+        Mockito.when(clientService.showVersioned(99))
                 .thenThrow(new ClientNotFoundException("Client with ID 99 does not exist"));
 
         mockMvc.perform(get("/api/clients/{id}", 99))
@@ -109,6 +140,29 @@ class ClientControllerTest {
                 .andExpect(jsonPath("$.status", is(404)));
     }
 
+    @Test
+    @DisplayName("GET /api/clients?ids=1,2 -> 200 con la lista de clientes encontrados")
+    void showAll_ok() throws Exception {
+        Mockito.when(clientService.showAll(List.of(1L, 2L))).thenReturn(List.of(sampleResponse()));
+
+        mockMvc.perform(get("/api/clients").param("ids", "1,2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].dni", is(this.sampleResponse().getDni())));
+    }
+
+    @Test
+    @DisplayName("GET /api/clients?ids=... -> 400 si se piden más IDs que el máximo permitido")
+    void showAll_tooManyIds() throws Exception {
+        String ids = LongStream.rangeClosed(1, ClientController.MAX_BATCH_IDS + 1)
+                .mapToObj(String::valueOf)
+                .collect(Collectors.joining(","));
+
+        mockMvc.perform(get("/api/clients").param("ids", ids))
+                .andExpect(status().isBadRequest());
+        Mockito.verifyNoInteractions(clientService);
+    }
+
     @Test
     @DisplayName("POST /api/clients -> 201 con Location y body correcto")
     void create_ok() throws Exception {
@@ -204,4 +258,73 @@ class ClientControllerTest {
                 .andExpect(status().isNotFound())
                 .andExpect(jsonPath("$.status", is(404)));
     }
-}
\ No newline at end of file
+
+    private ClientImportResponse drain(Iterator<ClientRequest> requests) {
+        ClientImportResponse response = new ClientImportResponse();
+        int index = 0;
+        while (requests.hasNext()) {
+            ClientRequest request = requests.next();
+            boolean valid = request.getName() != null;
+            response.add(ClientImportItemResult.builder()
+                    .index(index)
+                    .status(valid ? ClientImportItemResult.CREATED : ClientImportItemResult.REJECTED)
+                    .dni(request.getDni())
+                    .clientId(valid ? 100L + index : null)
+                    .build());
+            index++;
+        }
+        return response;
+    }
+
+    @Test
+    @DisplayName("POST /api/clients/import acepta CSV con cabecera y devuelve el resultado por fila")
+    void import_csv() throws Exception {
+        Mockito.when(clientService.importClients(any())).thenAnswer(inv -> drain(inv.getArgument(0)));
+        String body = """
+                name,dni,gender,age,address,phone,password,active
+                John Doe,0401590039,M,30,Av. Siempre Viva 123,0999999999,secret,true
+                ,1710034065,F,25,Calle 1,0988888888,secret,true
+                """;
+
+        mockMvc.perform(post("/api/clients/import")
+                        .contentType("text/csv")
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.received", is(2)))
+                .andExpect(jsonPath("$.created", is(1)))
+                .andExpect(jsonPath("$.rejected", is(1)))
+                .andExpect(jsonPath("$.items[0].client_id", is(100)))
+                .andExpect(jsonPath("$.items[0].dni", is("0401590039")))
+                .andExpect(jsonPath("$.items[1].status", is("REJECTED")));
+    }
+
+    @Test
+    @DisplayName("POST /api/clients/import acepta NDJSON (un cliente por línea)")
+    void import_ndjson() throws Exception {
+        Mockito.when(clientService.importClients(any())).thenAnswer(inv -> drain(inv.getArgument(0)));
+        ClientRequest second = validCreateRequest();
+        second.setDni("1710034065");
+        String body = objectMapper.writeValueAsString(validCreateRequest())
+                + "\n" + objectMapper.writeValueAsString(second);
+
+        mockMvc.perform(post("/api/clients/import")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.received", is(2)))
+                .andExpect(jsonPath("$.created", is(2)))
+                .andExpect(jsonPath("$.items", hasSize(2)));
+    }
+
+    @Test
+    @DisplayName("POST /api/clients/import con una fila malformada devuelve 400")
+    void import_malformed() throws Exception {
+        Mockito.when(clientService.importClients(any())).thenAnswer(inv -> drain(inv.getArgument(0)));
+
+        mockMvc.perform(post("/api/clients/import")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content("{\"name\": \"John\", \"dni\": \"0401590039\"}\n{not-json"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status", is(400)));
+    }
+}
@@ -0,0 +1,117 @@
+package ec.com.softka.client_service.event;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import ec.com.softka.client_service.dto.event.ClientChangeEvent;
+import ec.com.softka.client_service.model.ClientChangeOutbox;
+import ec.com.softka.client_service.repository.ClientChangeOutboxRepository;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.web.client.ResourceAccessException;
+
+@ExtendWith(MockitoExtension.class)
+class ClientChangeOutboxDispatcherTest {
+
+    @Mock
+    ClientChangeOutboxRepository outboxRepository;
+    @Mock
+    ClientChangePublisher publisher;
+
+    ClientChangeOutboxDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        dispatcher = new ClientChangeOutboxDispatcher(outboxRepository, publisher, 100, Duration.ofSeconds(1),
+                Duration.ofSeconds(5));
+    }
+
+    private ClientChangeOutbox entry(Long id, Long clientId) {
+        ClientChangeOutbox entry = ClientChangeOutbox.of(
+                new ClientChangeEvent(clientId, true, false, LocalDateTime.of(2025, 8, 3, 10, 0)));
+        entry.setId(id);
+        return entry;
+    }
+
+    private void pending(ClientChangeOutbox... entries) {
+        when(outboxRepository.findDeliverable(any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of(entries));
+    }
+
+    @Test
+    @DisplayName("dispatch: sin pendientes no publica nada")
+    void dispatch_empty() {
+        pending();
+
+        assertThat(dispatcher.dispatch()).isZero();
+        verify(publisher, never()).publish(any());
+    }
+
+    @Test
+    @DisplayName("dispatch: publica cada cambio y elimina la entrada entregada")
+    void dispatch_deliversAndDeletes() {
+        ClientChangeOutbox first = entry(1L, 7L);
+        ClientChangeOutbox second = entry(2L, 8L);
+        pending(first, second);
+
+        assertThat(dispatcher.dispatch()).isEqualTo(2);
+
+        verify(publisher).publish(first.toEvent());
+        verify(publisher).publish(second.toEvent());
+        verify(outboxRepository).delete(first);
+        verify(outboxRepository).delete(second);
+    }
+
+    @Test
+    @DisplayName("dispatch: ante un fallo conserva la entrada y programa el reintento sin descartarla")
+    void dispatch_failureKeepsEntryForRetry() {
+        ClientChangeOutbox failing = entry(1L, 7L);
+        failing.setAttempts(30);
+        ClientChangeOutbox next = entry(2L, 7L);
+        next.setOccurredAt(failing.getOccurredAt().plusMinutes(1));
+        pending(failing, next);
+        doThrow(new ResourceAccessException("connection refused")).when(publisher).publish(failing.toEvent());
+        LocalDateTime before = LocalDateTime.now();
+
+        assertThat(dispatcher.dispatch()).isEqualTo(1);
+
+        verify(outboxRepository, never()).delete(failing);
+        verify(outboxRepository).save(failing);
+        assertThat(failing.getAttempts()).isEqualTo(31);
+        assertThat(failing.getLastError()).isEqualTo("connection refused");
+        // la espera queda acotada por max-backoff aunque los intentos sigan creciendo
+        assertThat(failing.getNextAttemptAt()).isBetween(before.plusSeconds(5), LocalDateTime.now().plusSeconds(5));
+        verify(outboxRepository).delete(next);
+    }
+
+    @Test
+    @DisplayName("backoff: crece exponencialmente hasta max-backoff")
+    void backoff_exponentialAndCapped() {
+        assertThat(dispatcher.backoff(1)).isEqualTo(Duration.ofSeconds(1));
+        assertThat(dispatcher.backoff(2)).isEqualTo(Duration.ofSeconds(2));
+        assertThat(dispatcher.backoff(3)).isEqualTo(Duration.ofSeconds(4));
+        assertThat(dispatcher.backoff(4)).isEqualTo(Duration.ofSeconds(5));
+        assertThat(dispatcher.backoff(100)).isEqualTo(Duration.ofSeconds(5));
+    }
+
+    @Test
+    @DisplayName("constructor: rechaza lotes no positivos")
+    void constructor_rejectsInvalidBatchSize() {
+        assertThatThrownBy(() -> new ClientChangeOutboxDispatcher(outboxRepository, publisher, 0,
+                Duration.ofSeconds(1), Duration.ofSeconds(5)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,44 @@
+package ec.com.softka.client_service.event;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+
+import ec.com.softka.client_service.dto.event.ClientChangeEvent;
+import ec.com.softka.client_service.model.ClientChangeOutbox;
+import ec.com.softka.client_service.repository.ClientChangeOutboxRepository;
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class ClientChangeRelayTest {
+
+    @Mock
+    ClientChangeOutboxRepository outboxRepository;
+
+    @Captor
+    ArgumentCaptor<ClientChangeOutbox> outboxCaptor;
+
+    @InjectMocks
+    ClientChangeRelay relay;
+
+    @Test
+    @DisplayName("onClientChange: guarda el evento en el outbox")
+    void onClientChange_storesInOutbox() {
+        ClientChangeEvent event = new ClientChangeEvent(1L, true, false, LocalDateTime.of(2025, 8, 3, 10, 0));
+
+        relay.onClientChange(event);
+
+        verify(outboxRepository).save(outboxCaptor.capture());
+        ClientChangeOutbox entry = outboxCaptor.getValue();
+        assertThat(entry.getAttempts()).isZero();
+        assertThat(entry.getNextAttemptAt()).isNull();
+        assertThat(entry.toEvent()).isEqualTo(event);
+    }
+}
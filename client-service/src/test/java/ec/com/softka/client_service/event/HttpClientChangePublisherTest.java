@@ -0,0 +1,59 @@
+package ec.com.softka.client_service.event;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.jsonPath;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withNoContent;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withServerError;
+
+import ec.com.softka.client_service.dto.event.ClientChangeEvent;
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+
+class HttpClientChangePublisherTest {
+
+    private static final String URL = "http://accounts.test/api/client-registry/events";
+
+    private MockRestServiceServer server;
+    private HttpClientChangePublisher publisher;
+
+    @BeforeEach
+    void setUp() {
+        RestClient.Builder builder = RestClient.builder();
+        server = MockRestServiceServer.bindTo(builder).build();
+        publisher = new HttpClientChangePublisher(builder, "http://accounts.test");
+    }
+
+    private ClientChangeEvent event() {
+        return new ClientChangeEvent(7L, false, true, LocalDateTime.of(2025, 8, 3, 10, 0));
+    }
+
+    @Test
+    @DisplayName("publish: publica el cambio en el registro de account-service")
+    void publish_ok() {
+        server.expect(requestTo(URL))
+                .andExpect(method(HttpMethod.POST))
+                .andExpect(jsonPath("$.client_id").value(7))
+                .andExpect(jsonPath("$.deleted").value(true))
+                .andRespond(withNoContent());
+
+        publisher.publish(event());
+        server.verify();
+    }
+
+    @Test
+    @DisplayName("publish: propaga el error para que el outbox reintente la entrega")
+    void publish_failurePropagates() {
+        server.expect(requestTo(URL)).andRespond(withServerError());
+
+        assertThatThrownBy(() -> publisher.publish(event())).isInstanceOf(RestClientException.class);
+        server.verify();
+    }
+}
@@ -0,0 +1,69 @@
+package ec.com.softka.client_service.integrationTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+import ec.com.softka.client_service.dto.request.ClientRequest;
+import ec.com.softka.client_service.dto.response.ClientImportItemResult;
+import ec.com.softka.client_service.dto.response.ClientImportResponse;
+import ec.com.softka.client_service.repository.ClientChangeOutboxRepository;
+import ec.com.softka.client_service.repository.ClientRepository;
+import ec.com.softka.client_service.service.ClientService;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+/**
+ * Sin transacción de prueba: el cliente y su fila del outbox deben confirmarse o revertirse juntos.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class ClientChangeOutboxIntegrationTest {
+
+    @Autowired
+    private ClientService clientService;
+    @Autowired
+    private ClientRepository clientRepository;
+    @MockitoBean
+    private ClientChangeOutboxRepository outboxRepository;
+    @MockitoBean
+    private PasswordEncoder passwordEncoder;
+
+    @BeforeEach
+    void setUp() {
+        when(passwordEncoder.encode(any())).thenReturn("hashed");
+        when(outboxRepository.save(any())).thenThrow(new IllegalStateException("outbox unavailable"));
+    }
+
+    @Test
+    void create_ShouldRollBackClient_WhenOutboxInsertFails() {
+        ClientRequest request = clientRequest("1710034065");
+
+        assertThatThrownBy(() -> clientService.create(request))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("outbox unavailable");
+
+        assertThat(clientRepository.findExistingDnis(List.of("1710034065"))).isEmpty();
+    }
+
+    @Test
+    void importClients_ShouldRollBackClients_WhenOutboxInsertFails() {
+        ClientImportResponse response = clientService.importClients(List.of(clientRequest("0401590039")).iterator());
+
+        assertThat(response.getCreated()).isZero();
+        assertThat(response.getItems()).extracting(ClientImportItemResult::getStatus)
+                .containsExactly(ClientImportItemResult.REJECTED);
+        assertThat(clientRepository.findExistingDnis(List.of("0401590039"))).isEmpty();
+    }
+
+    private static ClientRequest clientRequest(String dni) {
+        return new ClientRequest("John", dni, "M", 30, "Av. Siempre Viva 123", "0999999999", "plain", true);
+    }
+}
@@ -1,7 +1,11 @@
 package ec.com.softka.client_service.integrationTest;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -12,6 +16,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.context.ActiveProfiles;
@@ -51,6 +56,22 @@ class ClientIntegrationTest {
         testClientId = savedClient.getId();
     }
 
+    @Test
+    void getClientById_ShouldReturnNotModified_WhenETagMatches() throws Exception {
+        String etag = mockMvc.perform(get("/api/clients/{id}", testClientId))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/clients/{id}", testClientId).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+        mockMvc.perform(get("/api/clients/{id}", testClientId).header(HttpHeaders.IF_NONE_MATCH, "\"other\""))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.dni").value("1234567890"));
+    }
+
     @Test
     void getClientById_ShouldReturnClient_WhenClientExists() throws Exception {
         // Act & Assert
@@ -135,4 +156,51 @@ class ClientIntegrationTest {
                 .andExpect(jsonPath("$.phone").isEmpty())
                 .andExpect(jsonPath("$.active").value(true));
     }
+
+    private Client savedClient(String dni) {
+        Client client = new Client();
+        client.setDni(dni);
+        client.setName("Jane Doe");
+        client.setPassword("password123");
+        client.setGender("F");
+        client.setAge(28);
+        client.setActive(true);
+        return clientRepository.saveAndFlush(client);
+    }
+
+    private String createRequest(String dni) {
+        return """
+                {"name": "Jane Doe", "dni": "%s", "gender": "F", "age": 28, "address": "Amazonas y NNUU",
+                 "phone": "097548965", "password": "secret", "active": true}
+                """.formatted(dni);
+    }
+
+    @Test
+    void createClient_ShouldReturnDuplicateDniError_WhenDniBelongsToActiveClient() throws Exception {
+        // Arrange
+        savedClient("1710034065");
+        when(passwordEncoder.encode(any())).thenReturn("ENC");
+
+        // Act & Assert
+        mockMvc.perform(post("/api/clients")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(createRequest("1710034065")))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message").value("Client with DNI 1710034065 already exists"));
+    }
+
+    @Test
+    void createClient_ShouldReuseDni_WhenPreviousClientIsDeleted() throws Exception {
+        // Arrange
+        clientRepository.delete(savedClient("1710034065"));
+        clientRepository.flush();
+        when(passwordEncoder.encode(any())).thenReturn("ENC");
+
+        // Act & Assert
+        mockMvc.perform(post("/api/clients")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(createRequest("1710034065")))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.dni").value("1710034065"));
+    }
 }
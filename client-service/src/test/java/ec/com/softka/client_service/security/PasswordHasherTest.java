@@ -0,0 +1,130 @@
+package ec.com.softka.client_service.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import ec.com.softka.client_service.config.SecurityConfig;
+import ec.com.softka.client_service.exception.PasswordHashingRejectedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+class PasswordHasherTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private PasswordHasher hasher;
+
+    @AfterEach
+    void tearDown() {
+        hasher.shutdown();
+    }
+
+    @Test
+    @DisplayName("encode: calcula el hash con el algoritmo configurado y registra el tiempo")
+    void encode_ok() {
+        PasswordEncoder encoder = new SecurityConfig().passwordEncoder("bcrypt", 4);
+        hasher = new PasswordHasher(encoder, 1, 10, meterRegistry);
+
+        String hash = hasher.encode("secret");
+
+        assertThat(hash).startsWith("{bcrypt}");
+        assertThat(encoder.matches("secret", hash)).isTrue();
+        assertThat(meterRegistry.get(PasswordHasher.HASH_METRIC).timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("encodeAll: reparte el lote entre los hilos y conserva el orden")
+    void encodeAll_keepsOrder() {
+        PasswordEncoder encoder = new SecurityConfig().passwordEncoder("bcrypt", 4);
+        hasher = new PasswordHasher(encoder, 2, 1, meterRegistry);
+        List<String> raw = List.of("a", "b", "c", "d", "e");
+
+        List<String> hashes = hasher.encodeAll(raw);
+
+        assertThat(hashes).hasSize(raw.size());
+        for (int i = 0; i < raw.size(); i++) {
+            assertThat(encoder.matches(raw.get(i), hashes.get(i))).isTrue();
+        }
+        assertThat(meterRegistry.get(PasswordHasher.HASH_METRIC).timer().count()).isEqualTo(raw.size());
+        assertThat(hasher.encodeAll(List.of())).isEmpty();
+    }
+
+    @Test
+    @DisplayName("encode: con el pool ocupado y la cola llena rechaza en lugar de encolar")
+    void encode_saturated_rejects() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordEncoder blocking = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "ENC";
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return false;
+            }
+        };
+        hasher = new PasswordHasher(blocking, 1, 1, meterRegistry);
+        Thread running = Thread.ofVirtual().start(() -> hasher.encode("a"));
+        Thread queued = Thread.ofVirtual().start(() -> hasher.encode("b"));
+        while (meterRegistry.get(PasswordHasher.QUEUE_METRIC).gauge().value() < 1) {
+            Thread.sleep(5);
+        }
+
+        assertThatThrownBy(() -> hasher.encode("c")).isInstanceOf(PasswordHashingRejectedException.class);
+        assertThat(meterRegistry.get(PasswordHasher.REJECTED_METRIC).counter().count()).isEqualTo(1);
+
+        release.countDown();
+        running.join();
+        queued.join();
+    }
+
+    @Test
+    @DisplayName("encodeAll: con la cola llena espera capacidad en lugar de rechazar el lote")
+    void encodeAll_saturated_waitsForCapacity() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordEncoder blocking = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "ENC-" + rawPassword;
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return false;
+            }
+        };
+        hasher = new PasswordHasher(blocking, 1, 1, meterRegistry);
+        Thread running = Thread.ofVirtual().start(() -> hasher.encode("a"));
+        Thread queued = Thread.ofVirtual().start(() -> hasher.encode("b"));
+        while (meterRegistry.get(PasswordHasher.QUEUE_METRIC).gauge().value() < 1) {
+            Thread.sleep(5);
+        }
+
+        CompletableFuture<List<String>> bulk = CompletableFuture.supplyAsync(() -> hasher.encodeAll(List.of("c")));
+        Thread.sleep(PasswordHasher.BACKPRESSURE_PAUSE.multipliedBy(3).toMillis());
+        assertThat(bulk).isNotDone();
+        release.countDown();
+
+        assertThat(bulk.get(5, TimeUnit.SECONDS)).containsExactly("ENC-c");
+        assertThat(meterRegistry.get(PasswordHasher.REJECTED_METRIC).counter().count()).isZero();
+        running.join();
+        queued.join();
+    }
+}
@@ -3,19 +3,33 @@ package ec.com.softka.client_service.service.impl;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
+import ec.com.softka.client_service.dto.event.ClientChangeEvent;
 import ec.com.softka.client_service.dto.request.ClientPartialUpdate;
 import ec.com.softka.client_service.dto.request.ClientRequest;
+import ec.com.softka.client_service.dto.response.ClientImportItemResult;
+import ec.com.softka.client_service.dto.response.ClientImportResponse;
 import ec.com.softka.client_service.dto.response.ClientResponse;
+import ec.com.softka.client_service.dto.response.VersionedResponse;
 import ec.com.softka.client_service.exception.ClientNotFoundException;
 import ec.com.softka.client_service.mapper.ClientMapper;
 import ec.com.softka.client_service.model.Client;
 import ec.com.softka.client_service.repository.ClientRepository;
+import ec.com.softka.client_service.security.PasswordHasher;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import org.junit.jupiter.api.BeforeEach;
@@ -23,13 +37,17 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.support.TransactionOperations;
 
 @ExtendWith(MockitoExtension.class)
 class ClientServiceImplTest {
@@ -39,11 +57,20 @@ class ClientServiceImplTest {
     @Mock
     private ClientMapper mapper;
     @Mock
-    private PasswordEncoder passwordEncoder;
+    private PasswordHasher passwordHasher;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+    @Spy
+    private TransactionOperations transactionOperations = TransactionOperations.withoutTransaction();
 
     @InjectMocks
     private ClientServiceImpl service;
 
+    @Captor
+    private ArgumentCaptor<ClientChangeEvent> eventCaptor;
+
     private Client entity;
     private ClientResponse response;
     private ClientRequest request;
@@ -116,12 +143,49 @@ class ClientServiceImplTest {
 
 
     @Test
-    @DisplayName("create: encripta password, guarda y mapea")
+    @DisplayName("showVersioned: ETag con la última modificación y mapeo diferido hasta pedir el cuerpo")
+    void showVersioned_ok() {
+        //arrange
+        entity.setCreatedAt(LocalDateTime.of(1970, 1, 1, 0, 0, 1));
+        entity.setUpdatedAt(LocalDateTime.of(1970, 1, 1, 0, 0, 2, 5_000));
+        when(repository.findById(1)).thenReturn(Optional.of(entity));
+        //act
+        VersionedResponse<ClientResponse> res = service.showVersioned(1);
+        //assert
+        assertThat(res.etag()).isEqualTo(entity.getId() + "-2000005");
+        assertThat(res.lastModified())
+                .isEqualTo(entity.getUpdatedAt().atZone(ZoneId.systemDefault()).toInstant());
+        verifyNoInteractions(mapper);
+        when(mapper.toResponse(entity)).thenReturn(response);
+        assertThat(res.body().get().getDni()).isEqualTo("0102030405");
+    }
+
+    @Test
+    @DisplayName("showAll: una sola consulta, respeta el orden pedido y omite inexistentes/duplicados")
+    void showAll_ok() {
+        //arrange
+        Client other = new Client();
+        other.setId(2L);
+        other.setDni("0401590039");
+        ClientResponse otherResponse = new ClientResponse();
+        otherResponse.setDni(other.getDni());
+        when(repository.findByIdIn(List.of(2L, 1L, 99L))).thenReturn(List.of(entity, other));
+        when(mapper.toResponse(entity)).thenReturn(response);
+        when(mapper.toResponse(other)).thenReturn(otherResponse);
+        //act
+        List<ClientResponse> res = service.showAll(List.of(2L, 1L, 99L, 2L));
+        //assert
+        assertThat(res).extracting(ClientResponse::getDni).containsExactly("0401590039", "0102030405");
+        verify(repository).findByIdIn(List.of(2L, 1L, 99L));
+        verifyNoMoreInteractions(repository);
+    }
+
+    @Test
+    @DisplayName("create: calcula el hash de la password, guarda y mapea")
     void create_ok() {
         //arrange
-        when(repository.existsByDni(request.getDni())).thenReturn(false);
         when(mapper.toModel(request)).thenReturn(new Client());
-        when(passwordEncoder.encode("plain")).thenReturn("ENC");
+        when(passwordHasher.encode("plain")).thenReturn("ENC");
         ArgumentCaptor<Client> entityCaptor = ArgumentCaptor.forClass(Client.class);
         when(repository.save(any(Client.class))).thenAnswer(inv -> {
             Client c = inv.getArgument(0);
@@ -133,36 +197,59 @@ class ClientServiceImplTest {
         ClientResponse res = service.create(request);
         //assert
         assertThat(res).isNotNull();
-        verify(repository).existsByDni("0102030405");
-        verify(passwordEncoder).encode("plain");
+        verify(passwordHasher).encode("plain");
         verify(repository).save(entityCaptor.capture());
         Client saved = entityCaptor.getValue();
         assertThat(saved.getPassword()).isEqualTo("ENC");
         verify(mapper).toResponse(saved);
+        verify(eventPublisher).publishEvent(eventCaptor.capture());
+        assertThat(eventCaptor.getValue().getClientId()).isEqualTo(123L);
+        assertThat(eventCaptor.getValue().isDeleted()).isFalse();
     }
 
     @Test
-    @DisplayName("create: lanza excepción si DNI ya existe")
+    @DisplayName("create: la violación del índice único de DNI se traduce al error de DNI existente")
     void create_duplicateDni() {
         //arrange
-        when(repository.existsByDni(request.getDni())).thenReturn(true);
+        when(mapper.toModel(request)).thenReturn(new Client());
+        when(passwordHasher.encode("plain")).thenReturn("ENC");
+        when(repository.save(any(Client.class))).thenThrow(new DataIntegrityViolationException("could not execute",
+                new SQLException("Unique index or primary key violation: \"PUBLIC.uk_clients_active_dni ON "
+                        + "PUBLIC.clients(active_dni NULLS FIRST) VALUES ( /* 1 */ '0102030405' )\"")));
         //act
         assertThatThrownBy(() -> service.create(request))
                 .isInstanceOf(ClientNotFoundException.class)
                 .hasMessageContaining("DNI")
                 .hasMessageContaining(request.getDni());
         //assert
-        verify(repository).existsByDni("0102030405");
+        verify(repository).save(any(Client.class));
         verifyNoMoreInteractions(repository);
-        verifyNoInteractions(passwordEncoder, mapper);
+        verifyNoInteractions(eventPublisher);
     }
 
     @Test
-    @DisplayName("update: mapea request→entity, setea updatedAt y guarda")
+    @DisplayName("create: otras violaciones de integridad se propagan sin traducir")
+    void create_otherIntegrityViolation_propagates() {
+        //arrange
+        DataIntegrityViolationException violation = new DataIntegrityViolationException("could not execute",
+                new SQLException("NULL not allowed for column \"password\""));
+        when(mapper.toModel(request)).thenReturn(new Client());
+        when(passwordHasher.encode("plain")).thenReturn("ENC");
+        when(repository.save(any(Client.class))).thenThrow(violation);
+        //act
+        assertThatThrownBy(() -> service.create(request)).isSameAs(violation);
+        //assert
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    @DisplayName("update: mapea request→entity, recalcula el hash de la password, setea updatedAt y guarda")
     void update_ok() {
         //arrange
+        entity.setPassword("1234");
         when(repository.findById(1)).thenReturn(Optional.of(entity));
         when(mapper.toResponse(entity)).thenReturn(response);
+        when(passwordHasher.encode("new")).thenReturn("{bcrypt}ENC");
         ClientRequest req = new ClientRequest();
         req.setName("Jane");
         req.setPassword("new");
@@ -172,11 +259,27 @@ class ClientServiceImplTest {
         //assert
         assertThat(res).isNotNull();
         assertThat(entity.getUpdatedAt()).isNotNull();
+        assertThat(entity.getPassword()).isEqualTo("{bcrypt}ENC");
         verify(mapper).updateModel(req, entity);
         verify(repository).save(entity);
         verify(mapper).toResponse(entity);
     }
 
+    @Test
+    @DisplayName("update: sin password conserva el hash guardado")
+    void update_withoutPassword_keepsHash() {
+        //arrange
+        entity.setPassword("{bcrypt}OLD");
+        when(repository.findById(1)).thenReturn(Optional.of(entity));
+        ClientRequest req = new ClientRequest();
+        req.setName("Jane");
+        //act
+        service.update(1, req);
+        //assert
+        assertThat(entity.getPassword()).isEqualTo("{bcrypt}OLD");
+        verifyNoInteractions(passwordHasher);
+    }
+
     @Test
     @DisplayName("update: 404 cuando no existe")
     void update_notFound() {
@@ -204,6 +307,8 @@ class ClientServiceImplTest {
         assertThat(res).isNotNull();
         assertThat(entity.isActive()).isFalse();
         assertThat(entity.getUpdatedAt()).isNotNull();
+        verify(eventPublisher).publishEvent(eventCaptor.capture());
+        assertThat(eventCaptor.getValue().isActive()).isFalse();
 
         verify(repository).findById(1);
         verify(mapper).toResponse(entity);
@@ -235,6 +340,12 @@ class ClientServiceImplTest {
         //assert
         verify(repository).findById(1);
         verify(repository).delete(entity);
+        verify(eventPublisher).publishEvent(eventCaptor.capture());
+        ClientChangeEvent event = eventCaptor.getValue();
+        assertThat(event.getClientId()).isEqualTo(1L);
+        assertThat(event.isDeleted()).isTrue();
+        assertThat(event.isActive()).isFalse();
+        assertThat(event.getOccurredAt()).isNotNull();
     }
 
     @Test
@@ -250,4 +361,105 @@ class ClientServiceImplTest {
         verify(repository).findById(9);
         verify(repository, never()).delete(any());
     }
-}
\ No newline at end of file
+
+    private ClientRequest importRequest(String dni) {
+        return new ClientRequest("John", dni, "M", 30, "Av. Siempre Viva 123", "0999999999", "plain", true);
+    }
+
+    @Test
+    @DisplayName("importClients: rechaza por fila los inválidos, repetidos y existentes e inserta el resto en lote")
+    void importClients_mixed() {
+        //arrange
+        List<ClientRequest> rows = List.of(
+                importRequest("0401590039"),
+                importRequest("0102030405"),
+                importRequest("0401590039"),
+                importRequest("1710034065"),
+                importRequest("0102030400"));
+        when(repository.findExistingDnis(any())).thenAnswer(inv -> {
+            Collection<String> dnis = inv.getArgument(0);
+            assertThat(dnis).containsExactly("0401590039", "1710034065", "0102030400");
+            return List.of("1710034065");
+        });
+        when(passwordHasher.encodeAll(List.of("plain", "plain"))).thenReturn(List.of("H1", "H2"));
+        when(mapper.toModel(any(ClientRequest.class))).thenAnswer(inv -> {
+            Client client = new Client();
+            client.setDni(inv.<ClientRequest>getArgument(0).getDni());
+            return client;
+        });
+        doAnswer(inv -> {
+            List<Client> clients = inv.getArgument(0);
+            assertThat(clients).extracting(Client::getPassword).containsExactly("H1", "H2");
+            clients.get(0).setId(10L);
+            clients.get(1).setId(11L);
+            return null;
+        }).when(repository).insertAll(any());
+        //act
+        ClientImportResponse res = service.importClients(rows.iterator());
+        //assert
+        assertThat(res.getReceived()).isEqualTo(5);
+        assertThat(res.getCreated()).isEqualTo(2);
+        assertThat(res.getRejected()).isEqualTo(3);
+        assertThat(res.getItems()).extracting(ClientImportItemResult::getStatus).containsExactly(
+                ClientImportItemResult.CREATED, ClientImportItemResult.REJECTED, ClientImportItemResult.REJECTED,
+                ClientImportItemResult.REJECTED, ClientImportItemResult.CREATED);
+        assertThat(res.getItems().get(0).getClientId()).isEqualTo(10L);
+        assertThat(res.getItems().get(1).getError()).isEqualTo("client with dni 0102030405 is invalid");
+        assertThat(res.getItems().get(2).getError()).isEqualTo("dni is repeated in the import");
+        assertThat(res.getItems().get(3).getError()).isEqualTo("Client with DNI 1710034065 already exists");
+        assertThat(res.getItems().get(4).getClientId()).isEqualTo(11L);
+        verify(eventPublisher, times(2)).publishEvent(eventCaptor.capture());
+        assertThat(eventCaptor.getAllValues()).extracting(ClientChangeEvent::getClientId)
+                .containsExactly(10L, 11L);
+    }
+
+    @Test
+    @DisplayName("importClients: si falla el insert del bloque, sus filas aceptadas quedan rechazadas")
+    void importClients_insertFails_rejectsChunk() {
+        //arrange
+        when(repository.findExistingDnis(any())).thenReturn(List.of());
+        when(passwordHasher.encodeAll(any())).thenReturn(List.of("H1"));
+        when(mapper.toModel(any(ClientRequest.class))).thenReturn(new Client());
+        doThrow(new IllegalStateException("db down")).when(repository).insertAll(any());
+        //act
+        ClientImportResponse res = service.importClients(List.of(importRequest("0401590039")).iterator());
+        //assert
+        assertThat(res.getRejected()).isEqualTo(1);
+        assertThat(res.getItems().getFirst().getError()).isEqualTo("db down");
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    @DisplayName("importClients: si el lote viola el índice de DNI, inserta fila por fila y rechaza solo la repetida")
+    void importClients_constraintViolation_fallsBackToRowInserts() {
+        //arrange
+        when(repository.findExistingDnis(any())).thenReturn(List.of());
+        when(passwordHasher.encodeAll(any())).thenReturn(List.of("H1", "H2"));
+        when(mapper.toModel(any(ClientRequest.class))).thenAnswer(inv -> {
+            Client client = new Client();
+            client.setDni(inv.<ClientRequest>getArgument(0).getDni());
+            return client;
+        });
+        DataIntegrityViolationException duplicate = new DataIntegrityViolationException("dup",
+                new RuntimeException("Unique index or primary key violation: " + Client.ACTIVE_DNI_INDEX));
+        doAnswer(inv -> {
+            List<Client> clients = inv.getArgument(0);
+            if (clients.size() > 1 || "1710034065".equals(clients.getFirst().getDni())) {
+                throw duplicate;
+            }
+            clients.getFirst().setId(20L);
+            return null;
+        }).when(repository).insertAll(any());
+        //act
+        ClientImportResponse res = service.importClients(
+                List.of(importRequest("0401590039"), importRequest("1710034065")).iterator());
+        //assert
+        assertThat(res.getCreated()).isEqualTo(1);
+        assertThat(res.getRejected()).isEqualTo(1);
+        assertThat(res.getItems().get(0).getClientId()).isEqualTo(20L);
+        assertThat(res.getItems().get(1).getError()).isEqualTo("Client with DNI 1710034065 already exists");
+        verify(repository, times(3)).insertAll(any());
+        verify(eventPublisher, times(1)).publishEvent(eventCaptor.capture());
+        assertThat(eventCaptor.getValue().getClientId()).isEqualTo(20L);
+    }
+}
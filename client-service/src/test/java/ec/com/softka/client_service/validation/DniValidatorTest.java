@@ -0,0 +1,103 @@
+package ec.com.softka.client_service.validation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import ec.com.softka.client_service.dto.request.ClientRequest;
+import ec.com.softka.client_service.dto.retention.OnCreate;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import java.util.Random;
+import java.util.Set;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class DniValidatorTest {
+
+    private static final long SEED = 20251018L;
+    private static final int SAMPLES = 500_000;
+    /**
+     * Dígitos ASCII repetidos para que dominen la muestra, más caracteres que {@code \d} no acepta: dígitos no ASCII,
+     * letras, signos y los vecinos de '0' y '9' en la tabla ASCII.
+     */
+    private static final char[] ALPHABET = ("01234567890123456789012345678901234567890123456789"
+            + "/:aZ -+.\u0660\u0663\u0969\uFF10\uFF19\u00B2").toCharArray();
+
+    /**
+     * Implementación anterior del validador, como referencia de equivalencia.
+     */
+    private static boolean legacyIsValid(String dni) {
+        if (dni == null || !dni.matches("\\d{10}")) {
+            return false;
+        }
+        int provinceCode = Integer.parseInt(dni.substring(0, 2));
+        if (provinceCode < 1 || provinceCode > 24) {
+            return false;
+        }
+        int suma = 0;
+        for (int i = 0; i < 9; i++) {
+            int num = dni.charAt(i) - '0';
+            if (i % 2 == 0) {
+                num *= 2;
+                if (num > 9) {
+                    num -= 9;
+                }
+            }
+            suma += num;
+        }
+        int verificador = (10 - (suma % 10)) % 10;
+        return verificador == (dni.charAt(9) - '0');
+    }
+
+    private static void assertEquivalent(String dni) {
+        assertThat(DniValidator.isValidDni(dni)).as("dni [%s]", dni).isEqualTo(legacyIsValid(dni));
+    }
+
+    @Test
+    @DisplayName("isValidDni: coincide con el algoritmo anterior en cadenas aleatorias de cualquier contenido")
+    void isValidDni_matchesLegacy_randomStrings() {
+        Random random = new Random(SEED);
+        for (int n = 0; n < SAMPLES; n++) {
+            char[] chars = new char[random.nextInt(13)];
+            for (int i = 0; i < chars.length; i++) {
+                chars[i] = ALPHABET[random.nextInt(ALPHABET.length)];
+            }
+            assertEquivalent(new String(chars));
+        }
+        assertEquivalent(null);
+    }
+
+    @Test
+    @DisplayName("isValidDni: coincide con el algoritmo anterior en cada provincia y dígito verificador")
+    void isValidDni_matchesLegacy_everyProvinceAndCheckDigit() {
+        Random random = new Random(SEED);
+        int valid = 0;
+        for (int province = 0; province < 100; province++) {
+            for (int n = 0; n < 200; n++) {
+                String body = String.format("%02d%07d", province, random.nextInt(10_000_000));
+                for (char check = '0'; check <= '9'; check++) {
+                    String dni = body + check;
+                    assertEquivalent(dni);
+                    valid += DniValidator.isValidDni(dni) ? 1 : 0;
+                }
+            }
+        }
+        // exactamente un dígito verificador es válido por cuerpo en las provincias 01..24
+        assertThat(valid).isEqualTo(24 * 200);
+    }
+
+    @Test
+    @DisplayName("isValid: conserva el mensaje con el DNI rechazado")
+    void isValid_invalidDni_message() {
+        Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+        ClientRequest request = new ClientRequest("John", "0102030405", "M", 30, "Av. Siempre Viva 123",
+                "0999999999", "secret", true);
+
+        Set<ConstraintViolation<ClientRequest>> violations = validator.validate(request, OnCreate.class);
+
+        assertThat(violations).extracting(ConstraintViolation::getMessage)
+                .containsExactly("client with dni 0102030405 is invalid");
+        request.setDni("1710034065");
+        assertThat(validator.validate(request, OnCreate.class)).isEmpty();
+    }
+}